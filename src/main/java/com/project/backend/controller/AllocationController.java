@@ -1,12 +1,24 @@
 package com.project.backend.controller;
 
 import com.project.backend.dto.AssignmentDTO;
+import com.project.backend.dto.PortfolioAllocationRequestDTO;
+import com.project.backend.dto.PortfolioAllocationResultDTO;
 import com.project.backend.service.AllocationService;
+import com.project.backend.service.OptimisticLockRetryService;
+import com.project.backend.service.PortfolioAllocationService;
+import com.project.backend.service.RestaffingService;
+import com.project.backend.service.StreamingExportService;
+import com.project.backend.service.SuggestionCacheService;
+import com.project.backend.service.TeamBuilderService;
+import com.project.backend.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -20,14 +32,83 @@ public class AllocationController {
     @Autowired
     private AllocationService allocationService;
 
+    @Autowired
+    private PortfolioAllocationService portfolioAllocationService;
+
+    @Autowired
+    private StreamingExportService streamingExportService;
+
+    @Autowired
+    private SuggestionCacheService suggestionCacheService;
+
+    @Autowired
+    private OptimisticLockRetryService optimisticLockRetryService;
+
+    @Autowired
+    private TeamBuilderService teamBuilderService;
+
+    @Autowired
+    private RestaffingService restaffingService;
+
     /**
      * Get suggested employees for a project based on skills
      * @param projectId The ID of the project to get suggestions for
-     * @return A list of employees matching the project skills
+     * @param limit Maximum number of suggestions
+     * @return Ranked employees with a score breakdown per component
      */
     @GetMapping("/suggestions/{projectId}")
-    public ResponseEntity<List<Map<String, Object>>> getSuggestedEmployees(@PathVariable Long projectId) {
-        return ResponseEntity.ok(allocationService.getSuggestedEmployeesForProject(projectId));
+    public ResponseEntity<List<Map<String, Object>>> getSuggestedEmployees(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(suggestionCacheService.getSuggestions(projectId, limit));
+    }
+
+    /**
+     * Get candidates for a project by required skills
+     * @param projectId The ID of the project
+     * @param limit Maximum number of candidates
+     * @param includeNearMisses Whether to add employees with similar skills when too few have a required one
+     * @return Exact matches first, then near misses flagged with nearMiss and their substitute score
+     */
+    @GetMapping("/candidates/{projectId}")
+    public ResponseEntity<List<Map<String, Object>>> getCandidates(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean includeNearMisses) {
+        return ResponseEntity.ok(allocationService.findCandidatesForProject(projectId, limit, includeNearMisses));
+    }
+
+    /**
+     * Find the smallest team of available employees covering all skill requirements of a project
+     * @param projectId The ID of the project
+     * @param startDate Start of the period, defaults to the later of today and the project start
+     * @param endDate End of the period, defaults to the project end
+     * @param minCapacity Free capacity each member needs in the period, in percent
+     * @param minProficiency Lowest proficiency level that counts as having a skill
+     * @param timeBudgetMs Search time budget; the best team so far is returned when it runs out
+     * @return The team, whether it is proven minimal, and the skills nobody available can cover
+     */
+    @GetMapping("/team/{projectId}")
+    public ResponseEntity<Map<String, Object>> buildMinimumTeam(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "100") int minCapacity,
+            @RequestParam(defaultValue = "1") int minProficiency,
+            @RequestParam(required = false) Long timeBudgetMs) {
+        return ResponseEntity.ok(teamBuilderService.buildTeam(
+                projectId, startDate, endDate, minCapacity, minProficiency, timeBudgetMs));
+    }
+
+    /**
+     * Get the ranked replacements proposed for work left uncovered by approved leave
+     * @param projectId Only include slots on this project
+     * @return Proposals per leave request
+     */
+    @GetMapping("/replacements")
+    public ResponseEntity<List<Map<String, Object>>> getReplacements(
+            @RequestParam(required = false) Long projectId) {
+        return ResponseEntity.ok(restaffingService.getReplacements(projectId));
     }
 
     /**
@@ -44,12 +125,27 @@ public class AllocationController {
     }
 
     /**
-     * Get all current assignments
-     * @return List of current project assignments
+     * Get assignments, one page at a time
+     * @param afterId ID of the last assignment of the previous page (taken from the X-Next-Cursor header)
+     * @param limit Page size, capped at 1000
+     * @return List of assignments ordered by ID
      */
     @GetMapping("/assignments")
-    public ResponseEntity<List<AssignmentDTO>> getAllAssignments() {
-        return ResponseEntity.ok(allocationService.getAllAssignments());
+    public ResponseEntity<List<AssignmentDTO>> getAllAssignments(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return KeysetPage.toResponse(allocationService.getAssignmentsAfter(afterId, limit), limit, AssignmentDTO::getId);
+    }
+    
+    /**
+     * Stream all assignments as newline-delimited JSON
+     * @return Response body writing one assignment per line
+     */
+    @GetMapping(value = "/assignments/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAssignments() {
+        return ResponseEntity.ok()
+                .contentType(StreamingExportService.NDJSON)
+                .body(streamingExportService.ndjson(allocationService::forEachAssignment));
     }
 
     /**
@@ -120,4 +216,55 @@ public class AllocationController {
     public ResponseEntity<List<AssignmentDTO>> getEmployeePastAssignments(@PathVariable Long employeeId) {
         return ResponseEntity.ok(allocationService.getEmployeePastAssignments(employeeId));
     }
+
+    /**
+     * Compute a staffing plan for several projects at once
+     * @param request Projects, period, capacity per slot and time budget
+     * @return The proposed plan
+     */
+    @PostMapping("/portfolio")
+    public ResponseEntity<PortfolioAllocationResultDTO> allocatePortfolio(
+            @RequestBody PortfolioAllocationRequestDTO request) {
+        try {
+            return ResponseEntity.ok(portfolioAllocationService.allocate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get the progress of a running portfolio allocation
+     * @param runId The run ID supplied in the request
+     * @return Completed and total slots
+     */
+    @GetMapping("/portfolio/{runId}/progress")
+    public ResponseEntity<Map<String, Object>> getPortfolioProgress(@PathVariable String runId) {
+        return portfolioAllocationService.getProgress(runId)
+                .map(progress -> ResponseEntity.ok(Map.<String, Object>of(
+                        "completed", progress.getCompleted(),
+                        "total", progress.getTotal(),
+                        "fraction", progress.getFraction())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stop a running portfolio allocation early; it returns its best plan so far
+     * @param runId The run ID supplied in the request
+     * @return No content if the run was found
+     */
+    @PostMapping("/portfolio/{runId}/stop")
+    public ResponseEntity<Void> stopPortfolioAllocation(@PathVariable String runId) {
+        return portfolioAllocationService.stop(runId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Get optimistic lock conflict metrics of the allocation operations
+     * @return Calls, conflicts, retries, exhausted retries and conflict rate per operation
+     */
+    @GetMapping("/metrics/conflicts")
+    public ResponseEntity<Map<String, Map<String, Object>>> getConflictMetrics() {
+        return ResponseEntity.ok(optimisticLockRetryService.getMetrics());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.project.backend.controller;
+
+import com.project.backend.dto.AllocationJobDTO;
+import com.project.backend.dto.AutoAllocationRequestDTO;
+import com.project.backend.dto.PortfolioAllocationRequestDTO;
+import com.project.backend.service.AllocationJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for allocations run as background jobs.
+ * Submitting returns 202 with the job; clients poll it or subscribe to its events and
+ * fetch the result once it has finished. The tenant is taken from the X-Tenant-Id header.
+ */
+@RestController
+@RequestMapping("/api/allocation/jobs")
+public class AllocationJobController {
+
+    private static final String TENANT_HEADER = "X-Tenant-Id";
+
+    @Autowired
+    private AllocationJobService allocationJobService;
+
+    /**
+     * Submit an automatic allocation for one project
+     * @param tenant Tenant submitting the job
+     * @param request Project, number of employees and period
+     * @return The queued job, 400 if the request is invalid, 429 if the tenant is at its job limit
+     */
+    @PostMapping("/auto-allocate")
+    public ResponseEntity<AllocationJobDTO> submitAutoAllocation(
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @RequestBody AutoAllocationRequestDTO request) {
+        try {
+            return ResponseEntity.accepted().body(allocationJobService.submitAutoAllocation(tenant, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    /**
+     * Submit a portfolio allocation
+     * @param tenant Tenant submitting the job
+     * @param request Projects, period, capacity per slot and time budget
+     * @return The queued job, 400 if the request is invalid, 429 if the tenant is at its job limit
+     */
+    @PostMapping("/portfolio")
+    public ResponseEntity<AllocationJobDTO> submitPortfolioAllocation(
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @RequestBody PortfolioAllocationRequestDTO request) {
+        try {
+            return ResponseEntity.accepted().body(allocationJobService.submitPortfolioAllocation(tenant, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    /**
+     * Get the jobs of the calling tenant
+     * @param tenant Tenant
+     * @return Queued, running and recently finished jobs, newest first
+     */
+    @GetMapping
+    public ResponseEntity<List<AllocationJobDTO>> getJobs(
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
+        return ResponseEntity.ok(allocationJobService.getJobs(tenant));
+    }
+
+    /**
+     * Get the status and progress of a job
+     * @param tenant Tenant that submitted the job
+     * @param jobId Job ID
+     * @return The job, 404 if it does not exist or belongs to another tenant
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<AllocationJobDTO> getJob(
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @PathVariable String jobId) {
+        return allocationJobService.getJob(tenant, jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the result of a job
+     * @param tenant Tenant that submitted the job
+     * @param jobId Job ID
+     * @return The result; 202 while the job has not finished, 409 if it failed or was canceled without a result
+     */
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<Object> getResult(
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @PathVariable String jobId) {
+        Optional<AllocationJobDTO> job = allocationJobService.getJob(tenant, jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!job.get().isFinished()) {
+            return ResponseEntity.accepted().body(job.get());
+        }
+        return allocationJobService.getResult(tenant, jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body(job.get()));
+    }
+
+    /**
+     * Subscribe to the progress of a job as server-sent events
+     * @param tenant Tenant that submitted the job
+     * @param jobId Job ID
+     * @return Stream of "progress" events and a final "done" event
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @PathVariable String jobId) {
+        return allocationJobService.subscribe(tenant, jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cancel a job; a running portfolio job keeps the best plan found so far, and an automatic
+     * allocation that is already writing assignments ignores the request
+     * @param tenant Tenant that submitted the job
+     * @param jobId Job ID
+     * @return The job after the cancel request
+     */
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<AllocationJobDTO> cancel(
+            @RequestHeader(value = TENANT_HEADER, required = false) String tenant,
+            @PathVariable String jobId) {
+        return allocationJobService.cancel(tenant, jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
\ No newline at end of file
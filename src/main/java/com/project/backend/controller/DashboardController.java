@@ -2,11 +2,19 @@ package com.project.backend.controller;
 
 import com.project.backend.dto.DashboardDTO;
 import com.project.backend.service.DashboardService;
+import com.project.backend.service.MetricsHistoryService;
+import com.project.backend.service.ReportCubeService;
+import com.project.backend.service.StreamingExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,13 +27,59 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private MetricsHistoryService metricsHistoryService;
+
+    @Autowired
+    private StreamingExportService streamingExportService;
+
+    @Autowired
+    private ReportCubeService reportCubeService;
+
     /**
      * Get summary dashboard data
      * @return Dashboard summary data
      */
     @GetMapping("/summary")
     public ResponseEntity<DashboardDTO> getDashboardSummary() {
-        return ResponseEntity.ok(dashboardService.getDashboardSummary());
+        return ResponseEntity.ok(dashboardService.getDashboardSnapshot());
+    }
+
+    /**
+     * Get the history of dashboard metrics as pre-aggregated series
+     * @param metrics Metric names, all metrics if omitted
+     * @param from Start of the period
+     * @param to End of the period, defaults to now
+     * @param resolution MINUTE, HOUR or DAY, chosen from the period length if omitted
+     * @return Series per metric with average, min, max and last value per bucket
+     */
+    @GetMapping("/history")
+    public ResponseEntity<Map<String, Object>> getMetricsHistory(
+            @RequestParam(required = false) List<String> metrics,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String resolution) {
+        try {
+            return ResponseEntity.ok(metricsHistoryService.getSeries(
+                    metrics, from, to != null ? to : LocalDateTime.now(), resolution));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get resource allocation recommendations
+     * @param type MISSING_SKILL or IDLE_EMPLOYEE, both if omitted
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Recommendations on the page, projects missing skills first
+     */
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<Map<String, Object>>> getResourceAllocationRecommendations(
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(dashboardService.getResourceAllocationRecommendations(type, page, size));
     }
 
     /**
@@ -78,33 +132,42 @@ public class DashboardController {
     }
 
     /**
-     * Get advanced reports (Good to Have feature)
-     * @param reportType The type of advanced report to generate
-     * @param parameters Additional parameters for the report
+     * Get advanced reports from the pre-aggregated report cube
+     * @param reportType The type of advanced report to generate (rollup, drilldown or slice)
+     * @param parameters Dimensions, filters, drilldown path and month range of the report
      * @return The requested advanced report
      */
     @PostMapping("/report/advanced/{reportType}")
     public ResponseEntity<Map<String, Object>> getAdvancedReport(
             @PathVariable String reportType,
-            @RequestBody Map<String, Object> parameters) {
-        return ResponseEntity.ok(dashboardService.getAdvancedReport(reportType, parameters));
+            @RequestBody(required = false) Map<String, Object> parameters) {
+        try {
+            return ResponseEntity.ok(reportCubeService.getAdvancedReport(reportType, parameters));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
-     * Export report as a specific format (Good to Have feature)
-     * @param reportType The type of report to export
-     * @param format The format to export (PDF, CSV, etc.)
-     * @param parameters Additional parameters for the report
+     * Export report as a specific format, streamed row by row from a database cursor
+     * @param reportType The type of report to export (assignments, leaves, employees or projects)
+     * @param format The format to export (CSV or XLSX)
      * @return The exported report data
      */
     @PostMapping("/report/export/{reportType}/{format}")
-    public ResponseEntity<byte[]> exportReport(
+    public ResponseEntity<StreamingResponseBody> exportReport(
             @PathVariable String reportType,
-            @PathVariable String format,
-            @RequestBody Map<String, Object> parameters) {
-        byte[] reportData = dashboardService.exportReport(reportType, format, parameters);
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=" + reportType + "." + format.toLowerCase())
-                .body(reportData);
+            @PathVariable String format) {
+        try {
+            String[] columns = dashboardService.getExportColumns(reportType);
+            MediaType mediaType = streamingExportService.tableMediaType(format);
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", "attachment; filename=" + reportType + "." + format.toLowerCase())
+                    .contentType(mediaType)
+                    .body(streamingExportService.table(format, reportType, columns,
+                            action -> dashboardService.forEachExportRow(reportType, action)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
\ No newline at end of file
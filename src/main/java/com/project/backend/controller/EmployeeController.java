@@ -6,11 +6,15 @@ import com.project.backend.service.EmployeeService;
 import com.project.backend.service.EmployeeSkillService;
 import com.project.backend.dto.EmployeeDTO;
 import com.project.backend.dto.SkillDTO;
+import com.project.backend.service.SkillMatchingService;
+import com.project.backend.service.StreamingExportService;
+import com.project.backend.util.KeysetPage;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -31,13 +35,34 @@ public class EmployeeController {
     @Autowired
     private EmployeeSkillService employeeSkillService;
     
+    @Autowired
+    private StreamingExportService streamingExportService;
+    
+    @Autowired
+    private SkillMatchingService skillMatchingService;
+    
     /**
-     * Get all employees
-     * @return List of all employees
+     * Get employees, one page at a time
+     * @param afterId ID of the last employee of the previous page (taken from the X-Next-Cursor header)
+     * @param limit Page size, capped at 1000
+     * @return List of employees ordered by ID
      */
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return KeysetPage.toResponse(employeeService.getEmployeesAfter(afterId, limit), limit, EmployeeDTO::getId);
+    }
+    
+    /**
+     * Stream all employees as newline-delimited JSON
+     * @return Response body writing one employee per line
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        return ResponseEntity.ok()
+                .contentType(StreamingExportService.NDJSON)
+                .body(streamingExportService.ndjson(employeeService::forEachEmployee));
     }
     
     /**
@@ -46,8 +71,8 @@ public class EmployeeController {
      * @return The employee if found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
-        Optional<Employee> employee = employeeService.getEmployeeById(id);
+    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id) {
+        Optional<EmployeeDTO> employee = employeeService.getEmployeeDTOById(id);
         return employee.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -109,6 +134,19 @@ public class EmployeeController {
         }
     }
     
+    /**
+     * Get the employees with the most similar skills and proficiency levels, e.g. to find a backfill
+     * @param id The employee ID
+     * @param limit Maximum number of employees
+     * @return Map of employee ID to similarity, most similar first
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<Map<Long, Double>> getSimilarEmployees(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(skillMatchingService.findSimilarEmployees(id, limit));
+    }
+    
     /**
      * Add a skill to an employee
      * @param id The employee ID
@@ -147,12 +185,17 @@ public class EmployeeController {
     
     /**
      * Search employees
-     * @param term The search term
-     * @return List of matching employees
+     * @param term The search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return List of matching employees, best match first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Employee>> searchEmployees(@RequestParam String term) {
-        List<Employee> employees = employeeService.searchEmployees(term);
+    public ResponseEntity<List<EmployeeDTO>> searchEmployees(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<EmployeeDTO> employees = employeeService.searchEmployees(term, page, size);
         return ResponseEntity.ok(employees);
     }
     
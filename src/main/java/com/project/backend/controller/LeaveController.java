@@ -1,18 +1,27 @@
 package com.project.backend.controller;
 
 import com.project.backend.model.LeaveRequest;
+import com.project.backend.service.AvailabilityIndexService;
+import com.project.backend.service.LeaveConflictService;
 import com.project.backend.service.LeaveRequestService;
+import com.project.backend.dto.LeaveConflictPageDTO;
 import com.project.backend.dto.LeaveRequestDTO;
 import com.project.backend.dto.LeaveStatusUpdateDTO;
+import com.project.backend.service.LeaveService;
+import com.project.backend.service.RestaffingService;
+import com.project.backend.service.StreamingExportService;
+import com.project.backend.util.KeysetPage;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,13 +37,43 @@ public class LeaveController {
     @Autowired
     private LeaveRequestService leaveRequestService;
     
+    @Autowired
+    private AvailabilityIndexService availabilityIndexService;
+    
+    @Autowired
+    private LeaveConflictService leaveConflictService;
+    
+    @Autowired
+    private LeaveService leaveService;
+    
+    @Autowired
+    private StreamingExportService streamingExportService;
+    
+    @Autowired
+    private RestaffingService restaffingService;
+    
     /**
-     * Get all leave requests
-     * @return List of all leave requests
+     * Get leave requests, one page at a time
+     * @param afterId ID of the last leave request of the previous page (taken from the X-Next-Cursor header)
+     * @param limit Page size, capped at 1000
+     * @return List of leave requests ordered by ID
      */
     @GetMapping
-    public ResponseEntity<List<LeaveRequest>> getAllLeaveRequests() {
-        return ResponseEntity.ok(leaveRequestService.getAllLeaveRequests());
+    public ResponseEntity<List<LeaveRequest>> getAllLeaveRequests(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return KeysetPage.toResponse(leaveService.getLeaveRequestsAfter(afterId, limit), limit, LeaveRequest::getLeaveRequestId);
+    }
+    
+    /**
+     * Stream all leave requests as newline-delimited JSON
+     * @return Response body writing one leave request per line
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamLeaveRequests() {
+        return ResponseEntity.ok()
+                .contentType(StreamingExportService.NDJSON)
+                .body(streamingExportService.ndjson(leaveService::forEachLeaveRequest));
     }
     
     /**
@@ -184,10 +223,62 @@ public class LeaveController {
             @RequestParam Long employeeId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        boolean hasLeave = leaveRequestService.hasLeaveInPeriod(employeeId, startDate, endDate);
+        boolean hasLeave = availabilityIndexService.hasApprovedLeaveInPeriod(employeeId, startDate, endDate);
         return ResponseEntity.ok(Map.of("hasLeave", hasLeave));
     }
     
+    /**
+     * Find all employees free during a period with at least the given capacity
+     * @param startDate The start date
+     * @param endDate The end date
+     * @param minCapacity Minimum free capacity in percent
+     * @return IDs of the employees who are free
+     */
+    @GetMapping("/available-employees")
+    public ResponseEntity<List<Long>> findAvailableEmployees(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "100") int minCapacity) {
+        return ResponseEntity.ok(availabilityIndexService.findAvailableEmployees(startDate, endDate, minCapacity));
+    }
+    
+    /**
+     * Find overlapping pending/approved leave requests, paged by employee
+     * @param afterEmployeeId Cursor returned as nextCursor by the previous page
+     * @param limit Minimum number of conflicts per page
+     * @return A page of conflicts
+     */
+    @GetMapping("/conflicts")
+    public ResponseEntity<LeaveConflictPageDTO> getLeaveConflicts(
+            @RequestParam(required = false) Long afterEmployeeId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(leaveConflictService.findConflicts(afterEmployeeId, limit));
+    }
+    
+    /**
+     * Find leave conflicts of employees whose leave requests changed since a watermark.
+     * Deleted or canceled leave requests are not reported; run a full check after those.
+     * @param since Watermark returned by a previous conflict check
+     * @return Conflicts of the affected employees and a new watermark
+     */
+    @GetMapping("/conflicts/changed")
+    public ResponseEntity<LeaveConflictPageDTO> getChangedLeaveConflicts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date since) {
+        return ResponseEntity.ok(leaveConflictService.findConflictsChangedSince(since));
+    }
+    
+    /**
+     * Get the ranked replacements proposed for the work an approved leave request leaves uncovered
+     * @param id The ID of the leave request
+     * @return Uncovered project/skill slots with candidates, 404 if nothing is uncovered
+     */
+    @GetMapping("/{id}/replacements")
+    public ResponseEntity<Map<String, Object>> getReplacements(@PathVariable Long id) {
+        return restaffingService.getReplacementsForLeave(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
     /**
      * Get leave statistics
      * @return Map of statistics
@@ -6,11 +6,14 @@ import com.project.backend.service.ProjectService;
 import com.project.backend.service.ProjectSkillService;
 import com.project.backend.dto.ProjectDTO;
 import com.project.backend.dto.SkillRequirementDTO;
+import com.project.backend.service.StreamingExportService;
+import com.project.backend.util.KeysetPage;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -31,13 +34,31 @@ public class ProjectController {
     @Autowired
     private ProjectSkillService projectSkillService;
     
+    @Autowired
+    private StreamingExportService streamingExportService;
+    
     /**
-     * Get all projects
-     * @return List of all projects
+     * Get projects, one page at a time
+     * @param afterId ID of the last project of the previous page (taken from the X-Next-Cursor header)
+     * @param limit Page size, capped at 1000
+     * @return List of projects ordered by ID
      */
     @GetMapping
-    public ResponseEntity<List<Project>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<List<ProjectDTO>> getAllProjects(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return KeysetPage.toResponse(projectService.getProjectsAfter(afterId, limit), limit, ProjectDTO::getId);
+    }
+    
+    /**
+     * Stream all projects as newline-delimited JSON
+     * @return Response body writing one project per line
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamProjects() {
+        return ResponseEntity.ok()
+                .contentType(StreamingExportService.NDJSON)
+                .body(streamingExportService.ndjson(projectService::forEachProject));
     }
     
     /**
@@ -46,8 +67,8 @@ public class ProjectController {
      * @return The project if found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Project> getProjectById(@PathVariable Long id) {
-        Optional<Project> project = projectService.getProjectById(id);
+    public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id) {
+        Optional<ProjectDTO> project = projectService.getProjectDTOById(id);
         return project.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -198,12 +219,17 @@ public class ProjectController {
     
     /**
      * Search projects
-     * @param term The search term
-     * @return List of matching projects
+     * @param term The search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return List of matching projects, best match first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Project>> searchProjects(@RequestParam String term) {
-        List<Project> projects = projectService.searchProjects(term);
+    public ResponseEntity<List<ProjectDTO>> searchProjects(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<ProjectDTO> projects = projectService.searchProjects(term, page, size);
         return ResponseEntity.ok(projects);
     }
     
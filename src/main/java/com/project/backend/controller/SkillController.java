@@ -3,13 +3,17 @@ package com.project.backend.controller;
 import com.project.backend.model.Skill;
 import com.project.backend.model.Employee;
 import com.project.backend.model.Project;
+import com.project.backend.service.SkillMatchingService;
 import com.project.backend.service.SkillService;
 import com.project.backend.dto.SkillDTO;
+import com.project.backend.service.StreamingExportService;
+import com.project.backend.util.KeysetPage;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -27,13 +31,34 @@ public class SkillController {
     @Autowired
     private SkillService skillService;
     
+    @Autowired
+    private StreamingExportService streamingExportService;
+    
+    @Autowired
+    private SkillMatchingService skillMatchingService;
+    
     /**
-     * Get all skills
-     * @return List of all skills
+     * Get skills, one page at a time
+     * @param afterId ID of the last skill of the previous page (taken from the X-Next-Cursor header)
+     * @param limit Page size, capped at 1000
+     * @return List of skills ordered by ID
      */
     @GetMapping
-    public ResponseEntity<List<Skill>> getAllSkills() {
-        return ResponseEntity.ok(skillService.getAllSkills());
+    public ResponseEntity<List<SkillDTO>> getAllSkills(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return KeysetPage.toResponse(skillService.getSkillsAfter(afterId, limit), limit, SkillDTO::getId);
+    }
+    
+    /**
+     * Stream all skills as newline-delimited JSON
+     * @return Response body writing one skill per line
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamSkills() {
+        return ResponseEntity.ok()
+                .contentType(StreamingExportService.NDJSON)
+                .body(streamingExportService.ndjson(skillService::forEachSkill));
     }
     
     /**
@@ -42,8 +67,8 @@ public class SkillController {
      * @return The skill if found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Skill> getSkillById(@PathVariable Long id) {
-        Optional<Skill> skill = skillService.getSkillById(id);
+    public ResponseEntity<SkillDTO> getSkillById(@PathVariable Long id) {
+        Optional<SkillDTO> skill = skillService.getSkillDTOById(id);
         return skill.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -120,6 +145,19 @@ public class SkillController {
         }
     }
     
+    /**
+     * Get the skills most often held together with a specific skill
+     * @param id The skill ID
+     * @param limit Maximum number of skills
+     * @return Map of skill ID to co-occurrence similarity, most similar first
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<Map<Long, Double>> getSimilarSkills(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(skillMatchingService.getSimilarSkills(id, limit));
+    }
+    
     /**
      * Get all skill categories
      * @return List of unique skill categories
@@ -179,12 +217,17 @@ public class SkillController {
     
     /**
      * Search skills
-     * @param term The search term
-     * @return List of matching skills
+     * @param term The search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return List of matching skills, best match first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Skill>> searchSkills(@RequestParam String term) {
-        List<Skill> skills = skillService.searchSkills(term);
+    public ResponseEntity<List<SkillDTO>> searchSkills(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<SkillDTO> skills = skillService.searchSkills(term, page, size);
         return ResponseEntity.ok(skills);
     }
 }
\ No newline at end of file
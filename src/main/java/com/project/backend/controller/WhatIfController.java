@@ -0,0 +1,101 @@
+package com.project.backend.controller;
+
+import com.project.backend.dto.WhatIfChangeDTO;
+import com.project.backend.service.WhatIfService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for what-if planning scenarios.
+ * Changes made here are hypothetical and never written to the database.
+ */
+@RestController
+@RequestMapping("/api/what-if")
+public class WhatIfController {
+
+    @Autowired
+    private WhatIfService whatIfService;
+
+    /**
+     * Get allocation metrics of the current state
+     * @return Allocation rate, overcommitted employees, skill gap and project utilization
+     */
+    @GetMapping("/baseline")
+    public ResponseEntity<Map<String, Object>> getBaselineMetrics() {
+        return ResponseEntity.ok(whatIfService.getBaselineMetrics());
+    }
+
+    /**
+     * Get all open scenarios
+     * @return List of scenario summaries
+     */
+    @GetMapping("/scenarios")
+    public ResponseEntity<List<Map<String, Object>>> getScenarios() {
+        return ResponseEntity.ok(whatIfService.getScenarios());
+    }
+
+    /**
+     * Create a scenario on the current state, or fork an existing one
+     * @param from Scenario to fork, omitted to start from the current state
+     * @return The new scenario's summary, 404 if the scenario to fork does not exist,
+     *         429 if too many scenarios are open
+     */
+    @PostMapping("/scenarios")
+    public ResponseEntity<Map<String, Object>> createScenario(@RequestParam(required = false) String from) {
+        try {
+            return whatIfService.createScenario(from)
+                    .map(summary -> ResponseEntity.status(HttpStatus.CREATED).body(summary))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    /**
+     * Apply hypothetical changes to a scenario
+     * @param scenarioId Scenario ID
+     * @param changes Changes applied in order
+     * @return The scenario's metrics after the changes, 400 if a change is invalid
+     */
+    @PostMapping("/scenarios/{scenarioId}/changes")
+    public ResponseEntity<Map<String, Object>> applyChanges(
+            @PathVariable String scenarioId,
+            @RequestBody List<WhatIfChangeDTO> changes) {
+        try {
+            return whatIfService.applyChanges(scenarioId, changes)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Compare a scenario with the state it was created on
+     * @param scenarioId Scenario ID
+     * @return Baseline and scenario metrics
+     */
+    @GetMapping("/scenarios/{scenarioId}")
+    public ResponseEntity<Map<String, Object>> getScenarioMetrics(@PathVariable String scenarioId) {
+        return whatIfService.getScenarioMetrics(scenarioId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Discard a scenario
+     * @param scenarioId Scenario ID
+     * @return No content if the scenario existed
+     */
+    @DeleteMapping("/scenarios/{scenarioId}")
+    public ResponseEntity<Void> deleteScenario(@PathVariable String scenarioId) {
+        return whatIfService.deleteScenario(scenarioId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
\ No newline at end of file
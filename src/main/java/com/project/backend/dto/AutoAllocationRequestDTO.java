@@ -0,0 +1,47 @@
+package com.project.backend.dto;
+
+import java.util.Date;
+
+public class AutoAllocationRequestDTO {
+    private Long projectId;
+    private int requiredEmployeeCount;
+    private Date startDate; // Defaults to today
+    private Date endDate; // Defaults to the start date
+
+    // Default constructor
+    public AutoAllocationRequestDTO() {
+    }
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public int getRequiredEmployeeCount() {
+        return requiredEmployeeCount;
+    }
+
+    public void setRequiredEmployeeCount(int requiredEmployeeCount) {
+        this.requiredEmployeeCount = requiredEmployeeCount;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+}
\ No newline at end of file
@@ -35,6 +35,9 @@ public class DashboardDTO {
     
     // Skill shortage information
     private List<Map<String, Object>> skillShortages;
+    
+    // Sections that failed or timed out; their fields keep default values
+    private List<String> incompleteSections;
 
     // Default constructor
     public DashboardDTO() {
@@ -184,4 +187,12 @@ public class DashboardDTO {
     public void setSkillShortages(List<Map<String, Object>> skillShortages) {
         this.skillShortages = skillShortages;
     }
+
+    public List<String> getIncompleteSections() {
+        return incompleteSections;
+    }
+
+    public void setIncompleteSections(List<String> incompleteSections) {
+        this.incompleteSections = incompleteSections;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.project.backend.dto;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Date;
 
@@ -35,6 +36,19 @@ public class EmployeeDTO {
         this.isActive = isActive;
     }
 
+    // Projection constructor used by JPQL constructor expressions
+    public EmployeeDTO(Long id, String firstName, String lastName, String email, String phoneNumber,
+                    String designation, LocalDate joiningDate, Boolean isActive) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.designation = designation;
+        this.joiningDate = joiningDate != null ? java.sql.Date.valueOf(joiningDate) : null;
+        this.isActive = Boolean.TRUE.equals(isActive);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,47 @@
+package com.project.backend.dto;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+public class LeaveConflictPageDTO {
+    private List<Map<String, Object>> conflicts; // employeeId, leaveRequestId, conflictingLeaveRequestId
+    private Long nextCursor; // Employee ID to pass as afterEmployeeId for the next page, null when done
+    private Date watermark; // Pass as since to the incremental check to only see later changes
+
+    // Default constructor
+    public LeaveConflictPageDTO() {
+    }
+
+    // Parameterized constructor
+    public LeaveConflictPageDTO(List<Map<String, Object>> conflicts, Long nextCursor, Date watermark) {
+        this.conflicts = conflicts;
+        this.nextCursor = nextCursor;
+        this.watermark = watermark;
+    }
+
+    // Getters and Setters
+    public List<Map<String, Object>> getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(List<Map<String, Object>> conflicts) {
+        this.conflicts = conflicts;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Date getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(Date watermark) {
+        this.watermark = watermark;
+    }
+}
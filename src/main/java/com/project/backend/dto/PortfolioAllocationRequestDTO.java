@@ -0,0 +1,66 @@
+package com.project.backend.dto;
+
+import java.util.Date;
+import java.util.List;
+
+public class PortfolioAllocationRequestDTO {
+    private String runId; // Optional client-chosen ID used to poll progress or stop the run
+    private List<Long> projectIds;
+    private Date startDate;
+    private Date endDate;
+    private int allocationPercentage = 100; // Capacity consumed by each filled slot
+    private long timeBudgetMillis = 10000; // The solver stops early and returns the best partial plan
+
+    // Default constructor
+    public PortfolioAllocationRequestDTO() {
+    }
+
+    // Getters and Setters
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public List<Long> getProjectIds() {
+        return projectIds;
+    }
+
+    public void setProjectIds(List<Long> projectIds) {
+        this.projectIds = projectIds;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getAllocationPercentage() {
+        return allocationPercentage;
+    }
+
+    public void setAllocationPercentage(int allocationPercentage) {
+        this.allocationPercentage = allocationPercentage;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class PortfolioAllocationResultDTO {
+    private int requiredSlots;
+    private int filledSlots;
+    private long totalScore;
+    private boolean complete; // False when the run was stopped early or ran out of time
+    private long elapsedMillis;
+    private List<Map<String, Object>> assignments; // employeeId, projectId, skillId, score
+    private List<Map<String, Object>> unfilledSlots; // projectId, skillId, missing
+
+    // Default constructor
+    public PortfolioAllocationResultDTO() {
+    }
+
+    // Getters and Setters
+    public int getRequiredSlots() {
+        return requiredSlots;
+    }
+
+    public void setRequiredSlots(int requiredSlots) {
+        this.requiredSlots = requiredSlots;
+    }
+
+    public int getFilledSlots() {
+        return filledSlots;
+    }
+
+    public void setFilledSlots(int filledSlots) {
+        this.filledSlots = filledSlots;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<Map<String, Object>> getAssignments() {
+        return assignments;
+    }
+
+    public void setAssignments(List<Map<String, Object>> assignments) {
+        this.assignments = assignments;
+    }
+
+    public List<Map<String, Object>> getUnfilledSlots() {
+        return unfilledSlots;
+    }
+
+    public void setUnfilledSlots(List<Map<String, Object>> unfilledSlots) {
+        this.unfilledSlots = unfilledSlots;
+    }
+}
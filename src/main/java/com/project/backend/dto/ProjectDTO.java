@@ -1,3 +1,6 @@
+package com.project.backend.dto;
+
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 
@@ -30,6 +33,18 @@ public class ProjectDTO {
         this.priority = priority;
     }
 
+    // Projection constructor used by JPQL constructor expressions
+    public ProjectDTO(Long id, String name, String description, LocalDate startDate, LocalDate endDate,
+                    String status, Integer priority) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.startDate = startDate != null ? java.sql.Date.valueOf(startDate) : null;
+        this.endDate = endDate != null ? java.sql.Date.valueOf(endDate) : null;
+        this.status = status;
+        this.priority = priority != null ? String.valueOf(priority) : null;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
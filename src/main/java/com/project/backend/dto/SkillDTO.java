@@ -1,3 +1,5 @@
+package com.project.backend.dto;
+
 import java.util.List;
 
 public class SkillDTO {
@@ -22,6 +24,14 @@ public class SkillDTO {
         this.proficiencyLevel = proficiencyLevel;
     }
 
+    // Projection constructor used by JPQL constructor expressions
+    public SkillDTO(Long id, String name, String category, String description) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.description = description;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
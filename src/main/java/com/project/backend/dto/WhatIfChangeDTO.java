@@ -0,0 +1,66 @@
+package com.project.backend.dto;
+
+import java.util.Date;
+import java.util.List;
+
+public class WhatIfChangeDTO {
+    private String type; // ASSIGN, UNASSIGN, MOVE
+    private List<Long> employeeIds;
+    private Long projectId; // Target project; for UNASSIGN, null removes every assignment
+    private Date startDate; // Defaults to today
+    private Date endDate; // Defaults to the project's end date
+    private Float allocationPercentage; // Defaults to 100
+
+    // Default constructor
+    public WhatIfChangeDTO() {
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<Long> getEmployeeIds() {
+        return employeeIds;
+    }
+
+    public void setEmployeeIds(List<Long> employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    public Float getAllocationPercentage() {
+        return allocationPercentage;
+    }
+
+    public void setAllocationPercentage(Float allocationPercentage) {
+        this.allocationPercentage = allocationPercentage;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.project.backend.event;
+
+import com.project.backend.model.Assignment;
+
+import java.time.LocalDate;
+
+/**
+ * Published when an assignment is created, deleted or changes status.
+ * A null status means the assignment did not exist before (old) or no longer exists (new).
+ */
+public class AssignmentStatusChangedEvent {
+
+    private final Long assignmentId;
+    private final Long employeeId;
+    private final Long projectId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Float allocationPercentage;
+    private final String oldStatus;
+    private final String newStatus;
+
+    public AssignmentStatusChangedEvent(Long assignmentId, Long employeeId, Long projectId,
+                                        LocalDate startDate, LocalDate endDate, Float allocationPercentage,
+                                        String oldStatus, String newStatus) {
+        this.assignmentId = assignmentId;
+        this.employeeId = employeeId;
+        this.projectId = projectId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.allocationPercentage = allocationPercentage;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+
+    public static AssignmentStatusChangedEvent of(Assignment assignment, String oldStatus, String newStatus) {
+        return new AssignmentStatusChangedEvent(
+                assignment.getAssignmentId(),
+                assignment.getEmployee() != null ? assignment.getEmployee().getEmployeeId() : null,
+                assignment.getProject() != null ? assignment.getProject().getProjectId() : null,
+                assignment.getStartDate(),
+                assignment.getEndDate(),
+                assignment.getAllocationPercentage(),
+                oldStatus,
+                newStatus);
+    }
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Float getAllocationPercentage() {
+        return allocationPercentage;
+    }
+
+    public String getOldStatus() {
+        return oldStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+}
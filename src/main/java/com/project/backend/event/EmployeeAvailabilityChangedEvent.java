@@ -0,0 +1,30 @@
+package com.project.backend.event;
+
+/**
+ * Published when an employee is created, deleted or changes availability.
+ * A null availability means the employee did not exist before (old) or no longer exists (new).
+ */
+public class EmployeeAvailabilityChangedEvent {
+
+    private final Long employeeId;
+    private final Boolean oldAvailable;
+    private final Boolean newAvailable;
+
+    public EmployeeAvailabilityChangedEvent(Long employeeId, Boolean oldAvailable, Boolean newAvailable) {
+        this.employeeId = employeeId;
+        this.oldAvailable = oldAvailable;
+        this.newAvailable = newAvailable;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Boolean getOldAvailable() {
+        return oldAvailable;
+    }
+
+    public Boolean getNewAvailable() {
+        return newAvailable;
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.backend.event;
+
+/**
+ * Published when the skills of an employee are replaced or edited.
+ */
+public class EmployeeSkillsChangedEvent {
+
+    private final Long employeeId;
+
+    public EmployeeSkillsChangedEvent(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.project.backend.event;
+
+import com.project.backend.model.LeaveRequest;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a leave request is created, deleted or changes status.
+ * A null status means the request did not exist before (old) or no longer exists (new).
+ */
+public class LeaveStatusChangedEvent {
+
+    private final Long leaveRequestId;
+    private final Long employeeId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String oldStatus;
+    private final String newStatus;
+
+    public LeaveStatusChangedEvent(Long leaveRequestId, Long employeeId, LocalDate startDate, LocalDate endDate,
+                                   String oldStatus, String newStatus) {
+        this.leaveRequestId = leaveRequestId;
+        this.employeeId = employeeId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+
+    public static LeaveStatusChangedEvent of(LeaveRequest leaveRequest, String oldStatus, String newStatus) {
+        return new LeaveStatusChangedEvent(
+                leaveRequest.getLeaveRequestId(),
+                leaveRequest.getEmployee() != null ? leaveRequest.getEmployee().getEmployeeId() : null,
+                leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(),
+                oldStatus,
+                newStatus);
+    }
+
+    public Long getLeaveRequestId() {
+        return leaveRequestId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public String getOldStatus() {
+        return oldStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+}
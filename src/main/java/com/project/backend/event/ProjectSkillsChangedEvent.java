@@ -0,0 +1,17 @@
+package com.project.backend.event;
+
+/**
+ * Published when the required skills of a project are replaced or edited.
+ */
+public class ProjectSkillsChangedEvent {
+
+    private final Long projectId;
+
+    public ProjectSkillsChangedEvent(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.project.backend.event;
+
+/**
+ * Published when a project is created, deleted or changes status.
+ * A null status means the project did not exist before (old) or no longer exists (new).
+ */
+public class ProjectStatusChangedEvent {
+
+    private final Long projectId;
+    private final String oldStatus;
+    private final String newStatus;
+
+    public ProjectStatusChangedEvent(Long projectId, String oldStatus, String newStatus) {
+        this.projectId = projectId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getOldStatus() {
+        return oldStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+}
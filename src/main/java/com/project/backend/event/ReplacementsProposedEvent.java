@@ -0,0 +1,32 @@
+package com.project.backend.event;
+
+import java.util.Set;
+
+/**
+ * Published when replacement candidates have been ranked for the assignments an approved leave
+ * leaves uncovered.
+ */
+public class ReplacementsProposedEvent {
+
+    private final Long leaveRequestId;
+    private final Long employeeId;
+    private final Set<Long> projectIds;
+
+    public ReplacementsProposedEvent(Long leaveRequestId, Long employeeId, Set<Long> projectIds) {
+        this.leaveRequestId = leaveRequestId;
+        this.employeeId = employeeId;
+        this.projectIds = projectIds;
+    }
+
+    public Long getLeaveRequestId() {
+        return leaveRequestId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Set<Long> getProjectIds() {
+        return projectIds;
+    }
+}
\ No newline at end of file
@@ -7,8 +7,17 @@ import java.time.LocalDate;
 @Table(name = "assignments")
 public class Assignment {
     
+    /**
+     * End date that stands in for a missing one: an assignment without an end date runs
+     * indefinitely and takes capacity on every day from its start on
+     */
+    public static final LocalDate OPEN_END = LocalDate.of(9999, 12, 31);
+    
+    // Sequence IDs with a pooled optimizer let Hibernate batch inserts;
+    // the sequence must be created with INCREMENT BY 50 to match allocationSize
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignment_seq")
+    @SequenceGenerator(name = "assignment_seq", sequenceName = "assignments_assignment_id_seq", allocationSize = 50)
     @Column(name = "assignment_id")
     private Long assignmentId;
     
@@ -32,6 +41,10 @@ public class Assignment {
     @Column(name = "status")
     private String status;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructors
     public Assignment() {
     }
@@ -102,6 +115,14 @@ public class Assignment {
         this.status = status;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "Assignment{" +
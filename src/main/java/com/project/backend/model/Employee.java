@@ -38,6 +38,14 @@ public class Employee {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    @Column(name = "is_available")
+    private Boolean isAvailable = true;
+    
+    // Optimistic lock: concurrent allocations that both flip availability cannot both commit
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<EmployeeSkill> skills = new HashSet<>();
     
@@ -133,6 +141,22 @@ public class Employee {
         this.isActive = isActive;
     }
     
+    public boolean isAvailable() {
+        return Boolean.TRUE.equals(isAvailable);
+    }
+    
+    public void setAvailable(boolean isAvailable) {
+        this.isAvailable = isAvailable;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public Set<EmployeeSkill> getSkills() {
         return skills;
     }
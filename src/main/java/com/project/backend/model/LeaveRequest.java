@@ -1,6 +1,7 @@
 package com.project.backend.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,6 +11,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
@@ -50,6 +53,9 @@ public class LeaveRequest {
     @JoinColumn(name = "approved_by")
     private Employee approvedBy;
     
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
     // Constructors
     public LeaveRequest() {
     }
@@ -145,6 +151,16 @@ public class LeaveRequest {
         this.approvedBy = approvedBy;
     }
     
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
     // Helper method to get duration of leave in days
     public long getLeaveDurationDays() {
         return java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
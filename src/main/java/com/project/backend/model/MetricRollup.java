@@ -0,0 +1,166 @@
+package com.project.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Aggregate of the samples of one dashboard metric within one time bucket.
+ * Buckets are a minute, an hour or a day long; coarser buckets are rolled up from finer ones.
+ */
+@Entity
+@Table(name = "metric_rollups",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"metric", "resolution", "bucket_start"}))
+public class MetricRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "metric_rollup_id")
+    private Long metricRollupId;
+    
+    @Column(name = "metric", nullable = false, length = 64)
+    private String metric;
+    
+    @Column(name = "resolution", nullable = false, length = 8)
+    private String resolution;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+    
+    @Column(name = "sum_value", nullable = false)
+    private double sumValue;
+    
+    @Column(name = "min_value", nullable = false)
+    private double minValue;
+    
+    @Column(name = "max_value", nullable = false)
+    private double maxValue;
+    
+    @Column(name = "last_value", nullable = false)
+    private double lastValue;
+    
+    // Constructors
+    public MetricRollup() {
+    }
+    
+    public MetricRollup(String metric, String resolution, LocalDateTime bucketStart) {
+        this.metric = metric;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+        this.minValue = Double.POSITIVE_INFINITY;
+        this.maxValue = Double.NEGATIVE_INFINITY;
+    }
+    
+    /**
+     * Add one sample, taken after all samples added so far
+     * @param value Sample value
+     */
+    public void addSample(double value) {
+        sampleCount++;
+        sumValue += value;
+        minValue = Math.min(minValue, value);
+        maxValue = Math.max(maxValue, value);
+        lastValue = value;
+    }
+    
+    /**
+     * Add the samples of a finer bucket that follows all buckets added so far
+     * @param finer The finer bucket
+     */
+    public void addRollup(MetricRollup finer) {
+        sampleCount += finer.sampleCount;
+        sumValue += finer.sumValue;
+        minValue = Math.min(minValue, finer.minValue);
+        maxValue = Math.max(maxValue, finer.maxValue);
+        lastValue = finer.lastValue;
+    }
+    
+    /**
+     * @return Mean of the samples, 0 if there are none
+     */
+    public double getAverage() {
+        return sampleCount > 0 ? sumValue / sampleCount : 0;
+    }
+    
+    // Getters and Setters
+    public Long getMetricRollupId() {
+        return metricRollupId;
+    }
+    
+    public void setMetricRollupId(Long metricRollupId) {
+        this.metricRollupId = metricRollupId;
+    }
+    
+    public String getMetric() {
+        return metric;
+    }
+    
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+    
+    public String getResolution() {
+        return resolution;
+    }
+    
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+    
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+    
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+    
+    public int getSampleCount() {
+        return sampleCount;
+    }
+    
+    public void setSampleCount(int sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+    
+    public double getSumValue() {
+        return sumValue;
+    }
+    
+    public void setSumValue(double sumValue) {
+        this.sumValue = sumValue;
+    }
+    
+    public double getMinValue() {
+        return minValue;
+    }
+    
+    public void setMinValue(double minValue) {
+        this.minValue = minValue;
+    }
+    
+    public double getMaxValue() {
+        return maxValue;
+    }
+    
+    public void setMaxValue(double maxValue) {
+        this.maxValue = maxValue;
+    }
+    
+    public double getLastValue() {
+        return lastValue;
+    }
+    
+    public void setLastValue(double lastValue) {
+        this.lastValue = lastValue;
+    }
+}
\ No newline at end of file
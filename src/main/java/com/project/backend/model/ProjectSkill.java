@@ -22,6 +22,9 @@ public class ProjectSkill {
     @Column(name = "importance_level")
     private Integer importanceLevel;
     
+    @Column(name = "required_count")
+    private Integer requiredCount = 1;
+    
     // Constructors
     public ProjectSkill() {
     }
@@ -65,6 +68,14 @@ public class ProjectSkill {
         this.importanceLevel = importanceLevel;
     }
     
+    public Integer getRequiredCount() {
+        return requiredCount;
+    }
+    
+    public void setRequiredCount(Integer requiredCount) {
+        this.requiredCount = requiredCount;
+    }
+    
     @Override
     public String toString() {
         return "ProjectSkill{" +
@@ -72,6 +83,7 @@ public class ProjectSkill {
                 ", project=" + (project != null ? project.getName() : null) +
                 ", skill=" + (skill != null ? skill.getName() : null) +
                 ", importanceLevel=" + importanceLevel +
+                ", requiredCount=" + requiredCount +
                 '}';
     }
 }
\ No newline at end of file
@@ -2,14 +2,20 @@ package com.project.backend.repository;
 import com.project.backend.model.Assignment;
 import com.project.backend.model.Employee;
 import com.project.backend.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
@@ -110,4 +116,145 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Object[]> findOverallocatedEmployees(
             @Param("currentDate") LocalDate currentDate,
             @Param("threshold") long threshold);
-}
+    
+    /**
+     * Count distinct employees holding an assignment with the given status that ends on or after a date
+     * @param status The assignment status
+     * @param currentDate The reference date
+     * @return The number of distinct employees
+     */
+    @Query("SELECT COUNT(DISTINCT a.employee.employeeId) FROM Assignment a " +
+           "WHERE a.status = :status AND a.endDate >= :currentDate")
+    long countDistinctEmployeesByStatusEndingAfter(
+            @Param("status") String status,
+            @Param("currentDate") LocalDate currentDate);
+    
+    
+    /**
+     * Get all active assignment periods as raw values
+     * @param openEnd End date to report for assignments without one, normally {@link Assignment#OPEN_END}
+     * @return A list of [assignmentId, employeeId, startDate, endDate, allocationPercentage] rows
+     */
+    @Query("SELECT a.assignmentId, a.employee.employeeId, a.startDate, COALESCE(a.endDate, :openEnd), a.allocationPercentage " +
+           "FROM Assignment a " +
+           "WHERE a.status = 'ACTIVE' AND a.startDate IS NOT NULL " +
+           "ORDER BY a.employee.employeeId, a.startDate")
+    List<Object[]> findActiveAssignmentIntervals(@Param("openEnd") LocalDate openEnd);
+    
+    /**
+     * Get the next page of assignments after a cursor, ordered by ID, with employee and project loaded
+     * @param afterId Only assignments with a greater ID are returned
+     * @param limit Maximum number of assignments to return
+     * @return A list of assignments
+     */
+    @Query("SELECT a FROM Assignment a JOIN FETCH a.employee JOIN FETCH a.project " +
+           "WHERE a.assignmentId > :afterId ORDER BY a.assignmentId")
+    List<Assignment> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Stream all assignments ordered by ID, with employee and project loaded
+     * @return A forward-only stream of assignments
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Assignment a JOIN FETCH a.employee JOIN FETCH a.project ORDER BY a.assignmentId")
+    Stream<Assignment> streamAllOrderedById();
+    
+    /**
+     * Get all active assignments that have not ended yet as raw values
+     * @param date Assignments ending before this date are skipped
+     * @param openEnd End date to report for assignments without one, normally {@link Assignment#OPEN_END}
+     * @return A list of [assignmentId, employeeId, projectId, startDate, endDate, allocationPercentage] rows
+     */
+    @Query("SELECT a.assignmentId, a.employee.employeeId, a.project.projectId, a.startDate, " +
+           "COALESCE(a.endDate, :openEnd), a.allocationPercentage " +
+           "FROM Assignment a " +
+           "WHERE a.status = 'ACTIVE' AND a.startDate IS NOT NULL AND COALESCE(a.endDate, :openEnd) >= :date")
+    List<Object[]> findActiveAssignmentRowsEndingOnOrAfter(
+            @Param("date") LocalDate date,
+            @Param("openEnd") LocalDate openEnd);
+    
+    /**
+     * Get the active assignments of an employee on projects in given statuses that overlap a period as raw values
+     * @param employeeId The ID of the employee
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @param projectStatuses Project statuses to include
+     * @param openEnd End date to report for assignments without one, normally {@link Assignment#OPEN_END}
+     * @return A list of [assignmentId, projectId, startDate, endDate, allocationPercentage] rows
+     */
+    @Query("SELECT a.assignmentId, a.project.projectId, a.startDate, COALESCE(a.endDate, :openEnd), a.allocationPercentage " +
+           "FROM Assignment a " +
+           "WHERE a.status = 'ACTIVE' AND a.employee.employeeId = :employeeId " +
+           "AND a.project.status IN :projectStatuses " +
+           "AND a.startDate <= :endDate AND COALESCE(a.endDate, :openEnd) >= :startDate")
+    List<Object[]> findActiveAssignmentRowsOfEmployeeInPeriod(
+            @Param("employeeId") Long employeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("projectStatuses") Collection<String> projectStatuses,
+            @Param("openEnd") LocalDate openEnd);
+    
+    /**
+     * Get the active assignments on several projects that overlap a period as raw values
+     * @param projectIds The IDs of the projects
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @param openEnd End date to report for assignments without one, normally {@link Assignment#OPEN_END}
+     * @return A list of [employeeId, projectId, startDate, endDate] rows
+     */
+    @Query("SELECT a.employee.employeeId, a.project.projectId, a.startDate, COALESCE(a.endDate, :openEnd) " +
+           "FROM Assignment a " +
+           "WHERE a.status = 'ACTIVE' AND a.project.projectId IN :projectIds " +
+           "AND a.startDate <= :endDate AND COALESCE(a.endDate, :openEnd) >= :startDate")
+    List<Object[]> findActiveAssignmentRowsOnProjectsInPeriod(
+            @Param("projectIds") Collection<Long> projectIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("openEnd") LocalDate openEnd);
+    
+    /**
+     * Stream all assignments as flat export rows ordered by ID
+     * @return A forward-only stream of [assignmentId, employeeId, firstName, lastName, projectId,
+     *         projectName, startDate, endDate, allocationPercentage, status] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.assignmentId, e.employeeId, e.firstName, e.lastName, p.projectId, p.name, " +
+           "a.startDate, a.endDate, a.allocationPercentage, a.status " +
+           "FROM Assignment a JOIN a.employee e JOIN a.project p ORDER BY a.assignmentId")
+    Stream<Object[]> streamExportRows();
+    
+    /**
+     * Get every assignment as raw values for the report cube
+     * @return A list of [employeeId, projectId, startDate, endDate, allocationPercentage, status] rows
+     */
+    @Query("SELECT a.employee.employeeId, a.project.projectId, a.startDate, a.endDate, a.allocationPercentage, a.status " +
+           "FROM Assignment a ORDER BY a.employee.employeeId")
+    List<Object[]> findCubeRows();
+    
+    /**
+     * Get the assignments of one employee as raw values for the report cube
+     * @param employeeId The employee ID
+     * @return A list of [employeeId, projectId, startDate, endDate, allocationPercentage, status] rows
+     */
+    @Query("SELECT a.employee.employeeId, a.project.projectId, a.startDate, a.endDate, a.allocationPercentage, a.status " +
+           "FROM Assignment a WHERE a.employee.employeeId = :employeeId")
+    List<Object[]> findCubeRowsByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    /**
+     * Get the active assignments of one employee that overlap a period as raw values
+     * @param employeeId The employee ID
+     * @param startDate The start date of the period
+     * @param endDate The end date of the period
+     * @param openEnd End date to report for assignments without one, normally {@link Assignment#OPEN_END}
+     * @return A list of [startDate, endDate, allocationPercentage] rows
+     */
+    @Query("SELECT a.startDate, COALESCE(a.endDate, :openEnd), a.allocationPercentage " +
+           "FROM Assignment a " +
+           "WHERE a.employee.employeeId = :employeeId AND a.status = 'ACTIVE' " +
+           "AND a.startDate <= :endDate AND COALESCE(a.endDate, :openEnd) >= :startDate")
+    List<Object[]> findActiveIntervalsByEmployeeInPeriod(
+            @Param("employeeId") Long employeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("openEnd") LocalDate openEnd);
+}
\ No newline at end of file
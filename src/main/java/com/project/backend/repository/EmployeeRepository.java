@@ -1,13 +1,22 @@
 package com.project.backend.repository;
 
+import com.project.backend.dto.EmployeeDTO;
 import com.project.backend.model.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
@@ -58,4 +67,98 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
         "OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
         "OR LOWER(e.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Employee> searchEmployees(@Param("searchTerm") String searchTerm);
+    
+    /**
+     * Get the IDs of all active employees
+     * @return A list of active employee IDs
+     */
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.isActive = true")
+    List<Long> findActiveEmployeeIds();
+    
+    /**
+     * Get the IDs of all employees manually marked as unavailable
+     * @return A list of employee IDs
+     */
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.isAvailable = false")
+    List<Long> findUnavailableEmployeeIds();
+    
+    /**
+     * Ranked search over name and email, backed by the employees_search_trgm index
+     * @param term Lower-cased search term
+     * @param likePattern Lower-cased LIKE pattern with wildcards escaped, e.g. %term%
+     * @param limit Maximum number of IDs to return
+     * @param offset Number of ranked results to skip
+     * @return A list of employee IDs, best match first
+     */
+    @Query(value = "SELECT e.employee_id FROM employees e " +
+           "WHERE lower(e.first_name || ' ' || e.last_name || ' ' || e.email) LIKE :likePattern " +
+           "OR :term <% lower(e.first_name || ' ' || e.last_name || ' ' || e.email) " +
+           "ORDER BY word_similarity(:term, lower(e.first_name || ' ' || e.last_name || ' ' || e.email)) DESC, e.employee_id " +
+           "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchEmployeeIdsRanked(@Param("term") String term, @Param("likePattern") String likePattern,
+                                       @Param("limit") int limit, @Param("offset") int offset);
+    
+    /**
+     * Get the searchable columns of every employee without loading entities
+     * @return A list of [employeeId, firstName, lastName, email] rows
+     */
+    @Query("SELECT e.employeeId, e.firstName, e.lastName, e.email FROM Employee e")
+    List<Object[]> findSearchRows();
+    
+    /**
+     * Get the next page of employees after a cursor, ordered by ID, selecting only DTO columns
+     * @param afterId Only employees with a greater ID are returned
+     * @param limit Maximum number of employees to return
+     * @return A list of employee DTOs without child collections
+     */
+    @Query("SELECT new com.project.backend.dto.EmployeeDTO(e.employeeId, e.firstName, e.lastName, e.email, e.phone, e.role, e.joinDate, e.isActive) " +
+           "FROM Employee e WHERE e.employeeId > :afterId ORDER BY e.employeeId")
+    List<EmployeeDTO> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Stream all employees ordered by ID without loading them all into memory
+     * @return A forward-only stream of employee DTOs without child collections
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.project.backend.dto.EmployeeDTO(e.employeeId, e.firstName, e.lastName, e.email, e.phone, e.role, e.joinDate, e.isActive) " +
+           "FROM Employee e ORDER BY e.employeeId")
+    Stream<EmployeeDTO> streamAllOrderedById();
+    
+    /**
+     * Get employees by ID, selecting only DTO columns
+     * @param ids The IDs of the employees
+     * @return A list of employee DTOs without child collections, in no particular order
+     */
+    @Query("SELECT new com.project.backend.dto.EmployeeDTO(e.employeeId, e.firstName, e.lastName, e.email, e.phone, e.role, e.joinDate, e.isActive) " +
+           "FROM Employee e WHERE e.employeeId IN :ids")
+    List<EmployeeDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Load an employee for an allocation; the version is incremented on commit even if the
+     * employee itself is not changed, so concurrent allocations for the same employee conflict
+     * @param employeeId The ID of the employee
+     * @return An optional containing the employee if found
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT e FROM Employee e WHERE e.employeeId = :employeeId")
+    Optional<Employee> findByIdForAllocation(@Param("employeeId") Long employeeId);
+    
+    /**
+     * Load many employees for an allocation, incrementing their versions on commit
+     * @param employeeIds The IDs of the employees
+     * @return A list of the employees found, in no particular order
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT e FROM Employee e WHERE e.employeeId IN :employeeIds")
+    List<Employee> findAllByIdForAllocation(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    /**
+     * Stream all employees as flat export rows ordered by ID
+     * @return A forward-only stream of [employeeId, firstName, lastName, email, phone, role,
+     *         joinDate, isActive, isAvailable] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e.employeeId, e.firstName, e.lastName, e.email, e.phone, e.role, " +
+           "e.joinDate, e.isActive, e.isAvailable FROM Employee e ORDER BY e.employeeId")
+    Stream<Object[]> streamExportRows();
 }
\ No newline at end of file
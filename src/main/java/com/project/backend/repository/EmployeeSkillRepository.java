@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -76,4 +77,60 @@ public interface EmployeeSkillRepository extends JpaRepository<EmployeeSkill, Lo
            "FROM EmployeeSkill es " +
            "WHERE es.employee.id = :employeeId AND es.skill.id = :skillId")
     boolean employeeHasSkill(@Param("employeeId") Long employeeId, @Param("skillId") Long skillId);
+    
+    /**
+     * Get every (employee, skill) pair as raw IDs, without loading entities
+     * @return A list of [employeeId, skillId] pairs ordered by employee
+     */
+    @Query("SELECT es.employee.employeeId, es.skill.skillId FROM EmployeeSkill es " +
+           "ORDER BY es.employee.employeeId")
+    List<Object[]> findAllEmployeeSkillPairs();
+    
+    /**
+     * Count employees per skill in a single grouped query
+     * @return A list of [skillId, employeeCount] pairs
+     */
+    @Query("SELECT es.skill.skillId, COUNT(DISTINCT es.employee.employeeId) " +
+           "FROM EmployeeSkill es " +
+           "GROUP BY es.skill.skillId")
+    List<Object[]> countEmployeesPerSkill();
+    
+    /**
+     * Get the skills and proficiency levels of all active employees as raw values
+     * @return A list of [employeeId, skillId, proficiencyLevel] rows
+     */
+    @Query("SELECT es.employee.employeeId, es.skill.skillId, es.proficiencyLevel " +
+           "FROM EmployeeSkill es " +
+           "WHERE es.employee.isActive = true")
+    List<Object[]> findActiveEmployeeSkillLevels();
+    
+    /**
+     * Get the skills of several employees in one query
+     * @param employeeIds The IDs of the employees
+     * @return A list of [employeeId, skillId, name, category, description, proficiencyLevel] rows
+     */
+    @Query("SELECT es.employee.employeeId, s.skillId, s.name, s.category, s.description, es.proficiencyLevel " +
+           "FROM EmployeeSkill es JOIN es.skill s " +
+           "WHERE es.employee.employeeId IN :employeeIds " +
+           "ORDER BY s.name")
+    List<Object[]> findSkillRowsByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    /**
+     * Get proficiency and acquisition date of every skill of active employees as raw values
+     * @return A list of [employeeId, skillId, proficiencyLevel, acquiredDate] rows
+     */
+    @Query("SELECT es.employee.employeeId, es.skill.skillId, es.proficiencyLevel, es.acquiredDate " +
+           "FROM EmployeeSkill es " +
+           "WHERE es.employee.isActive = true")
+    List<Object[]> findActiveEmployeeSkillDetails();
+    
+    /**
+     * Get the proficiency of active employees in a set of skills as raw values
+     * @param skillIds The IDs of the skills
+     * @return A list of [employeeId, skillId, proficiencyLevel] rows
+     */
+    @Query("SELECT es.employee.employeeId, es.skill.skillId, es.proficiencyLevel " +
+           "FROM EmployeeSkill es " +
+           "WHERE es.employee.isActive = true AND es.skill.skillId IN :skillIds")
+    List<Object[]> findActiveSkillLevelsBySkillIds(@Param("skillIds") Collection<Long> skillIds);
 }
\ No newline at end of file
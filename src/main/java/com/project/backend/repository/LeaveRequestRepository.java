@@ -1,13 +1,21 @@
 package com.project.backend.repository;
 
 import com.project.backend.model.LeaveRequest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
@@ -81,7 +89,9 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     /**
      * Find leave requests with conflicts (overlapping periods for the same employee)
      * @return A list of leave requests with conflicts
+     * @deprecated Quadratic self-join; use LeaveConflictService instead
      */
+    @Deprecated
     @Query("SELECT lr1 FROM LeaveRequest lr1, LeaveRequest lr2 " +
            "WHERE lr1.id <> lr2.id " +
            "AND lr1.employee.id = lr2.employee.id " +
@@ -91,4 +101,146 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
            "     OR (lr1.endDate BETWEEN lr2.startDate AND lr2.endDate) " +
            "     OR (lr2.startDate BETWEEN lr1.startDate AND lr1.endDate))")
     List<LeaveRequest> findLeaveRequestsWithConflicts();
+    
+    /**
+     * Count leave requests grouped by status
+     * @return A list of [status, leaveCount] pairs
+     */
+    @Query("SELECT lr.status, COUNT(lr) FROM LeaveRequest lr GROUP BY lr.status")
+    List<Object[]> countLeaveRequestsGroupedByStatus();
+    
+    /**
+     * Count approved leaves that are ongoing and upcoming relative to a date
+     * @param currentDate The reference date
+     * @return A single [ongoingCount, upcomingCount] row
+     */
+    @Query("SELECT " +
+           "SUM(CASE WHEN :currentDate BETWEEN lr.startDate AND lr.endDate THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN lr.startDate > :currentDate THEN 1 ELSE 0 END) " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.status = 'APPROVED'")
+    List<Object[]> countOngoingAndUpcomingLeaves(@Param("currentDate") LocalDate currentDate);
+    
+    /**
+     * Count approved leave requests grouped by the month they start in
+     * @return A list of [year, month, leaveCount] rows
+     */
+    @Query("SELECT YEAR(lr.startDate), MONTH(lr.startDate), COUNT(lr) " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.status = 'APPROVED' " +
+           "GROUP BY YEAR(lr.startDate), MONTH(lr.startDate)")
+    List<Object[]> countApprovedLeavesGroupedByMonth();
+    
+    /**
+     * Get all approved leave periods as raw values
+     * @return A list of [leaveRequestId, employeeId, startDate, endDate] rows
+     */
+    @Query("SELECT lr.leaveRequestId, lr.employee.employeeId, lr.startDate, lr.endDate " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.status = 'APPROVED' " +
+           "ORDER BY lr.employee.employeeId, lr.startDate")
+    List<Object[]> findApprovedLeaveIntervals();
+    
+    /**
+     * Stream pending and approved leave periods ordered by employee and start date
+     * @param afterEmployeeId Only employees with a greater ID are returned
+     * @return A forward-only stream of [leaveRequestId, employeeId, startDate, endDate, status] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT lr.leaveRequestId, lr.employee.employeeId, lr.startDate, lr.endDate, lr.status " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.status IN ('PENDING', 'APPROVED') " +
+           "AND lr.employee.employeeId > :afterEmployeeId " +
+           "ORDER BY lr.employee.employeeId, lr.startDate, lr.leaveRequestId")
+    Stream<Object[]> streamOpenLeaveIntervals(@Param("afterEmployeeId") Long afterEmployeeId);
+    
+    /**
+     * Stream pending and approved leave periods of some employees ordered by employee and start date
+     * @param employeeIds The IDs of the employees
+     * @return A forward-only stream of [leaveRequestId, employeeId, startDate, endDate, status] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT lr.leaveRequestId, lr.employee.employeeId, lr.startDate, lr.endDate, lr.status " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.status IN ('PENDING', 'APPROVED') " +
+           "AND lr.employee.employeeId IN :employeeIds " +
+           "ORDER BY lr.employee.employeeId, lr.startDate, lr.leaveRequestId")
+    Stream<Object[]> streamOpenLeaveIntervalsForEmployees(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    /**
+     * Find employees whose leave requests changed after a point in time
+     * @param since The watermark
+     * @return A list of employee IDs
+     */
+    @Query("SELECT DISTINCT lr.employee.employeeId FROM LeaveRequest lr WHERE lr.updatedAt > :since")
+    List<Long> findEmployeeIdsWithLeaveChangesSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Get the next page of leave requests after a cursor, ordered by ID
+     * @param afterId Only leave requests with a greater ID are returned
+     * @param limit Maximum number of leave requests to return
+     * @return A list of leave requests
+     */
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.leaveRequestId > :afterId ORDER BY lr.leaveRequestId")
+    List<LeaveRequest> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Stream all leave requests ordered by ID without loading them all into memory
+     * @return A forward-only stream of leave requests
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT lr FROM LeaveRequest lr ORDER BY lr.leaveRequestId")
+    Stream<LeaveRequest> streamAllOrderedById();
+    
+    /**
+     * Stream all leave requests as flat export rows ordered by ID
+     * @return A forward-only stream of [leaveRequestId, employeeId, firstName, lastName, leaveType,
+     *         startDate, endDate, status, requestDate, approvalDate] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT lr.leaveRequestId, e.employeeId, e.firstName, e.lastName, lr.leaveType, " +
+           "lr.startDate, lr.endDate, lr.status, lr.requestDate, lr.approvalDate " +
+           "FROM LeaveRequest lr JOIN lr.employee e ORDER BY lr.leaveRequestId")
+    Stream<Object[]> streamExportRows();
+    
+    /**
+     * Get every pending or approved leave request as raw values for the report cube
+     * @return A list of [employeeId, startDate, endDate, status] rows
+     */
+    @Query("SELECT lr.employee.employeeId, lr.startDate, lr.endDate, lr.status " +
+           "FROM LeaveRequest lr WHERE lr.status IN ('PENDING', 'APPROVED') ORDER BY lr.employee.employeeId")
+    List<Object[]> findCubeRows();
+    
+    /**
+     * Get the pending or approved leave requests of one employee as raw values for the report cube
+     * @param employeeId The employee ID
+     * @return A list of [employeeId, startDate, endDate, status] rows
+     */
+    @Query("SELECT lr.employee.employeeId, lr.startDate, lr.endDate, lr.status " +
+           "FROM LeaveRequest lr WHERE lr.status IN ('PENDING', 'APPROVED') AND lr.employee.employeeId = :employeeId")
+    List<Object[]> findCubeRowsByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    /**
+     * Get the approved leave of one employee that overlaps a period as raw values
+     * @param employeeId The employee ID
+     * @param startDate The start date of the period
+     * @param endDate The end date of the period
+     * @return A list of [startDate, endDate] rows
+     */
+    @Query("SELECT lr.startDate, lr.endDate " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.employee.employeeId = :employeeId AND lr.status = 'APPROVED' " +
+           "AND lr.startDate <= :endDate AND lr.endDate >= :startDate")
+    List<Object[]> findApprovedIntervalsByEmployeeInPeriod(
+            @Param("employeeId") Long employeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Get the current status of a leave request
+     * @param leaveRequestId The leave request ID
+     * @return Optional containing the status if the leave request exists
+     */
+    @Query("SELECT lr.status FROM LeaveRequest lr WHERE lr.leaveRequestId = :leaveRequestId")
+    Optional<String> findStatusById(@Param("leaveRequestId") Long leaveRequestId);
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.project.backend.repository;
+
+import com.project.backend.model.MetricRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MetricRollupRepository extends JpaRepository<MetricRollup, Long> {
+    
+    /**
+     * Get the buckets of one resolution starting in a period, for several metrics
+     * @param metrics The metric names
+     * @param resolution MINUTE, HOUR or DAY
+     * @param from Earliest bucket start, inclusive
+     * @param to Latest bucket start, exclusive
+     * @return A list of buckets ordered by metric and bucket start
+     */
+    @Query("SELECT r FROM MetricRollup r " +
+           "WHERE r.metric IN :metrics AND r.resolution = :resolution " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "ORDER BY r.metric, r.bucketStart")
+    List<MetricRollup> findBuckets(
+            @Param("metrics") Collection<String> metrics,
+            @Param("resolution") String resolution,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+    
+    /**
+     * Get the buckets of all metrics of one resolution starting in a period
+     * @param resolution MINUTE, HOUR or DAY
+     * @param from Earliest bucket start, inclusive
+     * @param to Latest bucket start, exclusive
+     * @return A list of buckets ordered by metric and bucket start
+     */
+    @Query("SELECT r FROM MetricRollup r " +
+           "WHERE r.resolution = :resolution AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "ORDER BY r.metric, r.bucketStart")
+    List<MetricRollup> findAllBuckets(
+            @Param("resolution") String resolution,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+    
+    /**
+     * Get the start of the earliest bucket of a resolution
+     * @param resolution MINUTE, HOUR or DAY
+     * @return The bucket start, null if there are no buckets
+     */
+    @Query("SELECT MIN(r.bucketStart) FROM MetricRollup r WHERE r.resolution = :resolution")
+    LocalDateTime findEarliestBucketStart(@Param("resolution") String resolution);
+    
+    /**
+     * Get the start of the latest bucket of a resolution
+     * @param resolution MINUTE, HOUR or DAY
+     * @return The bucket start, null if there are no buckets
+     */
+    @Query("SELECT MAX(r.bucketStart) FROM MetricRollup r WHERE r.resolution = :resolution")
+    LocalDateTime findLatestBucketStart(@Param("resolution") String resolution);
+    
+    /**
+     * Get the names of all metrics with history
+     * @return A list of metric names
+     */
+    @Query("SELECT DISTINCT r.metric FROM MetricRollup r ORDER BY r.metric")
+    List<String> findMetricNames();
+    
+    /**
+     * Delete the buckets of a resolution that start before a cutoff
+     * @param resolution MINUTE, HOUR or DAY
+     * @param cutoff Buckets starting before this are deleted
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM MetricRollup r WHERE r.resolution = :resolution AND r.bucketStart < :cutoff")
+    int deleteBucketsBefore(
+            @Param("resolution") String resolution,
+            @Param("cutoff") LocalDateTime cutoff);
+}
\ No newline at end of file
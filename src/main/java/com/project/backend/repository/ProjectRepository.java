@@ -1,13 +1,20 @@
 package com.project.backend.repository;
 
+import com.project.backend.dto.ProjectDTO;
 import com.project.backend.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -19,6 +26,15 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      */
     List<Project> findByStatus(String status);
     
+    /**
+     * Find projects with a status ending within a date range
+     * @param status The status to search for
+     * @param startDate First end date to include
+     * @param endDate Last end date to include
+     * @return A list of matching projects
+     */
+    List<Project> findByStatusAndEndDateBetween(String status, LocalDate startDate, LocalDate endDate);
+    
     /**
      * Find active projects (IN_PROGRESS)
      * @return A list of active projects
@@ -62,4 +78,102 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
         "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Project> searchProjects(@Param("searchTerm") String searchTerm);
+    
+    /**
+     * Count projects grouped by status
+     * @return A list of [status, projectCount] pairs
+     */
+    @Query("SELECT p.status, COUNT(p) FROM Project p GROUP BY p.status")
+    List<Object[]> countProjectsGroupedByStatus();
+    
+    /**
+     * Ranked search over name and description, backed by the projects_search_trgm index
+     * @param term Lower-cased search term
+     * @param likePattern Lower-cased LIKE pattern with wildcards escaped, e.g. %term%
+     * @param limit Maximum number of IDs to return
+     * @param offset Number of ranked results to skip
+     * @return A list of project IDs, best match first
+     */
+    @Query(value = "SELECT p.project_id FROM projects p " +
+           "WHERE lower(p.name || ' ' || coalesce(p.description, '')) LIKE :likePattern " +
+           "OR :term <% lower(p.name || ' ' || coalesce(p.description, '')) " +
+           "ORDER BY word_similarity(:term, lower(p.name || ' ' || coalesce(p.description, ''))) DESC, p.project_id " +
+           "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchProjectIdsRanked(@Param("term") String term, @Param("likePattern") String likePattern,
+                                      @Param("limit") int limit, @Param("offset") int offset);
+    
+    /**
+     * Get the searchable columns of every project without loading entities
+     * @return A list of [projectId, name, description] rows
+     */
+    @Query("SELECT p.projectId, p.name, p.description FROM Project p")
+    List<Object[]> findSearchRows();
+    
+    /**
+     * Get the next page of projects after a cursor, ordered by ID, selecting only DTO columns
+     * @param afterId Only projects with a greater ID are returned
+     * @param limit Maximum number of projects to return
+     * @return A list of project DTOs without child collections
+     */
+    @Query("SELECT new com.project.backend.dto.ProjectDTO(p.projectId, p.name, p.description, p.startDate, p.endDate, p.status, p.priority) " +
+           "FROM Project p WHERE p.projectId > :afterId ORDER BY p.projectId")
+    List<ProjectDTO> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Stream all projects ordered by ID without loading them all into memory
+     * @return A forward-only stream of project DTOs without child collections
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.project.backend.dto.ProjectDTO(p.projectId, p.name, p.description, p.startDate, p.endDate, p.status, p.priority) " +
+           "FROM Project p ORDER BY p.projectId")
+    Stream<ProjectDTO> streamAllOrderedById();
+    
+    /**
+     * Get projects by ID, selecting only DTO columns
+     * @param ids The IDs of the projects
+     * @return A list of project DTOs without child collections, in no particular order
+     */
+    @Query("SELECT new com.project.backend.dto.ProjectDTO(p.projectId, p.name, p.description, p.startDate, p.endDate, p.status, p.priority) " +
+           "FROM Project p WHERE p.projectId IN :ids")
+    List<ProjectDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Get the IDs of all projects with one of the given statuses
+     * @param statuses Project statuses to include
+     * @return A list of project IDs
+     */
+    @Query("SELECT p.projectId FROM Project p WHERE p.status IN :statuses")
+    List<Long> findProjectIdsByStatusIn(@Param("statuses") Collection<String> statuses);
+    
+    /**
+     * Get the name and period of all projects with one of the given statuses as raw values
+     * @param statuses Project statuses to include
+     * @return A list of [projectId, name, startDate, endDate] rows
+     */
+    @Query("SELECT p.projectId, p.name, p.startDate, p.endDate FROM Project p WHERE p.status IN :statuses")
+    List<Object[]> findProjectRowsByStatusIn(@Param("statuses") Collection<String> statuses);
+    
+    /**
+     * Stream all projects as flat export rows ordered by ID
+     * @return A forward-only stream of [projectId, name, startDate, endDate, status, priority] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.projectId, p.name, p.startDate, p.endDate, p.status, p.priority " +
+           "FROM Project p ORDER BY p.projectId")
+    Stream<Object[]> streamExportRows();
+    
+    /**
+     * Get the report cube attributes of projects
+     * @param projectIds The IDs of the projects
+     * @return A list of [projectId, name, priority] rows
+     */
+    @Query("SELECT p.projectId, p.name, p.priority FROM Project p WHERE p.projectId IN :projectIds")
+    List<Object[]> findCubeRowsByIds(@Param("projectIds") Collection<Long> projectIds);
+    
+    /**
+     * Get the report cube attributes of all projects
+     * @return A list of [projectId, name, priority] rows
+     */
+    @Query("SELECT p.projectId, p.name, p.priority FROM Project p")
+    List<Object[]> findCubeRows();
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -85,4 +86,86 @@ public interface ProjectSkillRepository extends JpaRepository<ProjectSkill, Long
     Integer getRequiredCountForSkill(
             @Param("projectId") Long projectId,
             @Param("skillId") Long skillId);
+    
+    /**
+     * Get the IDs of all skills required by a project
+     * @param projectId The ID of the project
+     * @return A list of required skill IDs
+     */
+    @Query("SELECT ps.skill.skillId FROM ProjectSkill ps WHERE ps.project.projectId = :projectId")
+    List<Long> findSkillIdsByProjectId(@Param("projectId") Long projectId);
+    
+    /**
+     * Count projects requiring each skill in a single grouped query
+     * @return A list of [skillId, projectCount] pairs
+     */
+    @Query("SELECT ps.skill.skillId, COUNT(DISTINCT ps.project.projectId) " +
+           "FROM ProjectSkill ps " +
+           "GROUP BY ps.skill.skillId")
+    List<Object[]> countProjectsPerSkill();
+    
+    /**
+     * Count projects with a given status requiring each skill in a single grouped query
+     * @param status The project status to filter by
+     * @return A list of [skillId, projectCount] pairs
+     */
+    @Query("SELECT ps.skill.skillId, COUNT(DISTINCT ps.project.projectId) " +
+           "FROM ProjectSkill ps " +
+           "WHERE ps.project.status = :status " +
+           "GROUP BY ps.skill.skillId")
+    List<Object[]> countProjectsPerSkillByStatus(@Param("status") String status);
+    
+    /**
+     * Get the skill requirements of several projects as raw values
+     * @param projectIds The IDs of the projects
+     * @return A list of [projectId, skillId, importanceLevel, requiredCount, projectPriority] rows
+     */
+    @Query("SELECT ps.project.projectId, ps.skill.skillId, ps.importanceLevel, ps.requiredCount, ps.project.priority " +
+           "FROM ProjectSkill ps " +
+           "WHERE ps.project.projectId IN :projectIds")
+    List<Object[]> findRequirementRowsByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+    
+    /**
+     * Get the required skills of several projects in one query
+     * @param projectIds The IDs of the projects
+     * @return A list of [projectId, skillId, name, category, description, importanceLevel] rows
+     */
+    @Query("SELECT ps.project.projectId, s.skillId, s.name, s.category, s.description, ps.importanceLevel " +
+           "FROM ProjectSkill ps JOIN ps.skill s " +
+           "WHERE ps.project.projectId IN :projectIds " +
+           "ORDER BY s.name")
+    List<Object[]> findSkillRowsByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+    
+    /**
+     * Get the IDs of projects requiring at least one skill an employee has
+     * @param employeeId The ID of the employee
+     * @param statuses Project statuses to include
+     * @return A list of project IDs
+     */
+    @Query("SELECT DISTINCT ps.project.projectId FROM ProjectSkill ps, EmployeeSkill es " +
+           "WHERE es.employee.employeeId = :employeeId AND es.skill.skillId = ps.skill.skillId " +
+           "AND ps.project.status IN :statuses")
+    List<Long> findProjectIdsSharingSkillsWithEmployee(
+            @Param("employeeId") Long employeeId,
+            @Param("statuses") Collection<String> statuses);
+    
+    /**
+     * Get every project skill requirement as a pair of IDs
+     * @return A list of [projectId, skillId] rows
+     */
+    @Query("SELECT ps.project.projectId, ps.skill.skillId FROM ProjectSkill ps")
+    List<Object[]> findProjectSkillPairs();
+    
+    /**
+     * Get the required skills of projects in a status that no employee actively assigned to the
+     * project has, highest priority projects first
+     * @param status Project status
+     * @return A list of [projectId, skillId, projectName, skillName] rows
+     */
+    @Query("SELECT p.projectId, s.skillId, p.name, s.name FROM ProjectSkill ps JOIN ps.project p JOIN ps.skill s " +
+           "WHERE p.status = :status AND NOT EXISTS (" +
+           "SELECT 1 FROM Assignment a, EmployeeSkill es " +
+           "WHERE a.project = p AND a.status = 'ACTIVE' AND es.employee = a.employee AND es.skill = s) " +
+           "ORDER BY p.priority DESC NULLS LAST, p.projectId, s.skillId")
+    List<Object[]> findUncoveredSkillRowsByProjectStatus(@Param("status") String status);
 }
\ No newline at end of file
@@ -1,13 +1,20 @@
 package com.project.backend.repository;
 
+import com.project.backend.dto.SkillDTO;
 import com.project.backend.model.Skill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Long> {
@@ -63,4 +70,62 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     @Query("SELECT s FROM Skill s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "OR LOWER(s.category) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Skill> searchSkills(@Param("searchTerm") String searchTerm);
+    
+    /**
+     * Get all skill IDs in ascending order
+     * @return A list of skill IDs
+     */
+    @Query("SELECT s.skillId FROM Skill s ORDER BY s.skillId")
+    List<Long> findAllSkillIds();
+    
+    /**
+     * Get the basic columns of every skill without loading entities
+     * @return A list of [skillId, name, category] rows
+     */
+    @Query("SELECT s.skillId, s.name, s.category FROM Skill s ORDER BY s.skillId")
+    List<Object[]> findSkillSummaries();
+    
+    /**
+     * Ranked search over name and category, backed by the skills_search_trgm index
+     * @param term Lower-cased search term
+     * @param likePattern Lower-cased LIKE pattern with wildcards escaped, e.g. %term%
+     * @param limit Maximum number of IDs to return
+     * @param offset Number of ranked results to skip
+     * @return A list of skill IDs, best match first
+     */
+    @Query(value = "SELECT s.skill_id FROM skills s " +
+           "WHERE lower(s.name || ' ' || coalesce(s.category, '')) LIKE :likePattern " +
+           "OR :term <% lower(s.name || ' ' || coalesce(s.category, '')) " +
+           "ORDER BY word_similarity(:term, lower(s.name || ' ' || coalesce(s.category, ''))) DESC, s.skill_id " +
+           "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchSkillIdsRanked(@Param("term") String term, @Param("likePattern") String likePattern,
+                                    @Param("limit") int limit, @Param("offset") int offset);
+    
+    /**
+     * Get the next page of skills after a cursor, ordered by ID, selecting only DTO columns
+     * @param afterId Only skills with a greater ID are returned
+     * @param limit Maximum number of skills to return
+     * @return A list of skill DTOs without child collections
+     */
+    @Query("SELECT new com.project.backend.dto.SkillDTO(s.skillId, s.name, s.category, s.description) " +
+           "FROM Skill s WHERE s.skillId > :afterId ORDER BY s.skillId")
+    List<SkillDTO> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Stream all skills ordered by ID without loading them all into memory
+     * @return A forward-only stream of skill DTOs without child collections
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.project.backend.dto.SkillDTO(s.skillId, s.name, s.category, s.description) " +
+           "FROM Skill s ORDER BY s.skillId")
+    Stream<SkillDTO> streamAllOrderedById();
+    
+    /**
+     * Get skills by ID, selecting only DTO columns
+     * @param ids The IDs of the skills
+     * @return A list of skill DTOs without child collections, in no particular order
+     */
+    @Query("SELECT new com.project.backend.dto.SkillDTO(s.skillId, s.name, s.category, s.description) " +
+           "FROM Skill s WHERE s.skillId IN :ids")
+    List<SkillDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,462 @@
+package com.project.backend.service;
+
+import com.project.backend.dto.AllocationJobDTO;
+import com.project.backend.dto.AutoAllocationRequestDTO;
+import com.project.backend.dto.PortfolioAllocationRequestDTO;
+import com.project.backend.util.SolverProgress;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs long allocation requests as background jobs.
+ * A submit returns a job ID right away; the work runs on a bounded thread pool and callers
+ * poll the job, subscribe to its progress as server-sent events and fetch the result when
+ * it is done. Each tenant may only have a limited number of jobs queued or running.
+ * Finished jobs are kept for a retention period and then dropped.
+ * Progress events are sent from a separate pool through a small queue per subscriber,
+ * so a slow client only ever delays itself.
+ */
+@Service
+public class AllocationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AllocationJobService.class);
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final String QUEUED = "QUEUED";
+    private static final String RUNNING = "RUNNING";
+    private static final String SUCCEEDED = "SUCCEEDED";
+    private static final String FAILED = "FAILED";
+    private static final String CANCELED = "CANCELED";
+
+    private final AllocationService allocationService;
+    private final PortfolioAllocationService portfolioAllocationService;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor eventExecutor;
+    private final int eventQueueCapacity;
+    private final int maxJobsPerTenant;
+    private final long retentionMillis;
+    private final long eventTimeoutMillis;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> activeJobsByTenant = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AllocationJobService(
+            AllocationService allocationService,
+            PortfolioAllocationService portfolioAllocationService,
+            @Value("${allocation.jobs.threads:4}") int threads,
+            @Value("${allocation.jobs.queue-capacity:100}") int queueCapacity,
+            @Value("${allocation.jobs.max-per-tenant:2}") int maxJobsPerTenant,
+            @Value("${allocation.jobs.retention-ms:3600000}") long retentionMillis,
+            @Value("${allocation.jobs.event-timeout-ms:600000}") long eventTimeoutMillis,
+            @Value("${allocation.jobs.event-threads:2}") int eventThreads,
+            @Value("${allocation.jobs.event-queue-capacity:16}") int eventQueueCapacity) {
+        this.allocationService = allocationService;
+        this.portfolioAllocationService = portfolioAllocationService;
+        this.maxJobsPerTenant = maxJobsPerTenant;
+        this.retentionMillis = retentionMillis;
+        this.eventTimeoutMillis = eventTimeoutMillis;
+        this.eventQueueCapacity = Math.max(1, eventQueueCapacity);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "allocation-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // At most one drain task per subscriber is ever queued, so the queue is bounded by the subscribers
+        AtomicInteger eventThreadCount = new AtomicInteger();
+        this.eventExecutor = new ThreadPoolExecutor(eventThreads, eventThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "allocation-job-events-" + eventThreadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queue an automatic allocation for one project
+     * @param tenant Tenant submitting the job, null for the default tenant
+     * @param request Project, number of employees and period
+     * @return The queued job
+     * @throws IllegalArgumentException if the request is invalid
+     * @throws IllegalStateException if the tenant is at its job limit or the queue is full
+     */
+    public AllocationJobDTO submitAutoAllocation(String tenant, AutoAllocationRequestDTO request) {
+        if (request.getProjectId() == null) {
+            throw new IllegalArgumentException("A project is required");
+        }
+        if (request.getRequiredEmployeeCount() <= 0) {
+            throw new IllegalArgumentException("Required employee count must be positive");
+        }
+        LocalDate startDate = toLocalDate(request.getStartDate(), LocalDate.now());
+        LocalDate endDate = toLocalDate(request.getEndDate(), startDate);
+        return submit(tenant, "AUTO_ALLOCATE", job -> {
+            job.progress.start(1);
+            // Assignments are committed by the call below, so a cancel is only honored before it
+            if (!job.startWriting()) {
+                throw new CancellationException("Canceled before the allocation started");
+            }
+            Object created = allocationService.autoAllocateAssignments(
+                    request.getProjectId(), request.getRequiredEmployeeCount(), startDate, endDate);
+            job.progress.advance(1);
+            job.progress.finish();
+            return created;
+        });
+    }
+
+    /**
+     * Queue a portfolio allocation; cancelling it while running returns the best plan so far
+     * @param tenant Tenant submitting the job, null for the default tenant
+     * @param request Projects, period, capacity per slot and time budget
+     * @return The queued job
+     * @throws IllegalArgumentException if the request is invalid
+     * @throws IllegalStateException if the tenant is at its job limit or the queue is full
+     */
+    public AllocationJobDTO submitPortfolioAllocation(String tenant, PortfolioAllocationRequestDTO request) {
+        if (request.getProjectIds() == null || request.getProjectIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one project is required");
+        }
+        return submit(tenant, "PORTFOLIO", job -> portfolioAllocationService.allocate(request, job.progress));
+    }
+
+    /**
+     * Get the current state of a job
+     * @param tenant Tenant, null for the default tenant
+     * @param jobId Job ID
+     * @return Optional containing the job if it exists and belongs to the tenant
+     */
+    public Optional<AllocationJobDTO> getJob(String tenant, String jobId) {
+        return findJob(tenant, jobId).map(Job::toDTO);
+    }
+
+    /**
+     * Get the jobs of a tenant, newest first
+     * @param tenant Tenant, null for the default tenant
+     * @return The tenant's queued, running and retained finished jobs
+     */
+    public List<AllocationJobDTO> getJobs(String tenant) {
+        String owner = tenantOrDefault(tenant);
+        List<AllocationJobDTO> result = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.tenant.equals(owner)) {
+                result.add(job.toDTO());
+            }
+        }
+        result.sort(Comparator.comparing(AllocationJobDTO::getSubmittedAt).reversed());
+        return result;
+    }
+
+    /**
+     * Get the result of a job
+     * @param tenant Tenant, null for the default tenant
+     * @param jobId Job ID
+     * @return Optional containing the result if the job belongs to the tenant and produced one
+     */
+    public Optional<Object> getResult(String tenant, String jobId) {
+        return findJob(tenant, jobId).map(job -> job.result);
+    }
+
+    /**
+     * Cancel a job. A queued job never runs; a running job is asked to stop at its next
+     * check point, which for portfolio jobs still yields the best plan found so far.
+     * An automatic allocation that has started writing assignments can no longer be canceled;
+     * the request is ignored and the job finishes as SUCCEEDED without cancelRequested set.
+     * @param tenant Tenant, null for the default tenant
+     * @param jobId Job ID
+     * @return The job after the request, empty if it does not exist or belongs to another tenant
+     */
+    public Optional<AllocationJobDTO> cancel(String tenant, String jobId) {
+        Optional<Job> job = findJob(tenant, jobId);
+        job.ifPresent(Job::cancel);
+        return job.map(Job::toDTO);
+    }
+
+    /**
+     * Subscribe to the progress of a job as server-sent events.
+     * A "progress" event is sent at every publish interval and a final "done" event when the job finishes.
+     * A subscriber that falls behind skips intermediate progress events but always gets the latest one.
+     * @param tenant Tenant, null for the default tenant
+     * @param jobId Job ID
+     * @return Optional containing the emitter if the job exists and belongs to the tenant
+     */
+    public Optional<SseEmitter> subscribe(String tenant, String jobId) {
+        Job job = findJob(tenant, jobId).orElse(null);
+        if (job == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(eventTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, eventQueueCapacity);
+        emitter.onCompletion(() -> job.listeners.remove(subscriber));
+        emitter.onTimeout(() -> job.listeners.remove(subscriber));
+        emitter.onError(e -> job.listeners.remove(subscriber));
+        job.listeners.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Queue progress for subscribers and drop finished jobs past their retention period.
+     * Nothing is sent from the scheduler thread; the event pool drains the subscriber queues.
+     */
+    @Scheduled(fixedDelayString = "${allocation.jobs.progress-interval-ms:500}")
+    public void publishProgress() {
+        long now = System.currentTimeMillis();
+        for (Job job : jobs.values()) {
+            if (!job.listeners.isEmpty()) {
+                AllocationJobDTO snapshot = job.toDTO();
+                for (Subscriber subscriber : job.listeners) {
+                    subscriber.offer(snapshot);
+                    scheduleDrain(job, subscriber);
+                }
+            }
+            Date finishedAt = job.finishedAt;
+            if (finishedAt != null && now - finishedAt.getTime() > retentionMillis && job.listeners.isEmpty()) {
+                jobs.remove(job.id);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Job job : jobs.values()) {
+            job.cancel();
+        }
+        executor.shutdownNow();
+        eventExecutor.shutdownNow();
+    }
+
+    private AllocationJobDTO submit(String tenant, String type, Function<Job, Object> work) {
+        String owner = tenantOrDefault(tenant);
+        AtomicInteger active = activeJobsByTenant.computeIfAbsent(owner, k -> new AtomicInteger());
+        if (active.incrementAndGet() > maxJobsPerTenant) {
+            active.decrementAndGet();
+            throw new IllegalStateException("Tenant " + owner + " already has " + maxJobsPerTenant
+                    + " allocation jobs queued or running");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), owner, type, active);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job, work));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            active.decrementAndGet();
+            throw new IllegalStateException("The allocation job queue is full");
+        }
+        logger.debug("Queued {} job {} for tenant {}", type, job.id, owner);
+        return job.toDTO();
+    }
+
+    private void scheduleDrain(Job job, Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                eventExecutor.execute(() -> drain(job, subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Send the queued events of one subscriber; only one drain per subscriber runs at a time
+     */
+    private void drain(Job job, Subscriber subscriber) {
+        do {
+            AllocationJobDTO snapshot;
+            while ((snapshot = subscriber.pending.poll()) != null) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(snapshot.isFinished() ? "done" : "progress").data(snapshot));
+                    if (snapshot.isFinished()) {
+                        subscriber.emitter.complete();
+                        job.listeners.remove(subscriber);
+                        return;
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    job.listeners.remove(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared would otherwise wait
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Look up a job of a tenant; jobs of other tenants are treated as missing
+     */
+    private Optional<Job> findJob(String tenant, String jobId) {
+        Job job = jobs.get(jobId);
+        return job != null && job.tenant.equals(tenantOrDefault(tenant)) ? Optional.of(job) : Optional.empty();
+    }
+
+    private void run(Job job, Function<Job, Object> work) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            Object result = work.apply(job);
+            job.finish(job.cancelRequested ? CANCELED : SUCCEEDED, result, null);
+        } catch (CancellationException e) {
+            job.finish(CANCELED, null, null);
+        } catch (RuntimeException e) {
+            logger.warn("Allocation job {} failed: {}", job.id, e.getMessage());
+            job.finish(FAILED, null, e.getMessage());
+        }
+    }
+
+    private static String tenantOrDefault(String tenant) {
+        return tenant == null || tenant.isBlank() ? DEFAULT_TENANT : tenant.trim();
+    }
+
+    private static LocalDate toLocalDate(Date date, LocalDate defaultValue) {
+        return date != null ? new java.sql.Date(date.getTime()).toLocalDate() : defaultValue;
+    }
+
+    /**
+     * State of one job. Status changes are synchronized so that exactly one transition
+     * finishes the job and gives the tenant's slot back.
+     */
+    private static class Job {
+        final String id;
+        final String tenant;
+        final String type;
+        final AtomicInteger tenantSlots;
+        final SolverProgress progress = new SolverProgress();
+        final Date submittedAt = new Date();
+        final List<Subscriber> listeners = new CopyOnWriteArrayList<>();
+        volatile String status = QUEUED;
+        volatile boolean cancelRequested;
+        volatile boolean writing;
+        volatile Date startedAt;
+        volatile Date finishedAt;
+        volatile Object result;
+        volatile String error;
+        volatile Future<?> future;
+
+        Job(String id, String tenant, String type, AtomicInteger tenantSlots) {
+            this.id = id;
+            this.tenant = tenant;
+            this.type = type;
+            this.tenantSlots = tenantSlots;
+        }
+
+        synchronized boolean start() {
+            if (!QUEUED.equals(status)) {
+                return false;
+            }
+            status = RUNNING;
+            startedAt = new Date();
+            return true;
+        }
+
+        /**
+         * Enter the phase in which the job persists its result
+         * @return False if the job was canceled first; cancel requests are ignored from here on
+         */
+        synchronized boolean startWriting() {
+            if (cancelRequested) {
+                return false;
+            }
+            writing = true;
+            return true;
+        }
+
+        synchronized void finish(String finalStatus, Object finalResult, String finalError) {
+            if (finishedAt != null) {
+                return;
+            }
+            status = finalStatus;
+            result = finalResult;
+            error = finalError;
+            finishedAt = new Date();
+            tenantSlots.decrementAndGet();
+        }
+
+        synchronized void cancel() {
+            if (finishedAt != null || writing) {
+                return;
+            }
+            cancelRequested = true;
+            progress.requestStop();
+            if (QUEUED.equals(status)) {
+                finish(CANCELED, null, null);
+                Future<?> queued = future;
+                if (queued != null) {
+                    queued.cancel(false);
+                }
+            }
+        }
+
+        AllocationJobDTO toDTO() {
+            AllocationJobDTO dto = new AllocationJobDTO();
+            dto.setId(id);
+            dto.setTenant(tenant);
+            dto.setType(type);
+            dto.setStatus(status);
+            dto.setCompleted(progress.getCompleted());
+            dto.setTotal(progress.getTotal());
+            dto.setFraction(progress.getFraction());
+            dto.setCancelRequested(cancelRequested);
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            return dto;
+        }
+    }
+
+    /**
+     * One SSE subscriber with its bounded queue of events still to send
+     */
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<AllocationJobDTO> pending;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Queue an event, dropping the oldest ones when full so that the latest always gets through
+         */
+        void offer(AllocationJobDTO snapshot) {
+            while (!pending.offer(snapshot)) {
+                pending.poll();
+            }
+        }
+    }
+}
\ No newline at end of file
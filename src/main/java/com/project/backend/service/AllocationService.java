@@ -1,37 +1,70 @@
 package com.project.backend.service;
 
+import com.project.backend.dto.AssignmentDTO;
+import com.project.backend.dto.EmployeeDTO;
+import com.project.backend.event.AssignmentStatusChangedEvent;
 import com.project.backend.model.Employee;
 import com.project.backend.model.Project;
 import com.project.backend.model.Assignment;
-import com.project.backend.model.Skill;
 import com.project.backend.repository.EmployeeRepository;
 import com.project.backend.repository.AssignmentRepository;
 import com.project.backend.repository.ProjectRepository;
+import com.project.backend.util.CandidateScoringIndex;
+import com.project.backend.util.CapacityLedger;
+import com.project.backend.util.KeysetPage;
+import com.project.backend.util.SkillMatchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
 @Service
 public class AllocationService {
 
+    // First batch of skill-ranked candidates per suggestion; grown until the top is settled
+    private static final int SUGGESTION_PRESELECT_FACTOR = 5;
+    private static final int MIN_SUGGESTION_PRESELECT = 200;
+
     private final EmployeeRepository employeeRepository;
     private final ProjectRepository projectRepository;
     private final AssignmentRepository assignmentRepository;
+    private final SkillMatchingService skillMatchingService;
+    private final AvailabilityIndexService availabilityIndexService;
+    private final StreamingExportService streamingExportService;
+    private final OptimisticLockRetryService optimisticLockRetryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public AllocationService(
             EmployeeRepository employeeRepository,
             ProjectRepository projectRepository,
-            AssignmentRepository assignmentRepository) {
+            AssignmentRepository assignmentRepository,
+            SkillMatchingService skillMatchingService,
+            AvailabilityIndexService availabilityIndexService,
+            StreamingExportService streamingExportService,
+            OptimisticLockRetryService optimisticLockRetryService,
+            ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
         this.projectRepository = projectRepository;
         this.assignmentRepository = assignmentRepository;
+        this.skillMatchingService = skillMatchingService;
+        this.availabilityIndexService = availabilityIndexService;
+        this.streamingExportService = streamingExportService;
+        this.optimisticLockRetryService = optimisticLockRetryService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -40,37 +73,173 @@ public class AllocationService {
      * @return List of suitable employees sorted by skill match
      */
     public List<Employee> findSuitableEmployeesForProject(Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
-        
-        Set<Skill> requiredSkills = project.getRequiredSkills();
-        List<Employee> availableEmployees = employeeRepository.findByIsAvailableTrue();
+        return findSuitableEmployeesForProject(projectId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find the top suitable employees with capacity left today for a project based on required skills
+     * @param projectId Project ID
+     * @param limit Maximum number of employees to return
+     * @return List of suitable employees sorted by skill match
+     */
+    public List<Employee> findSuitableEmployeesForProject(Long projectId, int limit) {
+        LocalDate today = LocalDate.now();
+        return findSuitableEmployeesForProject(projectId, limit, today, today, 1);
+    }
+
+    /**
+     * Find the top suitable employees for a project who are free during a period
+     * @param projectId Project ID
+     * @param limit Maximum number of employees to return
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @param minCapacity Minimum free capacity in percent
+     * @return List of suitable employees sorted by skill match
+     */
+    public List<Employee> findSuitableEmployeesForProject(Long projectId, int limit,
+                                                          LocalDate startDate, LocalDate endDate, int minCapacity) {
+        return findSuitableEmployeesForProject(projectId, limit,
+                employeeId -> availabilityIndexService.isAvailable(employeeId, startDate, endDate, minCapacity));
+    }
+
+    /**
+     * Exact skill matches only; near misses lack every required skill and must never be allocated
+     */
+    private List<Employee> findSuitableEmployeesForProject(Long projectId, int limit, LongPredicate filter) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found with id: " + projectId);
+        }
         
-        // Score employees based on how many required skills they have
-        List<Employee> suitableEmployees = availableEmployees.stream()
-                .filter(employee -> {
-                    Set<Skill> employeeSkills = employee.getSkills();
-                    // Employee must have at least one of the required skills
-                    return employeeSkills.stream()
-                            .anyMatch(requiredSkills::contains);
-                })
-                .sorted((e1, e2) -> {
-                    // Count matching skills for each employee
-                    long e1MatchCount = e1.getSkills().stream()
-                            .filter(requiredSkills::contains)
-                            .count();
-                    long e2MatchCount = e2.getSkills().stream()
-                            .filter(requiredSkills::contains)
-                            .count();
-                    return Long.compare(e2MatchCount, e1MatchCount); // Descending order
-                })
+        List<Long> rankedIds = skillMatchingService.findTopCandidates(projectId, limit, filter).stream()
+                .map(SkillMatchIndex.Match::getEmployeeId)
                 .collect(Collectors.toList());
         
-        return suitableEmployees;
+        // Load the selected employees in one query and restore the ranking order
+        Map<Long, Employee> employeesById = employeeRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Employee::getEmployeeId, Function.identity()));
+        
+        return rankedIds.stream()
+                .map(employeesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find candidates with capacity left today for a project, optionally filled up with near misses
+     * @param projectId Project ID
+     * @param limit Maximum number of candidates to return
+     * @param includeNearMisses Whether to add employees with similar skills when too few have a required one
+     * @return Candidates with their matched skill count, whether they are a near miss and their
+     *         penalized substitute score; exact matches first
+     */
+    public List<Map<String, Object>> findCandidatesForProject(Long projectId, int limit, boolean includeNearMisses) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found with id: " + projectId);
+        }
+        LocalDate today = LocalDate.now();
+        List<SkillMatchIndex.Match> matches = skillMatchingService.findTopCandidates(projectId, limit,
+                employeeId -> availabilityIndexService.isAvailable(employeeId, today, today, 1), includeNearMisses);
+
+        List<Long> employeeIds = matches.stream().map(SkillMatchIndex.Match::getEmployeeId).collect(Collectors.toList());
+        Map<Long, EmployeeDTO> employeesById = employeeRepository.findDTOsByIds(employeeIds).stream()
+                .collect(Collectors.toMap(EmployeeDTO::getId, Function.identity()));
+
+        List<Map<String, Object>> candidates = new ArrayList<>(matches.size());
+        for (SkillMatchIndex.Match match : matches) {
+            EmployeeDTO employee = employeesById.get(match.getEmployeeId());
+            Map<String, Object> candidate = new LinkedHashMap<>();
+            candidate.put("employeeId", match.getEmployeeId());
+            candidate.put("firstName", employee != null ? employee.getFirstName() : null);
+            candidate.put("lastName", employee != null ? employee.getLastName() : null);
+            candidate.put("matchedSkills", match.getMatchedSkills());
+            candidate.put("nearMiss", match.isNearMiss());
+            candidate.put("substituteScore", match.getSubstituteScore());
+            candidates.add(candidate);
+        }
+        return candidates;
     }
 
     /**
-     * Assign an employee to a project
+     * Rank employees for a project by proficiency, skill importance, skill recency and free capacity
+     * @param projectId Project ID
+     * @param limit Maximum number of suggestions to return
+     * @return Suggestions sorted by score, each with a per-component score breakdown
+     */
+    public List<Map<String, Object>> getSuggestedEmployeesForProject(Long projectId, int limit) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = project.getStartDate() != null && project.getStartDate().isAfter(today)
+                ? project.getStartDate() : today;
+        LocalDate endDate = project.getEndDate() != null && !project.getEndDate().isBefore(startDate)
+                ? project.getEndDate() : startDate;
+
+        // Availability adds at most WEIGHT_AVAILABILITY to a candidate's skill score, so candidates
+        // are pulled in skill order, and capacity looked up only for those, until nobody further
+        // down the skill ranking can still beat the current k-th combined score
+        Map<Long, ScoredCandidate> scoredById = new HashMap<>();
+        List<ScoredCandidate> scored = new ArrayList<>();
+        int batch = Math.max(limit * SUGGESTION_PRESELECT_FACTOR, MIN_SUGGESTION_PRESELECT);
+        while (limit > 0) {
+            List<CandidateScoringIndex.Candidate> ranked = skillMatchingService.scoreCandidates(projectId, batch);
+            for (CandidateScoringIndex.Candidate candidate : ranked) {
+                if (!scoredById.containsKey(candidate.getEmployeeId())) {
+                    double availability = availabilityIndexService.getRemainingCapacity(
+                            candidate.getEmployeeId(), startDate, endDate) / 100.0;
+                    ScoredCandidate entry = new ScoredCandidate(candidate, availability);
+                    scoredById.put(candidate.getEmployeeId(), entry);
+                    scored.add(entry);
+                }
+            }
+            scored.sort((a, b) -> a.score != b.score
+                    ? Double.compare(b.score, a.score)
+                    : Long.compare(a.candidate.getEmployeeId(), b.candidate.getEmployeeId()));
+            if (ranked.size() < batch || batch == Integer.MAX_VALUE) {
+                break;
+            }
+            double unseenBound = ranked.get(ranked.size() - 1).totalScore(1.0);
+            if (scored.size() >= limit && scored.get(limit - 1).score > unseenBound) {
+                break;
+            }
+            batch = (int) Math.min(Integer.MAX_VALUE, batch * 2L);
+        }
+        List<ScoredCandidate> top = scored.subList(0, Math.max(0, Math.min(limit, scored.size())));
+
+        List<Long> employeeIds = new ArrayList<>(top.size());
+        for (ScoredCandidate entry : top) {
+            employeeIds.add(entry.candidate.getEmployeeId());
+        }
+        Map<Long, EmployeeDTO> employeesById = employeeRepository.findDTOsByIds(employeeIds).stream()
+                .collect(Collectors.toMap(EmployeeDTO::getId, Function.identity()));
+
+        List<Map<String, Object>> suggestions = new ArrayList<>(top.size());
+        for (ScoredCandidate entry : top) {
+            CandidateScoringIndex.Candidate candidate = entry.candidate;
+            double availability = entry.availability;
+            EmployeeDTO employee = employeesById.get(candidate.getEmployeeId());
+
+            Map<String, Object> breakdown = new LinkedHashMap<>();
+            breakdown.put("proficiency", points(CandidateScoringIndex.WEIGHT_PROFICIENCY * candidate.getProficiency()));
+            breakdown.put("importanceCoverage", points(CandidateScoringIndex.WEIGHT_COVERAGE * candidate.getCoverage()));
+            breakdown.put("recency", points(CandidateScoringIndex.WEIGHT_RECENCY * candidate.getRecency()));
+            breakdown.put("availability", points(CandidateScoringIndex.WEIGHT_AVAILABILITY * availability));
+
+            Map<String, Object> suggestion = new LinkedHashMap<>();
+            suggestion.put("employeeId", candidate.getEmployeeId());
+            suggestion.put("firstName", employee != null ? employee.getFirstName() : null);
+            suggestion.put("lastName", employee != null ? employee.getLastName() : null);
+            suggestion.put("score", points(entry.score / 100.0));
+            suggestion.put("matchedSkills", candidate.getMatchedSkills());
+            suggestion.put("remainingCapacity", (int) Math.round(availability * 100));
+            suggestion.put("breakdown", breakdown);
+            suggestions.add(suggestion);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Assign an employee to a project.
+     * Runs in its own transaction and is retried when a concurrent allocation changed the employee.
      * @param employeeId Employee ID
      * @param projectId Project ID
      * @param startDate Assignment start date
@@ -79,29 +248,29 @@ public class AllocationService {
      */
     public Assignment assignEmployeeToProject(Long employeeId, Long projectId, 
                                                 LocalDate startDate, LocalDate endDate) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
-        
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
-        
-        // Validate employee availability
-        if (!employee.isAvailable()) {
-            throw new RuntimeException("Employee is not available for assignment");
-        }
-        
-        Assignment assignment = new Assignment();
-        assignment.setEmployee(employee);
-        assignment.setProject(project);
-        assignment.setStartDate(startDate);
-        assignment.setEndDate(endDate);
-        assignment.setStatus("ACTIVE");
-        
-        // Update employee availability
-        employee.setAvailable(false);
-        employeeRepository.save(employee);
-        
-        return assignmentRepository.save(assignment);
+        return optimisticLockRetryService.execute("assign",
+                () -> assignEmployee(employeeId, projectId, startDate, endDate, null));
+    }
+
+    /**
+     * Manually assign an employee to a project with explicit dates and allocation.
+     * Runs in its own transaction and is retried when a concurrent allocation changed the employee.
+     * @param projectId Project ID
+     * @param employeeId Employee ID
+     * @param assignmentDTO Assignment details; missing dates default to the project's dates
+     * @return Created assignment
+     */
+    public AssignmentDTO manuallyAssignEmployee(Long projectId, Long employeeId, AssignmentDTO assignmentDTO) {
+        return optimisticLockRetryService.execute("manual-assign", () -> {
+            Project project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+            LocalDate startDate = assignmentDTO.getStartDate() != null
+                    ? new java.sql.Date(assignmentDTO.getStartDate().getTime()).toLocalDate() : project.getStartDate();
+            LocalDate endDate = assignmentDTO.getEndDate() != null
+                    ? new java.sql.Date(assignmentDTO.getEndDate().getTime()).toLocalDate() : project.getEndDate();
+            Float allocation = assignmentDTO.getAllocation() > 0 ? (float) assignmentDTO.getAllocation() : null;
+            return toAssignmentDTO(assignEmployee(employeeId, projectId, startDate, endDate, allocation));
+        });
     }
 
     /**
@@ -110,18 +279,19 @@ public class AllocationService {
      * @return Updated project assignment
      */
     public Assignment completeAssignment(Long assignmentId) {
-        Assignment assignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + assignmentId));
+        return optimisticLockRetryService.execute("complete", () -> {
+            Assignment assignment = assignmentRepository.findById(assignmentId)
+                    .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + assignmentId));
         
-        assignment.setStatus("COMPLETED");
-        assignment.setEndDate(LocalDate.now());
+            String oldStatus = assignment.getStatus();
+            assignment.setStatus("COMPLETED");
+            assignment.setEndDate(LocalDate.now());
         
-        // Update employee availability
-        Employee employee = assignment.getEmployee();
-        employee.setAvailable(true);
-        employeeRepository.save(employee);
-        
-        return assignmentRepository.save(assignment);
+            // The status event releases the employee's capacity in the ledger
+            Assignment saved = assignmentRepository.save(assignment);
+            eventPublisher.publishEvent(AssignmentStatusChangedEvent.of(saved, oldStatus, saved.getStatus()));
+            return saved;
+        });
     }
 
     /**
@@ -160,6 +330,29 @@ public class AllocationService {
         return assignmentRepository.findByStatus(status);
     }
 
+    /**
+     * Get a page of assignments ordered by ID
+     * @param afterId ID of the last assignment of the previous page, 0 for the first page
+     * @param limit Page size, capped at {@link KeysetPage#MAX_LIMIT}
+     * @return List of assignments
+     */
+    @Transactional(readOnly = true)
+    public List<AssignmentDTO> getAssignmentsAfter(Long afterId, int limit) {
+        return assignmentRepository.findPageAfter(afterId, KeysetPage.limit(limit)).stream()
+                .map(this::toAssignmentDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Run an action for every assignment, streaming from the database in ID order
+     * @param action Action to run for each assignment
+     */
+    @Transactional(readOnly = true)
+    public void forEachAssignment(Consumer<AssignmentDTO> action) {
+        streamingExportService.forEach(assignmentRepository.streamAllOrderedById(),
+                assignment -> action.accept(toAssignmentDTO(assignment)));
+    }
+
     /**
      * Automatically allocate employees to a project
      * @param projectId Project ID
@@ -170,31 +363,186 @@ public class AllocationService {
      */
     public List<Assignment> autoAllocateEmployeesToProject(
             Long projectId, int requiredEmployeeCount, LocalDate startDate, LocalDate endDate) {
-        
-        List<Employee> suitableEmployees = findSuitableEmployeesForProject(projectId);
-        List<Assignment> createdAssignments = new ArrayList<>();
+        // A retry selects candidates again, so employees taken by the conflicting allocation are skipped
+        return optimisticLockRetryService.execute("auto-allocate",
+                () -> autoAllocate(projectId, requiredEmployeeCount, startDate, endDate));
+    }
+
+    /**
+     * Automatically allocate employees to a project, returning DTOs built inside the transaction
+     * so that callers outside of it, such as background jobs, never touch lazy associations
+     * @param projectId Project ID
+     * @param requiredEmployeeCount Number of employees needed
+     * @param startDate Assignment start date
+     * @param endDate Assignment end date
+     * @return List of created assignments
+     */
+    public List<AssignmentDTO> autoAllocateAssignments(
+            Long projectId, int requiredEmployeeCount, LocalDate startDate, LocalDate endDate) {
+        return optimisticLockRetryService.execute("auto-allocate",
+                () -> autoAllocate(projectId, requiredEmployeeCount, startDate, endDate).stream()
+                        .map(this::toAssignmentDTO)
+                        .collect(Collectors.toList()));
+    }
+
+    private List<Assignment> autoAllocate(
+            Long projectId, int requiredEmployeeCount, LocalDate startDate, LocalDate endDate) {
+        List<Long> suitableIds = findSuitableEmployeesForProject(
+                projectId, requiredEmployeeCount, startDate, endDate, 100).stream()
+                .map(Employee::getEmployeeId)
+                .collect(Collectors.toList());
         
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+        if (suitableIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return createAssignments(project, employeeRepository.findAllByIdForAllocation(suitableIds),
+                startDate, endDate);
+    }
+
+    /**
+     * Assign a list of employees to a project for the project's duration
+     * @param projectId Project ID
+     * @param employeeIds IDs of the employees to assign
+     * @return List of created assignments
+     */
+    public List<AssignmentDTO> assignEmployeesToProject(Long projectId, List<Long> employeeIds) {
+        return optimisticLockRetryService.execute("bulk-assign", () -> {
+            Project project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+            
+            List<Employee> employees = employeeRepository.findAllByIdForAllocation(employeeIds);
+            if (employees.size() != new HashSet<>(employeeIds).size()) {
+                throw new RuntimeException("One or more employees not found");
+            }
+            
+            return createAssignments(project, employees, project.getStartDate(), project.getEndDate()).stream()
+                    .map(this::toAssignmentDTO)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Create assignments for many employees in one batch.
+     * Every employee must have full capacity left for the period, and must have been loaded for
+     * allocation so that a concurrent allocation for any of them conflicts.
+     * Inserts are sent as JDBC batches.
+     * @param project Project to assign to
+     * @param employees Employees to assign
+     * @param startDate Assignment start date
+     * @param endDate Assignment end date
+     * @return List of created assignments
+     */
+    private List<Assignment> createAssignments(Project project, List<Employee> employees,
+                                               LocalDate startDate, LocalDate endDate) {
+        if (employees.isEmpty()) {
+            return new ArrayList<>();
+        }
         
-        // Assign the top N suitable employees
-        for (int i = 0; i < Math.min(requiredEmployeeCount, suitableEmployees.size()); i++) {
-            Employee employee = suitableEmployees.get(i);
-                
+        List<Assignment> assignments = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            requireCapacity(employee.getEmployeeId(), startDate, endDate, CapacityLedger.FULL_CAPACITY);
             Assignment assignment = new Assignment();
             assignment.setEmployee(employee);
             assignment.setProject(project);
-            assignment.setStartDate(startDate);
+            // Capacity was checked from today on, and assignments without a start take none
+            assignment.setStartDate(startDate != null ? startDate : LocalDate.now());
             assignment.setEndDate(endDate);
             assignment.setStatus("ACTIVE");
-            
-            // Update employee availability
-            employee.setAvailable(false);
-            employeeRepository.save(employee);
-            
-            createdAssignments.add(assignmentRepository.save(assignment));
+            assignments.add(assignment);
+        }
+        
+        List<Assignment> createdAssignments = assignmentRepository.saveAll(assignments);
+        for (Assignment assignment : createdAssignments) {
+            eventPublisher.publishEvent(AssignmentStatusChangedEvent.of(assignment, null, assignment.getStatus()));
         }
         
         return createdAssignments;
     }
+
+    /**
+     * Create a single assignment if the employee has enough capacity left for it.
+     * The employee's version is incremented on commit, so of two concurrent calls for the
+     * same employee only one commits; the other fails with an optimistic lock conflict.
+     */
+    private Assignment assignEmployee(Long employeeId, Long projectId, LocalDate startDate, LocalDate endDate,
+                                      Float allocationPercentage) {
+        Employee employee = employeeRepository.findByIdForAllocation(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
+        
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+        
+        requireCapacity(employeeId, startDate, endDate, toPercent(allocationPercentage));
+        
+        Assignment assignment = new Assignment();
+        assignment.setEmployee(employee);
+        assignment.setProject(project);
+        assignment.setStartDate(startDate != null ? startDate : LocalDate.now());
+        assignment.setEndDate(endDate);
+        assignment.setAllocationPercentage(allocationPercentage);
+        assignment.setStatus("ACTIVE");
+        
+        Assignment saved = assignmentRepository.save(assignment);
+        eventPublisher.publishEvent(AssignmentStatusChangedEvent.of(saved, null, saved.getStatus()));
+        return saved;
+    }
+
+    /**
+     * Check an employee's remaining capacity over a period.
+     * The capacity ledger rejects most overbookings without a query, but it is only updated after
+     * commit, so the deciding check reads the employee's assignments and leave in this transaction.
+     * The employee must already be loaded for allocation: a concurrent allocation that passed the
+     * same check then fails on the version increment and is retried against the committed rows.
+     * Without an end date the assignment is open-ended, so every day from the start on is checked.
+     * @throws RuntimeException if less than the requested percentage is left on any day
+     */
+    private void requireCapacity(Long employeeId, LocalDate startDate, LocalDate endDate, int percent) {
+        LocalDate start = startDate != null ? startDate : LocalDate.now();
+        LocalDate end = endDate == null ? Assignment.OPEN_END : endDate.isBefore(start) ? start : endDate;
+        int remaining = availabilityIndexService.getRemainingCapacity(employeeId, start, end);
+        if (remaining >= percent) {
+            remaining = availabilityIndexService.getCommittedRemainingCapacity(employeeId, start, end);
+        }
+        if (remaining < percent) {
+            throw new RuntimeException("Employee " + employeeId + " has only " + remaining
+                    + "% capacity left in this period, " + percent + "% requested");
+        }
+    }
+
+    private static int toPercent(Float allocationPercentage) {
+        return allocationPercentage != null ? Math.round(allocationPercentage) : CapacityLedger.FULL_CAPACITY;
+    }
+
+    private static double points(double fraction) {
+        return Math.round(fraction * 10000) / 100.0;
+    }
+
+    private AssignmentDTO toAssignmentDTO(Assignment assignment) {
+        AssignmentDTO dto = new AssignmentDTO();
+        dto.setId(assignment.getAssignmentId());
+        dto.setEmployeeId(assignment.getEmployee().getEmployeeId());
+        dto.setEmployeeName(assignment.getEmployee().getFirstName() + " " + assignment.getEmployee().getLastName());
+        dto.setProjectId(assignment.getProject().getProjectId());
+        dto.setProjectName(assignment.getProject().getName());
+        dto.setStartDate(assignment.getStartDate() != null ? java.sql.Date.valueOf(assignment.getStartDate()) : null);
+        dto.setEndDate(assignment.getEndDate() != null ? java.sql.Date.valueOf(assignment.getEndDate()) : null);
+        dto.setAllocation(assignment.getAllocationPercentage() != null ? assignment.getAllocationPercentage().intValue() : 100);
+        dto.setStatus(assignment.getStatus());
+        return dto;
+    }
+
+    private static class ScoredCandidate {
+        final CandidateScoringIndex.Candidate candidate;
+        final double availability;
+        final double score;
+
+        ScoredCandidate(CandidateScoringIndex.Candidate candidate, double availability) {
+            this.candidate = candidate;
+            this.availability = availability;
+            this.score = candidate.totalScore(availability);
+        }
+    }
 }
\ No newline at end of file
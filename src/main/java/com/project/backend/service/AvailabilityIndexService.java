@@ -0,0 +1,321 @@
+package com.project.backend.service;
+
+import com.project.backend.event.AssignmentStatusChangedEvent;
+import com.project.backend.event.EmployeeAvailabilityChangedEvent;
+import com.project.backend.event.LeaveStatusChangedEvent;
+import com.project.backend.model.Assignment;
+import com.project.backend.repository.AssignmentRepository;
+import com.project.backend.repository.EmployeeRepository;
+import com.project.backend.repository.LeaveRequestRepository;
+import com.project.backend.util.CapacityLedger;
+import com.project.backend.util.IntervalTimeline;
+import com.project.backend.util.LazyIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of approved leaves and active assignments per employee.
+ * Answers leave overlap and remaining capacity questions without hitting the database,
+ * and is kept in sync through leave, assignment and employee availability change events.
+ * Capacity is answered from a per-employee {@link CapacityLedger}, in which assignments
+ * commit their allocation percentage and approved leave commits the whole day.
+ * Employees manually marked as unavailable have no capacity left at all.
+ */
+@Service
+public class AvailabilityIndexService {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final EmployeeRepository employeeRepository;
+
+    private final LazyIndex<Index> index = new LazyIndex<>();
+    // Bumped after every change to the index, so that cached answers can tell they are stale
+    private final AtomicLong changes = new AtomicLong();
+    private volatile AvailableCount availableToday;
+
+    @Autowired
+    public AvailabilityIndexService(
+            LeaveRequestRepository leaveRequestRepository,
+            AssignmentRepository assignmentRepository,
+            EmployeeRepository employeeRepository) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Check if an employee has approved leave during a period
+     * @param employeeId Employee ID
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @return True if any approved leave overlaps the period
+     */
+    public boolean hasApprovedLeaveInPeriod(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return getIndex().leaves.getOrDefault(employeeId, IntervalTimeline.EMPTY)
+                .overlaps((int) startDate.toEpochDay(), (int) endDate.toEpochDay());
+    }
+
+    /**
+     * Get the capacity an employee has left on their busiest day in a period
+     * @param employeeId Employee ID
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @return Remaining capacity in percent, 0 if on approved leave or marked as unavailable
+     */
+    public int getRemainingCapacity(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        Index current = getIndex();
+        if (current.unavailable.contains(employeeId)) {
+            return 0;
+        }
+        return current.ledgers.getOrDefault(employeeId, CapacityLedger.EMPTY)
+                .remainingCapacity((int) startDate.toEpochDay(), (int) endDate.toEpochDay());
+    }
+
+    /**
+     * Get the capacity an employee has left on their busiest day in a period, read from the database.
+     * Unlike {@link #getRemainingCapacity}, which only sees changes once their events have been
+     * applied after commit, this sees everything committed before the caller's transaction and
+     * everything written in it, so it is the check to make after locking the employee for allocation.
+     * @param employeeId Employee ID
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @return Remaining capacity in percent, 0 if on approved leave
+     */
+    public int getCommittedRemainingCapacity(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        CapacityLedger.Builder builder = CapacityLedger.builder();
+        for (Object[] row : assignmentRepository.findActiveIntervalsByEmployeeInPeriod(
+                employeeId, startDate, endDate, Assignment.OPEN_END)) {
+            builder.add((int) ((LocalDate) row[0]).toEpochDay(), (int) ((LocalDate) row[1]).toEpochDay(),
+                    toPercent((Float) row[2]));
+        }
+        for (Object[] row : leaveRequestRepository.findApprovedIntervalsByEmployeeInPeriod(employeeId, startDate, endDate)) {
+            builder.add((int) ((LocalDate) row[0]).toEpochDay(), (int) ((LocalDate) row[1]).toEpochDay(),
+                    CapacityLedger.FULL_CAPACITY);
+        }
+        return builder.build().remainingCapacity((int) startDate.toEpochDay(), (int) endDate.toEpochDay());
+    }
+
+    /**
+     * Check if an employee is free for a period at a minimum capacity
+     * @param employeeId Employee ID
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @param minCapacity Minimum capacity required, in percent
+     * @return True if the employee has no approved leave and enough capacity left
+     */
+    public boolean isAvailable(Long employeeId, LocalDate startDate, LocalDate endDate, int minCapacity) {
+        return getRemainingCapacity(employeeId, startDate, endDate) >= minCapacity;
+    }
+
+    /**
+     * Find all employees free for a period at a minimum capacity, in one pass over the index
+     * @param employeeIds Employees to check
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @param minCapacity Minimum capacity required, in percent
+     * @return IDs of the employees that qualify
+     */
+    public List<Long> findAvailableEmployees(Collection<Long> employeeIds, LocalDate startDate,
+                                            LocalDate endDate, int minCapacity) {
+        Index current = getIndex();
+        int start = (int) startDate.toEpochDay();
+        int end = (int) endDate.toEpochDay();
+        List<Long> available = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            if (current.unavailable.contains(employeeId)) {
+                continue;
+            }
+            CapacityLedger ledger = current.ledgers.getOrDefault(employeeId, CapacityLedger.EMPTY);
+            if (ledger.remainingCapacity(start, end) >= minCapacity) {
+                available.add(employeeId);
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Find all active employees free for a period at a minimum capacity
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @param minCapacity Minimum capacity required, in percent
+     * @return IDs of the employees that qualify
+     */
+    public List<Long> findAvailableEmployees(LocalDate startDate, LocalDate endDate, int minCapacity) {
+        return findAvailableEmployees(employeeRepository.findActiveEmployeeIds(), startDate, endDate, minCapacity);
+    }
+
+    /**
+     * Count the active employees with capacity left today.
+     * The count is cached for the day and recomputed after any leave, assignment or employee change.
+     * @return Available employee count
+     */
+    public long countAvailableToday() {
+        LocalDate today = LocalDate.now();
+        AvailableCount cached = availableToday;
+        long version = changes.get();
+        if (cached != null && cached.version == version && cached.day.equals(today)) {
+            return cached.count;
+        }
+        // A change applied while counting leaves the version behind, so the next call counts again
+        AvailableCount fresh = new AvailableCount(today, version, findAvailableEmployees(today, today, 1).size());
+        availableToday = fresh;
+        return fresh.count;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        if (event.getEmployeeId() == null) {
+            return;
+        }
+        Index current = index.peek();
+        if (current == null) {
+            // A build in progress may have read the data before this change
+            invalidate();
+            return;
+        }
+        if ("APPROVED".equals(event.getNewStatus())) {
+            current.leaves.compute(event.getEmployeeId(), (id, timeline) ->
+                    (timeline != null ? timeline : IntervalTimeline.EMPTY).with(
+                            event.getLeaveRequestId(),
+                            (int) event.getStartDate().toEpochDay(),
+                            (int) event.getEndDate().toEpochDay(),
+                            100));
+        } else if ("APPROVED".equals(event.getOldStatus())) {
+            current.leaves.computeIfPresent(event.getEmployeeId(), (id, timeline) ->
+                    timeline.without(event.getLeaveRequestId()));
+        }
+        current.rebuildLedger(event.getEmployeeId());
+        changes.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentStatusChanged(AssignmentStatusChangedEvent event) {
+        if (event.getEmployeeId() == null) {
+            return;
+        }
+        Index current = index.peek();
+        if (current == null) {
+            // A build in progress may have read the data before this change
+            invalidate();
+            return;
+        }
+        if ("ACTIVE".equals(event.getNewStatus()) && event.getStartDate() != null) {
+            // An assignment without an end date is open-ended
+            LocalDate endDate = event.getEndDate() != null ? event.getEndDate() : Assignment.OPEN_END;
+            current.assignments.compute(event.getEmployeeId(), (id, timeline) ->
+                    (timeline != null ? timeline : IntervalTimeline.EMPTY).with(
+                            event.getAssignmentId(),
+                            (int) event.getStartDate().toEpochDay(),
+                            (int) endDate.toEpochDay(),
+                            toPercent(event.getAllocationPercentage())));
+        } else {
+            current.assignments.computeIfPresent(event.getEmployeeId(), (id, timeline) ->
+                    timeline.without(event.getAssignmentId()));
+        }
+        current.rebuildLedger(event.getEmployeeId());
+        changes.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeAvailabilityChanged(EmployeeAvailabilityChangedEvent event) {
+        Index current = index.peek();
+        if (current == null) {
+            index.invalidate();
+        } else if (event.getEmployeeId() != null) {
+            if (Boolean.FALSE.equals(event.getNewAvailable())) {
+                current.unavailable.add(event.getEmployeeId());
+            } else {
+                current.unavailable.remove(event.getEmployeeId());
+            }
+        }
+        // Creation and deletion change the set of active employees even without an index
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Drop the index so that it is reloaded on next use
+     */
+    public void invalidate() {
+        index.invalidate();
+        changes.incrementAndGet();
+    }
+
+    private Index getIndex() {
+        return index.get(this::load);
+    }
+
+    private Index load() {
+        Index loaded = new Index();
+        for (Object[] row : leaveRequestRepository.findApprovedLeaveIntervals()) {
+            loaded.leaves.compute((Long) row[1], (id, timeline) ->
+                    (timeline != null ? timeline : IntervalTimeline.EMPTY).with(
+                            (Long) row[0],
+                            (int) ((LocalDate) row[2]).toEpochDay(),
+                            (int) ((LocalDate) row[3]).toEpochDay(),
+                            100));
+        }
+        for (Object[] row : assignmentRepository.findActiveAssignmentIntervals(Assignment.OPEN_END)) {
+            loaded.assignments.compute((Long) row[1], (id, timeline) ->
+                    (timeline != null ? timeline : IntervalTimeline.EMPTY).with(
+                            (Long) row[0],
+                            (int) ((LocalDate) row[2]).toEpochDay(),
+                            (int) ((LocalDate) row[3]).toEpochDay(),
+                            toPercent((Float) row[4])));
+        }
+        loaded.unavailable.addAll(employeeRepository.findUnavailableEmployeeIds());
+        for (Long employeeId : loaded.leaves.keySet()) {
+            loaded.rebuildLedger(employeeId);
+        }
+        for (Long employeeId : loaded.assignments.keySet()) {
+            loaded.rebuildLedger(employeeId);
+        }
+        return loaded;
+    }
+
+    private static int toPercent(Float allocationPercentage) {
+        return allocationPercentage != null ? Math.round(allocationPercentage) : 100;
+    }
+
+    private static class Index {
+        final Map<Long, IntervalTimeline> leaves = new ConcurrentHashMap<>();
+        final Map<Long, IntervalTimeline> assignments = new ConcurrentHashMap<>();
+        final Map<Long, CapacityLedger> ledgers = new ConcurrentHashMap<>();
+        final Set<Long> unavailable = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Rebuild the ledger of one employee from their current timelines.
+         * Rebuilds of the same employee are serialized by compute, so the last one sees every update.
+         */
+        void rebuildLedger(Long employeeId) {
+            ledgers.compute(employeeId, (id, old) -> {
+                CapacityLedger.Builder builder = CapacityLedger.builder();
+                assignments.getOrDefault(id, IntervalTimeline.EMPTY).addTo(builder, -1);
+                leaves.getOrDefault(id, IntervalTimeline.EMPTY).addTo(builder, CapacityLedger.FULL_CAPACITY);
+                CapacityLedger ledger = builder.build();
+                return ledger.size() > 0 ? ledger : null;
+            });
+        }
+    }
+
+    private static class AvailableCount {
+        final LocalDate day;
+        final long version;
+        final long count;
+
+        AvailableCount(LocalDate day, long version, long count) {
+            this.day = day;
+            this.version = version;
+            this.count = count;
+        }
+    }
+}
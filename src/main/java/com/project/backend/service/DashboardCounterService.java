@@ -0,0 +1,233 @@
+package com.project.backend.service;
+
+import com.project.backend.event.EmployeeAvailabilityChangedEvent;
+import com.project.backend.event.LeaveStatusChangedEvent;
+import com.project.backend.event.ProjectStatusChangedEvent;
+import com.project.backend.repository.EmployeeRepository;
+import com.project.backend.repository.LeaveRequestRepository;
+import com.project.backend.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Live dashboard counters.
+ * Counters are adjusted from the status change events published by the services and
+ * periodically reconciled against the database, so dashboard reads are plain map lookups.
+ */
+@Service
+public class DashboardCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounterService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final ProjectRepository projectRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final AvailabilityIndexService availabilityIndexService;
+
+    private volatile Counters counters;
+    // Event updates share the read side; reconcile takes the write side so that no update lands on
+    // the old counters between its database reads and the swap
+    private final ReadWriteLock updateLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public DashboardCounterService(
+            EmployeeRepository employeeRepository,
+            ProjectRepository projectRepository,
+            LeaveRequestRepository leaveRequestRepository,
+            AvailabilityIndexService availabilityIndexService) {
+        this.employeeRepository = employeeRepository;
+        this.projectRepository = projectRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.availabilityIndexService = availabilityIndexService;
+    }
+
+    /**
+     * Rebuild all counters from the database.
+     * Runs on startup and then at a fixed interval to correct any drift.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${dashboard.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Lock lock = updateLock.writeLock();
+        lock.lock();
+        try {
+            Counters fresh = new Counters();
+
+            fresh.employees.set(employeeRepository.count());
+            load(fresh.projectsByStatus, projectRepository.countProjectsGroupedByStatus());
+            load(fresh.leavesByStatus, leaveRequestRepository.countLeaveRequestsGroupedByStatus());
+            for (Object[] row : leaveRequestRepository.countApprovedLeavesGroupedByMonth()) {
+                YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+                fresh.approvedLeavesByMonth.put(month, new AtomicLong(((Number) row[2]).longValue()));
+            }
+
+            counters = fresh;
+        } finally {
+            lock.unlock();
+        }
+        logger.debug("Dashboard counters reconciled");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeAvailabilityChanged(EmployeeAvailabilityChangedEvent event) {
+        // Only creation and deletion change the headcount
+        update(current -> {
+            if (event.getOldAvailable() == null) {
+                current.employees.incrementAndGet();
+            }
+            if (event.getNewAvailable() == null) {
+                current.employees.decrementAndGet();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectStatusChanged(ProjectStatusChangedEvent event) {
+        update(current -> {
+            adjust(current.projectsByStatus, event.getOldStatus(), -1);
+            adjust(current.projectsByStatus, event.getNewStatus(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        update(current -> {
+            adjust(current.leavesByStatus, event.getOldStatus(), -1);
+            adjust(current.leavesByStatus, event.getNewStatus(), 1);
+
+            if (event.getStartDate() != null) {
+                YearMonth month = YearMonth.from(event.getStartDate());
+                if ("APPROVED".equals(event.getOldStatus())) {
+                    adjust(current.approvedLeavesByMonth, month, -1);
+                }
+                if ("APPROVED".equals(event.getNewStatus())) {
+                    adjust(current.approvedLeavesByMonth, month, 1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the total number of employees
+     * @return Employee count
+     */
+    public long getTotalEmployees() {
+        return Math.max(0, getCounters().employees.get());
+    }
+
+    /**
+     * Get the number of active employees with capacity left today.
+     * Answered from the capacity ledger, which caches the count until the next change.
+     * @return Available employee count
+     */
+    public long getAvailableEmployees() {
+        return availabilityIndexService.countAvailableToday();
+    }
+
+    /**
+     * Get the total number of projects
+     * @return Project count
+     */
+    public long getTotalProjects() {
+        return sum(getCounters().projectsByStatus);
+    }
+
+    /**
+     * Get the number of projects with a status
+     * @param status Project status
+     * @return Project count
+     */
+    public long getProjectCount(String status) {
+        return get(getCounters().projectsByStatus, status);
+    }
+
+    /**
+     * Get the number of leave requests with a status
+     * @param status Leave status
+     * @return Leave request count
+     */
+    public long getLeaveCount(String status) {
+        return get(getCounters().leavesByStatus, status);
+    }
+
+    /**
+     * Get the number of approved leaves starting in a month
+     * @param date Any date in the month
+     * @return Approved leave count
+     */
+    public long getApprovedLeavesInMonth(LocalDate date) {
+        return get(getCounters().approvedLeavesByMonth, YearMonth.from(date));
+    }
+
+    private Counters getCounters() {
+        Counters current = counters;
+        if (current == null) {
+            synchronized (this) {
+                if (counters == null) {
+                    reconcile();
+                }
+                current = counters;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Apply an event to the live counters; waits while a reconcile is swapping them
+     */
+    private void update(Consumer<Counters> change) {
+        // Loaded outside the lock, since the first load runs reconcile
+        getCounters();
+        Lock lock = updateLock.readLock();
+        lock.lock();
+        try {
+            change.accept(counters);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void load(Map<Object, AtomicLong> target, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                target.put(row[0], new AtomicLong(((Number) row[1]).longValue()));
+            }
+        }
+    }
+
+    private static void adjust(Map<Object, AtomicLong> map, Object key, long delta) {
+        if (key != null) {
+            map.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private static long get(Map<Object, AtomicLong> map, Object key) {
+        AtomicLong value = map.get(key);
+        return value != null ? Math.max(0, value.get()) : 0;
+    }
+
+    private static long sum(Map<Object, AtomicLong> map) {
+        return map.values().stream().mapToLong(value -> Math.max(0, value.get())).sum();
+    }
+
+    private static class Counters {
+        final AtomicLong employees = new AtomicLong();
+        final Map<Object, AtomicLong> projectsByStatus = new ConcurrentHashMap<>();
+        final Map<Object, AtomicLong> leavesByStatus = new ConcurrentHashMap<>();
+        final Map<Object, AtomicLong> approvedLeavesByMonth = new ConcurrentHashMap<>();
+    }
+}
@@ -1,22 +1,73 @@
 package com.project.backend.service;
 
+import com.project.backend.dto.DashboardDTO;
+import com.project.backend.dto.EmployeeDTO;
+import com.project.backend.dto.SkillDTO;
+import com.project.backend.event.AssignmentStatusChangedEvent;
+import com.project.backend.event.EmployeeAvailabilityChangedEvent;
+import com.project.backend.event.EmployeeSkillsChangedEvent;
+import com.project.backend.event.LeaveStatusChangedEvent;
+import com.project.backend.event.ProjectSkillsChangedEvent;
+import com.project.backend.event.ProjectStatusChangedEvent;
 import com.project.backend.model.*;
 import com.project.backend.repository.*;
+import com.project.backend.util.LazyIndex;
+import com.project.backend.util.RecommendationIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    public static final int MAX_RECOMMENDATION_PAGE_SIZE = 100;
+
+    // Header row of every report type that can be exported
+    private static final Map<String, String[]> EXPORT_COLUMNS = Map.of(
+            "assignments", new String[] {"assignmentId", "employeeId", "firstName", "lastName", "projectId",
+                    "projectName", "startDate", "endDate", "allocationPercentage", "status"},
+            "leaves", new String[] {"leaveRequestId", "employeeId", "firstName", "lastName", "leaveType",
+                    "startDate", "endDate", "status", "requestDate", "approvalDate"},
+            "employees", new String[] {"employeeId", "firstName", "lastName", "email", "phone", "role",
+                    "joinDate", "active", "available"},
+            "projects", new String[] {"projectId", "name", "startDate", "endDate", "status", "priority"});
+
     private final EmployeeRepository employeeRepository;
     private final ProjectRepository projectRepository;
     private final AssignmentRepository assignmentRepository;
     private final LeaveRequestRepository leaveRequestRepository;
     private final SkillRepository skillRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final StreamingExportService streamingExportService;
+    private final AvailabilityIndexService availabilityIndexService;
+    private final ThreadPoolExecutor sectionExecutor;
+    private final long sectionTimeoutNanos;
+    private final int recommendationCandidates;
+
+    private final LazyIndex<Recommendations> recommendations = new LazyIndex<>();
 
     @Autowired
     public DashboardService(
@@ -24,12 +75,41 @@ public class DashboardService {
             ProjectRepository projectRepository,
             AssignmentRepository assignmentRepository,
             LeaveRequestRepository leaveRequestRepository,
-            SkillRepository skillRepository) {
+            SkillRepository skillRepository,
+            EmployeeSkillRepository employeeSkillRepository,
+            ProjectSkillRepository projectSkillRepository,
+            DashboardCounterService dashboardCounterService,
+            StreamingExportService streamingExportService,
+            AvailabilityIndexService availabilityIndexService,
+            @Value("${dashboard.sections.threads:8}") int sectionThreads,
+            @Value("${dashboard.sections.queue-capacity:100}") int sectionQueueCapacity,
+            @Value("${dashboard.sections.timeout-ms:2000}") long sectionTimeoutMillis,
+            @Value("${dashboard.recommendations.candidates:5}") int recommendationCandidates) {
         this.employeeRepository = employeeRepository;
         this.projectRepository = projectRepository;
         this.assignmentRepository = assignmentRepository;
         this.leaveRequestRepository = leaveRequestRepository;
         this.skillRepository = skillRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.dashboardCounterService = dashboardCounterService;
+        this.streamingExportService = streamingExportService;
+        this.availabilityIndexService = availabilityIndexService;
+        this.sectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMillis);
+        this.recommendationCandidates = recommendationCandidates;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sectionExecutor = new ThreadPoolExecutor(sectionThreads, sectionThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sectionQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-section-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sectionExecutor.shutdownNow();
     }
 
     /**
@@ -39,8 +119,9 @@ public class DashboardService {
     public Map<String, Object> getWorkforceStatistics() {
         Map<String, Object> statistics = new HashMap<>();
         
-        long totalEmployees = employeeRepository.count();
-        long availableEmployees = employeeRepository.countByIsAvailableTrue();
+        long totalEmployees = dashboardCounterService.getTotalEmployees();
+        long availableEmployees = dashboardCounterService.getAvailableEmployees();
+        // Both depend on the current date, so they cannot be kept as live counters
         long onLeaveEmployees = leaveRequestRepository.countByStatusAndEndDateIsAfter("APPROVED", LocalDate.now());
         long assignedEmployees = assignmentRepository.countByStatusAndEndDateIsAfter("ACTIVE", LocalDate.now());
         
@@ -48,7 +129,7 @@ public class DashboardService {
         statistics.put("availableEmployees", availableEmployees);
         statistics.put("onLeaveEmployees", onLeaveEmployees);
         statistics.put("assignedEmployees", assignedEmployees);
-        statistics.put("availabilityRatio", (double) availableEmployees / totalEmployees);
+        statistics.put("availabilityRatio", totalEmployees > 0 ? (double) availableEmployees / totalEmployees : 0);
         
         return statistics;
     }
@@ -91,31 +172,29 @@ public class DashboardService {
     public Map<String, Object> getSkillDistribution() {
         Map<String, Object> statistics = new HashMap<>();
         
-        List<Skill> allSkills = skillRepository.findAll();
+        List<Object[]> allSkills = skillRepository.findSkillSummaries();
+        Map<Long, Long> employeesPerSkill = toCountMap(employeeSkillRepository.countEmployeesPerSkill());
+        Map<Long, Long> projectsPerSkill = toCountMap(projectSkillRepository.countProjectsPerSkill());
+        
         Map<String, Long> skillDistributionMap = new HashMap<>();
         Map<String, List<String>> skillCategoryMap = new HashMap<>();
+        Map<String, Long> skillDemandMap = new HashMap<>();
         
-        for (Skill skill : allSkills) {
-            long employeeCount = employeeRepository.countBySkillsId(skill.getId());
-            skillDistributionMap.put(skill.getName(), employeeCount);
+        for (Object[] skill : allSkills) {
+            Long skillId = (Long) skill[0];
+            String skillName = (String) skill[1];
+            String category = (String) skill[2];
+            
+            skillDistributionMap.put(skillName, employeesPerSkill.getOrDefault(skillId, 0L));
+            skillDemandMap.put(skillName, projectsPerSkill.getOrDefault(skillId, 0L));
             
             // Group skills by category
-            if (!skillCategoryMap.containsKey(skill.getCategory())) {
-                skillCategoryMap.put(skill.getCategory(), new ArrayList<>());
-            }
-            skillCategoryMap.get(skill.getCategory()).add(skill.getName());
+            skillCategoryMap.computeIfAbsent(category, k -> new ArrayList<>()).add(skillName);
         }
         
         statistics.put("skillDistribution", skillDistributionMap);
         statistics.put("skillsByCategory", skillCategoryMap);
         
-        // Find most in-demand skills (those required by most projects)
-        Map<String, Long> skillDemandMap = new HashMap<>();
-        for (Skill skill : allSkills) {
-            long projectCount = projectRepository.countByRequiredSkillsId(skill.getId());
-            skillDemandMap.put(skill.getName(), projectCount);
-        }
-        
         // Sort by demand (descending)
         Map<String, Long> sortedSkillDemand = skillDemandMap.entrySet().stream()
                 .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
@@ -135,9 +214,9 @@ public class DashboardService {
     public Map<String, Object> getLeaveStatistics() {
         Map<String, Object> statistics = new HashMap<>();
         
-        long pendingLeaves = leaveRequestRepository.countByStatus("PENDING");
-        long approvedLeaves = leaveRequestRepository.countByStatus("APPROVED");
-        long rejectedLeaves = leaveRequestRepository.countByStatus("REJECTED");
+        long pendingLeaves = dashboardCounterService.getLeaveCount("PENDING");
+        long approvedLeaves = dashboardCounterService.getLeaveCount("APPROVED");
+        long rejectedLeaves = dashboardCounterService.getLeaveCount("REJECTED");
         
         statistics.put("pendingLeaves", pendingLeaves);
         statistics.put("approvedLeaves", approvedLeaves);
@@ -151,13 +230,7 @@ public class DashboardService {
             LocalDate month = now.minusMonths(i);
             String monthKey = month.getMonth().toString() + " " + month.getYear();
             
-            LocalDate startOfMonth = month.withDayOfMonth(1);
-            LocalDate endOfMonth = month.withDayOfMonth(month.lengthOfMonth());
-            
-            long leavesCount = leaveRequestRepository.countByStatusAndStartDateBetween(
-                    "APPROVED", startOfMonth, endOfMonth);
-            
-            leavesByMonth.put(monthKey, leavesCount);
+            leavesByMonth.put(monthKey, dashboardCounterService.getApprovedLeavesInMonth(month));
         }
         
         statistics.put("leavesByMonth", leavesByMonth);
@@ -172,8 +245,7 @@ public class DashboardService {
     public Map<String, Object> getAllocationMetrics() {
         Map<String, Object> metrics = new HashMap<>();
         
-        // Calculate allocation efficiency (% of available employees allocated to projects)
-        long availableEmployees = employeeRepository.countByIsAvailableTrue();
+        // Calculate allocation efficiency (% of employees allocated to projects)
         long totalEmployees = employeeRepository.count();
         long allocatedEmployees = assignmentRepository.countByStatusAndEndDateIsAfter("ACTIVE", LocalDate.now());
         
@@ -181,17 +253,10 @@ public class DashboardService {
         metrics.put("allocationRate", allocationRate);
         
         // Get skill gap analysis (skills required by projects but lacking in workforce)
-        List<Skill> allSkills = skillRepository.findAll();
-        Map<String, Long> skillGapMap = new HashMap<>();
-        
-        for (Skill skill : allSkills) {
-            long projectsRequiring = projectRepository.countByRequiredSkillsIdAndStatus(skill.getId(), "ACTIVE");
-            long employeesWithSkill = employeeRepository.countBySkillsId(skill.getId());
-            
-            if (projectsRequiring > 0 && employeesWithSkill < projectsRequiring) {
-                skillGapMap.put(skill.getName(), projectsRequiring - employeesWithSkill);
-            }
-        }
+        Map<String, Long> skillGapMap = computeSkillGaps(
+                skillRepository.findSkillSummaries(),
+                toCountMap(employeeSkillRepository.countEmployeesPerSkill()),
+                toCountMap(projectSkillRepository.countProjectsPerSkillByStatus("ACTIVE")));
         
         metrics.put("skillGap", skillGapMap);
         
@@ -222,122 +287,479 @@ public class DashboardService {
     }
 
     /**
-     * Get dashboard summary (key metrics for quick view)
+     * Get dashboard summary (key metrics for quick view).
+     * The sections run concurrently; a section that fails or does not finish within the
+     * section timeout is left out and listed under incompleteSections.
      * @return Map containing dashboard summary
      */
     public Map<String, Object> getDashboardSummary() {
         Map<String, Object> summary = new HashMap<>();
+        LocalDate now = LocalDate.now();
+        Map<String, Callable<Consumer<Map<String, Object>>>> sections = new LinkedHashMap<>();
         
         // Key workforce metrics
-        long totalEmployees = employeeRepository.count();
-        long availableEmployees = employeeRepository.countByIsAvailableTrue();
+        sections.put("workforce", () -> {
+            long totalEmployees = dashboardCounterService.getTotalEmployees();
+            long availableEmployees = dashboardCounterService.getAvailableEmployees();
+            return result -> {
+                result.put("totalEmployees", totalEmployees);
+                result.put("availableEmployees", availableEmployees);
+            };
+        });
         
         // Key project metrics
-        long activeProjects = projectRepository.countByStatus("ACTIVE");
-        long pendingLeaves = leaveRequestRepository.countByStatus("PENDING");
-        
-        // Upcoming deadlines (projects ending within 7 days)
-        LocalDate now = LocalDate.now();
-        LocalDate nextWeek = now.plusDays(7);
-        List<Project> upcomingDeadlines = projectRepository.findByStatusAndEndDateBetween(
-                "ACTIVE", now, nextWeek);
-        
-        // Top skills in demand
-        Map<String, Object> skillDistribution = getSkillDistribution();
-        @SuppressWarnings("unchecked")
-        Map<String, Long> skillDemand = (Map<String, Long>) skillDistribution.get("skillDemand");
-        
-        // Limit to top 5 skills
-        Map<String, Long> topSkills = skillDemand.entrySet().stream()
-                .limit(5)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        
-        summary.put("totalEmployees", totalEmployees);
-        summary.put("availableEmployees", availableEmployees);
-        summary.put("activeProjects", activeProjects);
-        summary.put("pendingLeaves", pendingLeaves);
-        summary.put("upcomingDeadlines", upcomingDeadlines);
-        summary.put("topSkillsInDemand", topSkills);
+        sections.put("projects", () -> {
+            long activeProjects = dashboardCounterService.getProjectCount("ACTIVE");
+            return result -> result.put("activeProjects", activeProjects);
+        });
+        sections.put("leaves", () -> {
+            long pendingLeaves = dashboardCounterService.getLeaveCount("PENDING");
+            return result -> result.put("pendingLeaves", pendingLeaves);
+        });
+        
+        // Upcoming deadlines (projects ending within 7 days), copied out of the entities on the
+        // section thread since its persistence context is gone once the section returns
+        sections.put("deadlines", () -> {
+            List<Map<String, Object>> upcomingDeadlines = new ArrayList<>();
+            for (Project project : projectRepository.findByStatusAndEndDateBetween("ACTIVE", now, now.plusDays(7))) {
+                Map<String, Object> deadline = new LinkedHashMap<>();
+                deadline.put("projectId", project.getProjectId());
+                deadline.put("name", project.getName());
+                deadline.put("endDate", project.getEndDate());
+                upcomingDeadlines.add(deadline);
+            }
+            return result -> result.put("upcomingDeadlines", upcomingDeadlines);
+        });
+        
+        // Top 5 skills in demand, from the per-skill project counts only
+        sections.put("skills", () -> {
+            List<Object[]> demand = new ArrayList<>(projectSkillRepository.countProjectsPerSkill());
+            demand.sort(Comparator.comparingLong((Object[] row) -> toLong(row[1])).reversed());
+            List<Object[]> top = demand.subList(0, Math.min(5, demand.size()));
+            Map<Long, String> names = new HashMap<>();
+            for (Skill skill : skillRepository.findAllById(top.stream().map(row -> (Long) row[0]).toList())) {
+                names.put(skill.getSkillId(), skill.getName());
+            }
+            Map<String, Long> topSkills = new LinkedHashMap<>();
+            for (Object[] row : top) {
+                topSkills.put(names.get((Long) row[0]), toLong(row[1]));
+            }
+            return result -> result.put("topSkillsInDemand", topSkills);
+        });
         
+        summary.put("incompleteSections", runSections(summary, sections));
         return summary;
     }
 
     /**
-     * Get resource allocation recommendations
+     * Get resource allocation recommendations: available employees for the skills active projects
+     * are missing (MISSING_SKILL), then projects for available employees who have such skills
+     * (IDLE_EMPLOYEE). Available means active with capacity left today. Both are read from an
+     * inverted skill index that is kept until an assignment, leave, skill, project or employee
+     * change invalidates it, or the day changes.
+     * @param type MISSING_SKILL or IDLE_EMPLOYEE, null for both
+     * @param page Zero-based page number
+     * @param size Page size, at most MAX_RECOMMENDATION_PAGE_SIZE
      * @return List of recommendation objects
      */
-    public List<Map<String, Object>> getResourceAllocationRecommendations() {
-        List<Map<String, Object>> recommendations = new ArrayList<>();
-        
-        // Find projects with missing skills
-        List<Project> activeProjects = projectRepository.findByStatus("ACTIVE");
-        
-        for (Project project : activeProjects) {
-            Set<Skill> requiredSkills = project.getRequiredSkills();
-            List<ProjectAssignment> assignments = assignmentRepository.findByProjectIdAndStatus(project.getId(), "ACTIVE");
-            
-            // Find which skills are covered by current assignments
-            Set<Skill> coveredSkills = new HashSet<>();
-            for (ProjectAssignment assignment : assignments) {
-                coveredSkills.addAll(assignment.getEmployee().getSkills().stream()
-                        .filter(requiredSkills::contains)
-                        .collect(Collectors.toSet()));
+    public List<Map<String, Object>> getResourceAllocationRecommendations(String type, int page, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_RECOMMENDATION_PAGE_SIZE));
+        long offset = (long) Math.max(0, page) * limit;
+        boolean missingSkills = type == null || "MISSING_SKILL".equalsIgnoreCase(type);
+        boolean idleEmployees = type == null || "IDLE_EMPLOYEE".equalsIgnoreCase(type);
+
+        Recommendations current = getRecommendations();
+        RecommendationIndex index = current.index;
+        Map<Long, String> projectNames = current.projectNames;
+        Map<Long, String> skillNames = current.skillNames;
+
+        // Only the recommendations on the requested page are ranked and labelled
+        long[] projectIds = missingSkills ? index.getStaffableProjectIds() : new long[0];
+        long[] employeeIds = idleEmployees ? index.getMatchingEmployeeIds() : new long[0];
+        List<Object[]> pageItems = new ArrayList<>();
+        Set<Long> namedEmployees = new HashSet<>();
+        for (long i = offset; i < offset + limit && i < projectIds.length + (long) employeeIds.length; i++) {
+            if (i < projectIds.length) {
+                List<RecommendationIndex.Match> candidates =
+                        index.employeesFor(projectIds[(int) i], recommendationCandidates);
+                candidates.forEach(match -> namedEmployees.add(match.getId()));
+                pageItems.add(new Object[] {"MISSING_SKILL", projectIds[(int) i], candidates});
+            } else {
+                long employeeId = employeeIds[(int) (i - projectIds.length)];
+                namedEmployees.add(employeeId);
+                pageItems.add(new Object[] {"IDLE_EMPLOYEE", employeeId,
+                        index.projectsFor(employeeId, recommendationCandidates)});
             }
-            
-            // Find missing skills
-            Set<Skill> missingSkills = new HashSet<>(requiredSkills);
-            missingSkills.removeAll(coveredSkills);
-            
-            if (!missingSkills.isEmpty()) {
-                // Find employees with missing skills who are available
-                for (Skill skill : missingSkills) {
-                    List<Employee> availableEmployees = employeeRepository.findByIsAvailableTrueAndSkillsId(skill.getId());
-                    
-                    if (!availableEmployees.isEmpty()) {
-                        Map<String, Object> recommendation = new HashMap<>();
-                        recommendation.put("projectId", project.getId());
-                        recommendation.put("projectName", project.getName());
-                        recommendation.put("missingSkill", skill.getName());
-                        recommendation.put("recommendedEmployees", availableEmployees);
-                        recommendation.put("recommendationType", "MISSING_SKILL");
-                        
-                        recommendations.add(recommendation);
-                    }
+        }
+        Map<Long, EmployeeDTO> employees = namedEmployees.isEmpty() ? Map.of()
+                : employeeRepository.findDTOsByIds(namedEmployees).stream()
+                        .collect(Collectors.toMap(EmployeeDTO::getId, employee -> employee));
+
+        List<Map<String, Object>> recommendations = new ArrayList<>();
+        for (Object[] item : pageItems) {
+            Long id = (Long) item[1];
+            @SuppressWarnings("unchecked")
+            List<RecommendationIndex.Match> matches = (List<RecommendationIndex.Match>) item[2];
+            Map<String, Object> recommendation = new LinkedHashMap<>();
+            recommendation.put("recommendationType", item[0]);
+            if ("MISSING_SKILL".equals(item[0])) {
+                recommendation.put("projectId", id);
+                recommendation.put("projectName", projectNames.get(id));
+                recommendation.put("missingSkills", toSkillList(index.getMissingSkills(id), skillNames));
+                List<Map<String, Object>> candidates = new ArrayList<>();
+                for (RecommendationIndex.Match match : matches) {
+                    Map<String, Object> candidate = employeeSummary(match.getId(), employees.get(match.getId()));
+                    candidate.put("coveredSkills", toSkillList(
+                            match.getSkillIds().stream().mapToLong(Long::longValue).toArray(), skillNames));
+                    candidate.put("proficiencyScore", match.getScore());
+                    candidates.add(candidate);
+                }
+                recommendation.put("recommendedEmployees", candidates);
+            } else {
+                recommendation.putAll(employeeSummary(id, employees.get(id)));
+                List<Map<String, Object>> projects = new ArrayList<>();
+                for (RecommendationIndex.Match match : matches) {
+                    Map<String, Object> project = new LinkedHashMap<>();
+                    project.put("projectId", match.getId());
+                    project.put("projectName", projectNames.get(match.getId()));
+                    project.put("matchedSkills", toSkillList(
+                            match.getSkillIds().stream().mapToLong(Long::longValue).toArray(), skillNames));
+                    projects.add(project);
                 }
+                recommendation.put("matchingProjects", projects);
             }
+            recommendations.add(recommendation);
         }
-        
-        // Find employees who should be reallocated (idle but skilled)
-        List<Employee> availableEmployees = employeeRepository.findByIsAvailableTrue();
-        for (Employee employee : availableEmployees) {
-            Set<Skill> employeeSkills = employee.getSkills();
+        return recommendations;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentStatusChanged(AssignmentStatusChangedEvent event) {
+        invalidateRecommendations();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        invalidateRecommendations();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSkillsChanged(EmployeeSkillsChangedEvent event) {
+        invalidateRecommendations();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeAvailabilityChanged(EmployeeAvailabilityChangedEvent event) {
+        invalidateRecommendations();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSkillsChanged(ProjectSkillsChangedEvent event) {
+        invalidateRecommendations();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectStatusChanged(ProjectStatusChangedEvent event) {
+        invalidateRecommendations();
+    }
+
+    /**
+     * Drop the recommendation index so that it is rebuilt on next use
+     */
+    public void invalidateRecommendations() {
+        recommendations.invalidate();
+    }
+
+    private Recommendations getRecommendations() {
+        LocalDate today = LocalDate.now();
+        return recommendations.get(current -> current.builtOn.equals(today), () -> loadRecommendations(today));
+    }
+
+    private Recommendations loadRecommendations(LocalDate today) {
+        List<Object[]> skillRows = employeeSkillRepository.findActiveEmployeeSkillLevels();
+        Set<Long> employeeIds = new HashSet<>();
+        for (Object[] row : skillRows) {
+            employeeIds.add((Long) row[0]);
+        }
+        Set<Long> available = new HashSet<>(availabilityIndexService.findAvailableEmployees(employeeIds, today, today, 1));
+        List<Object[]> availableSkillRows = new ArrayList<>();
+        for (Object[] row : skillRows) {
+            if (available.contains((Long) row[0])) {
+                availableSkillRows.add(row);
+            }
+        }
+
+        List<Object[]> missingSkillRows = projectSkillRepository.findUncoveredSkillRowsByProjectStatus("ACTIVE");
+        Map<Long, String> projectNames = new HashMap<>();
+        Map<Long, String> skillNames = new HashMap<>();
+        for (Object[] row : missingSkillRows) {
+            projectNames.put((Long) row[0], (String) row[2]);
+            skillNames.put((Long) row[1], (String) row[3]);
+        }
+        return new Recommendations(today, RecommendationIndex.build(availableSkillRows, missingSkillRows),
+                projectNames, skillNames);
+    }
+
+    /**
+     * Build the full dashboard snapshot.
+     * All counts come from grouped projection queries, so the number of
+     * database round trips does not depend on the number of skills.
+     * The workforce, project, leave and skill sections run concurrently; sections that fail or
+     * time out keep their default values and are listed in incompleteSections.
+     * @return Dashboard data transfer object
+     */
+    public DashboardDTO getDashboardSnapshot() {
+        DashboardDTO dashboard = new DashboardDTO();
+        LocalDate now = LocalDate.now();
+        Map<String, Callable<Consumer<DashboardDTO>>> sections = new LinkedHashMap<>();
+        
+        // Workforce
+        sections.put("workforce", () -> {
+            long totalEmployees = employeeRepository.count();
+            long allocatedEmployees = assignmentRepository.countDistinctEmployeesByStatusEndingAfter("ACTIVE", now);
+            return dto -> {
+                dto.setTotalEmployees((int) totalEmployees);
+                dto.setAllocatedEmployees((int) allocatedEmployees);
+                dto.setUnallocatedEmployees((int) Math.max(0, totalEmployees - allocatedEmployees));
+                dto.setAverageEmployeeUtilization(totalEmployees > 0 ?
+                        100.0 * allocatedEmployees / totalEmployees : 0);
+            };
+        });
+        
+        // Projects
+        sections.put("projects", () -> {
+            Map<String, Integer> projectsByStatus = new HashMap<>();
+            int totalProjects = 0;
+            for (Object[] row : projectRepository.countProjectsGroupedByStatus()) {
+                int count = (int) toLong(row[1]);
+                projectsByStatus.put((String) row[0], count);
+                totalProjects += count;
+            }
+            int total = totalProjects;
+            return dto -> {
+                dto.setProjectsByStatus(projectsByStatus);
+                dto.setTotalProjects(total);
+                dto.setActiveProjects(projectsByStatus.getOrDefault("ACTIVE", 0));
+            };
+        });
+        
+        // Leaves
+        sections.put("leaves", () -> {
+            Map<String, Long> leavesByStatus = new HashMap<>();
+            for (Object[] row : leaveRequestRepository.countLeaveRequestsGroupedByStatus()) {
+                leavesByStatus.put((String) row[0], toLong(row[1]));
+            }
+            Object[] leaveTimeline = firstRow(leaveRequestRepository.countOngoingAndUpcomingLeaves(now));
+            return dto -> {
+                dto.setPendingLeaveRequests(leavesByStatus.getOrDefault("PENDING", 0L).intValue());
+                dto.setApprovedLeaves(leavesByStatus.getOrDefault("APPROVED", 0L).intValue());
+                dto.setRejectedLeaves(leavesByStatus.getOrDefault("REJECTED", 0L).intValue());
+                dto.setOngoingLeaves((int) toLong(leaveTimeline[0]));
+                dto.setUpcomingLeaves((int) toLong(leaveTimeline[1]));
+            };
+        });
+        
+        // Skills
+        sections.put("skills", () -> {
+            List<Object[]> skills = skillRepository.findSkillSummaries();
+            Map<Long, Long> employeesPerSkill = toCountMap(employeeSkillRepository.countEmployeesPerSkill());
+            Map<Long, Long> projectsPerSkill = toCountMap(projectSkillRepository.countProjectsPerSkill());
+            Map<Long, Long> activeProjectsPerSkill = toCountMap(projectSkillRepository.countProjectsPerSkillByStatus("ACTIVE"));
             
-            if (!employeeSkills.isEmpty()) {
-                // Find projects that need these skills
-                List<Project> matchingProjects = new ArrayList<>();
+            Map<String, Integer> skillDistribution = new HashMap<>();
+            List<Map<String, Object>> skillShortages = new ArrayList<>();
+            for (Object[] skill : skills) {
+                Long skillId = (Long) skill[0];
+                long employeesWithSkill = employeesPerSkill.getOrDefault(skillId, 0L);
+                long projectsRequiring = activeProjectsPerSkill.getOrDefault(skillId, 0L);
                 
-                for (Project project : activeProjects) {
-                    Set<Skill> requiredSkills = project.getRequiredSkills();
-                    
-                    // Check if employee has any of the required skills
-                    if (employeeSkills.stream().anyMatch(requiredSkills::contains)) {
-                        matchingProjects.add(project);
-                    }
-                }
+                skillDistribution.put((String) skill[1], (int) employeesWithSkill);
                 
-                if (!matchingProjects.isEmpty()) {
-                    Map<String, Object> recommendation = new HashMap<>();
-                    recommendation.put("employeeId", employee.getId());
-                    recommendation.put("employeeName", employee.getName());
-                    recommendation.put("availableSkills", employeeSkills);
-                    recommendation.put("matchingProjects", matchingProjects);
-                    recommendation.put("recommendationType", "IDLE_EMPLOYEE");
-                    
-                    recommendations.add(recommendation);
+                if (projectsRequiring > employeesWithSkill) {
+                    Map<String, Object> shortage = new HashMap<>();
+                    shortage.put("skillId", skillId);
+                    shortage.put("skillName", skill[1]);
+                    shortage.put("projectsRequiring", projectsRequiring);
+                    shortage.put("employeesWithSkill", employeesWithSkill);
+                    shortage.put("shortage", projectsRequiring - employeesWithSkill);
+                    skillShortages.add(shortage);
                 }
             }
+            
+            // Top 5 skills in demand
+            List<SkillDTO> topSkills = skills.stream()
+                    .sorted(Comparator.comparingLong(
+                            (Object[] skill) -> projectsPerSkill.getOrDefault((Long) skill[0], 0L)).reversed())
+                    .limit(5)
+                    .map(skill -> {
+                        SkillDTO dto = new SkillDTO();
+                        dto.setId((Long) skill[0]);
+                        dto.setName((String) skill[1]);
+                        dto.setCategory((String) skill[2]);
+                        return dto;
+                    })
+                    .collect(Collectors.toList());
+            return dto -> {
+                dto.setSkillDistribution(skillDistribution);
+                dto.setSkillShortages(skillShortages);
+                dto.setTopSkillsInDemand(topSkills);
+            };
+        });
+        
+        dashboard.setIncompleteSections(runSections(dashboard, sections));
+        return dashboard;
+    }
+
+    /**
+     * Run independent dashboard sections concurrently and apply their results.
+     * Each section computes its values on the section executor and returns how to apply them;
+     * results are applied on the calling thread, so a section that times out can never write
+     * into the result later. All sections share one deadline, so the total wait is bounded by
+     * the slowest section and the section timeout.
+     * @param target Object the section results are applied to
+     * @param sections Section name to section task
+     * @return Names of the sections that failed, timed out or could not be queued
+     */
+    private <T> List<String> runSections(T target, Map<String, Callable<Consumer<T>>> sections) {
+        long deadline = System.nanoTime() + sectionTimeoutNanos;
+        Map<String, Future<Consumer<T>>> futures = new LinkedHashMap<>();
+        List<String> incomplete = new ArrayList<>();
+        for (Map.Entry<String, Callable<Consumer<T>>> section : sections.entrySet()) {
+            try {
+                futures.put(section.getKey(), sectionExecutor.submit(section.getValue()));
+            } catch (RejectedExecutionException e) {
+                incomplete.add(section.getKey());
+            }
+        }
+        for (Map.Entry<String, Future<Consumer<T>>> future : futures.entrySet()) {
+            try {
+                future.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS).accept(target);
+            } catch (TimeoutException e) {
+                future.getValue().cancel(true);
+                logger.warn("Dashboard section {} timed out", future.getKey());
+                incomplete.add(future.getKey());
+            } catch (ExecutionException e) {
+                logger.warn("Dashboard section {} failed: {}", future.getKey(), e.getCause().getMessage());
+                incomplete.add(future.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.getValue().cancel(true);
+                incomplete.add(future.getKey());
+            }
+        }
+        return incomplete;
+    }
+
+    /**
+     * Compute skill gaps from pre-aggregated counts
+     * @param skills Skill rows as [skillId, name, category]
+     * @param employeesPerSkill Employee count per skill ID
+     * @param projectsPerSkill Project count per skill ID
+     * @return Map of skill name to number of missing employees
+     */
+    private Map<String, Long> computeSkillGaps(List<Object[]> skills, Map<Long, Long> employeesPerSkill,
+                                               Map<Long, Long> projectsPerSkill) {
+        Map<String, Long> skillGapMap = new HashMap<>();
+        for (Object[] skill : skills) {
+            long projectsRequiring = projectsPerSkill.getOrDefault((Long) skill[0], 0L);
+            long employeesWithSkill = employeesPerSkill.getOrDefault((Long) skill[0], 0L);
+            
+            if (projectsRequiring > 0 && employeesWithSkill < projectsRequiring) {
+                skillGapMap.put((String) skill[1], projectsRequiring - employeesWithSkill);
+            }
+        }
+        return skillGapMap;
+    }
+
+    private static Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], toLong(row[1]));
+        }
+        return counts;
+    }
+
+    private static Object[] firstRow(List<Object[]> rows) {
+        return rows.isEmpty() ? new Object[] {0L, 0L} : rows.get(0);
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    /**
+     * Get the header row of an exportable report
+     * @param reportType assignments, leaves, employees or projects
+     * @return Column names in row order
+     * @throws IllegalArgumentException if the report type is unknown
+     */
+    public String[] getExportColumns(String reportType) {
+        String[] columns = EXPORT_COLUMNS.get(reportType.toLowerCase());
+        if (columns == null) {
+            throw new IllegalArgumentException("Unknown report type: " + reportType);
+        }
+        return columns.clone();
+    }
+
+    /**
+     * Run an action for every row of an exportable report, reading from a database cursor
+     * @param reportType assignments, leaves, employees or projects
+     * @param action Action to run for each row, in the order of {@link #getExportColumns(String)}
+     * @throws IllegalArgumentException if the report type is unknown
+     */
+    @Transactional(readOnly = true)
+    public void forEachExportRow(String reportType, Consumer<Object[]> action) {
+        switch (reportType.toLowerCase()) {
+            case "assignments":
+                streamingExportService.forEach(assignmentRepository.streamExportRows(), action);
+                break;
+            case "leaves":
+                streamingExportService.forEach(leaveRequestRepository.streamExportRows(), action);
+                break;
+            case "employees":
+                streamingExportService.forEach(employeeRepository.streamExportRows(), action);
+                break;
+            case "projects":
+                streamingExportService.forEach(projectRepository.streamExportRows(), action);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown report type: " + reportType);
+        }
+    }
+
+    private static Map<String, Object> employeeSummary(Long employeeId, EmployeeDTO employee) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("employeeId", employeeId);
+        summary.put("employeeName", employee != null ? employee.getFirstName() + " " + employee.getLastName() : null);
+        return summary;
+    }
+
+    private static List<Map<String, Object>> toSkillList(long[] skillIds, Map<Long, String> skillNames) {
+        List<Map<String, Object>> skills = new ArrayList<>();
+        for (long skillId : skillIds) {
+            Map<String, Object> skill = new LinkedHashMap<>();
+            skill.put("skillId", skillId);
+            skill.put("skillName", skillNames.get(skillId));
+            skills.add(skill);
+        }
+        return skills;
+    }
+
+    /**
+     * Recommendation index with the names it refers to, valid for the day it was built on
+     */
+    private static class Recommendations {
+        final LocalDate builtOn;
+        final RecommendationIndex index;
+        final Map<Long, String> projectNames;
+        final Map<Long, String> skillNames;
+
+        Recommendations(LocalDate builtOn, RecommendationIndex index,
+                        Map<Long, String> projectNames, Map<Long, String> skillNames) {
+            this.builtOn = builtOn;
+            this.index = index;
+            this.projectNames = projectNames;
+            this.skillNames = skillNames;
         }
-        
-        return recommendations;
     }
 }
\ No newline at end of file
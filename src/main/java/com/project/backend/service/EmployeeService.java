@@ -1,23 +1,50 @@
 package com.project.backend.service;
 
+import com.project.backend.dto.EmployeeDTO;
+import com.project.backend.event.EmployeeAvailabilityChangedEvent;
+import com.project.backend.event.EmployeeSkillsChangedEvent;
 import com.project.backend.model.Employee;
 import com.project.backend.model.Skill;
 import com.project.backend.repository.EmployeeRepository;
+import com.project.backend.repository.EmployeeSkillRepository;
+import com.project.backend.util.KeysetPage;
+import com.project.backend.util.SkillRowAssembler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final SkillMatchingService skillMatchingService;
+    private final AvailabilityIndexService availabilityIndexService;
+    private final SearchService searchService;
+    private final StreamingExportService streamingExportService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, EmployeeSkillRepository employeeSkillRepository,
+                           SkillMatchingService skillMatchingService,
+                           AvailabilityIndexService availabilityIndexService,
+                           SearchService searchService, StreamingExportService streamingExportService,
+                           ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.skillMatchingService = skillMatchingService;
+        this.availabilityIndexService = availabilityIndexService;
+        this.searchService = searchService;
+        this.streamingExportService = streamingExportService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -28,6 +55,25 @@ public class EmployeeService {
         return employeeRepository.findAll();
     }
 
+    /**
+     * Get a page of employees ordered by ID
+     * @param afterId ID of the last employee of the previous page, 0 for the first page
+     * @param limit Page size, capped at {@link KeysetPage#MAX_LIMIT}
+     * @return List of employee DTOs with their skills
+     */
+    public List<EmployeeDTO> getEmployeesAfter(Long afterId, int limit) {
+        return withSkills(employeeRepository.findPageAfter(afterId, KeysetPage.limit(limit)));
+    }
+
+    /**
+     * Run an action for every employee, streaming from the database in ID order
+     * @param action Action to run for each employee
+     */
+    @Transactional(readOnly = true)
+    public void forEachEmployee(Consumer<EmployeeDTO> action) {
+        streamingExportService.forEach(employeeRepository.streamAllOrderedById(), action);
+    }
+
     /**
      * Get employee by ID
      * @param id Employee ID
@@ -37,13 +83,26 @@ public class EmployeeService {
         return employeeRepository.findById(id);
     }
 
+    /**
+     * Get employee by ID as a DTO, without touching lazy entity collections
+     * @param id Employee ID
+     * @return Optional containing the employee DTO if found
+     */
+    public Optional<EmployeeDTO> getEmployeeDTOById(Long id) {
+        List<EmployeeDTO> found = employeeRepository.findDTOsByIds(List.of(id));
+        return withSkills(found).stream().findFirst();
+    }
+
     /**
      * Create a new employee
      * @param employee Employee to create
      * @return Created employee
      */
     public Employee createEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        searchService.indexEmployee(saved.getEmployeeId(), saved.getFirstName(), saved.getLastName(), saved.getEmail());
+        eventPublisher.publishEvent(new EmployeeAvailabilityChangedEvent(saved.getEmployeeId(), null, saved.isAvailable()));
+        return saved;
     }
 
     /**
@@ -56,6 +115,7 @@ public class EmployeeService {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
         
+        boolean wasAvailable = employee.isAvailable();
         employee.setName(employeeDetails.getName());
         employee.setEmail(employeeDetails.getEmail());
         employee.setDepartment(employeeDetails.getDepartment());
@@ -66,7 +126,14 @@ public class EmployeeService {
             employee.setSkills(employeeDetails.getSkills());
         }
         
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        skillMatchingService.invalidate();
+        searchService.indexEmployee(id, saved.getFirstName(), saved.getLastName(), saved.getEmail());
+        eventPublisher.publishEvent(new EmployeeAvailabilityChangedEvent(id, wasAvailable, saved.isAvailable()));
+        if (employeeDetails.getSkills() != null) {
+            eventPublisher.publishEvent(new EmployeeSkillsChangedEvent(id));
+        }
+        return saved;
     }
 
     /**
@@ -76,7 +143,10 @@ public class EmployeeService {
     public void deleteEmployee(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+        boolean wasAvailable = employee.isAvailable();
         employeeRepository.delete(employee);
+        searchService.removeEmployee(id);
+        eventPublisher.publishEvent(new EmployeeAvailabilityChangedEvent(id, wasAvailable, null));
     }
 
     /**
@@ -89,7 +159,10 @@ public class EmployeeService {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
         employee.setSkills(skills);
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        skillMatchingService.invalidate();
+        eventPublisher.publishEvent(new EmployeeSkillsChangedEvent(id));
+        return saved;
     }
 
     /**
@@ -110,15 +183,40 @@ public class EmployeeService {
     public Employee updateEmployeeAvailability(Long id, boolean isAvailable) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+        boolean wasAvailable = employee.isAvailable();
         employee.setAvailable(isAvailable);
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeAvailabilityChangedEvent(id, wasAvailable, isAvailable));
+        return saved;
     }
 
     /**
      * Find available employees
-     * @return List of employees who are available
+     * @return List of active employees with capacity left today
      */
     public List<Employee> findAvailableEmployees() {
-        return employeeRepository.findByIsAvailableTrue();
+        LocalDate today = LocalDate.now();
+        return employeeRepository.findAllById(availabilityIndexService.findAvailableEmployees(today, today, 1));
+    }
+
+    /**
+     * Search employees by name or email, best match first
+     * @param term Search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return List of matching employees
+     */
+    public List<EmployeeDTO> searchEmployees(String term, int page, int size) {
+        List<Long> ids = searchService.searchEmployeeIds(term, page, size);
+        return withSkills(SearchService.inRankOrder(ids, employeeRepository.findDTOsByIds(ids), EmployeeDTO::getId));
+    }
+
+    private List<EmployeeDTO> withSkills(List<EmployeeDTO> dtos) {
+        if (!dtos.isEmpty()) {
+            List<Long> ids = dtos.stream().map(EmployeeDTO::getId).collect(Collectors.toList());
+            SkillRowAssembler.attach(dtos, EmployeeDTO::getId, EmployeeDTO::setSkills,
+                    employeeSkillRepository.findSkillRowsByEmployeeIds(ids));
+        }
+        return dtos;
     }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.project.backend.service;
+
+import com.project.backend.dto.LeaveConflictPageDTO;
+import com.project.backend.repository.LeaveRequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Detects overlapping pending/approved leave requests of the same employee.
+ * Leaves are streamed ordered by (employee, start date) and checked with a sweep line,
+ * which is O(n log n + conflicts) instead of the quadratic self-join.
+ */
+@Service
+public class LeaveConflictService {
+
+    private static final int EMPLOYEE_BATCH_SIZE = 1000;
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final long watermarkMarginMillis;
+
+    @Autowired
+    public LeaveConflictService(
+            LeaveRequestRepository leaveRequestRepository,
+            @Value("${leaves.conflicts.watermark-margin-ms:60000}") long watermarkMarginMillis) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.watermarkMarginMillis = watermarkMarginMillis;
+    }
+
+    /**
+     * Find leave conflicts, one page of employees at a time
+     * @param afterEmployeeId Cursor from the previous page, null for the first page
+     * @param limit Minimum number of conflicts to collect before ending the page
+     * @return A page of conflicts and the cursor for the next page
+     */
+    @Transactional(readOnly = true)
+    public LeaveConflictPageDTO findConflicts(Long afterEmployeeId, int limit) {
+        Date watermark = watermark();
+        List<Map<String, Object>> conflicts = new ArrayList<>();
+        Long nextCursor = null;
+
+        try (Stream<Object[]> rows = leaveRequestRepository.streamOpenLeaveIntervals(
+                afterEmployeeId != null ? afterEmployeeId : Long.MIN_VALUE)) {
+            SweepLine sweep = new SweepLine(conflicts);
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Long employeeId = (Long) row[1];
+                if (!employeeId.equals(sweep.employeeId)) {
+                    // Pages only end on employee boundaries so that no overlap is split
+                    if (sweep.employeeId != null && conflicts.size() >= limit) {
+                        nextCursor = sweep.employeeId;
+                        break;
+                    }
+                    sweep.reset(employeeId);
+                }
+                sweep.add(row);
+            }
+        }
+
+        return new LeaveConflictPageDTO(conflicts, nextCursor, watermark);
+    }
+
+    /**
+     * Find leave conflicts only for employees whose leave requests changed after a watermark.
+     * Only leave requests that still exist are seen, and an employee whose conflicts were all
+     * resolved is simply absent from the result; after deleting or canceling leave requests,
+     * callers that keep earlier conflicts need a full rescan with {@link #findConflicts}.
+     * @param since Watermark returned by a previous check
+     * @return All current conflicts of the affected employees and a new watermark
+     */
+    @Transactional(readOnly = true)
+    public LeaveConflictPageDTO findConflictsChangedSince(Date since) {
+        Date watermark = watermark();
+        List<Map<String, Object>> conflicts = new ArrayList<>();
+        List<Long> employeeIds = leaveRequestRepository.findEmployeeIdsWithLeaveChangesSince(
+                new Timestamp(since.getTime()).toLocalDateTime());
+
+        for (int from = 0; from < employeeIds.size(); from += EMPLOYEE_BATCH_SIZE) {
+            List<Long> batch = employeeIds.subList(from, Math.min(employeeIds.size(), from + EMPLOYEE_BATCH_SIZE));
+            try (Stream<Object[]> rows = leaveRequestRepository.streamOpenLeaveIntervalsForEmployees(batch)) {
+                SweepLine sweep = new SweepLine(conflicts);
+                rows.forEach(row -> {
+                    Long employeeId = (Long) row[1];
+                    if (!employeeId.equals(sweep.employeeId)) {
+                        sweep.reset(employeeId);
+                    }
+                    sweep.add(row);
+                });
+            }
+        }
+
+        return new LeaveConflictPageDTO(conflicts, null, watermark);
+    }
+
+    /**
+     * Watermark for the next incremental check. updated_at is stamped when a change is flushed,
+     * but the change only becomes visible when its transaction commits, possibly after this
+     * query ran. Moving the watermark back by the longest expected transaction makes the next
+     * check see such changes; employees changed within the margin are simply checked twice.
+     */
+    private Date watermark() {
+        return new Date(System.currentTimeMillis() - watermarkMarginMillis);
+    }
+
+    /**
+     * Sweep line over the leaves of one employee, fed in start date order.
+     * Keeps the leaves still open at the current start date in a heap ordered by end date.
+     */
+    private static class SweepLine {
+        private final List<Map<String, Object>> conflicts;
+        private final PriorityQueue<Object[]> open =
+                new PriorityQueue<>((a, b) -> ((LocalDate) a[3]).compareTo((LocalDate) b[3]));
+        private Long employeeId;
+
+        SweepLine(List<Map<String, Object>> conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        void reset(Long employeeId) {
+            this.employeeId = employeeId;
+            open.clear();
+        }
+
+        void add(Object[] row) {
+            LocalDate startDate = (LocalDate) row[2];
+            LocalDate endDate = (LocalDate) row[3];
+            while (!open.isEmpty() && ((LocalDate) open.peek()[3]).isBefore(startDate)) {
+                open.poll();
+            }
+            for (Object[] other : open) {
+                LocalDate otherEnd = (LocalDate) other[3];
+                Map<String, Object> conflict = new HashMap<>();
+                conflict.put("employeeId", employeeId);
+                conflict.put("leaveRequestId", other[0]);
+                conflict.put("conflictingLeaveRequestId", row[0]);
+                conflict.put("overlapStart", startDate);
+                conflict.put("overlapEnd", otherEnd.isBefore(endDate) ? otherEnd : endDate);
+                conflicts.add(conflict);
+            }
+            open.add(row);
+        }
+    }
+}
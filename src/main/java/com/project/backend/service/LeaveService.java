@@ -1,26 +1,36 @@
 package com.project.backend.service;
 
+import com.project.backend.event.LeaveStatusChangedEvent;
 import com.project.backend.model.Employee;
 import com.project.backend.model.LeaveRequest;
 import com.project.backend.repository.EmployeeRepository;
 import com.project.backend.repository.LeaveRequestRepository;
+import com.project.backend.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class LeaveService {
 
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
+    private final StreamingExportService streamingExportService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public LeaveService(LeaveRequestRepository leaveRequestRepository, EmployeeRepository employeeRepository) {
+    public LeaveService(LeaveRequestRepository leaveRequestRepository, EmployeeRepository employeeRepository,
+                        StreamingExportService streamingExportService, ApplicationEventPublisher eventPublisher) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.employeeRepository = employeeRepository;
+        this.streamingExportService = streamingExportService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -31,6 +41,25 @@ public class LeaveService {
         return leaveRequestRepository.findAll();
     }
 
+    /**
+     * Get a page of leave requests ordered by ID
+     * @param afterId ID of the last leave request of the previous page, 0 for the first page
+     * @param limit Page size, capped at {@link KeysetPage#MAX_LIMIT}
+     * @return List of leave requests
+     */
+    public List<LeaveRequest> getLeaveRequestsAfter(Long afterId, int limit) {
+        return leaveRequestRepository.findPageAfter(afterId, KeysetPage.limit(limit));
+    }
+
+    /**
+     * Run an action for every leave request, streaming from the database in ID order
+     * @param action Action to run for each leave request
+     */
+    @Transactional(readOnly = true)
+    public void forEachLeaveRequest(Consumer<LeaveRequest> action) {
+        streamingExportService.forEach(leaveRequestRepository.streamAllOrderedById(), action);
+    }
+
     /**
      * Get leave request by ID
      * @param id Leave request ID
@@ -48,7 +77,9 @@ public class LeaveService {
     public LeaveRequest createLeaveRequest(LeaveRequest leaveRequest) {
         // Set initial status to PENDING
         leaveRequest.setStatus("PENDING");
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        eventPublisher.publishEvent(LeaveStatusChangedEvent.of(saved, null, saved.getStatus()));
+        return saved;
     }
 
     /**
@@ -70,7 +101,9 @@ public class LeaveService {
         leaveRequest.setReason(reason);
         leaveRequest.setStatus("PENDING");
         
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        eventPublisher.publishEvent(LeaveStatusChangedEvent.of(saved, null, saved.getStatus()));
+        return saved;
     }
 
     /**
@@ -82,14 +115,12 @@ public class LeaveService {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Leave request not found with id: " + id));
         
+        String oldStatus = leaveRequest.getStatus();
         leaveRequest.setStatus("APPROVED");
         
-        // Update employee availability
-        Employee employee = leaveRequest.getEmployee();
-        employee.setAvailable(false);
-        employeeRepository.save(employee);
-        
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        eventPublisher.publishEvent(LeaveStatusChangedEvent.of(saved, oldStatus, saved.getStatus()));
+        return saved;
     }
 
     /**
@@ -102,10 +133,13 @@ public class LeaveService {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Leave request not found with id: " + id));
         
+        String oldStatus = leaveRequest.getStatus();
         leaveRequest.setStatus("REJECTED");
         leaveRequest.setRejectReason(rejectReason);
         
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        eventPublisher.publishEvent(LeaveStatusChangedEvent.of(saved, oldStatus, saved.getStatus()));
+        return saved;
     }
 
     /**
@@ -149,6 +183,8 @@ public class LeaveService {
         }
         
         leaveRequest.setStatus("CANCELED");
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        eventPublisher.publishEvent(LeaveStatusChangedEvent.of(saved, "PENDING", saved.getStatus()));
+        return saved;
     }
 }
\ No newline at end of file
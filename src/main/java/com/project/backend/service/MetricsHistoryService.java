@@ -0,0 +1,240 @@
+package com.project.backend.service;
+
+import com.project.backend.model.MetricRollup;
+import com.project.backend.repository.AssignmentRepository;
+import com.project.backend.repository.EmployeeSkillRepository;
+import com.project.backend.repository.LeaveRequestRepository;
+import com.project.backend.repository.MetricRollupRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * History of the headline dashboard metrics for trend charts.
+ * The metrics are sampled at a fixed interval into per-minute buckets holding count, sum, min,
+ * max and last value. Once an hour or a day is complete its finer buckets are rolled up into
+ * one coarser bucket, and every resolution has its own retention period, so the table stays
+ * small and a range query reads at most a few hundred pre-aggregated buckets per metric
+ * instead of rescanning assignments and leaves.
+ */
+@Service
+public class MetricsHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHistoryService.class);
+
+    static final String MINUTE = "MINUTE";
+    static final String HOUR = "HOUR";
+    static final String DAY = "DAY";
+
+    public static final List<String> METRICS = List.of(
+            "headcount", "availableEmployees", "allocatedEmployees", "utilization",
+            "skillGap", "skillsShort", "pendingLeaves", "ongoingLeaves", "upcomingLeaves");
+
+    private final DashboardCounterService dashboardCounterService;
+    private final AssignmentRepository assignmentRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final MetricRollupRepository metricRollupRepository;
+    private final int maxPoints;
+    private final Map<String, Integer> retentionDays = new HashMap<>();
+
+    @Autowired
+    public MetricsHistoryService(
+            DashboardCounterService dashboardCounterService,
+            AssignmentRepository assignmentRepository,
+            LeaveRequestRepository leaveRequestRepository,
+            EmployeeSkillRepository employeeSkillRepository,
+            ProjectSkillRepository projectSkillRepository,
+            MetricRollupRepository metricRollupRepository,
+            @Value("${metrics.history.max-points:500}") int maxPoints,
+            @Value("${metrics.history.minute-retention-days:2}") int minuteRetentionDays,
+            @Value("${metrics.history.hour-retention-days:90}") int hourRetentionDays,
+            @Value("${metrics.history.day-retention-days:1825}") int dayRetentionDays) {
+        this.dashboardCounterService = dashboardCounterService;
+        this.assignmentRepository = assignmentRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.metricRollupRepository = metricRollupRepository;
+        this.maxPoints = maxPoints;
+        retentionDays.put(MINUTE, minuteRetentionDays);
+        retentionDays.put(HOUR, hourRetentionDays);
+        retentionDays.put(DAY, dayRetentionDays);
+    }
+
+    /**
+     * Record one sample of every metric, roll up completed hours and days and drop expired buckets
+     */
+    @Scheduled(fixedRateString = "${metrics.history.sample-interval-ms:60000}")
+    @Transactional
+    public void sample() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Double> values = collectMetrics(now.toLocalDate());
+
+        LocalDateTime minute = now.truncatedTo(ChronoUnit.MINUTES);
+        Map<String, MetricRollup> buckets = new HashMap<>();
+        for (MetricRollup bucket : metricRollupRepository.findBuckets(values.keySet(), MINUTE, minute, minute.plusMinutes(1))) {
+            buckets.put(bucket.getMetric(), bucket);
+        }
+        values.forEach((metric, value) ->
+                buckets.computeIfAbsent(metric, m -> new MetricRollup(m, MINUTE, minute)).addSample(value));
+        metricRollupRepository.saveAll(buckets.values());
+
+        rollUp(MINUTE, HOUR, ChronoUnit.HOURS, now);
+        rollUp(HOUR, DAY, ChronoUnit.DAYS, now);
+        for (Map.Entry<String, Integer> retention : retentionDays.entrySet()) {
+            metricRollupRepository.deleteBucketsBefore(retention.getKey(), now.minusDays(retention.getValue()));
+        }
+    }
+
+    /**
+     * Get pre-aggregated series of metrics over a period
+     * @param metrics Metric names, null or empty for all metrics
+     * @param from Start of the period
+     * @param to End of the period
+     * @param resolution MINUTE, HOUR or DAY; null picks the finest resolution that is still retained
+     *                   for the whole period and needs at most the configured number of points
+     * @return Map containing resolution, from, to and series (metric name to buckets with
+     *         bucketStart, average, min, max, last and samples)
+     * @throws IllegalArgumentException if the period is empty or the metric or resolution is unknown
+     */
+    public Map<String, Object> getSeries(Collection<String> metrics, LocalDateTime from, LocalDateTime to,
+                                         String resolution) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The period must end after it starts");
+        }
+        List<String> selected = metrics == null || metrics.isEmpty() ? METRICS : new ArrayList<>(metrics);
+        for (String metric : selected) {
+            if (!METRICS.contains(metric)) {
+                throw new IllegalArgumentException("Unknown metric: " + metric);
+            }
+        }
+        String chosen = resolution != null ? resolution.toUpperCase() : chooseResolution(from, to);
+        if (!retentionDays.containsKey(chosen)) {
+            throw new IllegalArgumentException("Unknown resolution: " + resolution);
+        }
+
+        Map<String, List<Map<String, Object>>> series = new LinkedHashMap<>();
+        for (String metric : selected) {
+            series.put(metric, new ArrayList<>());
+        }
+        for (MetricRollup bucket : metricRollupRepository.findBuckets(
+                selected, chosen, from.truncatedTo(unitOf(chosen)), to)) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucketStart", bucket.getBucketStart());
+            point.put("average", bucket.getAverage());
+            point.put("min", bucket.getMinValue());
+            point.put("max", bucket.getMaxValue());
+            point.put("last", bucket.getLastValue());
+            point.put("samples", bucket.getSampleCount());
+            series.get(bucket.getMetric()).add(point);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("resolution", chosen);
+        result.put("from", from);
+        result.put("to", to);
+        result.put("series", series);
+        return result;
+    }
+
+    /**
+     * Compute the current value of every metric with grouped queries and live counters
+     * @param today Reference date
+     * @return Metric name to value
+     */
+    private Map<String, Double> collectMetrics(LocalDate today) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        long headcount = dashboardCounterService.getTotalEmployees();
+        long allocated = assignmentRepository.countDistinctEmployeesByStatusEndingAfter("ACTIVE", today);
+        values.put("headcount", (double) headcount);
+        values.put("availableEmployees", (double) dashboardCounterService.getAvailableEmployees());
+        values.put("allocatedEmployees", (double) allocated);
+        values.put("utilization", headcount > 0 ? 100.0 * allocated / headcount : 0);
+
+        // Same skill gap definition as the dashboard snapshot
+        Map<Long, Long> employeesPerSkill = new HashMap<>();
+        for (Object[] row : employeeSkillRepository.countEmployeesPerSkill()) {
+            employeesPerSkill.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        long gap = 0;
+        long skillsShort = 0;
+        for (Object[] row : projectSkillRepository.countProjectsPerSkillByStatus("ACTIVE")) {
+            long shortage = ((Number) row[1]).longValue() - employeesPerSkill.getOrDefault((Long) row[0], 0L);
+            if (shortage > 0) {
+                gap += shortage;
+                skillsShort++;
+            }
+        }
+        values.put("skillGap", (double) gap);
+        values.put("skillsShort", (double) skillsShort);
+
+        values.put("pendingLeaves", (double) dashboardCounterService.getLeaveCount("PENDING"));
+        List<Object[]> leaveRows = leaveRequestRepository.countOngoingAndUpcomingLeaves(today);
+        Object[] leaveCounts = leaveRows.isEmpty() ? new Object[2] : leaveRows.get(0);
+        values.put("ongoingLeaves", leaveCounts[0] != null ? ((Number) leaveCounts[0]).doubleValue() : 0);
+        values.put("upcomingLeaves", leaveCounts[1] != null ? ((Number) leaveCounts[1]).doubleValue() : 0);
+        return values;
+    }
+
+    /**
+     * Aggregate the finer buckets of every completed coarser bucket that has not been rolled up yet
+     */
+    private void rollUp(String finer, String coarser, ChronoUnit unit, LocalDateTime now) {
+        LocalDateTime current = now.truncatedTo(unit);
+        LocalDateTime latest = metricRollupRepository.findLatestBucketStart(coarser);
+        LocalDateTime from = latest != null ? latest.plus(1, unit) : metricRollupRepository.findEarliestBucketStart(finer);
+        if (from == null || !from.truncatedTo(unit).isBefore(current)) {
+            return;
+        }
+        // Finer buckets come ordered by metric and start, so the last value ends up last
+        Map<String, MetricRollup> rolled = new LinkedHashMap<>();
+        for (MetricRollup bucket : metricRollupRepository.findAllBuckets(finer, from.truncatedTo(unit), current)) {
+            LocalDateTime start = bucket.getBucketStart().truncatedTo(unit);
+            rolled.computeIfAbsent(bucket.getMetric() + "@" + start,
+                    k -> new MetricRollup(bucket.getMetric(), coarser, start)).addRollup(bucket);
+        }
+        metricRollupRepository.saveAll(rolled.values());
+        logger.debug("Rolled up {} {} buckets", rolled.size(), coarser);
+    }
+
+    private String chooseResolution(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        Duration span = Duration.between(from, to);
+        for (String resolution : List.of(MINUTE, HOUR)) {
+            boolean retained = !from.isBefore(now.minusDays(retentionDays.get(resolution)));
+            if (retained && span.dividedBy(unitOf(resolution).getDuration()) <= maxPoints) {
+                return resolution;
+            }
+        }
+        return DAY;
+    }
+
+    private static ChronoUnit unitOf(String resolution) {
+        switch (resolution) {
+            case MINUTE:
+                return ChronoUnit.MINUTES;
+            case HOUR:
+                return ChronoUnit.HOURS;
+            default:
+                return ChronoUnit.DAYS;
+        }
+    }
+}
\ No newline at end of file
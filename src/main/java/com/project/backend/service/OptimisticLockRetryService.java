@@ -0,0 +1,124 @@
+package com.project.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs write operations in their own transaction and retries them when an optimistic lock
+ * conflict is detected, with bounded exponential backoff and jitter.
+ * No rows are locked while a planner works; a conflicting transaction simply starts over
+ * on fresh data. Conflict counts per operation are kept for the metrics endpoint.
+ */
+@Service
+public class OptimisticLockRetryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetryService.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OptimisticLockRetryService(
+            PlatformTransactionManager transactionManager,
+            @Value("${allocation.retry.max-attempts:5}") int maxAttempts,
+            @Value("${allocation.retry.initial-backoff-ms:10}") long initialBackoffMs,
+            @Value("${allocation.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(1, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+    }
+
+    /**
+     * Run an operation in a new transaction, retrying it on optimistic lock conflicts
+     * @param operation Operation name used for the metrics
+     * @param work The operation; it must re-read everything it depends on, since it may run more than once
+     * @return The result of the successful attempt
+     * @throws OptimisticLockingFailureException if every attempt conflicted
+     */
+    public <T> T execute(String operation, Supplier<T> work) {
+        OperationStats counters = stats.computeIfAbsent(operation, k -> new OperationStats());
+        counters.calls.incrementAndGet();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Part of a caller's transaction: retrying here could not undo the caller's work
+            return work.get();
+        }
+
+        long backoff = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                counters.conflicts.incrementAndGet();
+                if (attempt >= maxAttempts) {
+                    counters.exhausted.incrementAndGet();
+                    logger.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                    throw e;
+                }
+                counters.retries.incrementAndGet();
+                logger.debug("Optimistic lock conflict in {}, attempt {}", operation, attempt);
+                sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1), e);
+                backoff = Math.min(maxBackoffMs, backoff * 2);
+            }
+        }
+    }
+
+    /**
+     * Get conflict metrics per operation
+     * @return Map of operation name to calls, conflicts, retries, exhausted and conflictRate
+     */
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        stats.forEach((operation, counters) -> {
+            long calls = counters.calls.get();
+            long conflicts = counters.conflicts.get();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("calls", calls);
+            values.put("conflicts", conflicts);
+            values.put("retries", counters.retries.get());
+            values.put("exhausted", counters.exhausted.get());
+            // Conflicts per call; above 1.0 means calls conflict more than once on average
+            values.put("conflictRate", calls > 0 ? (double) conflicts / calls : 0.0);
+            metrics.put(operation, values);
+        });
+        return metrics;
+    }
+
+    private static void sleep(long millis, OptimisticLockingFailureException conflict) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    /**
+     * Counters of one operation
+     */
+    private static class OperationStats {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong conflicts = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+        final AtomicLong exhausted = new AtomicLong();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.project.backend.service;
+
+import com.project.backend.dto.PortfolioAllocationRequestDTO;
+import com.project.backend.dto.PortfolioAllocationResultDTO;
+import com.project.backend.repository.EmployeeSkillRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import com.project.backend.util.MinCostFlow;
+import com.project.backend.util.SolverProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Staffs several projects at once by solving a global min-cost flow.
+ * Employees supply capacity units, (project, skill) requirements demand
+ * requiredCount units, and each employee-requirement edge costs less the
+ * better the proficiency x importance x priority match is.
+ */
+@Service
+public class PortfolioAllocationService {
+
+    // Edges per requirement are pruned to the strongest candidates to keep the graph sparse
+    private static final int MIN_CANDIDATES_PER_REQUIREMENT = 16;
+    private static final int CANDIDATES_PER_REQUIRED_EMPLOYEE = 4;
+
+    private final ProjectSkillRepository projectSkillRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final AvailabilityIndexService availabilityIndexService;
+
+    private final Map<String, SolverProgress> runs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PortfolioAllocationService(
+            ProjectSkillRepository projectSkillRepository,
+            EmployeeSkillRepository employeeSkillRepository,
+            AvailabilityIndexService availabilityIndexService) {
+        this.projectSkillRepository = projectSkillRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.availabilityIndexService = availabilityIndexService;
+    }
+
+    /**
+     * Compute an allocation plan for a set of projects
+     * @param request Projects, period, capacity per slot and time budget
+     * @return The proposed plan; nothing is persisted
+     * @throws IllegalArgumentException If another allocation with the same run ID is still going
+     */
+    public PortfolioAllocationResultDTO allocate(PortfolioAllocationRequestDTO request) {
+        SolverProgress progress = new SolverProgress();
+        String runId = request.getRunId();
+        if (runId != null && runs.putIfAbsent(runId, progress) != null) {
+            throw new IllegalArgumentException("Allocation run already in progress: " + runId);
+        }
+        try {
+            return allocate(request, progress);
+        } finally {
+            if (runId != null) {
+                runs.remove(runId, progress);
+            }
+        }
+    }
+
+    /**
+     * Compute an allocation plan reporting to a caller-supplied progress handle
+     * @param request Projects, period, capacity per slot and time budget
+     * @param progress Progress handle used for polling and early stop
+     * @return The proposed plan; nothing is persisted
+     */
+    public PortfolioAllocationResultDTO allocate(PortfolioAllocationRequestDTO request, SolverProgress progress) {
+        long startedAt = System.nanoTime();
+        if (request.getProjectIds() == null || request.getProjectIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one project is required");
+        }
+        if (request.getAllocationPercentage() <= 0 || request.getAllocationPercentage() > 100) {
+            throw new IllegalArgumentException("Allocation percentage must be between 1 and 100");
+        }
+        LocalDate startDate = toLocalDate(request.getStartDate(), LocalDate.now());
+        LocalDate endDate = toLocalDate(request.getEndDate(), startDate);
+
+        // Requirements: one node per (project, skill)
+        List<Object[]> requirementRows = projectSkillRepository.findRequirementRowsByProjectIds(request.getProjectIds());
+        int requirementCount = requirementRows.size();
+        long[] requirementProject = new long[requirementCount];
+        long[] requirementSkill = new long[requirementCount];
+        int[] requirementWeight = new int[requirementCount];
+        int[] requirementDemand = new int[requirementCount];
+        int totalDemand = 0;
+        for (int r = 0; r < requirementCount; r++) {
+            Object[] row = requirementRows.get(r);
+            requirementProject[r] = (Long) row[0];
+            requirementSkill[r] = (Long) row[1];
+            requirementWeight[r] = positiveOrOne(row[2]) * positiveOrOne(row[4]);
+            requirementDemand[r] = positiveOrOne(row[3]);
+            totalDemand += requirementDemand[r];
+        }
+
+        // Slots each candidate has left on their busiest day of the period, leave included;
+        // looked up on demand so that only candidates that make it into the graph cost anything
+        Map<Long, Integer> slots = new HashMap<>();
+
+        // Candidates per skill, sorted by proficiency so that the best ones come first
+        Map<Long, List<long[]>> candidatesBySkill = new HashMap<>();
+        for (Object[] row : employeeSkillRepository.findActiveEmployeeSkillLevels()) {
+            candidatesBySkill.computeIfAbsent((Long) row[1], k -> new ArrayList<>())
+                    .add(new long[] {(Long) row[0], positiveOrOne(row[2])});
+        }
+        for (List<long[]> candidates : candidatesBySkill.values()) {
+            candidates.sort((a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(a[0], b[0]));
+        }
+
+        // Node layout: 0 = source, 1 = sink, then requirements, then employees on demand
+        int source = 0;
+        int sink = 1;
+        Map<Long, Integer> employeeNodes = new HashMap<>();
+        List<Long> employeeIds = new ArrayList<>();
+        List<int[]> candidateEdges = new ArrayList<>(); // [requirement, employeeIndex, score]
+        long maxScore = 1;
+
+        for (int r = 0; r < requirementCount; r++) {
+            List<long[]> candidates = candidatesBySkill.getOrDefault(requirementSkill[r], List.of());
+            int limit = Math.max(MIN_CANDIDATES_PER_REQUIREMENT, requirementDemand[r] * CANDIDATES_PER_REQUIRED_EMPLOYEE);
+            int taken = 0;
+            for (long[] candidate : candidates) {
+                if (taken >= limit) {
+                    break;
+                }
+                int employeeSlots = slots.computeIfAbsent(candidate[0], id -> availabilityIndexService
+                        .getRemainingCapacity(id, startDate, endDate) / request.getAllocationPercentage());
+                if (employeeSlots <= 0) {
+                    continue;
+                }
+                Integer employeeIndex = employeeNodes.get(candidate[0]);
+                if (employeeIndex == null) {
+                    employeeIndex = employeeIds.size();
+                    employeeNodes.put(candidate[0], employeeIndex);
+                    employeeIds.add(candidate[0]);
+                }
+                int score = (int) candidate[1] * requirementWeight[r];
+                maxScore = Math.max(maxScore, score);
+                candidateEdges.add(new int[] {r, employeeIndex, score});
+                taken++;
+            }
+        }
+
+        int firstEmployeeNode = 2 + requirementCount;
+        MinCostFlow flow = new MinCostFlow(firstEmployeeNode + employeeIds.size(),
+                requirementCount + employeeIds.size() + candidateEdges.size());
+        for (int e = 0; e < employeeIds.size(); e++) {
+            flow.addEdge(source, firstEmployeeNode + e, slots.get(employeeIds.get(e)), 0);
+        }
+        int[] demandEdges = new int[requirementCount];
+        for (int r = 0; r < requirementCount; r++) {
+            demandEdges[r] = flow.addEdge(2 + r, sink, requirementDemand[r], 0);
+        }
+        // Every unit of flow costs (maxScore + 1 - score), so filling more slots always wins
+        // over filling fewer slots with better matches
+        long base = maxScore + 1;
+        int[] matchEdges = new int[candidateEdges.size()];
+        for (int i = 0; i < candidateEdges.size(); i++) {
+            int[] edge = candidateEdges.get(i);
+            matchEdges[i] = flow.addEdge(firstEmployeeNode + edge[1], 2 + edge[0], 1, base - edge[2]);
+        }
+
+        progress.start(totalDemand);
+        long deadline = request.getTimeBudgetMillis() > 0
+                ? startedAt + request.getTimeBudgetMillis() * 1_000_000L
+                : Long.MAX_VALUE;
+        int filled = flow.solve(source, sink, totalDemand, progress, deadline);
+        progress.finish();
+
+        List<Map<String, Object>> assignments = new ArrayList<>();
+        long totalScore = 0;
+        for (int i = 0; i < candidateEdges.size(); i++) {
+            if (flow.getFlow(matchEdges[i]) > 0) {
+                int[] edge = candidateEdges.get(i);
+                Map<String, Object> assignment = new HashMap<>();
+                assignment.put("employeeId", employeeIds.get(edge[1]));
+                assignment.put("projectId", requirementProject[edge[0]]);
+                assignment.put("skillId", requirementSkill[edge[0]]);
+                assignment.put("score", edge[2]);
+                assignment.put("allocationPercentage", request.getAllocationPercentage());
+                assignments.add(assignment);
+                totalScore += edge[2];
+            }
+        }
+
+        List<Map<String, Object>> unfilledSlots = new ArrayList<>();
+        for (int r = 0; r < requirementCount; r++) {
+            int missing = requirementDemand[r] - flow.getFlow(demandEdges[r]);
+            if (missing > 0) {
+                Map<String, Object> slot = new HashMap<>();
+                slot.put("projectId", requirementProject[r]);
+                slot.put("skillId", requirementSkill[r]);
+                slot.put("missing", missing);
+                unfilledSlots.add(slot);
+            }
+        }
+
+        PortfolioAllocationResultDTO result = new PortfolioAllocationResultDTO();
+        result.setRequiredSlots(totalDemand);
+        result.setFilledSlots(filled);
+        result.setTotalScore(totalScore);
+        result.setComplete(!progress.isStopRequested() && System.nanoTime() <= deadline);
+        result.setElapsedMillis((System.nanoTime() - startedAt) / 1_000_000L);
+        result.setAssignments(assignments);
+        result.setUnfilledSlots(unfilledSlots);
+        return result;
+    }
+
+    /**
+     * Get the progress of a running allocation
+     * @param runId Run ID supplied in the request
+     * @return Optional containing the progress handle if the run is still going
+     */
+    public Optional<SolverProgress> getProgress(String runId) {
+        return Optional.ofNullable(runs.get(runId));
+    }
+
+    /**
+     * Ask a running allocation to stop and return its best plan so far
+     * @param runId Run ID supplied in the request
+     * @return True if the run was found
+     */
+    public boolean stop(String runId) {
+        SolverProgress progress = runs.get(runId);
+        if (progress == null) {
+            return false;
+        }
+        progress.requestStop();
+        return true;
+    }
+
+    private static int positiveOrOne(Object value) {
+        if (value == null) {
+            return 1;
+        }
+        int number = ((Number) value).intValue();
+        return number > 0 ? number : 1;
+    }
+
+    private static LocalDate toLocalDate(Date date, LocalDate defaultValue) {
+        return date != null ? new java.sql.Date(date.getTime()).toLocalDate() : defaultValue;
+    }
+}
@@ -1,23 +1,43 @@
 package com.project.backend.service;
 
+import com.project.backend.dto.ProjectDTO;
+import com.project.backend.event.ProjectSkillsChangedEvent;
+import com.project.backend.event.ProjectStatusChangedEvent;
 import com.project.backend.model.Project;
 import com.project.backend.model.Skill;
 import com.project.backend.repository.ProjectRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import com.project.backend.util.KeysetPage;
+import com.project.backend.util.SkillRowAssembler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final SearchService searchService;
+    private final StreamingExportService streamingExportService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ProjectService(ProjectRepository projectRepository) {
+    public ProjectService(ProjectRepository projectRepository, ProjectSkillRepository projectSkillRepository,
+                          SearchService searchService,
+                          StreamingExportService streamingExportService, ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.searchService = searchService;
+        this.streamingExportService = streamingExportService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -28,6 +48,25 @@ public class ProjectService {
         return projectRepository.findAll();
     }
 
+    /**
+     * Get a page of projects ordered by ID
+     * @param afterId ID of the last project of the previous page, 0 for the first page
+     * @param limit Page size, capped at {@link KeysetPage#MAX_LIMIT}
+     * @return List of project DTOs with their skills
+     */
+    public List<ProjectDTO> getProjectsAfter(Long afterId, int limit) {
+        return withSkills(projectRepository.findPageAfter(afterId, KeysetPage.limit(limit)));
+    }
+
+    /**
+     * Run an action for every project, streaming from the database in ID order
+     * @param action Action to run for each project
+     */
+    @Transactional(readOnly = true)
+    public void forEachProject(Consumer<ProjectDTO> action) {
+        streamingExportService.forEach(projectRepository.streamAllOrderedById(), action);
+    }
+
     /**
      * Get project by ID
      * @param id Project ID
@@ -37,13 +76,26 @@ public class ProjectService {
         return projectRepository.findById(id);
     }
 
+    /**
+     * Get project by ID as a DTO, without touching lazy entity collections
+     * @param id Project ID
+     * @return Optional containing the project DTO if found
+     */
+    public Optional<ProjectDTO> getProjectDTOById(Long id) {
+        List<ProjectDTO> found = projectRepository.findDTOsByIds(List.of(id));
+        return withSkills(found).stream().findFirst();
+    }
+
     /**
      * Create a new project
      * @param project Project to create
      * @return Created project
      */
     public Project createProject(Project project) {
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        searchService.indexProject(saved.getProjectId(), saved.getName(), saved.getDescription());
+        eventPublisher.publishEvent(new ProjectStatusChangedEvent(saved.getProjectId(), null, saved.getStatus()));
+        return saved;
     }
 
     /**
@@ -56,6 +108,7 @@ public class ProjectService {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + id));
         
+        String oldStatus = project.getStatus();
         project.setName(projectDetails.getName());
         project.setDescription(projectDetails.getDescription());
         project.setStartDate(projectDetails.getStartDate());
@@ -66,7 +119,13 @@ public class ProjectService {
             project.setRequiredSkills(projectDetails.getRequiredSkills());
         }
         
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        searchService.indexProject(id, saved.getName(), saved.getDescription());
+        eventPublisher.publishEvent(new ProjectStatusChangedEvent(id, oldStatus, saved.getStatus()));
+        if (projectDetails.getRequiredSkills() != null) {
+            eventPublisher.publishEvent(new ProjectSkillsChangedEvent(id));
+        }
+        return saved;
     }
 
     /**
@@ -77,6 +136,8 @@ public class ProjectService {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + id));
         projectRepository.delete(project);
+        searchService.removeProject(id);
+        eventPublisher.publishEvent(new ProjectStatusChangedEvent(id, project.getStatus(), null));
     }
 
     /**
@@ -89,7 +150,9 @@ public class ProjectService {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + id));
         project.setRequiredSkills(skills);
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectSkillsChangedEvent(id));
+        return saved;
     }
 
     /**
@@ -117,4 +180,25 @@ public class ProjectService {
     public List<Project> findProjectsByRequiredSkill(Long skillId) {
         return projectRepository.findByRequiredSkillsId(skillId);
     }
+
+    /**
+     * Search projects by name or description, best match first
+     * @param term Search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return List of matching projects
+     */
+    public List<ProjectDTO> searchProjects(String term, int page, int size) {
+        List<Long> ids = searchService.searchProjectIds(term, page, size);
+        return withSkills(SearchService.inRankOrder(ids, projectRepository.findDTOsByIds(ids), ProjectDTO::getId));
+    }
+
+    private List<ProjectDTO> withSkills(List<ProjectDTO> dtos) {
+        if (!dtos.isEmpty()) {
+            List<Long> ids = dtos.stream().map(ProjectDTO::getId).collect(Collectors.toList());
+            SkillRowAssembler.attach(dtos, ProjectDTO::getId, ProjectDTO::setRequiredSkills,
+                    projectSkillRepository.findSkillRowsByProjectIds(ids));
+        }
+        return dtos;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,302 @@
+package com.project.backend.service;
+
+import com.project.backend.event.AssignmentStatusChangedEvent;
+import com.project.backend.event.EmployeeAvailabilityChangedEvent;
+import com.project.backend.event.LeaveStatusChangedEvent;
+import com.project.backend.event.ProjectSkillsChangedEvent;
+import com.project.backend.event.ProjectStatusChangedEvent;
+import com.project.backend.repository.AssignmentRepository;
+import com.project.backend.repository.LeaveRequestRepository;
+import com.project.backend.repository.ProjectRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import com.project.backend.repository.SkillRepository;
+import com.project.backend.util.LazyIndex;
+import com.project.backend.util.ReportCube;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ad-hoc reports over assignments and leaves, answered from an in-memory {@link ReportCube}.
+ * The cube is loaded on first use; assignment and leave changes and employee deletion queue the
+ * employee, project changes queue the project, and queued entries are refreshed before the next report, so a
+ * write costs a couple of small queries instead of a rebuild.
+ */
+@Service
+public class ReportCubeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportCubeService.class);
+
+    public static final List<String> REPORT_TYPES = List.of("rollup", "drilldown", "slice");
+
+    private final AssignmentRepository assignmentRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final SkillRepository skillRepository;
+
+    private final Set<Long> pendingEmployees = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingProjects = ConcurrentHashMap.newKeySet();
+    private final LazyIndex<ReportCube> cube = new LazyIndex<>();
+
+    @Autowired
+    public ReportCubeService(
+            AssignmentRepository assignmentRepository,
+            LeaveRequestRepository leaveRequestRepository,
+            ProjectRepository projectRepository,
+            ProjectSkillRepository projectSkillRepository,
+            SkillRepository skillRepository) {
+        this.assignmentRepository = assignmentRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.projectRepository = projectRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.skillRepository = skillRepository;
+    }
+
+    /**
+     * Run an advanced report against the cube.
+     * All report types group by "dimensions" and keep the cells matching "filters"
+     * (dimension to one value or a list of values); "from" and "to" (yyyy-MM) limit the months.
+     * A drilldown additionally takes a "path" of dimension values it descends from, which is
+     * both filtered on and kept in the rows. A slice needs at least one filter.
+     * @param reportType rollup, drilldown or slice
+     * @param parameters Report parameters
+     * @return Map containing the grouping, filters, rows with headcount, allocation and leaveDays,
+     *         and totals that count every cell once
+     * @throws IllegalArgumentException if the report type, a dimension or a month is invalid
+     */
+    public Map<String, Object> getAdvancedReport(String reportType, Map<String, Object> parameters) {
+        String type = reportType.toLowerCase();
+        if (!REPORT_TYPES.contains(type)) {
+            throw new IllegalArgumentException("Unknown report type: " + reportType);
+        }
+        Map<String, Object> params = parameters != null ? parameters : Map.of();
+
+        Set<String> groupBy = new LinkedHashSet<>();
+        Map<String, Set<String>> filters = new LinkedHashMap<>();
+        if ("drilldown".equals(type)) {
+            Map<String, Set<String>> path = toFilters(params.get("path"));
+            if (path.isEmpty()) {
+                throw new IllegalArgumentException("A drilldown needs a path");
+            }
+            groupBy.addAll(path.keySet());
+            filters.putAll(path);
+        }
+        groupBy.addAll(toStrings(params.get("dimensions")));
+        toFilters(params.get("filters")).forEach((dimension, values) ->
+                filters.merge(dimension, values, (a, b) -> {
+                    Set<String> both = new LinkedHashSet<>(a);
+                    both.retainAll(b);
+                    return both;
+                }));
+        if ("slice".equals(type) && filters.isEmpty()) {
+            throw new IllegalArgumentException("A slice needs at least one filter");
+        }
+        YearMonth from = toMonth(params.get("from"));
+        YearMonth to = toMonth(params.get("to"));
+
+        long started = System.nanoTime();
+        ReportCube.Result result = getCube().query(new ArrayList<>(groupBy), filters, from, to);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("reportType", type);
+        report.put("dimensions", groupBy);
+        report.put("filters", filters);
+        report.put("from", from != null ? from.toString() : null);
+        report.put("to", to != null ? to.toString() : null);
+        report.put("rows", result.getRows());
+        report.put("totals", result.getTotals());
+        report.put("cellsScanned", result.getCells());
+        report.put("queryTimeMs", (System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentStatusChanged(AssignmentStatusChangedEvent event) {
+        if (event.getEmployeeId() != null) {
+            pendingEmployees.add(event.getEmployeeId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        if (event.getEmployeeId() != null) {
+            pendingEmployees.add(event.getEmployeeId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeAvailabilityChanged(EmployeeAvailabilityChangedEvent event) {
+        if (event.getNewAvailable() == null && event.getEmployeeId() != null) {
+            // Deleting an employee also deletes their assignments and leaves without an event per row,
+            // so the refresh finds no facts left and drops the employee's cells
+            pendingEmployees.add(event.getEmployeeId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectStatusChanged(ProjectStatusChangedEvent event) {
+        if (event.getNewStatus() == null) {
+            // Deleting a project also deletes its assignments without an event per assignment
+            invalidate();
+        } else {
+            pendingProjects.add(event.getProjectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSkillsChanged(ProjectSkillsChangedEvent event) {
+        pendingProjects.add(event.getProjectId());
+    }
+
+    /**
+     * Drop the cube so that it is reloaded on next use
+     */
+    public void invalidate() {
+        cube.invalidate();
+    }
+
+    private ReportCube getCube() {
+        ReportCube current = cube.get(this::load);
+        applyPending(current);
+        return current;
+    }
+
+    /**
+     * Refresh queued employees and projects.
+     * Serialized so that two refreshes of the same employee cannot apply out of order.
+     */
+    private synchronized void applyPending(ReportCube current) {
+        if (!pendingProjects.isEmpty()) {
+            List<Long> projectIds = new ArrayList<>(pendingProjects);
+            pendingProjects.removeAll(projectIds);
+            // Skills have no change events, so their names and categories are reloaded with projects
+            loadSkills(current);
+            loadProjects(current, projectRepository.findCubeRowsByIds(projectIds),
+                    projectSkillRepository.findRequirementRowsByProjectIds(projectIds));
+        }
+        if (!pendingEmployees.isEmpty()) {
+            List<Long> employeeIds = new ArrayList<>(pendingEmployees);
+            pendingEmployees.removeAll(employeeIds);
+            for (Long employeeId : employeeIds) {
+                ReportCube.Facts facts = current.newFacts();
+                for (Object[] row : assignmentRepository.findCubeRowsByEmployeeId(employeeId)) {
+                    addAssignment(facts, row);
+                }
+                for (Object[] row : leaveRequestRepository.findCubeRowsByEmployeeId(employeeId)) {
+                    addLeave(facts, row);
+                }
+                current.replaceEmployee(employeeId, facts);
+            }
+            logger.debug("Refreshed {} employees in the report cube", employeeIds.size());
+        }
+    }
+
+    private ReportCube load() {
+        // Changes committed while loading are picked up again from the queues
+        pendingEmployees.clear();
+        pendingProjects.clear();
+        long started = System.nanoTime();
+        ReportCube loaded = new ReportCube();
+        loadSkills(loaded);
+        loadProjects(loaded, projectRepository.findCubeRows(), projectSkillRepository.findProjectSkillPairs());
+
+        Map<Long, ReportCube.Facts> factsByEmployee = new HashMap<>();
+        for (Object[] row : assignmentRepository.findCubeRows()) {
+            addAssignment(factsByEmployee.computeIfAbsent((Long) row[0], id -> loaded.newFacts()), row);
+        }
+        for (Object[] row : leaveRequestRepository.findCubeRows()) {
+            addLeave(factsByEmployee.computeIfAbsent((Long) row[0], id -> loaded.newFacts()), row);
+        }
+        factsByEmployee.forEach(loaded::replaceEmployee);
+        logger.info("Loaded report cube with {} cells for {} employees in {} ms", loaded.cellCount(),
+                factsByEmployee.size(), (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+
+    private void loadSkills(ReportCube target) {
+        for (Object[] row : skillRepository.findSkillSummaries()) {
+            target.setSkill((Long) row[0], (String) row[1], (String) row[2]);
+        }
+    }
+
+    /**
+     * @param projectRows [projectId, name, priority] rows
+     * @param skillRows Rows starting with [projectId, skillId]
+     */
+    private static void loadProjects(ReportCube target, List<Object[]> projectRows, List<Object[]> skillRows) {
+        Map<Long, List<Long>> skillsByProject = new HashMap<>();
+        for (Object[] row : skillRows) {
+            skillsByProject.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+        for (Object[] row : projectRows) {
+            target.setProject((Long) row[0], (String) row[1], (Integer) row[2],
+                    skillsByProject.getOrDefault((Long) row[0], List.of()));
+        }
+    }
+
+    /**
+     * @param row [employeeId, projectId, startDate, endDate, allocationPercentage, status]
+     */
+    private static void addAssignment(ReportCube.Facts facts, Object[] row) {
+        facts.addAssignment((Long) row[1], (LocalDate) row[2], (LocalDate) row[3], (Float) row[4], (String) row[5]);
+    }
+
+    /**
+     * @param row [employeeId, startDate, endDate, status]
+     */
+    private static void addLeave(ReportCube.Facts facts, Object[] row) {
+        facts.addLeave((LocalDate) row[1], (LocalDate) row[2], (String) row[3]);
+    }
+
+    private static List<String> toStrings(Object value) {
+        List<String> strings = new ArrayList<>();
+        if (value instanceof Collection) {
+            for (Object item : (Collection<?>) value) {
+                strings.add(String.valueOf(item));
+            }
+        } else if (value != null) {
+            strings.add(String.valueOf(value));
+        }
+        return strings;
+    }
+
+    private static Map<String, Set<String>> toFilters(Object value) {
+        Map<String, Set<String>> filters = new LinkedHashMap<>();
+        if (value == null) {
+            return filters;
+        }
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Filters must map dimensions to values");
+        }
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+            filters.put(String.valueOf(entry.getKey()), new LinkedHashSet<>(toStrings(entry.getValue())));
+        }
+        return filters;
+    }
+
+    private static YearMonth toMonth(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(String.valueOf(value));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Months must be given as yyyy-MM: " + value);
+        }
+    }
+}
\ No newline at end of file
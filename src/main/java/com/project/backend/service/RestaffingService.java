@@ -0,0 +1,375 @@
+package com.project.backend.service;
+
+import com.project.backend.event.AssignmentStatusChangedEvent;
+import com.project.backend.event.LeaveStatusChangedEvent;
+import com.project.backend.event.ReplacementsProposedEvent;
+import com.project.backend.model.Assignment;
+import com.project.backend.repository.AssignmentRepository;
+import com.project.backend.repository.EmployeeSkillRepository;
+import com.project.backend.repository.LeaveRequestRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranked replacements for the work an approved leave leaves uncovered.
+ * Approving a leave only queues it; a background run then looks at the employee's active
+ * assignments on open projects that overlap the leave, and for each one at the required skills
+ * the employee brings that the rest of the project team cannot cover for the whole overlap.
+ * Only those project/skill slots get candidates: employees with the skill and enough free
+ * capacity in the overlap, best proficiency first. The work per leave scales with the
+ * employee's affected assignments, not with the number of projects or employees.
+ */
+@Service
+public class RestaffingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaffingService.class);
+
+    private static final String APPROVED = "APPROVED";
+
+    private final AssignmentRepository assignmentRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final AvailabilityIndexService availabilityIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int candidatesPerSlot;
+
+    private final Map<Long, LeaveStatusChangedEvent> pending = new ConcurrentHashMap<>();
+    private final Map<Long, LeaveReplacements> replacements = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RestaffingService(
+            AssignmentRepository assignmentRepository,
+            ProjectSkillRepository projectSkillRepository,
+            EmployeeSkillRepository employeeSkillRepository,
+            LeaveRequestRepository leaveRequestRepository,
+            AvailabilityIndexService availabilityIndexService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${restaffing.candidates-per-slot:5}") int candidatesPerSlot) {
+        this.assignmentRepository = assignmentRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.availabilityIndexService = availabilityIndexService;
+        this.eventPublisher = eventPublisher;
+        this.candidatesPerSlot = candidatesPerSlot;
+    }
+
+    /**
+     * Get the replacement proposals of an approved leave
+     * @param leaveRequestId Leave request ID
+     * @return Optional containing the leave and its uncovered slots with ranked candidates,
+     *         empty if the leave leaves nothing uncovered or was not approved
+     */
+    public Optional<Map<String, Object>> getReplacementsForLeave(Long leaveRequestId) {
+        LeaveReplacements current = replacements.get(leaveRequestId);
+        return Optional.ofNullable(current).map(r -> r.toMap(null));
+    }
+
+    /**
+     * Get the replacement proposals of all approved leaves
+     * @param projectId Only include slots on this project, null for all projects
+     * @return Proposals per leave, leaves starting first
+     */
+    public List<Map<String, Object>> getReplacements(Long projectId) {
+        List<LeaveReplacements> matching = new ArrayList<>();
+        for (LeaveReplacements current : replacements.values()) {
+            if (projectId == null || current.projectIds.contains(projectId)) {
+                matching.add(current);
+            }
+        }
+        matching.sort(Comparator.comparing((LeaveReplacements r) -> r.leave.getStartDate())
+                .thenComparing(r -> r.leave.getLeaveRequestId()));
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (LeaveReplacements current : matching) {
+            result.add(current.toMap(projectId));
+        }
+        return result;
+    }
+
+    /**
+     * Queue newly approved leaves; drop the proposals of leaves that are no longer approved
+     * @param event Leave status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        Long leaveRequestId = event.getLeaveRequestId();
+        if (leaveRequestId == null) {
+            return;
+        }
+        if (APPROVED.equals(event.getNewStatus()) && event.getEmployeeId() != null
+                && event.getStartDate() != null && event.getEndDate() != null) {
+            pending.put(leaveRequestId, event);
+        } else {
+            pending.remove(leaveRequestId);
+            replacements.remove(leaveRequestId);
+        }
+    }
+
+    /**
+     * Re-queue the leaves whose proposals an assignment change may have made stale
+     * @param event Assignment status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentStatusChanged(AssignmentStatusChangedEvent event) {
+        replacements.forEach((leaveRequestId, current) -> {
+            if (current.projectIds.contains(event.getProjectId())
+                    || current.leave.getEmployeeId().equals(event.getEmployeeId())) {
+                pending.put(leaveRequestId, current.leave);
+            }
+        });
+    }
+
+    /**
+     * Compute the proposals of queued leaves and drop those of leaves that have ended
+     */
+    @Scheduled(fixedDelayString = "${restaffing.refresh-interval-ms:1000}")
+    public void processPending() {
+        LocalDate today = LocalDate.now();
+        replacements.values().removeIf(r -> r.leave.getEndDate().isBefore(today));
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Long leaveRequestId : new ArrayList<>(pending.keySet())) {
+            LeaveStatusChangedEvent leave = pending.remove(leaveRequestId);
+            if (leave == null) {
+                continue;
+            }
+            try {
+                LeaveReplacements computed = computeReplacements(leave, today);
+                if (computed == null) {
+                    replacements.remove(leaveRequestId);
+                    continue;
+                }
+                // The leave may have been canceled or rejected while computing. Checking after
+                // storing means a status change committed later still finds and drops the proposal.
+                replacements.put(leaveRequestId, computed);
+                if (!leaveRequestRepository.findStatusById(leaveRequestId).map(APPROVED::equals).orElse(false)) {
+                    replacements.remove(leaveRequestId, computed);
+                    continue;
+                }
+                eventPublisher.publishEvent(new ReplacementsProposedEvent(
+                        leaveRequestId, leave.getEmployeeId(), computed.projectIds));
+            } catch (RuntimeException e) {
+                logger.warn("Could not compute replacements for leave request {}: {}", leaveRequestId, e.getMessage());
+            }
+        }
+    }
+
+    private LeaveReplacements computeReplacements(LeaveStatusChangedEvent leave, LocalDate today) {
+        Long absentId = leave.getEmployeeId();
+        LocalDate from = leave.getStartDate().isAfter(today) ? leave.getStartDate() : today;
+        LocalDate to = leave.getEndDate();
+        if (to.isBefore(from)) {
+            return null;
+        }
+        List<Object[]> affected = assignmentRepository.findActiveAssignmentRowsOfEmployeeInPeriod(
+                absentId, from, to, SuggestionCacheService.OPEN_PROJECT_STATUSES, Assignment.OPEN_END);
+        if (affected.isEmpty()) {
+            return null;
+        }
+        Set<Long> projectIds = new HashSet<>();
+        for (Object[] row : affected) {
+            projectIds.add((Long) row[1]);
+        }
+
+        // Required skills of the affected projects that the absent employee brings
+        Set<Long> absentSkills = new HashSet<>();
+        for (Object[] row : employeeSkillRepository.findSkillRowsByEmployeeIds(List.of(absentId))) {
+            absentSkills.add((Long) row[1]);
+        }
+        Map<Long, Map<Long, Integer>> requiredByProject = new HashMap<>();
+        for (Object[] row : projectSkillRepository.findRequirementRowsByProjectIds(projectIds)) {
+            Long skillId = (Long) row[1];
+            if (absentSkills.contains(skillId)) {
+                int count = row[3] != null ? Math.max(1, ((Number) row[3]).intValue()) : 1;
+                requiredByProject.computeIfAbsent((Long) row[0], k -> new HashMap<>())
+                        .merge(skillId, count, Math::max);
+            }
+        }
+        if (requiredByProject.isEmpty()) {
+            return null;
+        }
+
+        // The rest of each team during the leave, and their skills
+        List<Object[]> teamRows = new ArrayList<>();
+        Set<Long> teamIds = new HashSet<>();
+        for (Object[] row : assignmentRepository.findActiveAssignmentRowsOnProjectsInPeriod(
+                requiredByProject.keySet(), from, to, Assignment.OPEN_END)) {
+            if (!absentId.equals(row[0])) {
+                teamRows.add(row);
+                teamIds.add((Long) row[0]);
+            }
+        }
+        Map<Long, Set<Long>> skillsByMember = new HashMap<>();
+        if (!teamIds.isEmpty()) {
+            for (Object[] row : employeeSkillRepository.findSkillRowsByEmployeeIds(teamIds)) {
+                skillsByMember.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((Long) row[1]);
+            }
+        }
+
+        // A slot is uncovered when fewer team members than required hold the skill for the whole overlap
+        List<Slot> slots = new ArrayList<>();
+        for (Object[] row : affected) {
+            Long projectId = (Long) row[1];
+            Map<Long, Integer> required = requiredByProject.get(projectId);
+            if (required == null) {
+                continue;
+            }
+            LocalDate start = ((LocalDate) row[2]).isAfter(from) ? (LocalDate) row[2] : from;
+            LocalDate end = ((LocalDate) row[3]).isBefore(to) ? (LocalDate) row[3] : to;
+            Float allocation = (Float) row[4];
+            int load = allocation != null ? Math.round(allocation) : 100;
+            Set<Long> members = new HashSet<>();
+            for (Object[] member : teamRows) {
+                if (projectId.equals(member[1])) {
+                    members.add((Long) member[0]);
+                }
+            }
+            required.forEach((skillId, count) -> {
+                Set<Long> holders = new HashSet<>();
+                for (Object[] member : teamRows) {
+                    Long memberId = (Long) member[0];
+                    if (projectId.equals(member[1])
+                            && skillsByMember.getOrDefault(memberId, Set.of()).contains(skillId)
+                            && !((LocalDate) member[2]).isAfter(start) && !((LocalDate) member[3]).isBefore(end)
+                            && !availabilityIndexService.hasApprovedLeaveInPeriod(memberId, start, end)) {
+                        holders.add(memberId);
+                    }
+                }
+                if (holders.size() < count) {
+                    slots.add(new Slot((Long) row[0], projectId, skillId, start, end, load,
+                            count - holders.size(), members));
+                }
+            });
+        }
+        if (slots.isEmpty()) {
+            return null;
+        }
+
+        // Everyone holding one of the uncovered skills, fetched once for all slots
+        Set<Long> slotSkills = new HashSet<>();
+        for (Slot slot : slots) {
+            slotSkills.add(slot.skillId);
+        }
+        Map<Long, Map<Long, Integer>> proficiencyBySkill = new HashMap<>();
+        for (Object[] row : employeeSkillRepository.findActiveSkillLevelsBySkillIds(slotSkills)) {
+            int proficiency = row[2] != null ? ((Number) row[2]).intValue() : 0;
+            proficiencyBySkill.computeIfAbsent((Long) row[1], k -> new HashMap<>()).put((Long) row[0], proficiency);
+        }
+
+        List<Map<String, Object>> rankedSlots = new ArrayList<>();
+        Set<Long> uncoveredProjects = new HashSet<>();
+        for (Slot slot : slots) {
+            Map<Long, Integer> proficiencies = proficiencyBySkill.getOrDefault(slot.skillId, Map.of());
+            List<Long> pool = new ArrayList<>();
+            for (Long employeeId : proficiencies.keySet()) {
+                if (!employeeId.equals(absentId) && !slot.members.contains(employeeId)) {
+                    pool.add(employeeId);
+                }
+            }
+            List<Map<String, Object>> candidates = new ArrayList<>();
+            for (Long employeeId : availabilityIndexService.findAvailableEmployees(pool, slot.start, slot.end, slot.load)) {
+                Map<String, Object> candidate = new LinkedHashMap<>();
+                candidate.put("employeeId", employeeId);
+                candidate.put("proficiencyLevel", proficiencies.get(employeeId));
+                candidate.put("remainingCapacity",
+                        availabilityIndexService.getRemainingCapacity(employeeId, slot.start, slot.end));
+                candidates.add(candidate);
+            }
+            candidates.sort(Comparator.comparing((Map<String, Object> c) -> (Integer) c.get("proficiencyLevel"))
+                    .thenComparing(c -> (Integer) c.get("remainingCapacity"))
+                    .reversed()
+                    .thenComparing(c -> (Long) c.get("employeeId")));
+
+            Map<String, Object> ranked = new LinkedHashMap<>();
+            ranked.put("assignmentId", slot.assignmentId);
+            ranked.put("projectId", slot.projectId);
+            ranked.put("skillId", slot.skillId);
+            ranked.put("startDate", slot.start);
+            ranked.put("endDate", slot.end);
+            ranked.put("allocationPercentage", slot.load);
+            ranked.put("missing", slot.missing);
+            ranked.put("candidates", candidates.subList(0, Math.min(candidatesPerSlot, candidates.size())));
+            rankedSlots.add(ranked);
+            uncoveredProjects.add(slot.projectId);
+        }
+        return new LeaveReplacements(leave, rankedSlots, uncoveredProjects);
+    }
+
+    /**
+     * A required skill on one of the absent employee's assignments that the rest of the team cannot cover
+     */
+    private static class Slot {
+        final Long assignmentId;
+        final Long projectId;
+        final Long skillId;
+        final LocalDate start;
+        final LocalDate end;
+        final int load;
+        final int missing;
+        final Set<Long> members;
+
+        Slot(Long assignmentId, Long projectId, Long skillId, LocalDate start, LocalDate end,
+             int load, int missing, Set<Long> members) {
+            this.assignmentId = assignmentId;
+            this.projectId = projectId;
+            this.skillId = skillId;
+            this.start = start;
+            this.end = end;
+            this.load = load;
+            this.missing = missing;
+            this.members = members;
+        }
+    }
+
+    /**
+     * The ranked slots of one approved leave
+     */
+    private static class LeaveReplacements {
+        final LeaveStatusChangedEvent leave;
+        final List<Map<String, Object>> slots;
+        final Set<Long> projectIds;
+
+        LeaveReplacements(LeaveStatusChangedEvent leave, List<Map<String, Object>> slots, Set<Long> projectIds) {
+            this.leave = leave;
+            this.slots = slots;
+            this.projectIds = projectIds;
+        }
+
+        Map<String, Object> toMap(Long projectId) {
+            List<Map<String, Object>> selected = new ArrayList<>();
+            for (Map<String, Object> slot : slots) {
+                if (projectId == null || projectId.equals(slot.get("projectId"))) {
+                    selected.add(slot);
+                }
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("leaveRequestId", leave.getLeaveRequestId());
+            result.put("employeeId", leave.getEmployeeId());
+            result.put("startDate", leave.getStartDate());
+            result.put("endDate", leave.getEndDate());
+            result.put("slots", selected);
+            return result;
+        }
+    }
+}
\ No newline at end of file
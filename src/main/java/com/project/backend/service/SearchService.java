@@ -0,0 +1,260 @@
+package com.project.backend.service;
+
+import com.project.backend.repository.EmployeeRepository;
+import com.project.backend.repository.ProjectRepository;
+import com.project.backend.repository.SkillRepository;
+import com.project.backend.util.NGramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ranked typeahead search over employees, projects and skills.
+ * With search.backend=postgres (the default) queries go to pg_trgm indexed native queries,
+ * see db/search_indexes.sql. With search.backend=memory an in-process trigram index is
+ * built lazily per entity type and kept up to date by the entity services.
+ */
+@Service
+public class SearchService {
+
+    private final EmployeeRepository employeeRepository;
+    private final ProjectRepository projectRepository;
+    private final SkillRepository skillRepository;
+    private final boolean inMemory;
+
+    private volatile NGramIndex employeeIndex;
+    private volatile NGramIndex projectIndex;
+    private volatile NGramIndex skillIndex;
+
+    @Autowired
+    public SearchService(
+            EmployeeRepository employeeRepository,
+            ProjectRepository projectRepository,
+            SkillRepository skillRepository,
+            @Value("${search.backend:postgres}") String backend) {
+        this.employeeRepository = employeeRepository;
+        this.projectRepository = projectRepository;
+        this.skillRepository = skillRepository;
+        this.inMemory = "memory".equalsIgnoreCase(backend);
+    }
+
+    /**
+     * Search employees by name or email
+     * @param term Search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Employee IDs, best match first
+     */
+    public List<Long> searchEmployeeIds(String term, int page, int size) {
+        if (isBlank(term) || size <= 0) {
+            return new ArrayList<>();
+        }
+        if (inMemory) {
+            return getEmployeeIndex().search(term, page * size, size);
+        }
+        String normalized = normalize(term);
+        return employeeRepository.searchEmployeeIdsRanked(normalized, toLikePattern(normalized), size, page * size);
+    }
+
+    /**
+     * Search projects by name or description
+     * @param term Search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Project IDs, best match first
+     */
+    public List<Long> searchProjectIds(String term, int page, int size) {
+        if (isBlank(term) || size <= 0) {
+            return new ArrayList<>();
+        }
+        if (inMemory) {
+            return getProjectIndex().search(term, page * size, size);
+        }
+        String normalized = normalize(term);
+        return projectRepository.searchProjectIdsRanked(normalized, toLikePattern(normalized), size, page * size);
+    }
+
+    /**
+     * Search skills by name or category
+     * @param term Search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Skill IDs, best match first
+     */
+    public List<Long> searchSkillIds(String term, int page, int size) {
+        if (isBlank(term) || size <= 0) {
+            return new ArrayList<>();
+        }
+        if (inMemory) {
+            return getSkillIndex().search(term, page * size, size);
+        }
+        String normalized = normalize(term);
+        return skillRepository.searchSkillIdsRanked(normalized, toLikePattern(normalized), size, page * size);
+    }
+
+    /**
+     * Add or refresh an employee in the in-memory index
+     * @param employeeId Employee ID
+     * @param firstName First name
+     * @param lastName Last name
+     * @param email Email
+     */
+    public void indexEmployee(Long employeeId, String firstName, String lastName, String email) {
+        NGramIndex current = employeeIndex;
+        if (current != null) {
+            current.put(employeeId, firstName, lastName, email);
+        }
+    }
+
+    /**
+     * Add or refresh a project in the in-memory index
+     * @param projectId Project ID
+     * @param name Project name
+     * @param description Project description
+     */
+    public void indexProject(Long projectId, String name, String description) {
+        NGramIndex current = projectIndex;
+        if (current != null) {
+            current.put(projectId, name, description);
+        }
+    }
+
+    /**
+     * Add or refresh a skill in the in-memory index
+     * @param skillId Skill ID
+     * @param name Skill name
+     * @param category Skill category
+     */
+    public void indexSkill(Long skillId, String name, String category) {
+        NGramIndex current = skillIndex;
+        if (current != null) {
+            current.put(skillId, name, category);
+        }
+    }
+
+    /**
+     * Remove an employee from the in-memory index
+     * @param employeeId Employee ID
+     */
+    public void removeEmployee(Long employeeId) {
+        NGramIndex current = employeeIndex;
+        if (current != null) {
+            current.remove(employeeId);
+        }
+    }
+
+    /**
+     * Remove a project from the in-memory index
+     * @param projectId Project ID
+     */
+    public void removeProject(Long projectId) {
+        NGramIndex current = projectIndex;
+        if (current != null) {
+            current.remove(projectId);
+        }
+    }
+
+    /**
+     * Remove a skill from the in-memory index
+     * @param skillId Skill ID
+     */
+    public void removeSkill(Long skillId) {
+        NGramIndex current = skillIndex;
+        if (current != null) {
+            current.remove(skillId);
+        }
+    }
+
+    /**
+     * Reorder loaded entities to match the ranked ID list
+     * @param ids Ranked IDs
+     * @param entities Entities loaded by ID, in any order
+     * @param idGetter Function returning the ID of an entity
+     * @return The entities in rank order
+     */
+    public static <T> List<T> inRankOrder(List<Long> ids, List<T> entities, Function<T, Long> idGetter) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idGetter.apply(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    private NGramIndex getEmployeeIndex() {
+        NGramIndex current = employeeIndex;
+        if (current == null) {
+            synchronized (this) {
+                current = employeeIndex;
+                if (current == null) {
+                    current = new NGramIndex();
+                    for (Object[] row : employeeRepository.findSearchRows()) {
+                        current.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+                    }
+                    employeeIndex = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private NGramIndex getProjectIndex() {
+        NGramIndex current = projectIndex;
+        if (current == null) {
+            synchronized (this) {
+                current = projectIndex;
+                if (current == null) {
+                    current = new NGramIndex();
+                    for (Object[] row : projectRepository.findSearchRows()) {
+                        current.put((Long) row[0], (String) row[1], (String) row[2]);
+                    }
+                    projectIndex = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private NGramIndex getSkillIndex() {
+        NGramIndex current = skillIndex;
+        if (current == null) {
+            synchronized (this) {
+                current = skillIndex;
+                if (current == null) {
+                    current = new NGramIndex();
+                    for (Object[] row : skillRepository.findSkillSummaries()) {
+                        current.put((Long) row[0], (String) row[1], (String) row[2]);
+                    }
+                    skillIndex = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static boolean isBlank(String term) {
+        return term == null || term.trim().isEmpty();
+    }
+
+    private static String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String toLikePattern(String normalized) {
+        String escaped = normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,300 @@
+package com.project.backend.service;
+
+import com.project.backend.event.EmployeeAvailabilityChangedEvent;
+import com.project.backend.event.EmployeeSkillsChangedEvent;
+import com.project.backend.repository.EmployeeRepository;
+import com.project.backend.repository.EmployeeSkillRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import com.project.backend.repository.SkillRepository;
+import com.project.backend.util.CandidateScoringIndex;
+import com.project.backend.util.EmployeeSimilarityIndex;
+import com.project.backend.util.LazyIndex;
+import com.project.backend.util.SkillMatchIndex;
+import com.project.backend.util.SkillSimilarityGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+@Service
+public class SkillMatchingService {
+
+    // Near misses are ranked on substitute similarity, so preselect more of them on substitute count
+    private static final int NEAR_MISS_PRESELECT_FACTOR = 4;
+
+    // Fixed so that rebuilds hash employees into the same buckets
+    private static final long EMPLOYEE_INDEX_SEED = 0x5EED5EEDL;
+
+    private final SkillRepository skillRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final EmployeeRepository employeeRepository;
+    private final double similarityPenalty;
+    private final double minSimilarity;
+    private final int maxSubstitutesPerSkill;
+    private final int lshTables;
+    private final int lshBits;
+
+    private final LazyIndex<SkillMatchIndex> index = new LazyIndex<>();
+    private final LazyIndex<CandidateScoringIndex> scoringIndex = new LazyIndex<>();
+    private final LazyIndex<SkillSimilarityGraph> similarityGraph = new LazyIndex<>();
+    private final LazyIndex<EmployeeSimilarityIndex> employeeIndex = new LazyIndex<>();
+
+    @Autowired
+    public SkillMatchingService(
+            SkillRepository skillRepository,
+            EmployeeSkillRepository employeeSkillRepository,
+            ProjectSkillRepository projectSkillRepository,
+            EmployeeRepository employeeRepository,
+            @Value("${skills.similarity.penalty:0.3}") double similarityPenalty,
+            @Value("${skills.similarity.min-similarity:0.2}") double minSimilarity,
+            @Value("${skills.similarity.max-substitutes-per-skill:5}") int maxSubstitutesPerSkill,
+            @Value("${employees.similarity.lsh-tables:32}") int lshTables,
+            @Value("${employees.similarity.lsh-bits:14}") int lshBits) {
+        this.skillRepository = skillRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.employeeRepository = employeeRepository;
+        this.similarityPenalty = similarityPenalty;
+        this.minSimilarity = minSimilarity;
+        this.maxSubstitutesPerSkill = maxSubstitutesPerSkill;
+        this.lshTables = lshTables;
+        this.lshBits = lshBits;
+    }
+
+    /**
+     * Find the best matching active employees for a project
+     * @param projectId Project ID
+     * @param limit Maximum number of candidates to return
+     * @return Matches sorted by number of matched skills
+     */
+    public List<SkillMatchIndex.Match> findTopCandidates(Long projectId, int limit) {
+        return findTopCandidates(projectId, limit, employeeId -> true);
+    }
+
+    /**
+     * Find the best matching active employees for a project that pass a filter.
+     * Only employees with at least one required skill are returned.
+     * @param projectId Project ID
+     * @param limit Maximum number of candidates to return
+     * @param filter Extra check on the employee ID
+     * @return Matches sorted by number of matched skills
+     */
+    public List<SkillMatchIndex.Match> findTopCandidates(Long projectId, int limit, LongPredicate filter) {
+        return findTopCandidates(projectId, limit, filter, false);
+    }
+
+    /**
+     * Find the best matching active employees for a project that pass a filter.
+     * With near misses included, if fewer employees than the limit have any required skill, the
+     * rest is filled with employees with skills that often occur together with a required one,
+     * ranked after all exact matches by penalized similarity. Near misses lack every required
+     * skill, so they are for people to review and must not be allocated automatically.
+     * @param projectId Project ID
+     * @param limit Maximum number of candidates to return
+     * @param filter Extra check on the employee ID
+     * @param includeNearMisses Whether to fill up with near misses
+     * @return Exact matches sorted by number of matched skills, followed by any near misses
+     */
+    public List<SkillMatchIndex.Match> findTopCandidates(Long projectId, int limit, LongPredicate filter,
+                                                         boolean includeNearMisses) {
+        List<Long> requiredSkillIds = projectSkillRepository.findSkillIdsByProjectId(projectId);
+        if (requiredSkillIds.isEmpty()) {
+            return List.of();
+        }
+        SkillMatchIndex current = getIndex();
+        List<SkillMatchIndex.Match> exact = current.topMatches(current.toBits(requiredSkillIds), limit, filter);
+        if (!includeNearMisses || exact.size() >= limit || similarityPenalty >= 1.0) {
+            return exact;
+        }
+        return appendNearMisses(current, requiredSkillIds, exact, limit, filter);
+    }
+
+    /**
+     * Get the skills most similar to a skill by co-occurrence
+     * @param skillId Skill ID
+     * @param limit Maximum number of skills to return
+     * @return Skill ID to similarity between 0 and 1, most similar first
+     */
+    public Map<Long, Double> getSimilarSkills(Long skillId, int limit) {
+        return getSimilarityGraph().neighbors(skillId, 0.0, limit);
+    }
+
+    /**
+     * Find the employees whose skills and proficiency levels are most like an employee's
+     * @param employeeId Employee ID
+     * @param limit Maximum number of employees to return
+     * @return Employee ID to cosine similarity between 0 and 1, most similar first; approximate,
+     *         so a close match may occasionally be missed
+     */
+    public Map<Long, Double> findSimilarEmployees(Long employeeId, int limit) {
+        return getEmployeeIndex().nearest(employeeId, limit);
+    }
+
+    /**
+     * Score employees for a project by proficiency, importance coverage and skill recency
+     * @param projectId Project ID
+     * @param limit Maximum number of candidates to return
+     * @return Candidates sorted by skill score, without availability applied
+     */
+    public List<CandidateScoringIndex.Candidate> scoreCandidates(Long projectId, int limit) {
+        List<Object[]> requirements = projectSkillRepository.findRequirementRowsByProjectIds(List.of(projectId));
+        long[] skillIds = new long[requirements.size()];
+        int[] importance = new int[requirements.size()];
+        for (int i = 0; i < skillIds.length; i++) {
+            Object[] row = requirements.get(i);
+            skillIds[i] = (Long) row[1];
+            importance[i] = row[2] != null ? ((Number) row[2]).intValue() : 1;
+        }
+        if (skillIds.length == 0) {
+            return List.of();
+        }
+        return getScoringIndex().score(skillIds, importance, LocalDate.now(), limit);
+    }
+
+    /**
+     * Add created employees to the index and drop deleted ones.
+     * The index only tracks which employees exist; capacity is checked by the callers' filters.
+     * @param event Availability change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeAvailabilityChanged(EmployeeAvailabilityChangedEvent event) {
+        boolean created = event.getOldAvailable() == null;
+        boolean deleted = event.getNewAvailable() == null;
+        if (created == deleted) {
+            return;
+        }
+        // Without an index there is nothing to update, but a build in progress may have read
+        // the employees before this change and is discarded
+        EmployeeSimilarityIndex currentEmployees = employeeIndex.peek();
+        if (currentEmployees == null) {
+            employeeIndex.invalidate();
+        } else if (deleted) {
+            currentEmployees.removeEmployee(event.getEmployeeId());
+        }
+        SkillMatchIndex current = index.peek();
+        if (current == null) {
+            index.invalidate();
+        } else if (!current.setAvailable(event.getEmployeeId(), created) && created) {
+            // Employee not known yet, pick it up on the next rebuild
+            invalidate();
+        }
+    }
+
+    /**
+     * Update the skill similarity graph and the employee similarity index with the employee's current skills
+     * @param event Employee skills change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSkillsChanged(EmployeeSkillsChangedEvent event) {
+        if (event.getEmployeeId() == null) {
+            return;
+        }
+        SkillSimilarityGraph current = similarityGraph.peek();
+        EmployeeSimilarityIndex currentEmployees = employeeIndex.peek();
+        // A build in progress may have read the skills before this change
+        if (current == null) {
+            similarityGraph.invalidate();
+        }
+        if (currentEmployees == null) {
+            employeeIndex.invalidate();
+        }
+        if (current == null && currentEmployees == null) {
+            return;
+        }
+        Map<Long, Integer> proficiencies = new HashMap<>();
+        for (Object[] row : employeeSkillRepository.findSkillRowsByEmployeeIds(List.of(event.getEmployeeId()))) {
+            proficiencies.put((Long) row[1], row[5] != null ? ((Number) row[5]).intValue() : 0);
+        }
+        if (current != null) {
+            current.updateEmployee(event.getEmployeeId(), proficiencies.keySet());
+        }
+        if (currentEmployees != null) {
+            currentEmployees.updateEmployee(event.getEmployeeId(), proficiencies);
+        }
+    }
+
+    /**
+     * Drop the current index so that it is rebuilt on next use.
+     * Call this when skills, employees or skill assignments change.
+     * The similarity graph and employee index are kept; they follow skill changes through events.
+     */
+    public void invalidate() {
+        index.invalidate();
+        scoringIndex.invalidate();
+    }
+
+    private List<SkillMatchIndex.Match> appendNearMisses(SkillMatchIndex current, List<Long> requiredSkillIds,
+                                                         List<SkillMatchIndex.Match> exact, int limit,
+                                                         LongPredicate filter) {
+        // Best similarity of each substitute skill to any required skill
+        Set<Long> required = new HashSet<>(requiredSkillIds);
+        Map<Long, Double> substitutes = new HashMap<>();
+        SkillSimilarityGraph graph = getSimilarityGraph();
+        for (Long skillId : requiredSkillIds) {
+            graph.neighbors(skillId, minSimilarity, maxSubstitutesPerSkill).forEach((other, similarity) -> {
+                if (!required.contains(other)) {
+                    substitutes.merge(other, similarity, Math::max);
+                }
+            });
+        }
+        if (substitutes.isEmpty()) {
+            return exact;
+        }
+
+        Set<Long> taken = new HashSet<>();
+        for (SkillMatchIndex.Match match : exact) {
+            taken.add(match.getEmployeeId());
+        }
+        int needed = limit - exact.size();
+        int preselect = (int) Math.min(Integer.MAX_VALUE, (long) needed * NEAR_MISS_PRESELECT_FACTOR);
+        List<SkillMatchIndex.Match> nearMisses = new ArrayList<>();
+        for (SkillMatchIndex.Match match : current.topMatches(current.toBits(substitutes.keySet()), preselect,
+                employeeId -> !taken.contains(employeeId) && filter.test(employeeId))) {
+            double score = 0;
+            for (Map.Entry<Long, Double> substitute : substitutes.entrySet()) {
+                if (current.hasSkill(match.getEmployeeId(), substitute.getKey())) {
+                    score += substitute.getValue();
+                }
+            }
+            nearMisses.add(new SkillMatchIndex.Match(match.getEmployeeId(), 0, score * (1.0 - similarityPenalty)));
+        }
+        nearMisses.sort((a, b) -> a.getSubstituteScore() != b.getSubstituteScore()
+                ? Double.compare(b.getSubstituteScore(), a.getSubstituteScore())
+                : Long.compare(a.getEmployeeId(), b.getEmployeeId()));
+
+        List<SkillMatchIndex.Match> result = new ArrayList<>(exact);
+        result.addAll(nearMisses.subList(0, Math.min(needed, nearMisses.size())));
+        return result;
+    }
+
+    private SkillSimilarityGraph getSimilarityGraph() {
+        return similarityGraph.get(() -> SkillSimilarityGraph.build(employeeSkillRepository.findAllEmployeeSkillPairs()));
+    }
+
+    private EmployeeSimilarityIndex getEmployeeIndex() {
+        return employeeIndex.get(() -> EmployeeSimilarityIndex.build(
+                employeeSkillRepository.findActiveEmployeeSkillLevels(), lshTables, lshBits, EMPLOYEE_INDEX_SEED));
+    }
+
+    private SkillMatchIndex getIndex() {
+        return index.get(() -> SkillMatchIndex.build(
+                skillRepository.findAllSkillIds(),
+                employeeSkillRepository.findAllEmployeeSkillPairs(),
+                employeeRepository.findActiveEmployeeIds()));
+    }
+
+    private CandidateScoringIndex getScoringIndex() {
+        return scoringIndex.get(() -> CandidateScoringIndex.build(
+                employeeSkillRepository.findActiveEmployeeSkillDetails(), LocalDate.now()));
+    }
+}
\ No newline at end of file
@@ -1,21 +1,30 @@
 package com.project.backend.service;
 
+import com.project.backend.dto.SkillDTO;
 import com.project.backend.model.Skill;
 import com.project.backend.repository.SkillRepository;
+import com.project.backend.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class SkillService {
 
     private final SkillRepository skillRepository;
+    private final SearchService searchService;
+    private final StreamingExportService streamingExportService;
 
     @Autowired
-    public SkillService(SkillRepository skillRepository) {
+    public SkillService(SkillRepository skillRepository, SearchService searchService,
+                        StreamingExportService streamingExportService) {
         this.skillRepository = skillRepository;
+        this.searchService = searchService;
+        this.streamingExportService = streamingExportService;
     }
 
     /**
@@ -26,6 +35,25 @@ public class SkillService {
         return skillRepository.findAll();
     }
 
+    /**
+     * Get a page of skills ordered by ID
+     * @param afterId ID of the last skill of the previous page, 0 for the first page
+     * @param limit Page size, capped at {@link KeysetPage#MAX_LIMIT}
+     * @return List of skill DTOs
+     */
+    public List<SkillDTO> getSkillsAfter(Long afterId, int limit) {
+        return skillRepository.findPageAfter(afterId, KeysetPage.limit(limit));
+    }
+
+    /**
+     * Run an action for every skill, streaming from the database in ID order
+     * @param action Action to run for each skill
+     */
+    @Transactional(readOnly = true)
+    public void forEachSkill(Consumer<SkillDTO> action) {
+        streamingExportService.forEach(skillRepository.streamAllOrderedById(), action);
+    }
+
     /**
      * Get skill by ID
      * @param id Skill ID
@@ -35,13 +63,25 @@ public class SkillService {
         return skillRepository.findById(id);
     }
 
+    /**
+     * Get skill by ID as a DTO, without touching lazy entity collections
+     * @param id Skill ID
+     * @return Optional containing the skill DTO if found
+     */
+    public Optional<SkillDTO> getSkillDTOById(Long id) {
+        List<SkillDTO> found = skillRepository.findDTOsByIds(List.of(id));
+        return found.stream().findFirst();
+    }
+
     /**
      * Create a new skill
      * @param skill Skill to create
      * @return Created skill
      */
     public Skill createSkill(Skill skill) {
-        return skillRepository.save(skill);
+        Skill saved = skillRepository.save(skill);
+        searchService.indexSkill(saved.getSkillId(), saved.getName(), saved.getCategory());
+        return saved;
     }
 
     /**
@@ -58,7 +98,9 @@ public class SkillService {
         skill.setDescription(skillDetails.getDescription());
         skill.setCategory(skillDetails.getCategory());
         
-        return skillRepository.save(skill);
+        Skill saved = skillRepository.save(skill);
+        searchService.indexSkill(id, saved.getName(), saved.getCategory());
+        return saved;
     }
 
     /**
@@ -69,6 +111,7 @@ public class SkillService {
         Skill skill = skillRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Skill not found with id: " + id));
         skillRepository.delete(skill);
+        searchService.removeSkill(id);
     }
 
     /**
@@ -88,4 +131,16 @@ public class SkillService {
     public List<Skill> findSkillsByNameContaining(String keyword) {
         return skillRepository.findByNameContainingIgnoreCase(keyword);
     }
+
+    /**
+     * Search skills by name or category, best match first
+     * @param term Search term; the last word matches as a prefix
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return List of matching skills
+     */
+    public List<SkillDTO> searchSkills(String term, int page, int size) {
+        List<Long> ids = searchService.searchSkillIds(term, page, size);
+        return SearchService.inRankOrder(ids, skillRepository.findDTOsByIds(ids), SkillDTO::getId);
+    }
 }
\ No newline at end of file
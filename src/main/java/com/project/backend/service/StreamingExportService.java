@@ -0,0 +1,146 @@
+package com.project.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.project.backend.util.CsvRowWriter;
+import com.project.backend.util.RowWriter;
+import com.project.backend.util.XlsxRowWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes large result sets to the client row by row.
+ * Rows come from forward-only repository streams and entities are detached in batches,
+ * so memory use does not depend on table size.
+ */
+@Service
+public class StreamingExportService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    public static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    // Detach loaded entities after this many rows so the persistence context stays small
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public StreamingExportService(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Run an action for every row of a repository stream, then close it.
+     * Must be called inside a transaction.
+     * @param rows Stream returned by a repository
+     * @param action Action to run for each row
+     */
+    public <T> void forEach(Stream<T> rows, Consumer<? super T> action) {
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Build a response body that writes one JSON document per line
+     * @param producer Function that feeds every item to the given consumer, e.g. a service forEach method
+     * @return The response body
+     */
+    public <T> StreamingResponseBody ndjson(Consumer<Consumer<T>> producer) {
+        return out -> {
+            ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try {
+                producer.accept(item -> {
+                    try {
+                        writer.writeValue(out, item);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+    }
+
+    /**
+     * Get the media type of a table export format
+     * @param format CSV or XLSX, case-insensitive
+     * @return The media type
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public MediaType tableMediaType(String format) {
+        switch (format.toUpperCase()) {
+            case "CSV":
+                return CSV;
+            case "XLSX":
+                return XLSX;
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Build a response body that writes a table as CSV or XLSX one row at a time.
+     * The header is flushed before the first row is read, so the client gets bytes while the
+     * query is still running; for XLSX that is the start of the first sheet with its header row.
+     * @param format CSV or XLSX, case-insensitive
+     * @param title Sheet name for XLSX
+     * @param columns Header row
+     * @param producer Function that feeds every row to the given consumer, e.g. a service forEach method
+     * @return The response body
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public StreamingResponseBody table(String format, String title, String[] columns,
+                                       Consumer<Consumer<Object[]>> producer) {
+        boolean xlsx = tableMediaType(format) == XLSX;
+        return out -> {
+            RowWriter writer;
+            if (xlsx) {
+                XlsxRowWriter xlsxWriter = new XlsxRowWriter(out, title, columns);
+                xlsxWriter.start();
+                writer = xlsxWriter;
+            } else {
+                writer = new CsvRowWriter(out);
+                writer.writeRow(columns);
+            }
+            writer.flush();
+            try {
+                producer.accept(row -> {
+                    try {
+                        writer.writeRow(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.finish();
+            out.flush();
+        };
+    }
+}
\ No newline at end of file
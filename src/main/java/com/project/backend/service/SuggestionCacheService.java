@@ -0,0 +1,229 @@
+package com.project.backend.service;
+
+import com.project.backend.event.AssignmentStatusChangedEvent;
+import com.project.backend.event.EmployeeAvailabilityChangedEvent;
+import com.project.backend.event.EmployeeSkillsChangedEvent;
+import com.project.backend.event.LeaveStatusChangedEvent;
+import com.project.backend.event.ProjectSkillsChangedEvent;
+import com.project.backend.event.ProjectStatusChangedEvent;
+import com.project.backend.repository.ProjectRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precomputed top-K suggestion lists for open projects.
+ * A list is kept until an event marks its project stale: a change to the project's required
+ * skills or dates, to the skills of an employee sharing one of them, or to the availability of
+ * such an employee (assignments, leave). Stale projects are recomputed in the background, so
+ * suggestion reads are map lookups and the work per change scales with the projects it touches.
+ */
+@Service
+public class SuggestionCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionCacheService.class);
+
+    static final Set<String> OPEN_PROJECT_STATUSES = Set.of("PLANNED", "IN_PROGRESS");
+
+    private final AllocationService allocationService;
+    private final ProjectRepository projectRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final int topK;
+
+    private final Map<Long, CachedSuggestions> suggestions = new ConcurrentHashMap<>();
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    // Taken by every recompute before it reads, so that a slower, older computation never replaces a newer one
+    private final AtomicLong versions = new AtomicLong();
+    private volatile boolean warmed;
+
+    @Autowired
+    public SuggestionCacheService(
+            AllocationService allocationService,
+            ProjectRepository projectRepository,
+            ProjectSkillRepository projectSkillRepository,
+            @Value("${suggestions.cache.top-k:50}") int topK) {
+        this.allocationService = allocationService;
+        this.projectRepository = projectRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.topK = topK;
+    }
+
+    /**
+     * Get the best suggestions for a project, recomputing them first if they are stale
+     * @param projectId Project ID
+     * @param limit Maximum number of suggestions; limits above the cached top-K are computed directly
+     * @return Suggestions sorted by score, each with a per-component score breakdown
+     */
+    public List<Map<String, Object>> getSuggestions(Long projectId, int limit) {
+        if (limit > topK) {
+            return allocationService.getSuggestedEmployeesForProject(projectId, limit);
+        }
+        CachedSuggestions cached = suggestions.get(projectId);
+        if (cached == null || stale.contains(projectId) || !cached.computedOn.equals(LocalDate.now())) {
+            cached = recompute(projectId);
+        }
+        return cached.suggestions.subList(0, Math.min(Math.max(limit, 0), cached.suggestions.size()));
+    }
+
+    /**
+     * Recompute the lists of stale projects.
+     * The first run queues every open project so that all of them are served from the cache.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${suggestions.cache.refresh-interval-ms:1000}")
+    public void refreshStale() {
+        if (!warmed) {
+            stale.addAll(projectRepository.findProjectIdsByStatusIn(OPEN_PROJECT_STATUSES));
+            warmed = true;
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+        int refreshed = 0;
+        for (Long projectId : new ArrayList<>(stale)) {
+            try {
+                recompute(projectId);
+                refreshed++;
+            } catch (RuntimeException e) {
+                logger.warn("Dropping suggestions of project {}: {}", projectId, e.getMessage());
+                evict(projectId);
+            }
+        }
+        logger.debug("Refreshed suggestions of {} projects", refreshed);
+    }
+
+    /**
+     * Mark a project stale after its required skills changed
+     * @param event Project skills change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSkillsChanged(ProjectSkillsChangedEvent event) {
+        stale.add(event.getProjectId());
+    }
+
+    /**
+     * Drop closed or deleted projects; any other project update may have moved its dates
+     * @param event Project status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectStatusChanged(ProjectStatusChangedEvent event) {
+        if (event.getNewStatus() == null || !OPEN_PROJECT_STATUSES.contains(event.getNewStatus())) {
+            evict(event.getProjectId());
+        } else {
+            stale.add(event.getProjectId());
+        }
+    }
+
+    /**
+     * Mark the projects an employee may rank for after their skills changed
+     * @param event Employee skills change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSkillsChanged(EmployeeSkillsChangedEvent event) {
+        markProjectsAffectedBy(event.getEmployeeId());
+    }
+
+    /**
+     * Mark the projects an employee may rank for after their availability flag changed
+     * @param event Availability change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeAvailabilityChanged(EmployeeAvailabilityChangedEvent event) {
+        markProjectsAffectedBy(event.getEmployeeId());
+    }
+
+    /**
+     * Mark the projects an employee may rank for after their leave changed
+     * @param event Leave status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        markProjectsAffectedBy(event.getEmployeeId());
+    }
+
+    /**
+     * Mark the projects an employee may rank for after their assignments changed
+     * @param event Assignment status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentStatusChanged(AssignmentStatusChangedEvent event) {
+        markProjectsAffectedBy(event.getEmployeeId());
+    }
+
+    /**
+     * Drop all cached lists; they are rebuilt on next use and by the background refresh
+     */
+    public void invalidate() {
+        suggestions.clear();
+        stale.clear();
+        warmed = false;
+    }
+
+    private CachedSuggestions recompute(Long projectId) {
+        // Cleared before computing so that a change arriving meanwhile marks the project again
+        stale.remove(projectId);
+        long version = versions.incrementAndGet();
+        CachedSuggestions fresh = new CachedSuggestions(version, LocalDate.now(),
+                List.copyOf(allocationService.getSuggestedEmployeesForProject(projectId, topK)));
+        return suggestions.compute(projectId,
+                (id, existing) -> existing != null && existing.version > version ? existing : fresh);
+    }
+
+    private void evict(Long projectId) {
+        stale.remove(projectId);
+        suggestions.remove(projectId);
+    }
+
+    private void markProjectsAffectedBy(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        // Projects sharing a skill with the employee's current skills, plus projects already
+        // listing the employee, which covers skills that were just removed
+        for (Long projectId : projectSkillRepository.findProjectIdsSharingSkillsWithEmployee(
+                employeeId, OPEN_PROJECT_STATUSES)) {
+            if (suggestions.containsKey(projectId)) {
+                stale.add(projectId);
+            }
+        }
+        suggestions.forEach((projectId, cached) -> {
+            if (cached.employeeIds.contains(employeeId)) {
+                stale.add(projectId);
+            }
+        });
+    }
+
+    /**
+     * Suggestions of one project, the version of the computation and the day they were computed for
+     */
+    private static class CachedSuggestions {
+        final long version;
+        final LocalDate computedOn;
+        final List<Map<String, Object>> suggestions;
+        final Set<Long> employeeIds;
+
+        CachedSuggestions(long version, LocalDate computedOn, List<Map<String, Object>> suggestions) {
+            this.version = version;
+            this.computedOn = computedOn;
+            this.suggestions = suggestions;
+            Set<Long> ids = new HashSet<>();
+            for (Map<String, Object> suggestion : suggestions) {
+                ids.add((Long) suggestion.get("employeeId"));
+            }
+            this.employeeIds = ids;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.project.backend.service;
+
+import com.project.backend.dto.EmployeeDTO;
+import com.project.backend.model.Project;
+import com.project.backend.repository.EmployeeRepository;
+import com.project.backend.repository.EmployeeSkillRepository;
+import com.project.backend.repository.ProjectRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import com.project.backend.util.TeamCoverSolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the smallest team of available employees that covers every skill requirement of a
+ * project, counting a requirement's requiredCount as that many different people.
+ * Only employees at or above the minimum proficiency and with enough free capacity in the
+ * period are considered; the covering itself is solved by {@link TeamCoverSolver}.
+ */
+@Service
+public class TeamBuilderService {
+
+    private static final int MAX_PROFICIENCY = 5;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final EmployeeRepository employeeRepository;
+    private final AvailabilityIndexService availabilityIndexService;
+    private final long defaultTimeBudgetMs;
+
+    @Autowired
+    public TeamBuilderService(
+            ProjectRepository projectRepository,
+            ProjectSkillRepository projectSkillRepository,
+            EmployeeSkillRepository employeeSkillRepository,
+            EmployeeRepository employeeRepository,
+            AvailabilityIndexService availabilityIndexService,
+            @Value("${team-builder.time-budget-ms:2000}") long defaultTimeBudgetMs) {
+        this.projectRepository = projectRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.employeeRepository = employeeRepository;
+        this.availabilityIndexService = availabilityIndexService;
+        this.defaultTimeBudgetMs = defaultTimeBudgetMs;
+    }
+
+    /**
+     * Find the smallest team covering a project's skill requirements
+     * @param projectId Project ID
+     * @param startDate Start of the period, null for the later of today and the project start
+     * @param endDate End of the period, null for the project end
+     * @param minCapacity Free capacity each member needs in the period, in percent
+     * @param minProficiency Lowest proficiency level that counts as having a skill
+     * @param timeBudgetMs Search time budget, null for the configured default
+     * @return Map containing the team with covered skills per member, whether the team is proven
+     *         optimal, the proven lower bound and the skills no available employee can cover
+     */
+    public Map<String, Object> buildTeam(Long projectId, LocalDate startDate, LocalDate endDate,
+                                         int minCapacity, int minProficiency, Long timeBudgetMs) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+        LocalDate today = LocalDate.now();
+        if (startDate == null) {
+            startDate = project.getStartDate() != null && project.getStartDate().isAfter(today)
+                    ? project.getStartDate() : today;
+        }
+        if (endDate == null) {
+            endDate = project.getEndDate() != null && !project.getEndDate().isBefore(startDate)
+                    ? project.getEndDate() : startDate;
+        }
+
+        // Skill ordinals and the number of people each requirement needs
+        Map<Long, Integer> skillOrdinals = new LinkedHashMap<>();
+        List<Integer> requiredCounts = new ArrayList<>();
+        for (Object[] row : projectSkillRepository.findRequirementRowsByProjectIds(List.of(projectId))) {
+            Long skillId = (Long) row[1];
+            int count = row[3] != null ? Math.max(1, ((Number) row[3]).intValue()) : 1;
+            Integer ordinal = skillOrdinals.putIfAbsent(skillId, skillOrdinals.size());
+            if (ordinal == null) {
+                requiredCounts.add(count);
+            } else {
+                requiredCounts.set(ordinal, Math.max(requiredCounts.get(ordinal), count));
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("projectId", projectId);
+        result.put("startDate", startDate);
+        result.put("endDate", endDate);
+        if (skillOrdinals.isEmpty()) {
+            result.put("team", List.of());
+            result.put("teamSize", 0);
+            result.put("optimal", true);
+            result.put("lowerBound", 0);
+            result.put("uncoveredSkills", List.of());
+            return result;
+        }
+
+        // Skill bitset and proficiency total of every qualified employee
+        int words = TeamCoverSolver.wordsFor(skillOrdinals.size());
+        Map<Long, long[]> masksByEmployee = new HashMap<>();
+        Map<Long, Integer> proficiencyByEmployee = new HashMap<>();
+        for (Object[] row : employeeSkillRepository.findActiveSkillLevelsBySkillIds(skillOrdinals.keySet())) {
+            int proficiency = row[2] != null ? ((Number) row[2]).intValue() : 0;
+            if (proficiency < minProficiency) {
+                continue;
+            }
+            int skill = skillOrdinals.get((Long) row[1]);
+            masksByEmployee.computeIfAbsent((Long) row[0], k -> new long[words])[skill >>> 6] |= 1L << skill;
+            proficiencyByEmployee.merge((Long) row[0], proficiency, Integer::sum);
+        }
+        List<Long> candidates = availabilityIndexService.findAvailableEmployees(
+                masksByEmployee.keySet(), startDate, endDate, minCapacity);
+
+        long[] masks = new long[candidates.size() * words];
+        double[] weights = new double[candidates.size()];
+        int[] capacities = new int[candidates.size()];
+        for (int c = 0; c < candidates.size(); c++) {
+            Long employeeId = candidates.get(c);
+            System.arraycopy(masksByEmployee.get(employeeId), 0, masks, c * words, words);
+            capacities[c] = availabilityIndexService.getRemainingCapacity(employeeId, startDate, endDate);
+            // Prefer stronger and less loaded employees among equally useful ones
+            weights[c] = (double) proficiencyByEmployee.get(employeeId) / MAX_PROFICIENCY + capacities[c] / 100.0;
+        }
+
+        int[] required = requiredCounts.stream().mapToInt(Integer::intValue).toArray();
+        long budgetMs = timeBudgetMs != null ? timeBudgetMs : defaultTimeBudgetMs;
+        TeamCoverSolver.Result solution = TeamCoverSolver.solve(required, masks, weights,
+                TimeUnit.MILLISECONDS.toNanos(Math.max(1, budgetMs)));
+
+        List<Long> skillIds = new ArrayList<>(skillOrdinals.keySet());
+        List<Long> teamIds = new ArrayList<>();
+        for (int c : solution.getTeam()) {
+            teamIds.add(candidates.get(c));
+        }
+        Map<Long, EmployeeDTO> employeesById = teamIds.isEmpty() ? Map.of()
+                : employeeRepository.findDTOsByIds(teamIds).stream()
+                        .collect(Collectors.toMap(EmployeeDTO::getId, Function.identity()));
+
+        List<Map<String, Object>> team = new ArrayList<>();
+        for (int c : solution.getTeam()) {
+            Long employeeId = candidates.get(c);
+            EmployeeDTO employee = employeesById.get(employeeId);
+            List<Long> covered = new ArrayList<>();
+            for (int s = 0; s < skillIds.size(); s++) {
+                if ((masks[c * words + (s >>> 6)] & (1L << s)) != 0) {
+                    covered.add(skillIds.get(s));
+                }
+            }
+            Map<String, Object> member = new LinkedHashMap<>();
+            member.put("employeeId", employeeId);
+            member.put("firstName", employee != null ? employee.getFirstName() : null);
+            member.put("lastName", employee != null ? employee.getLastName() : null);
+            member.put("coveredSkills", covered);
+            member.put("remainingCapacity", capacities[c]);
+            team.add(member);
+        }
+
+        List<Map<String, Object>> uncovered = new ArrayList<>();
+        int[] shortfall = solution.getShortfall();
+        for (int s = 0; s < shortfall.length; s++) {
+            if (shortfall[s] > 0) {
+                Map<String, Object> gap = new LinkedHashMap<>();
+                gap.put("skillId", skillIds.get(s));
+                gap.put("missing", shortfall[s]);
+                uncovered.add(gap);
+            }
+        }
+
+        result.put("team", team);
+        result.put("teamSize", team.size());
+        result.put("optimal", solution.isOptimal());
+        result.put("lowerBound", solution.getLowerBound());
+        result.put("candidatesConsidered", candidates.size());
+        result.put("nodesExplored", solution.getNodes());
+        result.put("uncoveredSkills", uncovered);
+        return result;
+    }
+}
\ No newline at end of file
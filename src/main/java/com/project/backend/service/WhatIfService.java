@@ -0,0 +1,278 @@
+package com.project.backend.service;
+
+import com.project.backend.dto.WhatIfChangeDTO;
+import com.project.backend.event.AssignmentStatusChangedEvent;
+import com.project.backend.event.EmployeeSkillsChangedEvent;
+import com.project.backend.event.LeaveStatusChangedEvent;
+import com.project.backend.event.ProjectSkillsChangedEvent;
+import com.project.backend.event.ProjectStatusChangedEvent;
+import com.project.backend.model.Assignment;
+import com.project.backend.repository.AssignmentRepository;
+import com.project.backend.repository.EmployeeRepository;
+import com.project.backend.repository.EmployeeSkillRepository;
+import com.project.backend.repository.LeaveRequestRepository;
+import com.project.backend.repository.ProjectRepository;
+import com.project.backend.repository.ProjectSkillRepository;
+import com.project.backend.repository.SkillRepository;
+import com.project.backend.util.AllocationScenario;
+import com.project.backend.util.AllocationSnapshot;
+import com.project.backend.util.LazyIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What-if planning sandbox.
+ * Scenarios apply hypothetical assignment changes to a shared in-memory snapshot of the
+ * allocation state and report dashboard-style metrics for them; nothing is written to the
+ * database. The snapshot is taken on first use and dropped whenever assignments, leaves,
+ * skills or projects change, so new scenarios start from current data while existing
+ * scenarios keep the snapshot they were created on.
+ */
+@Service
+public class WhatIfService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final SkillRepository skillRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectSkillRepository projectSkillRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final int maxScenarios;
+
+    private final Map<String, AllocationScenario> scenarios = new ConcurrentHashMap<>();
+    private final LazyIndex<AllocationSnapshot> snapshot = new LazyIndex<>();
+
+    @Autowired
+    public WhatIfService(
+            EmployeeRepository employeeRepository,
+            EmployeeSkillRepository employeeSkillRepository,
+            SkillRepository skillRepository,
+            ProjectRepository projectRepository,
+            ProjectSkillRepository projectSkillRepository,
+            AssignmentRepository assignmentRepository,
+            LeaveRequestRepository leaveRequestRepository,
+            @Value("${whatif.max-scenarios:100}") int maxScenarios) {
+        this.employeeRepository = employeeRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.skillRepository = skillRepository;
+        this.projectRepository = projectRepository;
+        this.projectSkillRepository = projectSkillRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.maxScenarios = maxScenarios;
+    }
+
+    /**
+     * Get allocation metrics of the current state, computed from the snapshot
+     * @return Metrics map as returned for scenarios
+     */
+    public Map<String, Object> getBaselineMetrics() {
+        return getSnapshot().baseline().getMetrics();
+    }
+
+    /**
+     * Create a scenario, either empty on the current state or as a fork of an existing scenario
+     * @param baseScenarioId Scenario to fork, null to start from the current state
+     * @return Optional containing the new scenario's summary, empty if the base scenario does not exist
+     * @throws IllegalStateException if the maximum number of scenarios is reached
+     */
+    public Optional<Map<String, Object>> createScenario(String baseScenarioId) {
+        AllocationScenario base;
+        if (baseScenarioId == null) {
+            base = getSnapshot().baseline();
+        } else {
+            base = scenarios.get(baseScenarioId);
+            if (base == null) {
+                return Optional.empty();
+            }
+        }
+        if (scenarios.size() >= maxScenarios) {
+            throw new IllegalStateException("At most " + maxScenarios + " what-if scenarios can be open at once");
+        }
+        String scenarioId = UUID.randomUUID().toString();
+        // Scenarios are immutable, so a fork shares its base until either one changes
+        scenarios.put(scenarioId, base);
+        return Optional.of(toSummary(scenarioId, base));
+    }
+
+    /**
+     * Apply changes to a scenario
+     * @param scenarioId Scenario ID
+     * @param changes Changes applied in order
+     * @return Optional containing the scenario's metrics after the changes
+     * @throws IllegalArgumentException if a change is invalid; the scenario is then left unchanged
+     */
+    public Optional<Map<String, Object>> applyChanges(String scenarioId, List<WhatIfChangeDTO> changes) {
+        AllocationScenario updated = scenarios.computeIfPresent(scenarioId, (id, scenario) -> {
+            AllocationScenario result = scenario;
+            for (WhatIfChangeDTO change : changes) {
+                result = apply(result, change);
+            }
+            return result;
+        });
+        return Optional.ofNullable(updated).map(AllocationScenario::getMetrics);
+    }
+
+    /**
+     * Get the metrics of a scenario next to the baseline of the snapshot it was created on
+     * @param scenarioId Scenario ID
+     * @return Optional containing scenarioId, baseline and scenario metrics
+     */
+    public Optional<Map<String, Object>> getScenarioMetrics(String scenarioId) {
+        AllocationScenario scenario = scenarios.get(scenarioId);
+        if (scenario == null) {
+            return Optional.empty();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenarioId", scenarioId);
+        result.put("baseline", scenario.getSnapshot().baseline().getMetrics());
+        result.put("scenario", scenario.getMetrics());
+        return Optional.of(result);
+    }
+
+    /**
+     * Get the summaries of all open scenarios
+     * @return List of scenarioId, asOf and changes
+     */
+    public List<Map<String, Object>> getScenarios() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        scenarios.forEach((id, scenario) -> result.add(toSummary(id, scenario)));
+        return result;
+    }
+
+    /**
+     * Discard a scenario
+     * @param scenarioId Scenario ID
+     * @return True if the scenario existed
+     */
+    public boolean deleteScenario(String scenarioId) {
+        return scenarios.remove(scenarioId) != null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentStatusChanged(AssignmentStatusChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSkillsChanged(EmployeeSkillsChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectSkillsChanged(ProjectSkillsChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectStatusChanged(ProjectStatusChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Drop the snapshot so that the next new scenario is created on fresh data
+     */
+    public void invalidate() {
+        snapshot.invalidate();
+    }
+
+    private AllocationScenario apply(AllocationScenario scenario, WhatIfChangeDTO change) {
+        if (change.getType() == null || change.getEmployeeIds() == null) {
+            throw new IllegalArgumentException("A change needs a type and employees");
+        }
+        switch (change.getType()) {
+            case "ASSIGN":
+                return assign(scenario, change);
+            case "UNASSIGN":
+                return scenario.withoutAssignments(change.getEmployeeIds(), change.getProjectId());
+            case "MOVE":
+                return assign(scenario.withoutAssignments(change.getEmployeeIds(), null), change);
+            default:
+                throw new IllegalArgumentException("Unknown change type: " + change.getType());
+        }
+    }
+
+    private AllocationScenario assign(AllocationScenario scenario, WhatIfChangeDTO change) {
+        if (change.getProjectId() == null) {
+            throw new IllegalArgumentException("A project is required");
+        }
+        AllocationSnapshot base = scenario.getSnapshot();
+        LocalDate startDate = toLocalDate(change.getStartDate(), base.getAsOf());
+        LocalDate projectEnd = base.getProjectEndDate(change.getProjectId());
+        LocalDate endDate = toLocalDate(change.getEndDate(),
+                projectEnd != null && !projectEnd.isBefore(startDate) ? projectEnd : startDate);
+        int load = change.getAllocationPercentage() != null ? Math.round(change.getAllocationPercentage()) : 100;
+        return scenario.withAssignments(change.getEmployeeIds(), change.getProjectId(),
+                (int) startDate.toEpochDay(), (int) endDate.toEpochDay(), load);
+    }
+
+    private AllocationSnapshot getSnapshot() {
+        LocalDate today = LocalDate.now();
+        return snapshot.get(current -> current.getAsOf().equals(today), () -> load(today));
+    }
+
+    private AllocationSnapshot load(LocalDate today) {
+        AllocationSnapshot.Builder builder = AllocationSnapshot.builder();
+        for (Long employeeId : employeeRepository.findActiveEmployeeIds()) {
+            builder.employee(employeeId);
+        }
+        for (Object[] row : employeeSkillRepository.findAllEmployeeSkillPairs()) {
+            builder.employeeSkill((Long) row[0], (Long) row[1]);
+        }
+        for (Object[] row : skillRepository.findSkillSummaries()) {
+            builder.skill((Long) row[0], (String) row[1]);
+        }
+        List<Long> openProjectIds = new ArrayList<>();
+        for (Object[] row : projectRepository.findProjectRowsByStatusIn(SuggestionCacheService.OPEN_PROJECT_STATUSES)) {
+            builder.project((Long) row[0], (String) row[1], (LocalDate) row[2], (LocalDate) row[3]);
+            openProjectIds.add((Long) row[0]);
+        }
+        if (!openProjectIds.isEmpty()) {
+            for (Object[] row : projectSkillRepository.findRequirementRowsByProjectIds(openProjectIds)) {
+                builder.projectSkill((Long) row[0], (Long) row[1]);
+            }
+        }
+        for (Object[] row : assignmentRepository.findActiveAssignmentRowsEndingOnOrAfter(today, Assignment.OPEN_END)) {
+            Float allocation = (Float) row[5];
+            builder.assignment((Long) row[0], (Long) row[1], (Long) row[2], (LocalDate) row[3], (LocalDate) row[4],
+                    allocation != null ? Math.round(allocation) : 100);
+        }
+        for (Object[] row : leaveRequestRepository.findApprovedLeaveIntervals()) {
+            LocalDate endDate = (LocalDate) row[3];
+            if (endDate != null && !endDate.isBefore(today)) {
+                builder.leave((Long) row[1], (LocalDate) row[2], endDate);
+            }
+        }
+        return builder.build(today);
+    }
+
+    private static Map<String, Object> toSummary(String scenarioId, AllocationScenario scenario) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenarioId", scenarioId);
+        summary.put("asOf", scenario.getSnapshot().getAsOf());
+        summary.put("changes", scenario.getChangeCount());
+        return summary;
+    }
+
+    private static LocalDate toLocalDate(Date date, LocalDate defaultValue) {
+        return date != null ? new java.sql.Date(date.getTime()).toLocalDate() : defaultValue;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.project.backend.util;
+
+import com.project.backend.util.AllocationSnapshot.Booking;
+import com.project.backend.util.AllocationSnapshot.OpenProject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A hypothetical allocation state: an {@link AllocationSnapshot} plus removed and added assignments.
+ * Scenarios are immutable. Every change returns a new scenario that shares the snapshot and copies
+ * only the changes made so far, so a scenario costs memory proportional to its changes, and
+ * forking one is free. Metrics are the snapshot's baseline figures adjusted for the employees
+ * and projects the changes touch.
+ */
+public class AllocationScenario {
+
+    private final AllocationSnapshot snapshot;
+    private final Map<Long, Booking> removed;
+    private final Map<Long, List<Booking>> addedByEmployee;
+    private final Map<Long, List<Booking>> addedByProject;
+    private final int addedCount;
+
+    AllocationScenario(AllocationSnapshot snapshot) {
+        this(snapshot, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), 0);
+    }
+
+    private AllocationScenario(AllocationSnapshot snapshot, Map<Long, Booking> removed,
+                               Map<Long, List<Booking>> addedByEmployee,
+                               Map<Long, List<Booking>> addedByProject, int addedCount) {
+        this.snapshot = snapshot;
+        this.removed = removed;
+        this.addedByEmployee = addedByEmployee;
+        this.addedByProject = addedByProject;
+        this.addedCount = addedCount;
+    }
+
+    public AllocationSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the number of changes in this scenario
+     * @return Removed plus added assignments
+     */
+    public int getChangeCount() {
+        return removed.size() + addedCount;
+    }
+
+    /**
+     * Add hypothetical assignments of employees to an open project
+     * @param employeeIds Employees to assign; unknown employees are ignored
+     * @param projectId Project ID
+     * @param start First day
+     * @param end Last day
+     * @param load Allocation percentage
+     * @return The new scenario
+     * @throws IllegalArgumentException if the project is not open or the period is empty
+     */
+    public AllocationScenario withAssignments(Collection<Long> employeeIds, Long projectId,
+                                              int start, int end, int load) {
+        if (snapshot.getProject(projectId) == null) {
+            throw new IllegalArgumentException("Project " + projectId + " is not an open project");
+        }
+        if (end < start || load <= 0) {
+            throw new IllegalArgumentException("The period and allocation must not be empty");
+        }
+        Map<Long, List<Booking>> byEmployee = copy(addedByEmployee);
+        Map<Long, List<Booking>> byProject = copy(addedByProject);
+        int count = addedCount;
+        for (Long employeeId : employeeIds) {
+            if (!snapshot.hasEmployee(employeeId)) {
+                continue;
+            }
+            Booking booking = new Booking(null, employeeId, projectId, start, end, load);
+            byEmployee.computeIfAbsent(employeeId, k -> new ArrayList<>()).add(booking);
+            byProject.computeIfAbsent(projectId, k -> new ArrayList<>()).add(booking);
+            count++;
+        }
+        return new AllocationScenario(snapshot, removed, byEmployee, byProject, count);
+    }
+
+    /**
+     * Remove the assignments of employees, real or hypothetical
+     * @param employeeIds Employees to unassign
+     * @param projectId Only remove assignments on this project, null for all of them
+     * @return The new scenario
+     */
+    public AllocationScenario withoutAssignments(Collection<Long> employeeIds, Long projectId) {
+        Map<Long, Booking> removedCopy = new HashMap<>(removed);
+        Map<Long, List<Booking>> byEmployee = copy(addedByEmployee);
+        Map<Long, List<Booking>> byProject = copy(addedByProject);
+        int count = addedCount;
+        for (Long employeeId : employeeIds) {
+            for (Booking booking : snapshot.getBookingsOfEmployee(employeeId)) {
+                if (projectId == null || projectId.equals(booking.projectId)) {
+                    removedCopy.put(booking.assignmentId, booking);
+                }
+            }
+            List<Booking> added = byEmployee.get(employeeId);
+            if (added == null) {
+                continue;
+            }
+            for (Booking booking : added) {
+                if (projectId == null || projectId.equals(booking.projectId)) {
+                    byProject.get(booking.projectId).remove(booking);
+                    count--;
+                }
+            }
+            added.removeIf(booking -> projectId == null || projectId.equals(booking.projectId));
+        }
+        byEmployee.values().removeIf(List::isEmpty);
+        byProject.values().removeIf(List::isEmpty);
+        return new AllocationScenario(snapshot, removedCopy, byEmployee, byProject, count);
+    }
+
+    /**
+     * Compute allocation metrics against this scenario, in the shape of the dashboard's allocation metrics
+     * @return Map containing allocationRate, allocatedEmployees, overcommittedEmployees,
+     *         skillGap (skill name to projects missing it) and projectUtilization (project name to
+     *         share of required skills covered)
+     */
+    public Map<String, Object> getMetrics() {
+        Set<Long> touchedEmployees = new HashSet<>(addedByEmployee.keySet());
+        Set<Long> touchedProjects = new HashSet<>(addedByProject.keySet());
+        for (Booking booking : removed.values()) {
+            touchedEmployees.add(booking.employeeId);
+            touchedProjects.add(booking.projectId);
+        }
+
+        int allocated = snapshot.getAllocatedEmployees();
+        int overcommitted = snapshot.getOvercommittedEmployees();
+        Set<Long> newlyOvercommitted = new TreeSet<>();
+        for (Long employeeId : touchedEmployees) {
+            List<Booking> before = snapshot.getBookingsOfEmployee(employeeId);
+            allocated += (snapshot.isAllocated(getBookingsOfEmployee(employeeId)) ? 1 : 0)
+                    - (snapshot.isAllocated(before) ? 1 : 0);
+            boolean wasOvercommitted = snapshot.isOvercommitted(snapshot.getLedger(employeeId));
+            boolean isOvercommitted = snapshot.isOvercommitted(getLedger(employeeId));
+            overcommitted += (isOvercommitted ? 1 : 0) - (wasOvercommitted ? 1 : 0);
+            if (isOvercommitted && !wasOvercommitted) {
+                newlyOvercommitted.add(employeeId);
+            }
+        }
+
+        Map<Long, Integer> gapPerSkill = new HashMap<>(snapshot.getUncoveredProjectsPerSkill());
+        Map<Long, Set<Long>> uncoveredTouched = new HashMap<>();
+        for (Long projectId : touchedProjects) {
+            OpenProject project = snapshot.getProject(projectId);
+            if (project == null) {
+                continue;
+            }
+            Set<Long> now = snapshot.uncoveredSkills(project, getBookingsOnProject(projectId));
+            uncoveredTouched.put(projectId, now);
+            for (Long skillId : snapshot.getUncoveredSkills(projectId)) {
+                gapPerSkill.merge(skillId, -1, Integer::sum);
+            }
+            for (Long skillId : now) {
+                gapPerSkill.merge(skillId, 1, Integer::sum);
+            }
+        }
+
+        Map<String, Long> skillGap = new HashMap<>();
+        gapPerSkill.forEach((skillId, projects) -> {
+            if (projects > 0) {
+                skillGap.put(snapshot.getSkillName(skillId), (long) projects);
+            }
+        });
+
+        Map<String, Double> projectUtilization = new HashMap<>();
+        for (OpenProject project : snapshot.getProjects().values()) {
+            Set<Long> uncovered = uncoveredTouched.containsKey(project.projectId)
+                    ? uncoveredTouched.get(project.projectId)
+                    : snapshot.getUncoveredSkills(project.projectId);
+            int required = project.requiredSkills.length;
+            projectUtilization.put(project.name,
+                    required > 0 ? (double) (required - uncovered.size()) / required : 1.0);
+        }
+
+        int total = snapshot.getEmployeeCount();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("asOf", snapshot.getAsOf());
+        metrics.put("changes", getChangeCount());
+        metrics.put("allocationRate", total > 0 ? (double) allocated / total : 0);
+        metrics.put("allocatedEmployees", allocated);
+        metrics.put("overcommittedEmployees", overcommitted);
+        metrics.put("newlyOvercommittedEmployeeIds", newlyOvercommitted);
+        metrics.put("skillGap", skillGap);
+        metrics.put("projectUtilization", projectUtilization);
+        return metrics;
+    }
+
+    private List<Booking> getBookingsOfEmployee(Long employeeId) {
+        return merge(snapshot.getBookingsOfEmployee(employeeId), addedByEmployee.get(employeeId));
+    }
+
+    private List<Booking> getBookingsOnProject(Long projectId) {
+        return merge(snapshot.getBookingsOnProject(projectId), addedByProject.get(projectId));
+    }
+
+    private List<Booking> merge(List<Booking> base, List<Booking> added) {
+        List<Booking> result = new ArrayList<>(base.size() + (added != null ? added.size() : 0));
+        for (Booking booking : base) {
+            if (!removed.containsKey(booking.assignmentId)) {
+                result.add(booking);
+            }
+        }
+        if (added != null) {
+            result.addAll(added);
+        }
+        return result;
+    }
+
+    private CapacityLedger getLedger(Long employeeId) {
+        // The snapshot's ledger adjusted by this scenario's changes, not rebuilt from every assignment
+        CapacityLedger.Builder builder = CapacityLedger.builder().addAll(snapshot.getLedger(employeeId));
+        for (Booking booking : snapshot.getBookingsOfEmployee(employeeId)) {
+            if (removed.containsKey(booking.assignmentId)) {
+                builder.add(booking.start, booking.end, -booking.load);
+            }
+        }
+        for (Booking booking : addedByEmployee.getOrDefault(employeeId, Collections.emptyList())) {
+            builder.add(booking.start, booking.end, booking.load);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copy the per-key lists of a delta map so that edits never reach the scenario it came from
+     */
+    private static Map<Long, List<Booking>> copy(Map<Long, List<Booking>> bookings) {
+        Map<Long, List<Booking>> copy = new HashMap<>(bookings.size() * 2);
+        bookings.forEach((key, list) -> copy.put(key, new ArrayList<>(list)));
+        return copy;
+    }
+}
\ No newline at end of file
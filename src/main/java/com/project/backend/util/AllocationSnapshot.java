@@ -0,0 +1,385 @@
+package com.project.backend.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable copy of the allocation state: active employees and their skills, open projects
+ * and their required skills, the assignments that have not ended yet and every employee's
+ * committed capacity. It is read-only once built, so any number of {@link AllocationScenario}s
+ * can share it and only store their own changes.
+ * Days are epoch days; both ends of a period are inclusive.
+ */
+public class AllocationSnapshot {
+
+    private static final long[] NO_SKILLS = new long[0];
+
+    private final LocalDate asOf;
+    private final int today;
+    private final int employeeCount;
+    private final Map<Long, long[]> skillsByEmployee;
+    private final Map<Long, String> skillNames;
+    private final Map<Long, OpenProject> projects;
+    private final Map<Long, List<Booking>> bookingsByEmployee;
+    private final Map<Long, List<Booking>> bookingsByProject;
+    private final Map<Long, CapacityLedger> ledgers;
+
+    // Baseline figures; scenarios adjust them for the employees and projects they touch
+    private final int allocatedEmployees;
+    private final int overcommittedEmployees;
+    private final Map<Long, Set<Long>> uncoveredSkillsByProject;
+    private final Map<Long, Integer> uncoveredProjectsPerSkill;
+
+    private AllocationSnapshot(Builder builder, LocalDate asOf) {
+        this.asOf = asOf;
+        this.today = (int) asOf.toEpochDay();
+        this.employeeCount = builder.employeeIds.size();
+        this.skillNames = builder.skillNames;
+        this.projects = builder.projects;
+
+        Map<Long, long[]> skills = new HashMap<>(builder.skillsByEmployee.size() * 2);
+        builder.skillsByEmployee.forEach((employeeId, ids) -> {
+            long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+            skills.put(employeeId, sorted);
+        });
+        this.skillsByEmployee = skills;
+
+        Map<Long, List<Booking>> byEmployee = new HashMap<>();
+        Map<Long, List<Booking>> byProject = new HashMap<>();
+        for (Booking booking : builder.bookings.values()) {
+            byEmployee.computeIfAbsent(booking.employeeId, k -> new ArrayList<>()).add(booking);
+            byProject.computeIfAbsent(booking.projectId, k -> new ArrayList<>()).add(booking);
+        }
+        this.bookingsByEmployee = byEmployee;
+        this.bookingsByProject = byProject;
+
+        Map<Long, CapacityLedger> builtLedgers = new HashMap<>();
+        Set<Long> committed = new HashSet<>(byEmployee.keySet());
+        committed.addAll(builder.leaves.keySet());
+        for (Long employeeId : committed) {
+            CapacityLedger.Builder ledger = CapacityLedger.builder();
+            for (Booking booking : byEmployee.getOrDefault(employeeId, Collections.emptyList())) {
+                ledger.add(booking.start, booking.end, booking.load);
+            }
+            for (int[] leave : builder.leaves.getOrDefault(employeeId, Collections.emptyList())) {
+                ledger.add(leave[0], leave[1], CapacityLedger.FULL_CAPACITY);
+            }
+            builtLedgers.put(employeeId, ledger.build());
+        }
+        this.ledgers = builtLedgers;
+
+        int allocated = 0;
+        int overcommitted = 0;
+        for (Long employeeId : builder.employeeIds) {
+            if (isAllocated(byEmployee.getOrDefault(employeeId, Collections.emptyList()))) {
+                allocated++;
+            }
+            if (isOvercommitted(getLedger(employeeId))) {
+                overcommitted++;
+            }
+        }
+        this.allocatedEmployees = allocated;
+        this.overcommittedEmployees = overcommitted;
+
+        Map<Long, Set<Long>> uncovered = new HashMap<>();
+        Map<Long, Integer> perSkill = new HashMap<>();
+        for (OpenProject project : projects.values()) {
+            Set<Long> missing = uncoveredSkills(project,
+                    byProject.getOrDefault(project.projectId, Collections.emptyList()));
+            uncovered.put(project.projectId, missing);
+            for (Long skillId : missing) {
+                perSkill.merge(skillId, 1, Integer::sum);
+            }
+        }
+        this.uncoveredSkillsByProject = uncovered;
+        this.uncoveredProjectsPerSkill = perSkill;
+    }
+
+    /**
+     * Start building a snapshot
+     * @return An empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get a scenario without any changes
+     * @return The baseline scenario of this snapshot
+     */
+    public AllocationScenario baseline() {
+        return new AllocationScenario(this);
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Get the end date of an open project
+     * @param projectId Project ID
+     * @return The end date, null if the project is not open or has no end date
+     */
+    public LocalDate getProjectEndDate(Long projectId) {
+        OpenProject project = projects.get(projectId);
+        return project != null && project.end != Integer.MIN_VALUE ? LocalDate.ofEpochDay(project.end) : null;
+    }
+
+    int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    int getAllocatedEmployees() {
+        return allocatedEmployees;
+    }
+
+    int getOvercommittedEmployees() {
+        return overcommittedEmployees;
+    }
+
+    boolean hasEmployee(Long employeeId) {
+        return skillsByEmployee.containsKey(employeeId);
+    }
+
+    OpenProject getProject(Long projectId) {
+        return projects.get(projectId);
+    }
+
+    Map<Long, OpenProject> getProjects() {
+        return projects;
+    }
+
+    String getSkillName(Long skillId) {
+        return skillNames.getOrDefault(skillId, String.valueOf(skillId));
+    }
+
+    List<Booking> getBookingsOfEmployee(Long employeeId) {
+        return bookingsByEmployee.getOrDefault(employeeId, Collections.emptyList());
+    }
+
+    List<Booking> getBookingsOnProject(Long projectId) {
+        return bookingsByProject.getOrDefault(projectId, Collections.emptyList());
+    }
+
+    CapacityLedger getLedger(Long employeeId) {
+        return ledgers.getOrDefault(employeeId, CapacityLedger.EMPTY);
+    }
+
+    Set<Long> getUncoveredSkills(Long projectId) {
+        return uncoveredSkillsByProject.getOrDefault(projectId, Collections.emptySet());
+    }
+
+    Map<Long, Integer> getUncoveredProjectsPerSkill() {
+        return uncoveredProjectsPerSkill;
+    }
+
+    /**
+     * An employee counts as allocated if one of their assignments runs past today,
+     * as in the dashboard's allocation rate
+     */
+    boolean isAllocated(List<Booking> employeeBookings) {
+        for (Booking booking : employeeBookings) {
+            if (booking.end > today) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isOvercommitted(CapacityLedger ledger) {
+        return ledger.peakLoad(today, Integer.MAX_VALUE - 1) > CapacityLedger.FULL_CAPACITY;
+    }
+
+    /**
+     * Get the required skills of a project that none of its assigned employees has
+     */
+    Set<Long> uncoveredSkills(OpenProject project, List<Booking> projectBookings) {
+        Set<Long> missing = new HashSet<>();
+        for (long skillId : project.requiredSkills) {
+            missing.add(skillId);
+        }
+        for (Booking booking : projectBookings) {
+            if (missing.isEmpty()) {
+                break;
+            }
+            for (long skillId : skillsByEmployee.getOrDefault(booking.employeeId, NO_SKILLS)) {
+                missing.remove(skillId);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * An open project and the skills it requires
+     */
+    public static class OpenProject {
+        final Long projectId;
+        final String name;
+        final int start;
+        final int end;
+        final long[] requiredSkills;
+
+        OpenProject(Long projectId, String name, int start, int end, long[] requiredSkills) {
+            this.projectId = projectId;
+            this.name = name;
+            this.start = start;
+            this.end = end;
+            this.requiredSkills = requiredSkills;
+        }
+    }
+
+    /**
+     * One assignment, real or hypothetical. Hypothetical bookings have no assignment ID.
+     */
+    public static class Booking {
+        final Long assignmentId;
+        final Long employeeId;
+        final Long projectId;
+        final int start;
+        final int end;
+        final int load;
+
+        Booking(Long assignmentId, Long employeeId, Long projectId, int start, int end, int load) {
+            this.assignmentId = assignmentId;
+            this.employeeId = employeeId;
+            this.projectId = projectId;
+            this.start = start;
+            this.end = end;
+            this.load = load;
+        }
+    }
+
+    /**
+     * Collects raw rows and builds the snapshot
+     */
+    public static class Builder {
+        private final Set<Long> employeeIds = new HashSet<>();
+        private final Map<Long, Set<Long>> skillsByEmployee = new HashMap<>();
+        private final Map<Long, String> skillNames = new HashMap<>();
+        private final Map<Long, OpenProject> projects = new HashMap<>();
+        private final Map<Long, Set<Long>> requiredSkills = new HashMap<>();
+        private final Map<Long, Booking> bookings = new HashMap<>();
+        private final Map<Long, List<int[]>> leaves = new HashMap<>();
+
+        /**
+         * Add an active employee
+         * @param employeeId Employee ID
+         * @return This builder
+         */
+        public Builder employee(Long employeeId) {
+            employeeIds.add(employeeId);
+            skillsByEmployee.computeIfAbsent(employeeId, k -> new HashSet<>());
+            return this;
+        }
+
+        /**
+         * Add a skill of an employee; skills of employees not added are ignored
+         * @param employeeId Employee ID
+         * @param skillId Skill ID
+         * @return This builder
+         */
+        public Builder employeeSkill(Long employeeId, Long skillId) {
+            Set<Long> skills = skillsByEmployee.get(employeeId);
+            if (skills != null) {
+                skills.add(skillId);
+            }
+            return this;
+        }
+
+        /**
+         * Add a skill name
+         * @param skillId Skill ID
+         * @param name Skill name
+         * @return This builder
+         */
+        public Builder skill(Long skillId, String name) {
+            skillNames.put(skillId, name);
+            return this;
+        }
+
+        /**
+         * Add an open project
+         * @param projectId Project ID
+         * @param name Project name
+         * @param startDate Project start, null if not set
+         * @param endDate Project end, null if not set
+         * @return This builder
+         */
+        public Builder project(Long projectId, String name, LocalDate startDate, LocalDate endDate) {
+            projects.put(projectId, new OpenProject(projectId, name,
+                    startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE,
+                    endDate != null ? (int) endDate.toEpochDay() : Integer.MIN_VALUE, NO_SKILLS));
+            return this;
+        }
+
+        /**
+         * Add a required skill of a project
+         * @param projectId Project ID
+         * @param skillId Skill ID
+         * @return This builder
+         */
+        public Builder projectSkill(Long projectId, Long skillId) {
+            requiredSkills.computeIfAbsent(projectId, k -> new HashSet<>()).add(skillId);
+            return this;
+        }
+
+        /**
+         * Add an active assignment; assignments of employees not added are ignored
+         * @param assignmentId Assignment ID
+         * @param employeeId Employee ID
+         * @param projectId Project ID
+         * @param startDate First day
+         * @param endDate Last day
+         * @param load Allocation percentage
+         * @return This builder
+         */
+        public Builder assignment(Long assignmentId, Long employeeId, Long projectId,
+                                  LocalDate startDate, LocalDate endDate, int load) {
+            if (employeeIds.contains(employeeId)) {
+                bookings.put(assignmentId, new Booking(assignmentId, employeeId, projectId,
+                        (int) startDate.toEpochDay(), (int) endDate.toEpochDay(), load));
+            }
+            return this;
+        }
+
+        /**
+         * Add an approved leave, which commits the employee's whole capacity
+         * @param employeeId Employee ID
+         * @param startDate First day
+         * @param endDate Last day
+         * @return This builder
+         */
+        public Builder leave(Long employeeId, LocalDate startDate, LocalDate endDate) {
+            if (employeeIds.contains(employeeId)) {
+                leaves.computeIfAbsent(employeeId, k -> new ArrayList<>())
+                        .add(new int[] {(int) startDate.toEpochDay(), (int) endDate.toEpochDay()});
+            }
+            return this;
+        }
+
+        /**
+         * Build the snapshot
+         * @param asOf Day the figures are computed for
+         * @return The snapshot
+         */
+        public AllocationSnapshot build(LocalDate asOf) {
+            requiredSkills.forEach((projectId, skills) -> {
+                OpenProject project = projects.get(projectId);
+                if (project != null) {
+                    long[] ids = skills.stream().mapToLong(Long::longValue).toArray();
+                    Arrays.sort(ids);
+                    projects.put(projectId, new OpenProject(projectId, project.name,
+                            project.start, project.end, ids));
+                }
+            });
+            return new AllocationSnapshot(this, asOf);
+        }
+    }
+}
\ No newline at end of file
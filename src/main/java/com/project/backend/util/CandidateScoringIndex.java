@@ -0,0 +1,291 @@
+package com.project.backend.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar skill data for weighted candidate scoring.
+ * For every skill the index keeps parallel primitive arrays of the employees that have it,
+ * their proficiency and the day they acquired it, so scoring a project only walks the
+ * posting lists of its required skills.
+ */
+public class CandidateScoringIndex {
+
+    public static final double WEIGHT_PROFICIENCY = 0.45;
+    public static final double WEIGHT_COVERAGE = 0.25;
+    public static final double WEIGHT_RECENCY = 0.10;
+    public static final double WEIGHT_AVAILABILITY = 0.20;
+
+    private static final int MAX_PROFICIENCY = 5;
+    // A skill acquired this many days ago counts half as recent as a brand new one
+    private static final double RECENCY_HALF_LIFE_DAYS = 730.0;
+    private static final double UNKNOWN_RECENCY = 0.5;
+
+    private final Map<Long, Integer> skillOrdinals;
+    private final long[] employeeIds;
+    private final int[][] postingEmployees;
+    private final byte[][] postingProficiency;
+    private final float[][] postingRecency;
+    private final int builtOnDay;
+
+    private CandidateScoringIndex(Map<Long, Integer> skillOrdinals, long[] employeeIds, int[][] postingEmployees,
+                                  byte[][] postingProficiency, float[][] postingRecency, int builtOnDay) {
+        this.skillOrdinals = skillOrdinals;
+        this.employeeIds = employeeIds;
+        this.postingEmployees = postingEmployees;
+        this.postingProficiency = postingProficiency;
+        this.postingRecency = postingRecency;
+        this.builtOnDay = builtOnDay;
+    }
+
+    /**
+     * Build an index from raw rows
+     * @param rows [employeeId, skillId, proficiencyLevel, acquiredDate] rows
+     * @param today Day the recency factors are computed for
+     * @return The built index
+     */
+    public static CandidateScoringIndex build(List<Object[]> rows, LocalDate today) {
+        Map<Long, Integer> skillOrdinals = new HashMap<>();
+        Map<Long, Integer> employeeOrdinals = new HashMap<>();
+        List<Long> employeeIdList = new ArrayList<>();
+        int[] postingSizes = new int[16];
+        for (Object[] row : rows) {
+            Integer skill = skillOrdinals.putIfAbsent((Long) row[1], skillOrdinals.size());
+            if (skill == null) {
+                skill = skillOrdinals.size() - 1;
+                if (skill == postingSizes.length) {
+                    postingSizes = Arrays.copyOf(postingSizes, skill * 2);
+                }
+            }
+            postingSizes[skill]++;
+            if (employeeOrdinals.putIfAbsent((Long) row[0], employeeIdList.size()) == null) {
+                employeeIdList.add((Long) row[0]);
+            }
+        }
+
+        int skills = skillOrdinals.size();
+        int[][] postingEmployees = new int[skills][];
+        byte[][] postingProficiency = new byte[skills][];
+        float[][] postingRecency = new float[skills][];
+        for (int s = 0; s < skills; s++) {
+            postingEmployees[s] = new int[postingSizes[s]];
+            postingProficiency[s] = new byte[postingSizes[s]];
+            postingRecency[s] = new float[postingSizes[s]];
+        }
+        int todayDay = (int) today.toEpochDay();
+        int[] filled = new int[skills];
+        for (Object[] row : rows) {
+            int skill = skillOrdinals.get((Long) row[1]);
+            int i = filled[skill]++;
+            postingEmployees[skill][i] = employeeOrdinals.get((Long) row[0]);
+            int proficiency = row[2] != null ? ((Number) row[2]).intValue() : 1;
+            postingProficiency[skill][i] = (byte) Math.max(0, Math.min(MAX_PROFICIENCY, proficiency));
+            postingRecency[skill][i] = row[3] != null
+                    ? (float) decay(todayDay - ((LocalDate) row[3]).toEpochDay())
+                    : (float) UNKNOWN_RECENCY;
+        }
+
+        long[] employeeIds = new long[employeeIdList.size()];
+        for (int i = 0; i < employeeIds.length; i++) {
+            employeeIds[i] = employeeIdList.get(i);
+        }
+        return new CandidateScoringIndex(skillOrdinals, employeeIds, postingEmployees, postingProficiency,
+                postingRecency, todayDay);
+    }
+
+    /**
+     * Score every employee that has at least one required skill and keep the best ones
+     * @param skillIds Required skill IDs
+     * @param importance Importance of each required skill, same order as skillIds
+     * @param today Reference day for recency
+     * @param limit Maximum number of candidates to return
+     * @return Candidates sorted by skill score descending, then employee ID ascending
+     */
+    public List<Candidate> score(long[] skillIds, int[] importance, LocalDate today, int limit) {
+        int n = employeeIds.length;
+        double totalImportance = 0;
+        for (int weight : importance) {
+            totalImportance += Math.max(1, weight);
+        }
+        if (n == 0 || limit <= 0 || totalImportance == 0) {
+            return new ArrayList<>();
+        }
+
+        float[] proficiency = new float[n];
+        float[] coverage = new float[n];
+        float[] recency = new float[n];
+        short[] matched = new short[n];
+        int[] touched = new int[n];
+        int touchedCount = 0;
+        // Recency was computed at build time; ageing every skill by the same number of days
+        // scales all factors by the same amount
+        float ageing = (float) decay(today.toEpochDay() - builtOnDay);
+
+        for (int r = 0; r < skillIds.length; r++) {
+            Integer skill = skillOrdinals.get(skillIds[r]);
+            if (skill == null) {
+                continue;
+            }
+            float weight = Math.max(1, importance[r]);
+            int[] employees = postingEmployees[skill];
+            byte[] levels = postingProficiency[skill];
+            float[] recencies = postingRecency[skill];
+            for (int i = 0; i < employees.length; i++) {
+                int e = employees[i];
+                if (matched[e]++ == 0) {
+                    touched[touchedCount++] = e;
+                }
+                coverage[e] += weight;
+                proficiency[e] += weight * levels[i] / (float) MAX_PROFICIENCY;
+                recency[e] += weight * recencies[i] * ageing;
+            }
+        }
+
+        // Bounded min-heap of ordinals keyed by skill score
+        int capacity = Math.min(limit, touchedCount);
+        int[] heap = new int[capacity];
+        double[] heapScores = new double[capacity];
+        int size = 0;
+        for (int t = 0; t < touchedCount; t++) {
+            int e = touched[t];
+            double score = WEIGHT_PROFICIENCY * proficiency[e] / totalImportance
+                    + WEIGHT_COVERAGE * coverage[e] / totalImportance
+                    + WEIGHT_RECENCY * recency[e] / totalImportance;
+            if (size < capacity) {
+                heap[size] = e;
+                heapScores[size] = score;
+                siftUp(heap, heapScores, size++);
+            } else if (isBetter(score, e, heapScores[0], heap[0])) {
+                heap[0] = e;
+                heapScores[0] = score;
+                siftDown(heap, heapScores, size);
+            }
+        }
+
+        Candidate[] ranked = new Candidate[size];
+        for (int i = size - 1; i >= 0; i--) {
+            int e = heap[0];
+            ranked[i] = new Candidate(employeeIds[e], matched[e],
+                    proficiency[e] / totalImportance, coverage[e] / totalImportance, recency[e] / totalImportance);
+            heap[0] = heap[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heap, heapScores, i);
+        }
+        return List.of(ranked);
+    }
+
+    /**
+     * Get the number of employees with at least one skill
+     * @return Employee count
+     */
+    public int size() {
+        return employeeIds.length;
+    }
+
+    private static double decay(long ageDays) {
+        return Math.pow(0.5, Math.max(0, ageDays) / RECENCY_HALF_LIFE_DAYS);
+    }
+
+    private boolean isBetter(double scoreA, int ordinalA, double scoreB, int ordinalB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB;
+        }
+        return employeeIds[ordinalA] < employeeIds[ordinalB];
+    }
+
+    private void siftUp(int[] heap, double[] scores, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!isBetter(scores[parent], heap[parent], scores[i], heap[i])) {
+                break;
+            }
+            swap(heap, scores, i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, double[] scores, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && isBetter(scores[left], heap[left], scores[right], heap[right])) {
+                weakest = right;
+            }
+            if (!isBetter(scores[i], heap[i], scores[weakest], heap[weakest])) {
+                break;
+            }
+            swap(heap, scores, i, weakest);
+            i = weakest;
+        }
+    }
+
+    private static void swap(int[] heap, double[] scores, int a, int b) {
+        int ordinal = heap[a];
+        heap[a] = heap[b];
+        heap[b] = ordinal;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    /**
+     * Skill-based score components of one employee, each normalized to 0..1
+     * by the total importance of the required skills
+     */
+    public static class Candidate {
+        private final long employeeId;
+        private final int matchedSkills;
+        private final double proficiency;
+        private final double coverage;
+        private final double recency;
+
+        public Candidate(long employeeId, int matchedSkills, double proficiency, double coverage, double recency) {
+            this.employeeId = employeeId;
+            this.matchedSkills = matchedSkills;
+            this.proficiency = proficiency;
+            this.coverage = coverage;
+            this.recency = recency;
+        }
+
+        public long getEmployeeId() {
+            return employeeId;
+        }
+
+        public int getMatchedSkills() {
+            return matchedSkills;
+        }
+
+        public double getProficiency() {
+            return proficiency;
+        }
+
+        public double getCoverage() {
+            return coverage;
+        }
+
+        public double getRecency() {
+            return recency;
+        }
+
+        /**
+         * Combine the skill components with an availability factor
+         * @param availability Free capacity over the project period, 0..1
+         * @return Total score, 0..100
+         */
+        public double totalScore(double availability) {
+            return 100.0 * (WEIGHT_PROFICIENCY * proficiency
+                    + WEIGHT_COVERAGE * coverage
+                    + WEIGHT_RECENCY * recency
+                    + WEIGHT_AVAILABILITY * availability);
+        }
+    }
+}
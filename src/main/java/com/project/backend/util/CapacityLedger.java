@@ -0,0 +1,162 @@
+package com.project.backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Committed capacity of one employee per day, stored run-length encoded.
+ * Run i covers the days from days[i] up to days[i + 1] - 1 with loads[i] percent committed;
+ * days before the first run and from the last run on have nothing committed.
+ * Remaining capacity over a period is one binary search plus a scan of the runs inside it,
+ * and a ledger is only rebuilt when one of the employee's assignments or leaves changes.
+ * Days are epoch days; both ends of a period are inclusive.
+ */
+public class CapacityLedger {
+
+    public static final int FULL_CAPACITY = 100;
+    public static final CapacityLedger EMPTY = new CapacityLedger(new int[0], new short[0]);
+
+    private final int[] days;
+    private final short[] loads;
+
+    private CapacityLedger(int[] days, short[] loads) {
+        this.days = days;
+        this.loads = loads;
+    }
+
+    /**
+     * Start building a ledger
+     * @return An empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the highest committed percentage on any single day in [start, end]
+     * @param start First day of the period
+     * @param end Last day of the period
+     * @return The peak load, 0 if nothing is committed
+     */
+    public int peakLoad(int start, int end) {
+        // Run containing the start day, or the first run if the period starts before it
+        int i = Math.max(0, upperBound(days, start) - 1);
+        int peak = 0;
+        for (; i < days.length && days[i] <= end; i++) {
+            peak = Math.max(peak, loads[i]);
+        }
+        return peak;
+    }
+
+    /**
+     * Get the capacity left on the busiest day in [start, end]
+     * @param start First day of the period
+     * @param end Last day of the period
+     * @return Remaining capacity in percent, never negative
+     */
+    public int remainingCapacity(int start, int end) {
+        return Math.max(0, FULL_CAPACITY - peakLoad(start, end));
+    }
+
+    /**
+     * Get the number of runs
+     * @return Run count
+     */
+    public int size() {
+        return days.length;
+    }
+
+    private static int upperBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Collects weighted day intervals and turns them into runs
+     */
+    public static class Builder {
+        private int[] eventDays = new int[16];
+        private int[] eventDeltas = new int[16];
+        private int events;
+
+        /**
+         * Commit a load for every day of an interval
+         * @param start First day
+         * @param end Last day
+         * @param load Committed percentage
+         * @return This builder
+         */
+        public Builder add(int start, int end, int load) {
+            if (end < start || load == 0) {
+                return this;
+            }
+            push(start, load);
+            push(end + 1, -load);
+            return this;
+        }
+
+        /**
+         * Commit every run of an existing ledger, so that it can be adjusted with further
+         * (possibly negative) loads without rebuilding it from its intervals
+         * @param ledger Ledger to copy
+         * @return This builder
+         */
+        public Builder addAll(CapacityLedger ledger) {
+            for (int i = 0; i < ledger.days.length; i++) {
+                int end = i + 1 < ledger.days.length ? ledger.days[i + 1] - 1 : Integer.MAX_VALUE - 1;
+                add(ledger.days[i], end, ledger.loads[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Build the ledger
+         * @return The ledger, or {@link #EMPTY} if nothing was added
+         */
+        public CapacityLedger build() {
+            if (events == 0) {
+                return EMPTY;
+            }
+            long[] packed = new long[events];
+            for (int i = 0; i < events; i++) {
+                packed[i] = ((long) eventDays[i] << 32) | i;
+            }
+            Arrays.sort(packed);
+
+            int[] days = new int[events];
+            short[] loads = new short[events];
+            int runs = 0;
+            int load = 0;
+            for (int i = 0; i < events; ) {
+                int day = (int) (packed[i] >> 32);
+                // Apply every change on this day before emitting a run
+                while (i < events && (int) (packed[i] >> 32) == day) {
+                    load += eventDeltas[(int) packed[i++]];
+                }
+                short clamped = (short) Math.min(Short.MAX_VALUE, load);
+                if (runs == 0 ? clamped != 0 : clamped != loads[runs - 1]) {
+                    days[runs] = day;
+                    loads[runs++] = clamped;
+                }
+            }
+            return new CapacityLedger(Arrays.copyOf(days, runs), Arrays.copyOf(loads, runs));
+        }
+
+        private void push(int day, int delta) {
+            if (events == eventDays.length) {
+                eventDays = Arrays.copyOf(eventDays, events * 2);
+                eventDeltas = Arrays.copyOf(eventDeltas, events * 2);
+            }
+            eventDays[events] = day;
+            eventDeltas[events++] = delta;
+        }
+    }
+}
\ No newline at end of file
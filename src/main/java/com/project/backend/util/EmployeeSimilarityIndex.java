@@ -0,0 +1,373 @@
+package com.project.backend.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Approximate nearest-neighbour index over employees' skill-proficiency vectors.
+ * Every employee is a sparse vector of skill ID to proficiency level, normalized to unit length,
+ * and two employees are as similar as the cosine of their vectors.
+ * Vectors are hashed with random-hyperplane LSH: each of several tables keeps a bucket per
+ * signature of a few hyperplane signs, and employees with a small angle between them tend to
+ * share a bucket in at least one table. A query collects the employees of its own buckets and of
+ * the buckets one sign flip away (two flips if that yields too few), then ranks only those by
+ * exact cosine. The hyperplanes are derived from the skill ID, so new skills need no rebuild and
+ * an employee's skill change only moves that employee between buckets.
+ */
+public class EmployeeSimilarityIndex {
+
+    // Widen the probe to two sign flips when fewer candidates than this many times the limit are found
+    private static final int MIN_CANDIDATES_PER_RESULT = 4;
+
+    private final int tables;
+    private final int bits;
+    private final long seed;
+
+    // Employees are stored by dense ordinal so that buckets are plain int arrays
+    private final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private volatile Entry[] entries;
+    private final List<Map<Integer, int[]>> buckets;
+
+    private EmployeeSimilarityIndex(int tables, int bits, long seed, int capacity) {
+        if (tables <= 0 || bits <= 0 || bits > 30) {
+            throw new IllegalArgumentException("LSH needs at least one table and between 1 and 30 bits");
+        }
+        this.tables = tables;
+        this.bits = bits;
+        this.seed = seed;
+        this.entries = new Entry[Math.max(16, capacity)];
+        this.buckets = new ArrayList<>(tables);
+        for (int t = 0; t < tables; t++) {
+            buckets.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Build an index from raw proficiency data
+     * @param skillLevels [employeeId, skillId, proficiencyLevel] rows
+     * @param tables Number of hash tables; more tables raise recall and query time
+     * @param bits Hyperplanes per table; more bits make buckets smaller and queries faster
+     * @param seed Seed of the random hyperplanes
+     * @return The built index
+     */
+    public static EmployeeSimilarityIndex build(List<Object[]> skillLevels, int tables, int bits, long seed) {
+        Map<Long, TreeMap<Long, Integer>> grouped = new HashMap<>();
+        for (Object[] row : skillLevels) {
+            int proficiency = row[2] != null ? ((Number) row[2]).intValue() : 0;
+            grouped.computeIfAbsent((Long) row[0], k -> new TreeMap<>()).put((Long) row[1], proficiency);
+        }
+        EmployeeSimilarityIndex index = new EmployeeSimilarityIndex(tables, bits, seed, grouped.size());
+        List<Long> employeeIds = new ArrayList<>(grouped.keySet());
+        Entry[] built = index.entries;
+
+        // Hashing dominates the build; every ordinal is written by exactly one task
+        IntStream.range(0, employeeIds.size()).parallel().forEach(o -> {
+            Long employeeId = employeeIds.get(o);
+            Vector vector = Vector.of(grouped.get(employeeId));
+            if (vector != null) {
+                built[o] = new Entry(employeeId, vector, index.signature(vector));
+            }
+        });
+        for (int o = 0; o < employeeIds.size(); o++) {
+            if (built[o] != null) {
+                index.ordinals.put(built[o].employeeId, o);
+            } else {
+                index.freeOrdinals.add(o);
+            }
+        }
+        IntStream.range(0, tables).parallel().forEach(t -> {
+            Map<Integer, List<Integer>> members = new HashMap<>();
+            for (int o = 0; o < employeeIds.size(); o++) {
+                if (built[o] != null) {
+                    members.computeIfAbsent(built[o].signature[t], k -> new ArrayList<>()).add(o);
+                }
+            }
+            Map<Integer, int[]> table = index.buckets.get(t);
+            members.forEach((key, list) -> table.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+        });
+        return index;
+    }
+
+    /**
+     * Replace the skills of one employee
+     * @param employeeId Employee ID
+     * @param proficiencies Skill ID to proficiency level; empty if the employee has no skills left
+     */
+    public synchronized void updateEmployee(Long employeeId, Map<Long, Integer> proficiencies) {
+        remove(employeeId);
+        Vector vector = Vector.of(new TreeMap<>(proficiencies));
+        if (vector != null) {
+            insert(new Entry(employeeId, vector, signature(vector)));
+        }
+    }
+
+    /**
+     * Remove an employee from the index
+     * @param employeeId Employee ID
+     */
+    public synchronized void removeEmployee(Long employeeId) {
+        remove(employeeId);
+    }
+
+    /**
+     * Find the employees most similar to an indexed employee
+     * @param employeeId Employee ID
+     * @param limit Maximum number of employees
+     * @return Employee ID to cosine similarity, most similar first; empty if the employee has no skills
+     */
+    public Map<Long, Double> nearest(Long employeeId, int limit) {
+        Integer ordinal = ordinals.get(employeeId);
+        Entry[] current = entries;
+        Entry query = ordinal != null && ordinal < current.length ? current[ordinal] : null;
+        if (query == null || limit <= 0) {
+            return Map.of();
+        }
+        // Min-heap on similarity holding the best limit candidates, ties broken by lower ID
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>((x, y) ->
+                !x.getValue().equals(y.getValue())
+                        ? Double.compare(x.getValue(), y.getValue())
+                        : Long.compare(y.getKey(), x.getKey()));
+        BitSet seen = new BitSet(current.length);
+        seen.set(ordinal);
+        int examined = 0;
+        for (int t = 0; t < tables; t++) {
+            examined += probe(t, query.signature[t], query, current, seen, best, limit);
+            for (int b = 0; b < bits; b++) {
+                examined += probe(t, query.signature[t] ^ (1 << b), query, current, seen, best, limit);
+            }
+        }
+        if (examined < (long) limit * MIN_CANDIDATES_PER_RESULT) {
+            for (int t = 0; t < tables; t++) {
+                for (int b = 0; b < bits; b++) {
+                    for (int c = b + 1; c < bits; c++) {
+                        probe(t, query.signature[t] ^ (1 << b) ^ (1 << c), query, current, seen, best, limit);
+                    }
+                }
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(best.comparator().reversed());
+        Map<Long, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<Long, Double> entry : ranked) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Get the exact similarity of two indexed employees
+     * @param a Employee ID
+     * @param b Employee ID
+     * @return Cosine similarity between 0 and 1, 0 if either employee has no skills
+     */
+    public double similarity(Long a, Long b) {
+        Entry ea = entry(a);
+        Entry eb = entry(b);
+        return ea != null && eb != null ? ea.vector.dot(eb.vector) : 0.0;
+    }
+
+    /**
+     * Get the number of indexed employees
+     * @return Employee count
+     */
+    public int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * Score the unseen members of one bucket into the heap
+     * @return Number of members scored
+     */
+    private int probe(int table, int key, Entry query, Entry[] current, BitSet seen,
+                      PriorityQueue<Map.Entry<Long, Double>> best, int limit) {
+        int[] bucket = buckets.get(table).get(key);
+        if (bucket == null) {
+            return 0;
+        }
+        int scored = 0;
+        for (int o : bucket) {
+            if (o >= current.length || seen.get(o)) {
+                continue;
+            }
+            seen.set(o);
+            Entry candidate = current[o];
+            if (candidate == null) {
+                continue;
+            }
+            scored++;
+            double similarity = query.vector.dot(candidate.vector);
+            if (similarity <= 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(Map.entry(candidate.employeeId, similarity));
+            } else if (best.comparator().compare(Map.entry(candidate.employeeId, similarity), best.peek()) > 0) {
+                best.poll();
+                best.add(Map.entry(candidate.employeeId, similarity));
+            }
+        }
+        return scored;
+    }
+
+    private Entry entry(Long employeeId) {
+        Integer ordinal = ordinals.get(employeeId);
+        Entry[] current = entries;
+        return ordinal != null && ordinal < current.length ? current[ordinal] : null;
+    }
+
+    private int[] signature(Vector vector) {
+        int[] signature = new int[tables];
+        for (int t = 0; t < tables; t++) {
+            int key = 0;
+            for (int b = 0; b < bits; b++) {
+                double projection = 0;
+                for (int i = 0; i < vector.skillIds.length; i++) {
+                    projection += vector.weights[i] * hyperplane(t * bits + b, vector.skillIds[i]);
+                }
+                if (projection >= 0) {
+                    key |= 1 << b;
+                }
+            }
+            signature[t] = key;
+        }
+        return signature;
+    }
+
+    private void insert(Entry entry) {
+        Integer free = freeOrdinals.poll();
+        int ordinal = free != null ? free : ordinals.size() + freeOrdinals.size();
+        Entry[] current = entries;
+        if (ordinal >= current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[ordinal] = entry;
+        entries = current;
+        for (int t = 0; t < tables; t++) {
+            // Buckets are replaced, never modified, so readers always see a complete array
+            buckets.get(t).merge(entry.signature[t], new int[] {ordinal}, (bucket, added) -> {
+                int[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+                grown[bucket.length] = ordinal;
+                return grown;
+            });
+        }
+        ordinals.put(entry.employeeId, ordinal);
+    }
+
+    private void remove(Long employeeId) {
+        Integer ordinal = ordinals.remove(employeeId);
+        if (ordinal == null) {
+            return;
+        }
+        Entry[] current = entries;
+        Entry entry = current[ordinal];
+        current[ordinal] = null;
+        for (int t = 0; t < tables; t++) {
+            buckets.get(t).computeIfPresent(entry.signature[t], (key, bucket) -> {
+                int[] shrunk = Arrays.stream(bucket).filter(o -> o != ordinal).toArray();
+                return shrunk.length > 0 ? shrunk : null;
+            });
+        }
+        freeOrdinals.add(ordinal);
+    }
+
+    /**
+     * Component of a hyperplane normal along a skill's axis, uniform in [-1, 1).
+     * Computed from a hash instead of stored, so the hyperplanes cover any skill ID.
+     */
+    private double hyperplane(int plane, long skillId) {
+        long h = mix(seed ^ mix(((long) plane << 32) ^ skillId));
+        return (h >>> 11) * 0x1.0p-52 - 1.0;
+    }
+
+    private static long mix(long z) {
+        // SplitMix64 finalizer
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * An indexed employee
+     */
+    private static class Entry {
+        final Long employeeId;
+        final Vector vector;
+        final int[] signature;
+
+        Entry(Long employeeId, Vector vector, int[] signature) {
+            this.employeeId = employeeId;
+            this.vector = vector;
+            this.signature = signature;
+        }
+    }
+
+    /**
+     * Unit-length sparse vector with skill IDs in ascending order
+     */
+    private static class Vector {
+        final long[] skillIds;
+        final double[] weights;
+
+        private Vector(long[] skillIds, double[] weights) {
+            this.skillIds = skillIds;
+            this.weights = weights;
+        }
+
+        /**
+         * @param proficiencies Skill ID to proficiency level, ordered by skill ID
+         * @return The normalized vector, null if no skill has a positive level
+         */
+        static Vector of(TreeMap<Long, Integer> proficiencies) {
+            long[] skillIds = new long[proficiencies.size()];
+            double[] weights = new double[proficiencies.size()];
+            int n = 0;
+            double norm = 0;
+            for (Map.Entry<Long, Integer> entry : proficiencies.entrySet()) {
+                if (entry.getValue() > 0) {
+                    skillIds[n] = entry.getKey();
+                    weights[n] = entry.getValue();
+                    norm += weights[n] * weights[n];
+                    n++;
+                }
+            }
+            if (n == 0) {
+                return null;
+            }
+            norm = Math.sqrt(norm);
+            for (int i = 0; i < n; i++) {
+                weights[i] /= norm;
+            }
+            return new Vector(Arrays.copyOf(skillIds, n), Arrays.copyOf(weights, n));
+        }
+
+        double dot(Vector other) {
+            double sum = 0;
+            int i = 0;
+            int j = 0;
+            while (i < skillIds.length && j < other.skillIds.length) {
+                if (skillIds[i] == other.skillIds[j]) {
+                    sum += weights[i++] * other.weights[j++];
+                } else if (skillIds[i] < other.skillIds[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.project.backend.util;
+
+/**
+ * Immutable set of day intervals for one employee, stored as parallel arrays sorted by start day.
+ * A prefix maximum over the end days turns the sorted arrays into an augmented interval index:
+ * an overlap test is one binary search, and enumerating overlaps stops as soon as no earlier
+ * interval can reach the query.
+ * Days are epoch days; both ends are inclusive.
+ */
+public class IntervalTimeline {
+
+    public static final IntervalTimeline EMPTY = new IntervalTimeline(new long[0], new int[0], new int[0], new short[0]);
+
+    private final long[] ids;
+    private final int[] starts;
+    private final int[] ends;
+    private final short[] weights;
+    private final int[] maxEndPrefix;
+
+    private IntervalTimeline(long[] ids, int[] starts, int[] ends, short[] weights) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.weights = weights;
+        this.maxEndPrefix = new int[starts.length];
+        int maxEnd = Integer.MIN_VALUE;
+        for (int i = 0; i < starts.length; i++) {
+            maxEnd = Math.max(maxEnd, ends[i]);
+            maxEndPrefix[i] = maxEnd;
+        }
+    }
+
+    /**
+     * Return a copy with an interval added, replacing any interval with the same ID
+     * @param id Interval ID (leave request or assignment ID)
+     * @param start First day
+     * @param end Last day
+     * @param weight Weight of the interval, e.g. allocation percentage
+     * @return The new timeline
+     */
+    public IntervalTimeline with(long id, int start, int end, int weight) {
+        IntervalTimeline base = without(id);
+        int n = base.starts.length;
+        int position = upperBound(base.starts, n, start);
+
+        long[] newIds = new long[n + 1];
+        int[] newStarts = new int[n + 1];
+        int[] newEnds = new int[n + 1];
+        short[] newWeights = new short[n + 1];
+        copyAround(base, position, newIds, newStarts, newEnds, newWeights);
+        newIds[position] = id;
+        newStarts[position] = start;
+        newEnds[position] = end;
+        newWeights[position] = (short) weight;
+        return new IntervalTimeline(newIds, newStarts, newEnds, newWeights);
+    }
+
+    /**
+     * Return a copy without the interval with the given ID
+     * @param id Interval ID
+     * @return The new timeline, or this one if the ID is not present
+     */
+    public IntervalTimeline without(long id) {
+        int index = -1;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return this;
+        }
+        int n = ids.length - 1;
+        long[] newIds = new long[n];
+        int[] newStarts = new int[n];
+        int[] newEnds = new int[n];
+        short[] newWeights = new short[n];
+        System.arraycopy(ids, 0, newIds, 0, index);
+        System.arraycopy(starts, 0, newStarts, 0, index);
+        System.arraycopy(ends, 0, newEnds, 0, index);
+        System.arraycopy(weights, 0, newWeights, 0, index);
+        System.arraycopy(ids, index + 1, newIds, index, n - index);
+        System.arraycopy(starts, index + 1, newStarts, index, n - index);
+        System.arraycopy(ends, index + 1, newEnds, index, n - index);
+        System.arraycopy(weights, index + 1, newWeights, index, n - index);
+        return new IntervalTimeline(newIds, newStarts, newEnds, newWeights);
+    }
+
+    /**
+     * Check whether any interval overlaps [start, end]
+     * @param start First day of the query
+     * @param end Last day of the query
+     * @return True if at least one interval overlaps
+     */
+    public boolean overlaps(int start, int end) {
+        int last = upperBound(starts, starts.length, end) - 1;
+        return last >= 0 && maxEndPrefix[last] >= start;
+    }
+
+    /**
+     * Commit every interval to a capacity ledger
+     * @param builder Ledger builder
+     * @param load Load to commit per interval, or -1 to use each interval's weight
+     */
+    public void addTo(CapacityLedger.Builder builder, int load) {
+        for (int i = 0; i < ids.length; i++) {
+            builder.add(starts[i], ends[i], load >= 0 ? load : weights[i]);
+        }
+    }
+
+    /**
+     * Get the number of intervals
+     * @return Interval count
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    private static int upperBound(int[] values, int length, int key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void copyAround(IntervalTimeline base, int position, long[] newIds, int[] newStarts,
+                                   int[] newEnds, short[] newWeights) {
+        int n = base.ids.length;
+        System.arraycopy(base.ids, 0, newIds, 0, position);
+        System.arraycopy(base.starts, 0, newStarts, 0, position);
+        System.arraycopy(base.ends, 0, newEnds, 0, position);
+        System.arraycopy(base.weights, 0, newWeights, 0, position);
+        System.arraycopy(base.ids, position, newIds, position + 1, n - position);
+        System.arraycopy(base.starts, position, newStarts, position + 1, n - position);
+        System.arraycopy(base.ends, position, newEnds, position + 1, n - position);
+        System.arraycopy(base.weights, position, newWeights, position + 1, n - position);
+    }
+}
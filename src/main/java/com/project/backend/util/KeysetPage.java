@@ -0,0 +1,49 @@
+package com.project.backend.util;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset (seek) pagination on primary keys.
+ * A page is requested with the last ID of the previous page; when a page comes back full,
+ * the ID to continue from is returned in the X-Next-Cursor response header.
+ */
+public final class KeysetPage {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_LIMIT = 1000;
+
+    private KeysetPage() {
+    }
+
+    /**
+     * Clamp a requested page size to 1..MAX_LIMIT
+     * @param requested Requested page size
+     * @return The limit to pass to the repository
+     */
+    public static Limit limit(int requested) {
+        return Limit.of(clamp(requested));
+    }
+
+    /**
+     * Build a response for a page, adding the next cursor header if there may be more rows
+     * @param items Items of the page, ordered by ID
+     * @param requested Requested page size
+     * @param idGetter Function returning the ID of an item
+     * @return The response
+     */
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> items, int requested, Function<T, Long> idGetter) {
+        if (!items.isEmpty() && items.size() >= clamp(requested)) {
+            Long nextCursor = idGetter.apply(items.get(items.size() - 1));
+            return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor)).body(items);
+        }
+        return ResponseEntity.ok(items);
+    }
+
+    private static int clamp(int requested) {
+        return Math.max(1, Math.min(MAX_LIMIT, requested));
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.backend.util;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Holder for an in-memory index that is built on first use and dropped when its data changes.
+ * Every invalidation bumps a generation; a build is only published if no invalidation happened
+ * while it was loading, since the load may have read the data from before the change.
+ * Otherwise it is built again, and after a few contended attempts the last build is returned
+ * to its caller without being kept.
+ * @param <T> Index type
+ */
+public class LazyIndex<T> {
+
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final Object publishLock = new Object();
+    private volatile T value;
+    private volatile long generation;
+
+    /**
+     * Get the index, building it if there is none
+     * @param loader Builds the index from the current data
+     * @return The index
+     */
+    public T get(Supplier<T> loader) {
+        return get(current -> true, loader);
+    }
+
+    /**
+     * Get the index, building it if there is none or the current one is outdated
+     * @param fresh Tells whether an existing index can still be used
+     * @param loader Builds the index from the current data
+     * @return The index
+     */
+    public T get(Predicate<T> fresh, Supplier<T> loader) {
+        T current = value;
+        if (current != null && fresh.test(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = value;
+            if (current != null && fresh.test(current)) {
+                return current;
+            }
+            for (int attempt = 1; ; attempt++) {
+                long started = generation;
+                current = loader.get();
+                synchronized (publishLock) {
+                    if (generation == started) {
+                        value = current;
+                        return current;
+                    }
+                }
+                if (attempt == MAX_BUILD_ATTEMPTS) {
+                    return current;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the index without building it
+     * @return The current index, null if there is none
+     */
+    public T peek() {
+        return value;
+    }
+
+    /**
+     * Drop the index and discard any build in progress
+     */
+    public void invalidate() {
+        synchronized (publishLock) {
+            generation++;
+            value = null;
+        }
+    }
+}
\ No newline at end of file
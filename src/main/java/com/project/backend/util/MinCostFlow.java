@@ -0,0 +1,216 @@
+package com.project.backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Min-cost flow solver over primitive arrays.
+ * Uses successive shortest paths with Dijkstra and node potentials, so every
+ * intermediate flow is a minimum-cost flow of its value. Stopping early
+ * therefore still yields an optimal partial solution.
+ * All edge costs must be non-negative.
+ */
+public class MinCostFlow {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final int nodes;
+    private final int[] head;
+    private int[] next;
+    private int[] to;
+    private int[] capacity;
+    private long[] cost;
+    private int edges;
+
+    public MinCostFlow(int nodes, int expectedEdges) {
+        this.nodes = nodes;
+        this.head = new int[nodes];
+        Arrays.fill(head, -1);
+        int size = Math.max(2, expectedEdges * 2);
+        this.next = new int[size];
+        this.to = new int[size];
+        this.capacity = new int[size];
+        this.cost = new long[size];
+    }
+
+    /**
+     * Add a directed edge and its residual reverse edge
+     * @param from Source node
+     * @param target Target node
+     * @param edgeCapacity Edge capacity
+     * @param edgeCost Cost per unit of flow, must be non-negative
+     * @return The edge index, usable with {@link #getFlow(int)}
+     */
+    public int addEdge(int from, int target, int edgeCapacity, long edgeCost) {
+        if (edges + 2 > to.length) {
+            int size = to.length * 2;
+            next = Arrays.copyOf(next, size);
+            to = Arrays.copyOf(to, size);
+            capacity = Arrays.copyOf(capacity, size);
+            cost = Arrays.copyOf(cost, size);
+        }
+        int edge = edges;
+        link(from, target, edgeCapacity, edgeCost);
+        link(target, from, 0, -edgeCost);
+        return edge;
+    }
+
+    /**
+     * Get the flow currently sent through an edge
+     * @param edge Edge index returned by {@link #addEdge(int, int, int, long)}
+     * @return The flow on the edge
+     */
+    public int getFlow(int edge) {
+        return capacity[edge ^ 1];
+    }
+
+    /**
+     * Send flow from source to sink at minimum cost
+     * @param source Source node
+     * @param sink Sink node
+     * @param maxFlow Upper bound on the flow to send
+     * @param progress Progress handle, may be null
+     * @param deadlineNanos System.nanoTime() deadline, or Long.MAX_VALUE for none
+     * @return The total flow sent
+     */
+    public int solve(int source, int sink, int maxFlow, SolverProgress progress, long deadlineNanos) {
+        long[] potential = new long[nodes];
+        long[] distance = new long[nodes];
+        int[] parentEdge = new int[nodes];
+        NodeHeap heap = new NodeHeap(nodes);
+        int flow = 0;
+
+        while (flow < maxFlow) {
+            if ((progress != null && progress.isStopRequested()) || System.nanoTime() > deadlineNanos) {
+                break;
+            }
+
+            Arrays.fill(distance, INF);
+            Arrays.fill(parentEdge, -1);
+            distance[source] = 0;
+            heap.clear();
+            heap.push(source, 0);
+
+            while (!heap.isEmpty()) {
+                long d = heap.peekKey();
+                int node = heap.pop();
+                if (d > distance[node]) {
+                    continue;
+                }
+                for (int edge = head[node]; edge != -1; edge = next[edge]) {
+                    if (capacity[edge] <= 0) {
+                        continue;
+                    }
+                    int target = to[edge];
+                    long candidate = d + cost[edge] + potential[node] - potential[target];
+                    if (candidate < distance[target]) {
+                        distance[target] = candidate;
+                        parentEdge[target] = edge;
+                        heap.push(target, candidate);
+                    }
+                }
+            }
+
+            if (distance[sink] >= INF) {
+                break;
+            }
+            for (int node = 0; node < nodes; node++) {
+                if (distance[node] < INF) {
+                    potential[node] += distance[node];
+                }
+            }
+
+            // Bottleneck along the path
+            int push = maxFlow - flow;
+            for (int node = sink; node != source; node = to[parentEdge[node] ^ 1]) {
+                push = Math.min(push, capacity[parentEdge[node]]);
+            }
+            for (int node = sink; node != source; node = to[parentEdge[node] ^ 1]) {
+                capacity[parentEdge[node]] -= push;
+                capacity[parentEdge[node] ^ 1] += push;
+            }
+            flow += push;
+            if (progress != null) {
+                progress.advance(push);
+            }
+        }
+        return flow;
+    }
+
+    private void link(int from, int target, int edgeCapacity, long edgeCost) {
+        to[edges] = target;
+        capacity[edges] = edgeCapacity;
+        cost[edges] = edgeCost;
+        next[edges] = head[from];
+        head[from] = edges++;
+    }
+
+    /**
+     * Binary min-heap of (key, node) pairs with lazy deletion
+     */
+    private static class NodeHeap {
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        NodeHeap(int initialCapacity) {
+            keys = new long[Math.max(16, initialCapacity)];
+            values = new int[keys.length];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peekKey() {
+            return keys[0];
+        }
+
+        void push(int value, long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                values[i] = values[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int pop() {
+            int top = values[0];
+            long key = keys[--size];
+            int value = values[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
+            }
+            keys[i] = key;
+            values[i] = value;
+            return top;
+        }
+    }
+}
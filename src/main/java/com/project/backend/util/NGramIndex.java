@@ -0,0 +1,281 @@
+package com.project.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted trigram index for typeahead search.
+ * Text is lower-cased and split into words, and every word is padded the same way
+ * pg_trgm does ("  word "), so a query shares trigrams with words it is a prefix of.
+ * Documents are ranked by the number of shared trigrams, then by how short they are.
+ * Updates replace documents in place; removed documents are tombstoned and the
+ * postings are compacted once tombstones make up half of the index.
+ */
+public class NGramIndex {
+
+    // Share of the query trigrams a document must contain to match
+    private static final double MIN_SIMILARITY = 0.6;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACT = 1024;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] ids = new long[64];
+    private int[] gramCounts = new int[64];
+    private int size;
+    private int deletedCount;
+
+    /**
+     * Add or replace a document
+     * @param id Document ID (entity ID)
+     * @param fields Text fields of the document; null fields are ignored
+     */
+    public void put(long id, String... fields) {
+        Set<Long> grams = trigrams(String.join(" ", nonNull(fields)), false);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                gramCounts = Arrays.copyOf(gramCounts, size * 2);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            gramCounts[ordinal] = grams.size();
+            ordinals.put(id, ordinal);
+            for (Long gram : grams) {
+                postings.computeIfAbsent(gram, k -> new Postings()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document
+     * @param id Document ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index, treating the last word of the term as a prefix
+     * @param term Search term
+     * @param offset Number of ranked results to skip
+     * @param limit Maximum number of results to return
+     * @return Document IDs, best match first
+     */
+    public List<Long> search(String term, int offset, int limit) {
+        Set<Long> queryGrams = trigrams(term, true);
+        if (queryGrams.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int needed = queryGrams.size() <= 3
+                ? queryGrams.size()
+                : (int) Math.ceil(queryGrams.size() * MIN_SIMILARITY);
+        int keep = offset + limit;
+
+        lock.readLock().lock();
+        try {
+            int[] scores = new int[size];
+            for (Long gram : queryGrams) {
+                Postings list = postings.get(gram);
+                if (list != null) {
+                    for (int i = 0; i < list.size; i++) {
+                        scores[list.values[i]]++;
+                    }
+                }
+            }
+
+            // Bounded max-heap over packed sort keys keeps the best 'keep' documents
+            long[] heap = new long[Math.min(keep, size)];
+            int heapSize = 0;
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                if (scores[ordinal] < needed || deleted.get(ordinal)) {
+                    continue;
+                }
+                long key = ((long) (queryGrams.size() - scores[ordinal]) << 48)
+                        | ((long) Math.min(gramCounts[ordinal], 0xFFFF) << 32)
+                        | ordinal;
+                if (heapSize < heap.length) {
+                    heap[heapSize] = key;
+                    siftUp(heap, heapSize++);
+                } else if (heap.length > 0 && key < heap[0]) {
+                    heap[0] = key;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            long[] ranked = new long[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ranked[i] = heap[0];
+                heap[0] = heap[i];
+                siftDown(heap, i);
+            }
+            List<Long> result = new ArrayList<>();
+            for (int i = offset; i < ranked.length; i++) {
+                result.add(ids[(int) (ranked[i] & 0xFFFFFFFFL)]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of live documents
+     * @return Document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        deleted.set(ordinal);
+        deletedCount++;
+        if (deletedCount >= MIN_TOMBSTONES_BEFORE_COMPACT && deletedCount * 2 >= size) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] remap = new int[size];
+        int live = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = live;
+                ids[live] = ids[ordinal];
+                gramCounts[live] = gramCounts[ordinal];
+                ordinals.put(ids[live], live);
+                live++;
+            }
+        }
+        postings.values().removeIf(list -> {
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                int mapped = remap[list.values[i]];
+                if (mapped >= 0) {
+                    list.values[kept++] = mapped;
+                }
+            }
+            list.size = kept;
+            return kept == 0;
+        });
+        size = live;
+        deletedCount = 0;
+        deleted.clear();
+    }
+
+    /**
+     * Split text into padded word trigrams, each packed into a long as three 16-bit chars
+     * @param text Text to split
+     * @param prefix If true, the last word gets no trailing padding so it matches as a prefix
+     * @return Distinct trigram keys
+     */
+    static Set<Long> trigrams(String text, boolean prefix) {
+        Set<Long> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int last = words.length - 1;
+        while (last >= 0 && words[last].isEmpty()) {
+            last--;
+        }
+        for (int w = 0; w <= last; w++) {
+            if (words[w].isEmpty()) {
+                continue;
+            }
+            String padded = "  " + words[w] + (prefix && w == last ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> nonNull(String[] fields) {
+        List<String> values = new ArrayList<>();
+        for (String field : fields) {
+            if (field != null) {
+                values.add(field);
+            }
+        }
+        return values;
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= heap[i]) {
+                break;
+            }
+            long tmp = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int largest = left;
+            if (left + 1 < size && heap[left + 1] > heap[left]) {
+                largest = left + 1;
+            }
+            if (heap[i] >= heap[largest]) {
+                break;
+            }
+            long tmp = heap[i];
+            heap[i] = heap[largest];
+            heap[largest] = tmp;
+            i = largest;
+        }
+    }
+
+    /**
+     * Growable list of ordinals, ascending
+     */
+    private static class Postings {
+        int[] values = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = ordinal;
+        }
+    }
+}
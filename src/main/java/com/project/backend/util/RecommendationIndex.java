@@ -0,0 +1,248 @@
+package com.project.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index for staffing recommendations.
+ * Posting lists map every skill to the available employees holding it and to the projects
+ * missing it. Recommending employees for a project is a counted union over the postings of the
+ * project's missing skills, and recommending projects for an employee the same over the
+ * employee's skills, so neither side is ever scanned in full.
+ */
+public class RecommendationIndex {
+
+    private final long[] employeeIds;
+    private final long[] projectIds;
+    // Per employee: skill IDs and proficiency levels; per project: missing skill IDs
+    private final long[][] employeeSkills;
+    private final int[][] employeeProficiency;
+    private final long[][] projectMissingSkills;
+    private final Map<Long, int[]> employeesBySkill;
+    private final Map<Long, int[]> projectsBySkill;
+    private final Map<Long, Integer> employeeOrdinals;
+    private final Map<Long, Integer> projectOrdinals;
+
+    private RecommendationIndex(long[] employeeIds, long[][] employeeSkills, int[][] employeeProficiency,
+                                long[] projectIds, long[][] projectMissingSkills) {
+        this.employeeIds = employeeIds;
+        this.employeeSkills = employeeSkills;
+        this.employeeProficiency = employeeProficiency;
+        this.projectIds = projectIds;
+        this.projectMissingSkills = projectMissingSkills;
+        this.employeeOrdinals = ordinals(employeeIds);
+        this.projectOrdinals = ordinals(projectIds);
+        this.employeesBySkill = postings(employeeSkills);
+        this.projectsBySkill = postings(projectMissingSkills);
+    }
+
+    /**
+     * Build an index from raw rows
+     * @param employeeSkillRows [employeeId, skillId, proficiencyLevel] rows of available employees
+     * @param missingSkillRows [projectId, skillId] rows, projects in the order they should be recommended
+     * @return The built index
+     */
+    public static RecommendationIndex build(List<Object[]> employeeSkillRows, List<Object[]> missingSkillRows) {
+        Map<Long, List<Object[]>> byEmployee = new HashMap<>();
+        List<Long> employeeOrder = new ArrayList<>();
+        for (Object[] row : employeeSkillRows) {
+            byEmployee.computeIfAbsent((Long) row[0], id -> {
+                employeeOrder.add(id);
+                return new ArrayList<>();
+            }).add(row);
+        }
+        employeeOrder.sort(null);
+        long[] employeeIds = new long[employeeOrder.size()];
+        long[][] employeeSkills = new long[employeeIds.length][];
+        int[][] employeeProficiency = new int[employeeIds.length][];
+        for (int e = 0; e < employeeIds.length; e++) {
+            employeeIds[e] = employeeOrder.get(e);
+            List<Object[]> rows = byEmployee.get(employeeIds[e]);
+            employeeSkills[e] = new long[rows.size()];
+            employeeProficiency[e] = new int[rows.size()];
+            for (int s = 0; s < rows.size(); s++) {
+                employeeSkills[e][s] = (Long) rows.get(s)[1];
+                employeeProficiency[e][s] = rows.get(s)[2] != null ? ((Number) rows.get(s)[2]).intValue() : 0;
+            }
+        }
+
+        Map<Long, List<Long>> byProject = new HashMap<>();
+        List<Long> projectOrder = new ArrayList<>();
+        for (Object[] row : missingSkillRows) {
+            byProject.computeIfAbsent((Long) row[0], id -> {
+                projectOrder.add(id);
+                return new ArrayList<>();
+            }).add((Long) row[1]);
+        }
+        long[] projectIds = new long[projectOrder.size()];
+        long[][] projectMissingSkills = new long[projectIds.length][];
+        for (int p = 0; p < projectIds.length; p++) {
+            projectIds[p] = projectOrder.get(p);
+            projectMissingSkills[p] = byProject.get(projectIds[p]).stream().mapToLong(Long::longValue).toArray();
+        }
+        return new RecommendationIndex(employeeIds, employeeSkills, employeeProficiency, projectIds, projectMissingSkills);
+    }
+
+    /**
+     * @return IDs of the projects missing at least one skill some available employee has,
+     *         in recommendation order
+     */
+    public long[] getStaffableProjectIds() {
+        return withPostings(projectIds, projectMissingSkills, employeesBySkill);
+    }
+
+    /**
+     * @return IDs of the available employees holding at least one skill some project is missing,
+     *         in ID order
+     */
+    public long[] getMatchingEmployeeIds() {
+        return withPostings(employeeIds, employeeSkills, projectsBySkill);
+    }
+
+    /**
+     * @param projectId Project ID
+     * @return Skills the project is missing, empty if none
+     */
+    public long[] getMissingSkills(long projectId) {
+        Integer ordinal = projectOrdinals.get(projectId);
+        return ordinal != null ? projectMissingSkills[ordinal].clone() : new long[0];
+    }
+
+    /**
+     * Rank available employees by how many of a project's missing skills they cover
+     * @param projectId Project ID
+     * @param limit Maximum number of employees
+     * @return Matches with the covered skills, most covered first, then by proficiency and ID
+     */
+    public List<Match> employeesFor(long projectId, int limit) {
+        Integer ordinal = projectOrdinals.get(projectId);
+        if (ordinal == null) {
+            return List.of();
+        }
+        return rank(projectMissingSkills[ordinal], employeesBySkill, employeeIds, limit, (e, skillId) -> {
+            long[] skills = employeeSkills[e];
+            for (int s = 0; s < skills.length; s++) {
+                if (skills[s] == skillId) {
+                    return employeeProficiency[e][s];
+                }
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * Rank the projects missing skills an available employee has
+     * @param employeeId Employee ID
+     * @param limit Maximum number of projects
+     * @return Matches with the skills the employee would bring, most first, then in project order
+     */
+    public List<Match> projectsFor(long employeeId, int limit) {
+        Integer ordinal = employeeOrdinals.get(employeeId);
+        if (ordinal == null) {
+            return List.of();
+        }
+        return rank(employeeSkills[ordinal], projectsBySkill, projectIds, limit, (p, skillId) -> 0);
+    }
+
+    /**
+     * Count over the postings of the given skills how often each target occurs
+     */
+    private static List<Match> rank(long[] skillIds, Map<Long, int[]> postings, long[] targetIds, int limit,
+                                    Weight weight) {
+        Map<Integer, Match> matches = new HashMap<>();
+        for (long skillId : skillIds) {
+            int[] posting = postings.get(skillId);
+            if (posting == null) {
+                continue;
+            }
+            for (int target : posting) {
+                Match match = matches.computeIfAbsent(target, t -> new Match(targetIds[t], t));
+                match.skillIds.add(skillId);
+                match.score += weight.of(target, skillId);
+            }
+        }
+        List<Match> ranked = new ArrayList<>(matches.values());
+        ranked.sort(Comparator.comparingInt((Match m) -> -m.skillIds.size())
+                .thenComparingInt(m -> -m.score)
+                .thenComparingInt(m -> m.ordinal));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, Math.max(0, limit))) : ranked;
+    }
+
+    /**
+     * Keep the IDs that have at least one skill with a posting on the other side
+     */
+    private static long[] withPostings(long[] ids, long[][] skillsByOrdinal, Map<Long, int[]> postings) {
+        long[] kept = new long[ids.length];
+        int count = 0;
+        for (int i = 0; i < ids.length; i++) {
+            for (long skillId : skillsByOrdinal[i]) {
+                if (postings.containsKey(skillId)) {
+                    kept[count++] = ids[i];
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    private static Map<Long, Integer> ordinals(long[] ids) {
+        Map<Long, Integer> ordinals = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            ordinals.put(ids[i], i);
+        }
+        return ordinals;
+    }
+
+    private static Map<Long, int[]> postings(long[][] skillsByOrdinal) {
+        Map<Long, List<Integer>> lists = new HashMap<>();
+        for (int i = 0; i < skillsByOrdinal.length; i++) {
+            for (long skillId : skillsByOrdinal[i]) {
+                lists.computeIfAbsent(skillId, s -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((skillId, list) -> postings.put(skillId, list.stream().mapToInt(Integer::intValue).toArray()));
+        return postings;
+    }
+
+    private interface Weight {
+        int of(int target, long skillId);
+    }
+
+    public static class Match {
+        private final long id;
+        private final int ordinal;
+        private final List<Long> skillIds = new ArrayList<>();
+        private int score;
+
+        Match(long id, int ordinal) {
+            this.id = id;
+            this.ordinal = ordinal;
+        }
+
+        /**
+         * @return ID of the matched employee or project
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * @return Missing skills the match covers
+         */
+        public List<Long> getSkillIds() {
+            return skillIds;
+        }
+
+        /**
+         * @return Summed proficiency in the covered skills for employees, 0 for projects
+         */
+        public int getScore() {
+            return score;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,531 @@
+package com.project.backend.util;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory aggregation cube over assignments and leaves.
+ * Base cells are keyed by project, month and status and hold three additive measures: headcount
+ * (assignments staffed in the month), allocation (sum of their allocation percentages) and leave
+ * days. Priority, skill and skill category are attributes of the project, so every query, whether
+ * it rolls up, drills down or slices, is one pass over the pre-aggregated cells.
+ * Leave days are split evenly over the projects the employee worked on that day, or booked
+ * without a project if there were none, so leave totals stay exact across projects.
+ * The facts of every employee are kept in compact form, which lets one employee be refreshed by
+ * subtracting their old contribution and adding the new one.
+ */
+public class ReportCube {
+
+    public static final String PROJECT = "project";
+    public static final String PRIORITY = "priority";
+    public static final String SKILL = "skill";
+    public static final String SKILL_CATEGORY = "skillCategory";
+    public static final String STATUS = "status";
+    public static final String YEAR = "year";
+    public static final String QUARTER = "quarter";
+    public static final String MONTH = "month";
+
+    public static final List<String> DIMENSIONS =
+            List.of(PROJECT, PRIORITY, SKILL, SKILL_CATEGORY, STATUS, YEAR, QUARTER, MONTH);
+
+    // Assignment statuses during which leave takes time away from a project
+    private static final Set<String> WORKED_STATUSES = Set.of("ACTIVE", "COMPLETED");
+
+    // Guards against open-ended or corrupt date ranges
+    private static final int MAX_MONTHS = 1200;
+    private static final int MAX_LEAVE_DAYS = 3660;
+
+    private static final int HEADCOUNT = 0;
+    private static final int ALLOCATION = 1;
+    private static final int LEAVE_DAYS = 2;
+
+    private static final Object FILTERED = new Object();
+
+    private final Map<Long, double[]> cells = new HashMap<>();
+    private final Map<Long, Facts> factsByEmployee = new HashMap<>();
+    private final Map<Long, ProjectInfo> projects = new HashMap<>();
+    private final Map<Long, SkillInfo> skills = new HashMap<>();
+    // Appended to while facts are collected outside the lock, and read by queries
+    private final List<String> statuses = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> statusOrdinals = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Start collecting the facts of one employee
+     * @return An empty fact set for {@link #replaceEmployee(long, Facts)}
+     */
+    public Facts newFacts() {
+        return new Facts();
+    }
+
+    /**
+     * Replace the contribution of one employee with a new set of facts
+     * @param employeeId Employee ID
+     * @param facts New facts, null or empty to remove the employee; the cube keeps a reference
+     */
+    public void replaceEmployee(long employeeId, Facts facts) {
+        lock.writeLock().lock();
+        try {
+            Facts old = facts == null || facts.isEmpty()
+                    ? factsByEmployee.remove(employeeId)
+                    : factsByEmployee.put(employeeId, facts);
+            if (old != null) {
+                contribute(old, -1);
+            }
+            if (facts != null && !facts.isEmpty()) {
+                contribute(facts, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Set the attributes of a project
+     * @param projectId Project ID
+     * @param name Project name
+     * @param priority Project priority, may be null
+     * @param skillIds Skills the project requires
+     */
+    public void setProject(long projectId, String name, Integer priority, Collection<Long> skillIds) {
+        long[] ids = skillIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        lock.writeLock().lock();
+        try {
+            projects.put(projectId, new ProjectInfo(name, priority, ids));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Set the attributes of a skill
+     * @param skillId Skill ID
+     * @param name Skill name
+     * @param category Skill category, may be null
+     */
+    public void setSkill(long skillId, String name, String category) {
+        lock.writeLock().lock();
+        try {
+            skills.put(skillId, new SkillInfo(name, category));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of non-empty base cells
+     */
+    public int cellCount() {
+        lock.readLock().lock();
+        try {
+            return cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregate the cells matching the filters to the requested dimensions
+     * @param groupBy Dimensions to group by, empty for a grand total
+     * @param filters Allowed values per dimension, compared as strings
+     * @param from First month to include, null for no lower bound
+     * @param to Last month to include, null for no upper bound
+     * @return Rows ordered by their dimension values, and totals over all matching cells
+     * @throws IllegalArgumentException if a dimension is unknown
+     */
+    public Result query(List<String> groupBy, Map<String, Set<String>> filters, YearMonth from, YearMonth to) {
+        for (String dimension : groupBy) {
+            requireDimension(dimension);
+        }
+        for (String dimension : filters.keySet()) {
+            requireDimension(dimension);
+        }
+        int fromMonth = from != null ? from.getYear() * 12 + from.getMonthValue() - 1 : Integer.MIN_VALUE;
+        int toMonth = to != null ? to.getYear() * 12 + to.getMonthValue() - 1 : Integer.MAX_VALUE;
+        int[] dims = groupBy.stream().mapToInt(DIMENSIONS::indexOf).toArray();
+
+        Map<List<Object>, double[]> groups = new HashMap<>();
+        double[] totals = new double[3];
+        int matched = 0;
+        lock.readLock().lock();
+        try {
+            // Dimension values depend only on the project, the month or the status of a cell,
+            // so they are resolved and filtered once per distinct member rather than per cell
+            Map<Long, Object[][]> projectMembers = new HashMap<>();
+            Map<Integer, Object[]> monthMembers = new HashMap<>();
+            Object[] statusMembers = new Object[statuses.size()];
+            for (int s = 0; s < statusMembers.length; s++) {
+                Object[] values = new Object[DIMENSIONS.size()];
+                values[4] = statuses.get(s);
+                statusMembers[s] = matches(values, filters, 4) ? values[4] : FILTERED;
+            }
+
+            for (Map.Entry<Long, double[]> cell : cells.entrySet()) {
+                long key = cell.getKey();
+                int month = (int) ((key >>> 8) & 0xFFFFF);
+                Object status = statusMembers[(int) (key & 0xFF)];
+                if (month < fromMonth || month > toMonth || status == FILTERED) {
+                    continue;
+                }
+                Object[] monthMember = monthMembers.computeIfAbsent(month, m -> monthMember(m, filters));
+                if (monthMember == null) {
+                    continue;
+                }
+                Object[][] projectMember = projectMembers.computeIfAbsent((key >>> 28) - 1,
+                        projectId -> projectMembers(projectId, dims, filters));
+                if (projectMember.length == 0) {
+                    continue;
+                }
+
+                double[] measures = cell.getValue();
+                add(totals, measures);
+                matched++;
+                // One group per skill or category of the project when those are grouped by, otherwise one
+                for (Object[] member : projectMember) {
+                    Object[] groupKey = new Object[dims.length];
+                    for (int d = 0; d < dims.length; d++) {
+                        int dimension = dims[d];
+                        groupKey[d] = dimension < 4 ? member[dimension] : dimension == 4 ? status : monthMember[dimension - 5];
+                    }
+                    add(groups.computeIfAbsent(Arrays.asList(groupKey), k -> new double[3]), measures);
+                }
+            }
+
+            List<Map.Entry<List<Object>, double[]>> sorted = new ArrayList<>(groups.entrySet());
+            sorted.sort(Map.Entry.comparingByKey(ReportCube::compareKeys));
+            List<Map<String, Object>> rows = new ArrayList<>(sorted.size());
+            for (Map.Entry<List<Object>, double[]> group : sorted) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int d = 0; d < groupBy.size(); d++) {
+                    Object value = group.getKey().get(d);
+                    row.put(groupBy.get(d), value);
+                    if (PROJECT.equals(groupBy.get(d))) {
+                        ProjectInfo project = value != null ? projects.get((Long) value) : null;
+                        row.put("projectName", project != null ? project.name : null);
+                    } else if (SKILL.equals(groupBy.get(d))) {
+                        SkillInfo skill = value != null ? skills.get((Long) value) : null;
+                        row.put("skillName", skill != null ? skill.name : null);
+                    }
+                }
+                putMeasures(row, group.getValue());
+                rows.add(row);
+            }
+            Map<String, Object> totalRow = new LinkedHashMap<>();
+            putMeasures(totalRow, totals);
+            return new Result(rows, totalRow, matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void contribute(Facts facts, int sign) {
+        for (int a = 0; a < facts.assignments; a++) {
+            int first = monthOf(facts.assignmentStart[a]);
+            int last = Math.min(monthOf(facts.assignmentEnd[a]), first + MAX_MONTHS);
+            for (int month = first; month <= last; month++) {
+                double[] measures = cellFor(facts.projectIds[a], month, facts.assignmentStatus[a]);
+                measures[HEADCOUNT] += sign;
+                measures[ALLOCATION] += sign * facts.allocation[a];
+                prune(facts.projectIds[a], month, facts.assignmentStatus[a], measures);
+            }
+        }
+        long[] worked = new long[facts.assignments];
+        for (int l = 0; l < facts.leaves; l++) {
+            int last = Math.min(facts.leaveEnd[l], facts.leaveStart[l] + MAX_LEAVE_DAYS);
+            for (int day = facts.leaveStart[l]; day <= last; day++) {
+                int count = 0;
+                for (int a = 0; a < facts.assignments; a++) {
+                    if (facts.worked[a] && facts.assignmentStart[a] <= day && day <= facts.assignmentEnd[a]) {
+                        worked[count++] = facts.projectIds[a];
+                    }
+                }
+                int month = monthOf(day);
+                if (count == 0) {
+                    addLeave(-1, month, facts.leaveStatus[l], sign);
+                }
+                for (int w = 0; w < count; w++) {
+                    addLeave(worked[w], month, facts.leaveStatus[l], sign / (double) count);
+                }
+            }
+        }
+    }
+
+    private void addLeave(long projectId, int month, int status, double days) {
+        double[] measures = cellFor(projectId, month, status);
+        measures[LEAVE_DAYS] += days;
+        prune(projectId, month, status, measures);
+    }
+
+    private double[] cellFor(long projectId, int month, int status) {
+        return cells.computeIfAbsent(cellKey(projectId, month, status), k -> new double[3]);
+    }
+
+    /**
+     * Drop a cell once every contribution to it has been subtracted again
+     */
+    private void prune(long projectId, int month, int status, double[] measures) {
+        if (Math.abs(measures[HEADCOUNT]) < 1e-9 && Math.abs(measures[ALLOCATION]) < 1e-6
+                && Math.abs(measures[LEAVE_DAYS]) < 1e-6) {
+            cells.remove(cellKey(projectId, month, status));
+        }
+    }
+
+    private synchronized int statusOrdinal(String status) {
+        String name = status != null ? status : "UNKNOWN";
+        Integer ordinal = statusOrdinals.get(name);
+        if (ordinal == null) {
+            if (statuses.size() > 0xFF) {
+                throw new IllegalStateException("Too many distinct statuses");
+            }
+            ordinal = statuses.size();
+            statusOrdinals.put(name, ordinal);
+            statuses.add(name);
+        }
+        return ordinal;
+    }
+
+    private static long cellKey(long projectId, int month, int status) {
+        return ((projectId + 1) << 28) | ((long) (month & 0xFFFFF) << 8) | status;
+    }
+
+    private static int monthOf(int epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return Math.max(0, date.getYear() * 12 + date.getMonthValue() - 1);
+    }
+
+    /**
+     * Resolve the year, quarter and month members of a month
+     * @return [year, quarter, month], or null if the month is filtered out
+     */
+    private static Object[] monthMember(int month, Map<String, Set<String>> filters) {
+        Object[] values = new Object[DIMENSIONS.size()];
+        values[5] = month / 12;
+        values[6] = month / 12 + "-Q" + (month % 12 / 3 + 1);
+        values[7] = YearMonth.of(month / 12, month % 12 + 1).toString();
+        return matches(values, filters, 5, 6, 7) ? Arrays.copyOfRange(values, 5, 8) : null;
+    }
+
+    /**
+     * Resolve the project, priority, skill and category members a cell of a project is counted under.
+     * A project without required skills, or a cell without a project, counts under skill null.
+     * @return Distinct [project, priority, skill, category] members as far as the grouped
+     *         dimensions tell them apart, empty if the project is filtered out
+     */
+    private Object[][] projectMembers(long projectId, int[] dims, Map<String, Set<String>> filters) {
+        ProjectInfo project = projectId >= 0 ? projects.get(projectId) : null;
+        Object[] values = new Object[DIMENSIONS.size()];
+        values[0] = projectId >= 0 ? projectId : null;
+        values[1] = project != null ? project.priority : null;
+        if (!matches(values, filters, 0, 1)) {
+            return new Object[0][];
+        }
+        Map<List<Object>, Object[]> members = new LinkedHashMap<>();
+        long[] skillIds = project != null ? project.skillIds : new long[0];
+        for (long skillId : skillIds) {
+            SkillInfo skill = skills.get(skillId);
+            values[2] = skillId;
+            values[3] = skill != null ? skill.category : null;
+            if (matches(values, filters, 2, 3)) {
+                members.putIfAbsent(projection(values, dims), Arrays.copyOf(values, 4));
+            }
+        }
+        if (skillIds.length == 0) {
+            values[2] = null;
+            values[3] = null;
+            if (matches(values, filters, 2, 3)) {
+                members.put(projection(values, dims), Arrays.copyOf(values, 4));
+            }
+        }
+        return members.values().toArray(new Object[0][]);
+    }
+
+    private static List<Object> projection(Object[] values, int[] dims) {
+        List<Object> projected = new ArrayList<>(dims.length);
+        for (int d : dims) {
+            if (d < 4) {
+                projected.add(values[d]);
+            }
+        }
+        return projected;
+    }
+
+    private static boolean matches(Object[] values, Map<String, Set<String>> filters, int... dimensions) {
+        for (int d : dimensions) {
+            Set<String> allowed = filters.get(DIMENSIONS.get(d));
+            if (allowed != null && !allowed.contains(String.valueOf(values[d]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void add(double[] target, double[] measures) {
+        for (int m = 0; m < target.length; m++) {
+            target[m] += measures[m];
+        }
+    }
+
+    private static void putMeasures(Map<String, Object> row, double[] measures) {
+        row.put("headcount", Math.round(measures[HEADCOUNT]));
+        row.put("allocation", Math.round(measures[ALLOCATION] * 100) / 100.0);
+        row.put("leaveDays", Math.round(measures[LEAVE_DAYS] * 100) / 100.0);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(List<Object> a, List<Object> b) {
+        Comparator<Object> nullsLast = Comparator.nullsLast((x, y) -> ((Comparable) x).compareTo(y));
+        for (int i = 0; i < a.size(); i++) {
+            int c = nullsLast.compare(a.get(i), b.get(i));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    private static void requireDimension(String dimension) {
+        if (!DIMENSIONS.contains(dimension)) {
+            throw new IllegalArgumentException("Unknown dimension: " + dimension);
+        }
+    }
+
+    /**
+     * Assignments and leaves of one employee, with dates as epoch days and statuses as ordinals
+     */
+    public class Facts {
+        private long[] projectIds = new long[4];
+        private int[] assignmentStart = new int[4];
+        private int[] assignmentEnd = new int[4];
+        private float[] allocation = new float[4];
+        private int[] assignmentStatus = new int[4];
+        private boolean[] worked = new boolean[4];
+        private int assignments;
+        private int[] leaveStart = new int[2];
+        private int[] leaveEnd = new int[2];
+        private int[] leaveStatus = new int[2];
+        private int leaves;
+
+        private Facts() {
+        }
+
+        /**
+         * Add an assignment; assignments without a project or start date are ignored
+         * @param projectId Project ID
+         * @param start Start date
+         * @param end End date, null for the start date
+         * @param allocationPercentage Allocation percentage, null for 100
+         * @param status Assignment status
+         */
+        public void addAssignment(Long projectId, LocalDate start, LocalDate end, Float allocationPercentage,
+                                  String status) {
+            if (projectId == null || start == null) {
+                return;
+            }
+            if (assignments == projectIds.length) {
+                int size = assignments * 2;
+                projectIds = Arrays.copyOf(projectIds, size);
+                assignmentStart = Arrays.copyOf(assignmentStart, size);
+                assignmentEnd = Arrays.copyOf(assignmentEnd, size);
+                allocation = Arrays.copyOf(allocation, size);
+                assignmentStatus = Arrays.copyOf(assignmentStatus, size);
+                worked = Arrays.copyOf(worked, size);
+            }
+            projectIds[assignments] = projectId;
+            assignmentStart[assignments] = (int) start.toEpochDay();
+            assignmentEnd[assignments] = (int) (end != null && !end.isBefore(start) ? end : start).toEpochDay();
+            allocation[assignments] = allocationPercentage != null ? allocationPercentage : 100f;
+            assignmentStatus[assignments] = statusOrdinal(status);
+            worked[assignments] = WORKED_STATUSES.contains(status);
+            assignments++;
+        }
+
+        /**
+         * Add a leave request; requests without dates are ignored
+         * @param start First day of leave
+         * @param end Last day of leave
+         * @param status Leave status
+         */
+        public void addLeave(LocalDate start, LocalDate end, String status) {
+            if (start == null || end == null || end.isBefore(start)) {
+                return;
+            }
+            if (leaves == leaveStart.length) {
+                int size = leaves * 2;
+                leaveStart = Arrays.copyOf(leaveStart, size);
+                leaveEnd = Arrays.copyOf(leaveEnd, size);
+                leaveStatus = Arrays.copyOf(leaveStatus, size);
+            }
+            leaveStart[leaves] = (int) start.toEpochDay();
+            leaveEnd[leaves] = (int) end.toEpochDay();
+            leaveStatus[leaves] = statusOrdinal(status);
+            leaves++;
+        }
+
+        boolean isEmpty() {
+            return assignments == 0 && leaves == 0;
+        }
+    }
+
+    public static class Result {
+        private final List<Map<String, Object>> rows;
+        private final Map<String, Object> totals;
+        private final int cells;
+
+        Result(List<Map<String, Object>> rows, Map<String, Object> totals, int cells) {
+            this.rows = rows;
+            this.totals = totals;
+            this.cells = cells;
+        }
+
+        public List<Map<String, Object>> getRows() {
+            return rows;
+        }
+
+        /**
+         * @return Measures over all matching cells, counting every cell once even when grouped by skill
+         */
+        public Map<String, Object> getTotals() {
+            return totals;
+        }
+
+        /**
+         * @return Number of base cells that matched the filters
+         */
+        public int getCells() {
+            return cells;
+        }
+    }
+
+    private static class ProjectInfo {
+        final String name;
+        final Integer priority;
+        final long[] skillIds;
+
+        ProjectInfo(String name, Integer priority, long[] skillIds) {
+            this.name = name;
+            this.priority = priority;
+            this.skillIds = skillIds;
+        }
+    }
+
+    private static class SkillInfo {
+        final String name;
+        final String category;
+
+        SkillInfo(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+    }
+}
\ No newline at end of file
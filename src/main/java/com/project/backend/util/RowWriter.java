@@ -0,0 +1,25 @@
+package com.project.backend.util;
+
+import java.io.IOException;
+
+/**
+ * Writes a table to an output stream one row at a time, without keeping rows in memory.
+ */
+public interface RowWriter {
+
+    /**
+     * Write one row
+     * @param values Cell values; null is written as an empty cell
+     */
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Send everything written so far to the underlying stream
+     */
+    void flush() throws IOException;
+
+    /**
+     * Complete the document and flush it; the underlying stream is left open
+     */
+    void finish() throws IOException;
+}
\ No newline at end of file
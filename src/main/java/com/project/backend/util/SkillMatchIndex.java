@@ -0,0 +1,298 @@
+package com.project.backend.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory skill index used for candidate matching.
+ * Every skill gets a dense ordinal and every employee's skills are stored as a
+ * bitset over those ordinals, packed into one flat long[] so that scoring a
+ * candidate is a handful of AND + popcount operations.
+ */
+public class SkillMatchIndex {
+
+    private final Map<Long, Integer> skillOrdinals;
+    private final int words;
+    private final long[] employeeIds;
+    private final Map<Long, Integer> employeeOrdinals;
+    private final long[] skillBits;
+    private final AtomicLongArray available;
+
+    private SkillMatchIndex(Map<Long, Integer> skillOrdinals, long[] employeeIds,
+                            Map<Long, Integer> employeeOrdinals, long[] skillBits) {
+        this.skillOrdinals = skillOrdinals;
+        this.words = Math.max(1, (skillOrdinals.size() + 63) >>> 6);
+        this.employeeIds = employeeIds;
+        this.employeeOrdinals = employeeOrdinals;
+        this.skillBits = skillBits;
+        this.available = new AtomicLongArray(Math.max(1, (employeeIds.length + 63) >>> 6));
+    }
+
+    /**
+     * Build an index from raw ID data
+     * @param skillIds All known skill IDs
+     * @param employeeSkillPairs [employeeId, skillId] pairs
+     * @param availableEmployeeIds IDs of employees currently available
+     * @return The built index
+     */
+    public static SkillMatchIndex build(List<Long> skillIds, List<Object[]> employeeSkillPairs,
+                                        Collection<Long> availableEmployeeIds) {
+        Map<Long, Integer> skillOrdinals = new HashMap<>(skillIds.size() * 2);
+        for (Long skillId : skillIds) {
+            skillOrdinals.putIfAbsent(skillId, skillOrdinals.size());
+        }
+        int words = Math.max(1, (skillOrdinals.size() + 63) >>> 6);
+
+        Map<Long, Integer> employeeOrdinals = new HashMap<>();
+        List<Long> employeeIdList = new ArrayList<>();
+        for (Object[] pair : employeeSkillPairs) {
+            Long employeeId = (Long) pair[0];
+            if (employeeOrdinals.putIfAbsent(employeeId, employeeIdList.size()) == null) {
+                employeeIdList.add(employeeId);
+            }
+        }
+        for (Long employeeId : availableEmployeeIds) {
+            if (employeeOrdinals.putIfAbsent(employeeId, employeeIdList.size()) == null) {
+                employeeIdList.add(employeeId);
+            }
+        }
+
+        long[] employeeIds = new long[employeeIdList.size()];
+        for (int i = 0; i < employeeIds.length; i++) {
+            employeeIds[i] = employeeIdList.get(i);
+        }
+
+        long[] skillBits = new long[employeeIds.length * words];
+        for (Object[] pair : employeeSkillPairs) {
+            Integer skill = skillOrdinals.get((Long) pair[1]);
+            if (skill == null) {
+                continue;
+            }
+            int employee = employeeOrdinals.get((Long) pair[0]);
+            skillBits[employee * words + (skill >>> 6)] |= 1L << skill;
+        }
+
+        SkillMatchIndex index = new SkillMatchIndex(skillOrdinals, employeeIds, employeeOrdinals, skillBits);
+        for (Long employeeId : availableEmployeeIds) {
+            index.setAvailable(employeeId, true);
+        }
+        return index;
+    }
+
+    /**
+     * Build the query bitset for a set of required skills
+     * @param skillIds Required skill IDs
+     * @return The bitset; unknown skills are ignored
+     */
+    public long[] toBits(Collection<Long> skillIds) {
+        long[] bits = new long[words];
+        for (Long skillId : skillIds) {
+            Integer skill = skillOrdinals.get(skillId);
+            if (skill != null) {
+                bits[skill >>> 6] |= 1L << skill;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Update the availability flag of an employee
+     * @param employeeId Employee ID
+     * @param isAvailable Availability status
+     * @return False if the employee is not part of this index
+     */
+    public boolean setAvailable(Long employeeId, boolean isAvailable) {
+        Integer ordinal = employeeOrdinals.get(employeeId);
+        if (ordinal == null) {
+            return false;
+        }
+        int word = ordinal >>> 6;
+        long mask = 1L << ordinal;
+        long current;
+        do {
+            current = available.get(word);
+        } while (!available.compareAndSet(word, current, isAvailable ? current | mask : current & ~mask));
+        return true;
+    }
+
+    /**
+     * Find the best matching available employees
+     * @param required Required skill bitset from {@link #toBits(Collection)}
+     * @param limit Maximum number of matches to return
+     * @return Matches sorted by score descending, then employee ID ascending
+     */
+    public List<Match> topMatches(long[] required, int limit) {
+        return topMatches(required, limit, employeeId -> true);
+    }
+
+    /**
+     * Find the best matching available employees that pass a filter
+     * @param required Required skill bitset from {@link #toBits(Collection)}
+     * @param limit Maximum number of matches to return
+     * @param filter Extra check on the employee ID, applied only to employees with a non-zero score
+     * @return Matches sorted by score descending, then employee ID ascending
+     */
+    public List<Match> topMatches(long[] required, int limit, LongPredicate filter) {
+        int capacity = Math.min(limit, employeeIds.length);
+        if (capacity <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Bounded min-heap: the root is always the weakest match kept so far
+        int[] heapOrdinals = new int[capacity];
+        int[] heapScores = new int[capacity];
+        int size = 0;
+
+        for (int employee = 0; employee < employeeIds.length; employee++) {
+            if ((available.get(employee >>> 6) & (1L << employee)) == 0) {
+                continue;
+            }
+            int score = 0;
+            int offset = employee * words;
+            for (int w = 0; w < words; w++) {
+                score += Long.bitCount(skillBits[offset + w] & required[w]);
+            }
+            if (score == 0) {
+                continue;
+            }
+            if (size == capacity && !isWeaker(heapScores[0], heapOrdinals[0], score, employee)) {
+                continue;
+            }
+            if (!filter.test(employeeIds[employee])) {
+                continue;
+            }
+            if (size < capacity) {
+                heapOrdinals[size] = employee;
+                heapScores[size] = score;
+                siftUp(heapOrdinals, heapScores, size++);
+            } else {
+                heapOrdinals[0] = employee;
+                heapScores[0] = score;
+                siftDown(heapOrdinals, heapScores, size);
+            }
+        }
+
+        Match[] matches = new Match[size];
+        for (int i = size - 1; i >= 0; i--) {
+            matches[i] = new Match(employeeIds[heapOrdinals[0]], heapScores[0]);
+            heapOrdinals[0] = heapOrdinals[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapOrdinals, heapScores, i);
+        }
+        return List.of(matches);
+    }
+
+    /**
+     * Check if an employee has a skill
+     * @param employeeId Employee ID
+     * @param skillId Skill ID
+     * @return False if either is not part of this index
+     */
+    public boolean hasSkill(long employeeId, Long skillId) {
+        Integer employee = employeeOrdinals.get(employeeId);
+        Integer skill = skillOrdinals.get(skillId);
+        return employee != null && skill != null
+                && (skillBits[employee * words + (skill >>> 6)] & (1L << skill)) != 0;
+    }
+
+    /**
+     * Get the number of employees in this index
+     * @return Employee count
+     */
+    public int size() {
+        return employeeIds.length;
+    }
+
+    private boolean isWeaker(int scoreA, int ordinalA, int scoreB, int ordinalB) {
+        if (scoreA != scoreB) {
+            return scoreA < scoreB;
+        }
+        return employeeIds[ordinalA] > employeeIds[ordinalB];
+    }
+
+    private void siftUp(int[] ordinals, int[] scores, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!isWeaker(scores[i], ordinals[i], scores[parent], ordinals[parent])) {
+                break;
+            }
+            swap(ordinals, scores, i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] ordinals, int[] scores, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && isWeaker(scores[right], ordinals[right], scores[left], ordinals[left])) {
+                weakest = right;
+            }
+            if (!isWeaker(scores[weakest], ordinals[weakest], scores[i], ordinals[i])) {
+                break;
+            }
+            swap(ordinals, scores, i, weakest);
+            i = weakest;
+        }
+    }
+
+    private static void swap(int[] ordinals, int[] scores, int a, int b) {
+        int ordinal = ordinals[a];
+        ordinals[a] = ordinals[b];
+        ordinals[b] = ordinal;
+        int score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    /**
+     * A single candidate match
+     */
+    public static class Match {
+        private final long employeeId;
+        private final int matchedSkills;
+        private final double substituteScore;
+
+        public Match(long employeeId, int matchedSkills) {
+            this(employeeId, matchedSkills, 0.0);
+        }
+
+        /**
+         * @param employeeId Employee ID
+         * @param matchedSkills Number of required skills the employee has
+         * @param substituteScore Penalized similarity of the employee's skills to required skills
+         *                        they lack, 0 for exact matches
+         */
+        public Match(long employeeId, int matchedSkills, double substituteScore) {
+            this.employeeId = employeeId;
+            this.matchedSkills = matchedSkills;
+            this.substituteScore = substituteScore;
+        }
+
+        public long getEmployeeId() {
+            return employeeId;
+        }
+
+        public int getMatchedSkills() {
+            return matchedSkills;
+        }
+
+        public double getSubstituteScore() {
+            return substituteScore;
+        }
+
+        public boolean isNearMiss() {
+            return matchedSkills == 0 && substituteScore > 0;
+        }
+    }
+}
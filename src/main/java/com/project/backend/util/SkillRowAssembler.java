@@ -0,0 +1,44 @@
+package com.project.backend.util;
+
+import com.project.backend.dto.SkillDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Attaches skill lists to employee or project DTOs from one batched query,
+ * instead of letting every DTO load its own skills.
+ */
+public final class SkillRowAssembler {
+
+    private SkillRowAssembler() {
+    }
+
+    /**
+     * Attach skills to a list of DTOs
+     * @param owners DTOs to fill; every owner gets a list, possibly empty
+     * @param idGetter Function returning the ID of an owner
+     * @param skillsSetter Function setting the skill list of an owner
+     * @param rows [ownerId, skillId, name, category, description, level] rows
+     */
+    public static <T> void attach(List<T> owners, Function<T, Long> idGetter,
+                                  BiConsumer<T, List<SkillDTO>> skillsSetter, List<Object[]> rows) {
+        Map<Long, List<SkillDTO>> skillsByOwner = new HashMap<>();
+        for (T owner : owners) {
+            List<SkillDTO> skills = new ArrayList<>();
+            skillsByOwner.put(idGetter.apply(owner), skills);
+            skillsSetter.accept(owner, skills);
+        }
+        for (Object[] row : rows) {
+            List<SkillDTO> skills = skillsByOwner.get((Long) row[0]);
+            if (skills != null) {
+                skills.add(new SkillDTO((Long) row[1], (String) row[2], (String) row[3], (String) row[4],
+                        row[5] != null ? ((Number) row[5]).intValue() : 0));
+            }
+        }
+    }
+}
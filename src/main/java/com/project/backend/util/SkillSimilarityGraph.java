@@ -0,0 +1,197 @@
+package com.project.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Skill similarity derived from co-occurrence: two skills are similar when the same
+ * employees tend to have both. For every skill the graph keeps a sparse row of co-occurrence
+ * counts with the skills it appears together with, plus the number of employees that have it.
+ * Similarity is the cosine of the two skills' employee sets,
+ * co(a, b) / sqrt(n(a) * n(b)), computed on read from those counts.
+ * The initial build counts pairs in parallel over chunks of employees; afterwards a change to
+ * one employee's skills only adjusts the pairs that employee adds or removes.
+ */
+public class SkillSimilarityGraph {
+
+    private static final int BUILD_CHUNK_SIZE = 2048;
+
+    private final Map<Long, Map<Long, Integer>> cooccurrence = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> employeesPerSkill = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> skillsByEmployee = new ConcurrentHashMap<>();
+
+    private SkillSimilarityGraph() {
+    }
+
+    /**
+     * Build a graph from raw ID data
+     * @param employeeSkillPairs [employeeId, skillId] pairs
+     * @return The built graph
+     */
+    public static SkillSimilarityGraph build(List<Object[]> employeeSkillPairs) {
+        SkillSimilarityGraph graph = new SkillSimilarityGraph();
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        for (Object[] pair : employeeSkillPairs) {
+            grouped.computeIfAbsent((Long) pair[0], k -> new ArrayList<>()).add((Long) pair[1]);
+        }
+        List<long[]> skillSets = new ArrayList<>(grouped.size());
+        grouped.forEach((employeeId, skills) -> {
+            long[] sorted = distinctSorted(skills);
+            graph.skillsByEmployee.put(employeeId, sorted);
+            skillSets.add(sorted);
+        });
+
+        // Each chunk counts into its own map; the partial maps are merged at the end
+        int chunks = (skillSets.size() + BUILD_CHUNK_SIZE - 1) / BUILD_CHUNK_SIZE;
+        Map<Long, Integer> pairCounts = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    Map<Long, Integer> counts = new HashMap<>();
+                    int end = Math.min(skillSets.size(), (chunk + 1) * BUILD_CHUNK_SIZE);
+                    for (int i = chunk * BUILD_CHUNK_SIZE; i < end; i++) {
+                        countPairs(skillSets.get(i), counts);
+                    }
+                    return counts;
+                })
+                .reduce((x, y) -> {
+                    // Merge the smaller map into the larger one
+                    Map<Long, Integer> target = x.size() >= y.size() ? x : y;
+                    Map<Long, Integer> source = target == x ? y : x;
+                    source.forEach((key, count) -> target.merge(key, count, Integer::sum));
+                    return target;
+                })
+                .orElseGet(HashMap::new);
+
+        for (long[] skills : skillSets) {
+            for (long skillId : skills) {
+                graph.employeesPerSkill.merge(skillId, 1, Integer::sum);
+            }
+        }
+        // Pair keys hold skill IDs small enough for 32 bits each, as counted in countPairs
+        pairCounts.forEach((key, count) -> {
+            long a = key >>> 32;
+            long b = key & 0xFFFFFFFFL;
+            graph.row(a).put(b, count);
+            graph.row(b).put(a, count);
+        });
+        return graph;
+    }
+
+    /**
+     * Get the similarity of two skills
+     * @param a Skill ID
+     * @param b Skill ID
+     * @return Cosine similarity between 0 and 1; 1 for the same skill
+     */
+    public double similarity(long a, long b) {
+        if (a == b) {
+            return 1.0;
+        }
+        Map<Long, Integer> row = cooccurrence.get(a);
+        Integer count = row != null ? row.get(b) : null;
+        return count != null ? cosine(count, a, b) : 0.0;
+    }
+
+    /**
+     * Get the skills most similar to a skill
+     * @param skillId Skill ID
+     * @param minSimilarity Smallest similarity to include
+     * @param limit Maximum number of neighbors
+     * @return Skill ID to similarity, most similar first
+     */
+    public Map<Long, Double> neighbors(long skillId, double minSimilarity, int limit) {
+        Map<Long, Integer> row = cooccurrence.get(skillId);
+        if (row == null || limit <= 0) {
+            return Map.of();
+        }
+        List<Map.Entry<Long, Double>> scored = new ArrayList<>();
+        row.forEach((other, count) -> {
+            double similarity = cosine(count, skillId, other);
+            if (similarity >= minSimilarity) {
+                scored.add(Map.entry(other, similarity));
+            }
+        });
+        scored.sort((x, y) -> !x.getValue().equals(y.getValue())
+                ? Double.compare(y.getValue(), x.getValue())
+                : Long.compare(x.getKey(), y.getKey()));
+        Map<Long, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<Long, Double> entry : scored.subList(0, Math.min(limit, scored.size()))) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Replace the skills of one employee, adjusting only the counts of the pairs that changed
+     * @param employeeId Employee ID
+     * @param skillIds The employee's current skills; empty if the employee was removed
+     */
+    public synchronized void updateEmployee(Long employeeId, Collection<Long> skillIds) {
+        long[] before = skillsByEmployee.getOrDefault(employeeId, new long[0]);
+        long[] after = distinctSorted(skillIds);
+        if (Arrays.equals(before, after)) {
+            return;
+        }
+        adjust(before, -1);
+        adjust(after, 1);
+        if (after.length > 0) {
+            skillsByEmployee.put(employeeId, after);
+        } else {
+            skillsByEmployee.remove(employeeId);
+        }
+    }
+
+    /**
+     * Get the number of skills with at least one neighbor
+     * @return Skill count
+     */
+    public int size() {
+        return cooccurrence.size();
+    }
+
+    private double cosine(int count, long a, long b) {
+        int na = employeesPerSkill.getOrDefault(a, 0);
+        int nb = employeesPerSkill.getOrDefault(b, 0);
+        return na > 0 && nb > 0 ? count / Math.sqrt((double) na * nb) : 0.0;
+    }
+
+    private Map<Long, Integer> row(long skillId) {
+        return cooccurrence.computeIfAbsent(skillId, k -> new ConcurrentHashMap<>());
+    }
+
+    private void adjust(long[] skills, int delta) {
+        for (int i = 0; i < skills.length; i++) {
+            employeesPerSkill.merge(skills[i], delta, (x, y) -> x + y == 0 ? null : x + y);
+            for (int j = i + 1; j < skills.length; j++) {
+                adjustPair(skills[i], skills[j], delta);
+                adjustPair(skills[j], skills[i], delta);
+            }
+        }
+    }
+
+    private void adjustPair(long a, long b, int delta) {
+        Map<Long, Integer> row = row(a);
+        row.merge(b, delta, (x, y) -> x + y == 0 ? null : x + y);
+        if (row.isEmpty()) {
+            cooccurrence.remove(a);
+        }
+    }
+
+    private static void countPairs(long[] skills, Map<Long, Integer> counts) {
+        for (int i = 0; i < skills.length; i++) {
+            for (int j = i + 1; j < skills.length; j++) {
+                counts.merge((skills[i] << 32) | skills[j], 1, Integer::sum);
+            }
+        }
+    }
+
+    private static long[] distinctSorted(Collection<Long> skillIds) {
+        return skillIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.project.backend.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared progress handle for long running solvers.
+ * The solver reports work done, callers can poll it and request an early stop.
+ */
+public class SolverProgress {
+
+    private final AtomicLong completed = new AtomicLong();
+    private volatile long total;
+    private volatile boolean stopRequested;
+    private volatile boolean finished;
+
+    public void start(long total) {
+        this.total = total;
+        this.completed.set(0);
+        this.finished = false;
+    }
+
+    public void advance(long amount) {
+        completed.addAndGet(amount);
+    }
+
+    public void finish() {
+        this.finished = true;
+    }
+
+    public void requestStop() {
+        this.stopRequested = true;
+    }
+
+    public boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the completed fraction of the work
+     * @return A value between 0 and 1
+     */
+    public double getFraction() {
+        long currentTotal = total;
+        return currentTotal > 0 ? Math.min(1.0, (double) completed.get() / currentTotal) : (finished ? 1.0 : 0.0);
+    }
+}
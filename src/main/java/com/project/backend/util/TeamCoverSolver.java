@@ -0,0 +1,380 @@
+package com.project.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the smallest team covering a set of skill requirements, where a skill may need
+ * several different people. Every candidate is a bitset over the required skills.
+ * The search is a depth-first branch and bound: it starts from a greedy team, always branches
+ * on the open skill with the fewest candidates left and prunes with a lower bound of
+ * max(largest open need, total open need / best single-candidate coverage).
+ * When the time budget runs out the best team found so far is returned, flagged as not proven optimal.
+ */
+public class TeamCoverSolver {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final int words;
+    private final int[] required;
+    private final int candidateCount;
+    private final long[] masks;
+    private final double[] weights;
+    private final long deadline;
+
+    private final int[] need;
+    private final boolean[] blocked;
+    private final int[] stack;
+    private int[] best;
+    private long nodes;
+    private boolean timedOut;
+
+    private TeamCoverSolver(int[] required, long[] masks, double[] weights, long timeBudgetNanos) {
+        this.words = wordsFor(required.length);
+        this.required = required;
+        this.candidateCount = weights.length;
+        this.masks = masks;
+        this.weights = weights;
+        this.deadline = System.nanoTime() + timeBudgetNanos;
+        this.need = new int[required.length];
+        this.blocked = new boolean[candidateCount];
+        this.stack = new int[candidateCount];
+    }
+
+    /**
+     * Get the number of 64-bit words per candidate mask for a number of skills
+     * @param skillCount Number of required skills
+     * @return Words per mask
+     */
+    public static int wordsFor(int skillCount) {
+        return Math.max(1, (skillCount + 63) >>> 6);
+    }
+
+    /**
+     * Solve a covering problem
+     * @param required Number of different people needed per skill ordinal
+     * @param masks Candidate skill bitsets, {@link #wordsFor(int)} words per candidate
+     * @param weights Tie-breaker per candidate; higher weights are tried first
+     * @param timeBudgetNanos Search time budget
+     * @return The smallest team found
+     */
+    public static Result solve(int[] required, long[] masks, double[] weights, long timeBudgetNanos) {
+        return new TeamCoverSolver(required, masks, weights, timeBudgetNanos).run();
+    }
+
+    private Result run() {
+        // Needs that cannot be met are capped at what the candidates can provide
+        int[] shortfall = new int[required.length];
+        int[] holders = new int[required.length];
+        for (int c = 0; c < candidateCount; c++) {
+            for (int s = 0; s < required.length; s++) {
+                if (has(c, s)) {
+                    holders[s]++;
+                }
+            }
+        }
+        for (int s = 0; s < required.length; s++) {
+            need[s] = Math.min(required[s], holders[s]);
+            shortfall[s] = required[s] - need[s];
+        }
+        pruneRedundantCandidates();
+
+        best = greedy();
+        int rootBound = lowerBound(0);
+        if (rootBound < best.length) {
+            search(0);
+        }
+        int[] team = best.clone();
+        Arrays.sort(team);
+        return new Result(team, !timedOut, timedOut ? rootBound : team.length, nodes, shortfall);
+    }
+
+    /**
+     * Block candidates that can never be needed: beyond the largest need, extra candidates
+     * with an identical mask are interchangeable, and when every need is 1 a candidate whose
+     * skills are a strict subset of another's is never better than that other candidate.
+     * Lower weights are blocked first.
+     */
+    private void pruneRedundantCandidates() {
+        int maxNeed = 0;
+        for (int n : need) {
+            maxNeed = Math.max(maxNeed, n);
+        }
+        Integer[] order = new Integer[candidateCount];
+        for (int c = 0; c < candidateCount; c++) {
+            order[c] = c;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(weights[b], weights[a]));
+
+        Map<String, Integer> copies = new HashMap<>();
+        List<Integer> kept = new ArrayList<>();
+        for (int c : order) {
+            if (coverage(c) == 0) {
+                blocked[c] = true;
+                continue;
+            }
+            String key = Arrays.toString(Arrays.copyOfRange(masks, c * words, (c + 1) * words));
+            if (copies.merge(key, 1, Integer::sum) > maxNeed) {
+                blocked[c] = true;
+            } else {
+                kept.add(c);
+            }
+        }
+        if (maxNeed != 1) {
+            return;
+        }
+        for (int a : kept) {
+            for (int b : kept) {
+                if (a != b && !blocked[b] && isStrictSubset(a, b)) {
+                    blocked[a] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private int[] greedy() {
+        int[] saved = need.clone();
+        boolean[] used = new boolean[candidateCount];
+        List<Integer> team = new ArrayList<>();
+        while (totalNeed() > 0) {
+            int pick = -1;
+            int pickCoverage = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                if (blocked[c] || used[c]) {
+                    continue;
+                }
+                int covered = coverage(c);
+                if (covered > pickCoverage || (covered == pickCoverage && covered > 0 && weights[c] > weights[pick])) {
+                    pick = c;
+                    pickCoverage = covered;
+                }
+            }
+            if (pick < 0) {
+                break;
+            }
+            used[pick] = true;
+            team.add(pick);
+            apply(pick, -1);
+        }
+        System.arraycopy(saved, 0, need, 0, need.length);
+        return team.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void search(int depth) {
+        if (timedOut) {
+            return;
+        }
+        if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+            return;
+        }
+        int skill = mostConstrainedSkill();
+        if (skill < 0) {
+            if (depth < best.length) {
+                best = Arrays.copyOf(stack, depth);
+            }
+            return;
+        }
+        if (lowerBound(depth) >= best.length) {
+            return;
+        }
+
+        // Candidates holding the skill, best coverage first
+        List<Integer> branches = new ArrayList<>();
+        for (int c = 0; c < candidateCount; c++) {
+            if (!blocked[c] && has(c, skill)) {
+                branches.add(c);
+            }
+        }
+        if (branches.size() < need[skill]) {
+            return;
+        }
+        int[] coverageOf = new int[candidateCount];
+        for (int c : branches) {
+            coverageOf[c] = coverage(c);
+        }
+        branches.sort((a, b) -> coverageOf[a] != coverageOf[b]
+                ? Integer.compare(coverageOf[b], coverageOf[a])
+                : Double.compare(weights[b], weights[a]));
+
+        // Once a candidate's branch is explored, later siblings must not use it again
+        int explored = 0;
+        for (int c : branches) {
+            blocked[c] = true;
+            explored++;
+            stack[depth] = c;
+            apply(c, -1);
+            search(depth + 1);
+            apply(c, 1);
+            if (timedOut) {
+                break;
+            }
+        }
+        for (int i = 0; i < explored; i++) {
+            blocked[branches.get(i)] = false;
+        }
+    }
+
+    /**
+     * Choose the open skill with the fewest remaining candidates relative to its need
+     * @return Skill ordinal, -1 if every need is met
+     */
+    private int mostConstrainedSkill() {
+        int pick = -1;
+        int pickSlack = Integer.MAX_VALUE;
+        for (int s = 0; s < need.length; s++) {
+            if (need[s] <= 0) {
+                continue;
+            }
+            int holders = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                if (!blocked[c] && has(c, s)) {
+                    holders++;
+                }
+            }
+            int slack = holders - need[s];
+            if (slack < pickSlack) {
+                pick = s;
+                pickSlack = slack;
+            }
+        }
+        return pick;
+    }
+
+    private int lowerBound(int depth) {
+        int total = 0;
+        int largest = 0;
+        for (int n : need) {
+            if (n > 0) {
+                total += n;
+                largest = Math.max(largest, n);
+            }
+        }
+        if (total == 0) {
+            return depth;
+        }
+        int maxCoverage = 0;
+        for (int c = 0; c < candidateCount; c++) {
+            if (!blocked[c]) {
+                maxCoverage = Math.max(maxCoverage, coverage(c));
+            }
+        }
+        if (maxCoverage == 0) {
+            return Integer.MAX_VALUE;
+        }
+        return depth + Math.max(largest, (total + maxCoverage - 1) / maxCoverage);
+    }
+
+    /**
+     * Count the open needs a candidate would reduce
+     */
+    private int coverage(int c) {
+        int covered = 0;
+        int offset = c * words;
+        for (int w = 0; w < words; w++) {
+            long bits = masks[offset + w];
+            while (bits != 0) {
+                int s = (w << 6) + Long.numberOfTrailingZeros(bits);
+                if (s < need.length && need[s] > 0) {
+                    covered++;
+                }
+                bits &= bits - 1;
+            }
+        }
+        return covered;
+    }
+
+    private void apply(int c, int delta) {
+        int offset = c * words;
+        for (int w = 0; w < words; w++) {
+            long bits = masks[offset + w];
+            while (bits != 0) {
+                int s = (w << 6) + Long.numberOfTrailingZeros(bits);
+                if (s < need.length) {
+                    need[s] += delta;
+                }
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private boolean has(int c, int s) {
+        return (masks[c * words + (s >>> 6)] & (1L << s)) != 0;
+    }
+
+    private boolean isStrictSubset(int a, int b) {
+        boolean equal = true;
+        for (int w = 0; w < words; w++) {
+            long ma = masks[a * words + w];
+            long mb = masks[b * words + w];
+            if ((ma & ~mb) != 0) {
+                return false;
+            }
+            equal &= ma == mb;
+        }
+        return !equal;
+    }
+
+    private int totalNeed() {
+        int total = 0;
+        for (int n : need) {
+            total += Math.max(0, n);
+        }
+        return total;
+    }
+
+    /**
+     * Outcome of a search
+     */
+    public static class Result {
+        private final int[] team;
+        private final boolean optimal;
+        private final int lowerBound;
+        private final long nodes;
+        private final int[] shortfall;
+
+        Result(int[] team, boolean optimal, int lowerBound, long nodes, int[] shortfall) {
+            this.team = team;
+            this.optimal = optimal;
+            this.lowerBound = lowerBound;
+            this.nodes = nodes;
+            this.shortfall = shortfall;
+        }
+
+        /**
+         * @return Candidate indexes of the team, ascending
+         */
+        public int[] getTeam() {
+            return team;
+        }
+
+        /**
+         * @return True if no smaller team exists
+         */
+        public boolean isOptimal() {
+            return optimal;
+        }
+
+        /**
+         * @return Proven minimum team size
+         */
+        public int getLowerBound() {
+            return lowerBound;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        /**
+         * @return Per skill ordinal, how many people are still missing because no further candidate has the skill
+         */
+        public int[] getShortfall() {
+            return shortfall;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.project.backend.util;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streaming XLSX writer.
+ * The workbook is written straight into a zip stream: worksheet XML is produced row by row
+ * with inline strings, so there is no shared-strings table to keep in memory, and the parts that
+ * list the sheets are written last, once the number of sheets is known. When a sheet reaches the
+ * Excel row limit the writer continues on a new sheet that repeats the header row.
+ * {@link #flush()} sync-flushes the compressor, so everything written so far reaches the client
+ * even while a sheet entry is still open.
+ */
+public class XlsxRowWriter implements RowWriter {
+
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final FlushableZipOutputStream zip;
+    private final Writer writer;
+    private final String sheetName;
+    private final Object[] header;
+    private final int maxRowsPerSheet;
+    private int sheets;
+    private int rowsInSheet;
+
+    /**
+     * @param out Stream to write the workbook to; it is not closed by {@link #finish()}
+     * @param sheetName Name of the first sheet; further sheets get a number appended
+     * @param header Header row written at the top of every sheet, null for none
+     */
+    public XlsxRowWriter(OutputStream out, String sheetName, Object[] header) {
+        this(out, sheetName, header, MAX_ROWS_PER_SHEET);
+    }
+
+    XlsxRowWriter(OutputStream out, String sheetName, Object[] header, int maxRowsPerSheet) {
+        // Finishing the zip must not close the response stream
+        this.zip = new FlushableZipOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.flush();
+            }
+        });
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        this.sheetName = sheetName.length() > 28 ? sheetName.substring(0, 28) : sheetName;
+        this.header = header;
+        this.maxRowsPerSheet = maxRowsPerSheet;
+    }
+
+    /**
+     * Start the first sheet and write its header row, so that it can be flushed before any data row
+     */
+    public void start() throws IOException {
+        if (sheets == 0) {
+            startSheet();
+        }
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        if (sheets == 0 || rowsInSheet >= maxRowsPerSheet) {
+            startSheet();
+        }
+        appendRow(values);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+        zip.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (sheets == 0) {
+            startSheet();
+        }
+        endSheet();
+
+        StringBuilder workbook = new StringBuilder(XML_HEADER)
+                .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        StringBuilder workbookRels = new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        StringBuilder contentTypes = new StringBuilder(XML_HEADER)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ")
+                .append("ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        for (int s = 1; s <= sheets; s++) {
+            String name = s == 1 ? sheetName : sheetName + " " + s;
+            workbook.append("<sheet name=\"");
+            escape(name, workbook);
+            workbook.append("\" sheetId=\"").append(s).append("\" r:id=\"rId").append(s).append("\"/>");
+            workbookRels.append("<Relationship Id=\"rId").append(s)
+                    .append("\" Type=\"").append(REL_NS).append("/worksheet\" Target=\"worksheets/sheet")
+                    .append(s).append(".xml\"/>");
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(s).append(".xml\" ")
+                    .append("ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        workbook.append("</sheets></workbook>");
+        workbookRels.append("</Relationships>");
+        contentTypes.append("</Types>");
+
+        writeEntry("xl/workbook.xml", workbook);
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRels);
+        writeEntry("[Content_Types].xml", contentTypes);
+        writeEntry("_rels/.rels", new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+                .append("<Relationship Id=\"rId1\" Type=\"").append(REL_NS)
+                .append("/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>"));
+        zip.finish();
+        zip.flush();
+    }
+
+    private void startSheet() throws IOException {
+        if (sheets > 0) {
+            endSheet();
+        }
+        sheets++;
+        rowsInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        writer.write(XML_HEADER);
+        writer.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        if (header != null) {
+            appendRow(header);
+        }
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void appendRow(Object[] values) throws IOException {
+        rowsInSheet++;
+        StringBuilder row = new StringBuilder(64 + values.length * 24);
+        row.append("<row r=\"").append(rowsInSheet).append("\">");
+        for (Object value : values) {
+            if (value == null) {
+                row.append("<c/>");
+            } else if (value instanceof Number && Double.isFinite(((Number) value).doubleValue())) {
+                row.append("<c><v>").append(value).append("</v></c>");
+            } else if (value instanceof Boolean) {
+                row.append("<c t=\"b\"><v>").append((Boolean) value ? 1 : 0).append("</v></c>");
+            } else {
+                row.append("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                escape(value.toString(), row);
+                row.append("</t></is></c>");
+            }
+        }
+        row.append("</row>");
+        writer.write(row.toString());
+    }
+
+    private void writeEntry(String name, CharSequence content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content.toString());
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private static void escape(String value, StringBuilder target) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    target.append("&amp;");
+                    break;
+                case '<':
+                    target.append("&lt;");
+                    break;
+                case '>':
+                    target.append("&gt;");
+                    break;
+                case '"':
+                    target.append("&quot;");
+                    break;
+                default:
+                    // XML 1.0 does not allow other control characters
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        target.append(c);
+                    }
+            }
+        }
+    }
+
+    /**
+     * Zip stream whose flush also pushes out the compressed data of the open entry.
+     * A plain ZipOutputStream keeps it in the deflater until the entry is closed.
+     */
+    private static class FlushableZipOutputStream extends ZipOutputStream {
+        private boolean entryOpen;
+
+        FlushableZipOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void putNextEntry(ZipEntry entry) throws IOException {
+            super.putNextEntry(entry);
+            entryOpen = true;
+        }
+
+        @Override
+        public void closeEntry() throws IOException {
+            super.closeEntry();
+            entryOpen = false;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (entryOpen) {
+                int length;
+                while ((length = def.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH)) > 0) {
+                    out.write(buf, 0, length);
+                    if (length < buf.length) {
+                        break;
+                    }
+                }
+            }
+            out.flush();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,3 @@
+-- Assignment IDs are drawn from assignments_assignment_id_seq in blocks of 50
+-- (@SequenceGenerator allocationSize = 50), so the sequence has to step by 50.
+ALTER SEQUENCE assignments_assignment_id_seq INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Availability flag of Employee (is_available).
+-- Existing employees start out available.
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS is_available BOOLEAN NOT NULL DEFAULT TRUE;
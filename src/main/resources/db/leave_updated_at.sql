@@ -0,0 +1,8 @@
+-- Last-modified timestamp of LeaveRequest, maintained by the entity on insert and update.
+-- Existing rows fall back to their approval or request date; the index serves the
+-- changed-since lookup.
+ALTER TABLE leave_requests ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+UPDATE leave_requests SET updated_at = COALESCE(approval_date, request_date) WHERE updated_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS leave_requests_updated_at ON leave_requests (updated_at);
@@ -0,0 +1,17 @@
+-- Rollup table of the dashboard metrics history (MetricRollup).
+-- One row per metric, resolution (MINUTE, HOUR, DAY) and bucket; range
+-- queries read one metric and resolution in bucket order.
+CREATE TABLE IF NOT EXISTS metric_rollups (
+    metric_rollup_id BIGSERIAL PRIMARY KEY,
+    metric VARCHAR(64) NOT NULL,
+    resolution VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    sample_count INTEGER NOT NULL,
+    sum_value DOUBLE PRECISION NOT NULL,
+    min_value DOUBLE PRECISION NOT NULL,
+    max_value DOUBLE PRECISION NOT NULL,
+    last_value DOUBLE PRECISION NOT NULL,
+    CONSTRAINT metric_rollups_bucket_key UNIQUE (metric, resolution, bucket_start)
+);
+
+CREATE INDEX IF NOT EXISTS metric_rollups_resolution_bucket ON metric_rollups (resolution, bucket_start);
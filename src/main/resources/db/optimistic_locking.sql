@@ -0,0 +1,5 @@
+-- Version columns for the @Version fields of Employee and Assignment.
+-- Existing rows start at 0; Hibernate increments the value on every update.
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Number of employees a project needs per required skill (ProjectSkill.requiredCount).
+-- Existing requirements need one employee.
+ALTER TABLE project_skills ADD COLUMN IF NOT EXISTS required_count INTEGER NOT NULL DEFAULT 1;
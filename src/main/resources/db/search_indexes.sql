@@ -0,0 +1,13 @@
+-- Trigram indexes used by the ranked search queries in EmployeeRepository,
+-- ProjectRepository and SkillRepository. The indexed expressions must match
+-- the expressions in those queries exactly.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS employees_search_trgm ON employees
+    USING gin (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS projects_search_trgm ON projects
+    USING gin (lower(name || ' ' || coalesce(description, '')) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS skills_search_trgm ON skills
+    USING gin (lower(name || ' ' || coalesce(category, '')) gin_trgm_ops);
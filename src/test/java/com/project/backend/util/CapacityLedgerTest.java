@@ -0,0 +1,66 @@
+package com.project.backend.util;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CapacityLedgerTest {
+
+	private static final int DAYS = 40;
+
+	@Test
+	void matchesBruteForceDailyLoads() {
+		Random random = new Random(14);
+		for (int round = 0; round < 200; round++) {
+			int[] loads = new int[DAYS];
+			CapacityLedger.Builder builder = CapacityLedger.builder();
+			int intervals = random.nextInt(8);
+			for (int i = 0; i < intervals; i++) {
+				int start = random.nextInt(DAYS);
+				int end = Math.min(DAYS - 1, start + random.nextInt(10) - 1);
+				int load = 10 * random.nextInt(8);
+				builder.add(start, end, load);
+				for (int day = start; day <= end; day++) {
+					loads[day] += load;
+				}
+			}
+			CapacityLedger ledger = builder.build();
+			assertPeaks(loads, ledger);
+
+			// Adjusting a copy must give the same ledger as building it from scratch
+			CapacityLedger.Builder adjusted = CapacityLedger.builder().addAll(ledger);
+			int start = random.nextInt(DAYS);
+			int end = Math.min(DAYS - 1, start + random.nextInt(10));
+			int load = 10 * (random.nextInt(5) - 2);
+			adjusted.add(start, end, load);
+			for (int day = start; day <= end; day++) {
+				loads[day] += load;
+			}
+			assertPeaks(loads, adjusted.build());
+		}
+	}
+
+	@Test
+	void emptyBuilderGivesEmptyLedger() {
+		CapacityLedger ledger = CapacityLedger.builder().add(5, 4, 50).add(1, 3, 0).build();
+		assertSame(CapacityLedger.EMPTY, ledger);
+		assertEquals(0, ledger.size());
+		assertEquals(CapacityLedger.FULL_CAPACITY, ledger.remainingCapacity(0, 10));
+	}
+
+	private static void assertPeaks(int[] loads, CapacityLedger ledger) {
+		for (int start = -3; start < DAYS + 3; start++) {
+			for (int end = start; end < DAYS + 3; end++) {
+				int peak = 0;
+				for (int day = Math.max(0, start); day <= Math.min(DAYS - 1, end); day++) {
+					peak = Math.max(peak, loads[day]);
+				}
+				assertEquals(peak, ledger.peakLoad(start, end), "[" + start + ", " + end + "]");
+				assertEquals(Math.max(0, CapacityLedger.FULL_CAPACITY - peak), ledger.remainingCapacity(start, end));
+			}
+		}
+	}
+}
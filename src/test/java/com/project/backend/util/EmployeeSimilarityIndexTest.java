@@ -0,0 +1,112 @@
+package com.project.backend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSimilarityIndexTest {
+
+	private static final int EMPLOYEES = 25;
+	private static final int SKILLS = 6;
+
+	@Test
+	void singleBitIndexMatchesBruteForce() {
+		Random random = new Random(20);
+		Map<Long, Map<Long, Integer>> skills = new HashMap<>();
+		List<Object[]> rows = new ArrayList<>();
+		for (long employeeId = 1; employeeId <= EMPLOYEES; employeeId++) {
+			Map<Long, Integer> levels = randomLevels(random);
+			skills.put(employeeId, levels);
+			for (Map.Entry<Long, Integer> level : levels.entrySet()) {
+				rows.add(new Object[] {employeeId, level.getKey(), level.getValue()});
+			}
+		}
+		// With one bit per table, the own bucket and its single flip cover every employee
+		EmployeeSimilarityIndex index = EmployeeSimilarityIndex.build(rows, 2, 1, 20);
+		assertNearest(index, skills);
+
+		for (int step = 0; step < 30; step++) {
+			long employeeId = 1 + random.nextInt(EMPLOYEES + 5);
+			if (random.nextInt(4) == 0) {
+				index.removeEmployee(employeeId);
+				skills.remove(employeeId);
+			} else {
+				Map<Long, Integer> levels = randomLevels(random);
+				index.updateEmployee(employeeId, levels);
+				skills.put(employeeId, levels);
+			}
+			assertNearest(index, skills);
+		}
+	}
+
+	private static void assertNearest(EmployeeSimilarityIndex index, Map<Long, Map<Long, Integer>> skills) {
+		long indexed = skills.values().stream().filter(levels -> norm(levels) > 0).count();
+		assertEquals(indexed, index.size());
+		for (Long employeeId : skills.keySet()) {
+			List<Map.Entry<Long, Double>> expected = new ArrayList<>();
+			for (Long other : skills.keySet()) {
+				double similarity = cosine(skills.get(employeeId), skills.get(other));
+				assertEquals(similarity, index.similarity(employeeId, other), 1e-9);
+				if (!other.equals(employeeId) && similarity > 0) {
+					expected.add(Map.entry(other, similarity));
+				}
+			}
+			expected.sort((a, b) -> Math.abs(a.getValue() - b.getValue()) > 1e-9
+					? Double.compare(b.getValue(), a.getValue())
+					: Long.compare(a.getKey(), b.getKey()));
+
+			for (int limit : new int[] {3, EMPLOYEES}) {
+				List<Map.Entry<Long, Double>> actual = new ArrayList<>(index.nearest(employeeId, limit).entrySet());
+				int size = norm(skills.get(employeeId)) > 0 ? Math.min(limit, expected.size()) : 0;
+				assertEquals(size, actual.size(), "employee " + employeeId);
+				for (int i = 0; i < size; i++) {
+					assertEquals(expected.get(i).getValue(), actual.get(i).getValue(), 1e-9);
+					assertEquals(cosine(skills.get(employeeId), skills.get(actual.get(i).getKey())),
+							actual.get(i).getValue(), 1e-9);
+					assertTrue(!actual.get(i).getKey().equals(employeeId));
+				}
+			}
+		}
+	}
+
+	private static Map<Long, Integer> randomLevels(Random random) {
+		Map<Long, Integer> levels = new HashMap<>();
+		for (long skillId = 1; skillId <= SKILLS; skillId++) {
+			if (random.nextInt(3) == 0) {
+				levels.put(skillId, random.nextInt(6));
+			}
+		}
+		return levels;
+	}
+
+	private static double cosine(Map<Long, Integer> a, Map<Long, Integer> b) {
+		double normA = norm(a);
+		double normB = norm(b);
+		if (normA == 0 || normB == 0) {
+			return 0;
+		}
+		double dot = 0;
+		for (Map.Entry<Long, Integer> level : a.entrySet()) {
+			int other = b.getOrDefault(level.getKey(), 0);
+			if (level.getValue() > 0 && other > 0) {
+				dot += level.getValue() * other;
+			}
+		}
+		return dot / (normA * normB);
+	}
+
+	private static double norm(Map<Long, Integer> levels) {
+		double sum = 0;
+		for (int level : levels.values()) {
+			sum += level > 0 ? level * level : 0;
+		}
+		return Math.sqrt(sum);
+	}
+}
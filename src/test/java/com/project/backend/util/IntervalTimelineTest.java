@@ -0,0 +1,78 @@
+package com.project.backend.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class IntervalTimelineTest {
+
+	private static final int DAYS = 30;
+
+	@Test
+	void matchesBruteForceAfterEveryUpdate() {
+		Random random = new Random(6);
+		IntervalTimeline timeline = IntervalTimeline.EMPTY;
+		Map<Long, int[]> intervals = new LinkedHashMap<>();
+		for (int step = 0; step < 300; step++) {
+			long id = random.nextInt(8);
+			if (random.nextInt(3) == 0) {
+				timeline = timeline.without(id);
+				intervals.remove(id);
+			} else {
+				int start = random.nextInt(DAYS);
+				int end = start + random.nextInt(6);
+				int weight = 10 * (1 + random.nextInt(10));
+				timeline = timeline.with(id, start, end, weight);
+				intervals.put(id, new int[] {start, end, weight});
+			}
+
+			assertEquals(intervals.size(), timeline.size());
+			for (int start = -2; start < DAYS + 8; start++) {
+				for (int end = start; end < DAYS + 8; end++) {
+					assertEquals(overlaps(intervals, start, end), timeline.overlaps(start, end),
+							"step " + step + " [" + start + ", " + end + "]");
+				}
+			}
+
+			CapacityLedger.Builder weighted = CapacityLedger.builder();
+			timeline.addTo(weighted, -1);
+			CapacityLedger.Builder fixed = CapacityLedger.builder();
+			timeline.addTo(fixed, 100);
+			assertLoads(intervals, weighted.build(), false);
+			assertLoads(intervals, fixed.build(), true);
+		}
+	}
+
+	@Test
+	void withoutUnknownIdReturnsSameTimeline() {
+		IntervalTimeline timeline = IntervalTimeline.EMPTY.with(1, 3, 5, 50);
+		assertSame(timeline, timeline.without(2));
+		assertEquals(0, timeline.without(1).size());
+	}
+
+	private static boolean overlaps(Map<Long, int[]> intervals, int start, int end) {
+		for (int[] interval : intervals.values()) {
+			if (interval[0] <= end && start <= interval[1]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void assertLoads(Map<Long, int[]> intervals, CapacityLedger ledger, boolean fixed) {
+		for (int day = -1; day < DAYS + 8; day++) {
+			int load = 0;
+			for (int[] interval : intervals.values()) {
+				if (interval[0] <= day && day <= interval[1]) {
+					load += fixed ? 100 : interval[2];
+				}
+			}
+			assertEquals(load, ledger.peakLoad(day, day), "day " + day);
+		}
+	}
+}
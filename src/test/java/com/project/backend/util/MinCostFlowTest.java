@@ -0,0 +1,116 @@
+package com.project.backend.util;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinCostFlowTest {
+
+	private static final int WORKERS = 4;
+	private static final int PROJECTS = 3;
+	private static final long NO_EDGE = -1;
+
+	@Test
+	void matchesBruteForceAssignment() {
+		Random random = new Random(5);
+		for (int round = 0; round < 200; round++) {
+			long[][] costs = randomCosts(random);
+			int[] slots = new int[PROJECTS];
+			for (int p = 0; p < PROJECTS; p++) {
+				slots[p] = 1 + random.nextInt(2);
+			}
+			int limit = 1 + random.nextInt(WORKERS + 1);
+
+			long[] best = bruteForce(costs, slots, limit);
+			MinCostFlow flow = new MinCostFlow(WORKERS + PROJECTS + 2, WORKERS * PROJECTS + WORKERS + PROJECTS);
+			int source = WORKERS + PROJECTS;
+			int sink = source + 1;
+			int[][] edges = new int[WORKERS][PROJECTS];
+			for (int w = 0; w < WORKERS; w++) {
+				flow.addEdge(source, w, 1, 0);
+				for (int p = 0; p < PROJECTS; p++) {
+					edges[w][p] = costs[w][p] != NO_EDGE ? flow.addEdge(w, WORKERS + p, 1, costs[w][p]) : -1;
+				}
+			}
+			for (int p = 0; p < PROJECTS; p++) {
+				flow.addEdge(WORKERS + p, sink, slots[p], 0);
+			}
+
+			int sent = flow.solve(source, sink, limit, null, Long.MAX_VALUE);
+			long cost = 0;
+			int[] used = new int[PROJECTS];
+			for (int w = 0; w < WORKERS; w++) {
+				int assigned = 0;
+				for (int p = 0; p < PROJECTS; p++) {
+					if (edges[w][p] >= 0 && flow.getFlow(edges[w][p]) > 0) {
+						cost += costs[w][p];
+						used[p]++;
+						assigned++;
+					}
+				}
+				assertTrue(assigned <= 1);
+			}
+			for (int p = 0; p < PROJECTS; p++) {
+				assertTrue(used[p] <= slots[p]);
+			}
+			assertEquals(best[0], sent, "flow in round " + round);
+			assertEquals(best[1], cost, "cost in round " + round);
+		}
+	}
+
+	@Test
+	void stopsAtTheRequestedFlow() {
+		MinCostFlow flow = new MinCostFlow(2, 1);
+		int edge = flow.addEdge(0, 1, 5, 3);
+		assertEquals(2, flow.solve(0, 1, 2, null, Long.MAX_VALUE));
+		assertEquals(2, flow.getFlow(edge));
+	}
+
+	private static long[][] randomCosts(Random random) {
+		long[][] costs = new long[WORKERS][PROJECTS];
+		for (int w = 0; w < WORKERS; w++) {
+			for (int p = 0; p < PROJECTS; p++) {
+				costs[w][p] = random.nextInt(4) == 0 ? NO_EDGE : random.nextInt(10);
+			}
+		}
+		return costs;
+	}
+
+	/**
+	 * Try every choice of project (or none) per worker
+	 * @return [largest flow up to the limit, cheapest cost of that flow]
+	 */
+	private static long[] bruteForce(long[][] costs, int[] slots, int limit) {
+		long[] best = {0, 0};
+		int[] choice = new int[WORKERS];
+		int combinations = (int) Math.pow(PROJECTS + 1, WORKERS);
+		for (int code = 0; code < combinations; code++) {
+			int rest = code;
+			for (int w = 0; w < WORKERS; w++) {
+				choice[w] = rest % (PROJECTS + 1) - 1;
+				rest /= PROJECTS + 1;
+			}
+			int[] used = new int[PROJECTS];
+			int sent = 0;
+			long cost = 0;
+			boolean valid = true;
+			for (int w = 0; w < WORKERS && valid; w++) {
+				int p = choice[w];
+				if (p < 0) {
+					continue;
+				}
+				valid = costs[w][p] != NO_EDGE && ++used[p] <= slots[p];
+				sent++;
+				cost += valid ? costs[w][p] : 0;
+			}
+			if (valid && sent <= limit && (sent > best[0] || sent == best[0] && cost < best[1])) {
+				best[0] = sent;
+				best[1] = cost;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,109 @@
+package com.project.backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NGramIndexTest {
+
+	private static final String[] WORDS = {
+			"java", "javascript", "spring", "sprint", "postgres", "python", "react", "ana", "anna", "jan"
+	};
+
+	@Test
+	void matchesBruteForceRanking() {
+		Random random = new Random(8);
+		NGramIndex index = new NGramIndex();
+		// Insertion order of the latest put is the final tie-breaker
+		Map<Long, String[]> documents = new LinkedHashMap<>();
+		// Enough updates on few IDs to compact the tombstones several times
+		for (int step = 0; step < 4000; step++) {
+			long id = random.nextInt(40);
+			if (random.nextInt(4) == 0) {
+				index.remove(id);
+				documents.remove(id);
+			} else {
+				String[] fields = {randomText(random), random.nextBoolean() ? randomText(random) : null};
+				index.put(id, fields);
+				documents.remove(id);
+				documents.put(id, fields);
+			}
+			assertEquals(documents.size(), index.size());
+
+			if (step % 20 == 0) {
+				String term = randomTerm(random);
+				int offset = random.nextInt(3);
+				int limit = 1 + random.nextInt(6);
+				assertEquals(bruteForce(documents, term, offset, limit), index.search(term, offset, limit),
+						"step " + step + " term '" + term + "'");
+			}
+		}
+	}
+
+	@Test
+	void matchesLastWordAsPrefix() {
+		NGramIndex index = new NGramIndex();
+		index.put(1, "Anna", "Smith");
+		index.put(2, "Jan", "Kowalski");
+		assertEquals(List.of(2L), index.search("kowa", 0, 10));
+		assertEquals(List.of(1L), index.search("anna smi", 0, 10));
+		assertTrue(index.search("", 0, 10).isEmpty());
+		assertTrue(index.search("anna", 0, 0).isEmpty());
+	}
+
+	private static List<Long> bruteForce(Map<Long, String[]> documents, String term, int offset, int limit) {
+		Set<Long> queryGrams = NGramIndex.trigrams(term, true);
+		if (queryGrams.isEmpty()) {
+			return new ArrayList<>();
+		}
+		int needed = queryGrams.size() <= 3 ? queryGrams.size() : (int) Math.ceil(queryGrams.size() * 0.6);
+		List<long[]> matches = new ArrayList<>();
+		int ordinal = 0;
+		for (Map.Entry<Long, String[]> document : documents.entrySet()) {
+			List<String> fields = new ArrayList<>();
+			for (String field : document.getValue()) {
+				if (field != null) {
+					fields.add(field);
+				}
+			}
+			Set<Long> grams = NGramIndex.trigrams(String.join(" ", fields), false);
+			Set<Long> shared = new HashSet<>(grams);
+			shared.retainAll(queryGrams);
+			if (shared.size() >= needed) {
+				matches.add(new long[] {queryGrams.size() - shared.size(), grams.size(), ordinal, document.getKey()});
+			}
+			ordinal++;
+		}
+		matches.sort(Comparator.<long[]>comparingLong(m -> m[0]).thenComparingLong(m -> m[1]).thenComparingLong(m -> m[2]));
+		List<Long> ids = new ArrayList<>();
+		for (int i = offset; i < Math.min(matches.size(), offset + limit); i++) {
+			ids.add(matches.get(i)[3]);
+		}
+		return ids;
+	}
+
+	private static String randomText(Random random) {
+		int words = 1 + random.nextInt(3);
+		StringBuilder text = new StringBuilder();
+		for (int w = 0; w < words; w++) {
+			text.append(w > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return random.nextInt(5) == 0 ? text.toString().toUpperCase() : text.toString();
+	}
+
+	private static String randomTerm(Random random) {
+		String word = WORDS[random.nextInt(WORDS.length)];
+		String prefix = word.substring(0, 1 + random.nextInt(word.length()));
+		return random.nextInt(3) == 0 ? WORDS[random.nextInt(WORDS.length)] + " " + prefix : prefix;
+	}
+}
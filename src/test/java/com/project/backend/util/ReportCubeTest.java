@@ -0,0 +1,259 @@
+package com.project.backend.util;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportCubeTest {
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(2024, 11, 1);
+	private static final String[] ASSIGNMENT_STATUSES = {"ACTIVE", "COMPLETED", "PLANNED"};
+	private static final String[] LEAVE_STATUSES = {"APPROVED", "PENDING"};
+	private static final Set<String> WORKED_STATUSES = Set.of("ACTIVE", "COMPLETED");
+
+	// Project ID to [priority, skill IDs]; project 3 requires no skills
+	private static final Map<Long, Object[]> PROJECTS = Map.of(
+			1L, new Object[] {1, List.of(10L, 11L)},
+			2L, new Object[] {2, List.of(11L)},
+			3L, new Object[] {null, List.of()});
+	private static final Map<Long, String> CATEGORIES = new HashMap<>(Map.of(10L, "Backend", 11L, "Frontend"));
+
+	@Test
+	void matchesBruteForceAggregation() {
+		Random random = new Random(24);
+		ReportCube cube = new ReportCube();
+		PROJECTS.forEach((id, project) -> cube.setProject(id, "Project " + id, (Integer) project[0], skillIds(id)));
+		CATEGORIES.forEach((id, category) -> cube.setSkill(id, "Skill " + id, category));
+		cube.setSkill(12, "Skill 12", null);
+
+		Map<Long, List<Object[]>> factsByEmployee = new HashMap<>();
+		for (int step = 0; step < 40; step++) {
+			long employeeId = 1 + random.nextInt(6);
+			List<Object[]> facts = random.nextInt(5) == 0 ? List.of() : randomFacts(random);
+			ReportCube.Facts cubeFacts = cube.newFacts();
+			for (Object[] fact : facts) {
+				if (fact[0] != null) {
+					cubeFacts.addAssignment((Long) fact[0], (LocalDate) fact[1], (LocalDate) fact[2], (Float) fact[3],
+							(String) fact[4]);
+				} else {
+					cubeFacts.addLeave((LocalDate) fact[1], (LocalDate) fact[2], (String) fact[4]);
+				}
+			}
+			cube.replaceEmployee(employeeId, cubeFacts);
+			factsByEmployee.put(employeeId, facts);
+
+			Map<List<Object>, double[]> cells = baseCells(factsByEmployee);
+			assertEquals(cells.size(), cube.cellCount(), "step " + step);
+			for (int query = 0; query < 10; query++) {
+				assertQuery(cube, cells, random);
+			}
+		}
+	}
+
+	@Test
+	void rejectsUnknownDimensions() {
+		ReportCube cube = new ReportCube();
+		assertThrows(IllegalArgumentException.class, () -> cube.query(List.of("team"), Map.of(), null, null));
+		assertThrows(IllegalArgumentException.class,
+				() -> cube.query(List.of(), Map.of("team", Set.of("1")), null, null));
+	}
+
+	private static void assertQuery(ReportCube cube, Map<List<Object>, double[]> cells, Random random) {
+		List<String> groupBy = new ArrayList<>();
+		int dimensions = random.nextInt(3);
+		while (groupBy.size() < dimensions) {
+			String dimension = ReportCube.DIMENSIONS.get(random.nextInt(ReportCube.DIMENSIONS.size()));
+			if (!groupBy.contains(dimension)) {
+				groupBy.add(dimension);
+			}
+		}
+		Map<String, Set<String>> filters = new HashMap<>();
+		if (random.nextBoolean()) {
+			String dimension = ReportCube.DIMENSIONS.get(random.nextInt(ReportCube.DIMENSIONS.size()));
+			Set<String> allowed = new HashSet<>();
+			for (Map.Entry<List<Object>, double[]> cell : cells.entrySet()) {
+				for (Object[] member : members(cell.getKey())) {
+					if (random.nextInt(4) == 0) {
+						allowed.add(String.valueOf(member[ReportCube.DIMENSIONS.indexOf(dimension)]));
+					}
+				}
+			}
+			filters.put(dimension, allowed);
+		}
+		YearMonth from = random.nextBoolean() ? YearMonth.from(FIRST_DAY.plusDays(random.nextInt(120))) : null;
+		YearMonth to = random.nextBoolean() ? YearMonth.from(FIRST_DAY.plusDays(random.nextInt(150))) : null;
+
+		Map<List<Object>, double[]> groups = new HashMap<>();
+		double[] totals = new double[3];
+		int matched = 0;
+		for (Map.Entry<List<Object>, double[]> cell : cells.entrySet()) {
+			YearMonth month = (YearMonth) cell.getKey().get(1);
+			if (from != null && month.isBefore(from) || to != null && month.isAfter(to)) {
+				continue;
+			}
+			Set<List<Object>> keys = new LinkedHashSet<>();
+			for (Object[] member : members(cell.getKey())) {
+				if (matches(member, filters)) {
+					List<Object> key = new ArrayList<>();
+					for (String dimension : groupBy) {
+						key.add(member[ReportCube.DIMENSIONS.indexOf(dimension)]);
+					}
+					keys.add(key);
+				}
+			}
+			if (keys.isEmpty()) {
+				continue;
+			}
+			add(totals, cell.getValue());
+			matched++;
+			for (List<Object> key : keys) {
+				add(groups.computeIfAbsent(key, k -> new double[3]), cell.getValue());
+			}
+		}
+
+		String query = "group by " + groupBy + " where " + filters + " from " + from + " to " + to;
+		ReportCube.Result result = cube.query(groupBy, filters, from, to);
+		assertEquals(matched, result.getCells(), query);
+		assertMeasures(totals, result.getTotals(), query);
+		assertEquals(groups.size(), result.getRows().size(), query);
+		for (Map<String, Object> row : result.getRows()) {
+			List<Object> key = new ArrayList<>();
+			for (String dimension : groupBy) {
+				key.add(row.get(dimension));
+			}
+			double[] expected = groups.get(key);
+			assertNotNull(expected, query + " unexpected row " + row);
+			assertMeasures(expected, row, query);
+		}
+	}
+
+	/**
+	 * Sum the facts day by day into (project, month, status) cells, splitting leave days
+	 * over the projects worked on that day
+	 */
+	private static Map<List<Object>, double[]> baseCells(Map<Long, List<Object[]>> factsByEmployee) {
+		Map<List<Object>, double[]> cells = new HashMap<>();
+		for (List<Object[]> facts : factsByEmployee.values()) {
+			for (Object[] fact : facts) {
+				if (fact[0] == null) {
+					continue;
+				}
+				LocalDate start = (LocalDate) fact[1];
+				LocalDate end = fact[2] != null && !((LocalDate) fact[2]).isBefore(start) ? (LocalDate) fact[2] : start;
+				for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+					double[] measures = cells.computeIfAbsent(List.of(fact[0], month, fact[4]), k -> new double[3]);
+					measures[0]++;
+					measures[1] += fact[3] != null ? (Float) fact[3] : 100;
+				}
+			}
+			for (Object[] leave : facts) {
+				if (leave[0] != null) {
+					continue;
+				}
+				for (LocalDate day = (LocalDate) leave[1]; !day.isAfter((LocalDate) leave[2]); day = day.plusDays(1)) {
+					List<Long> worked = new ArrayList<>();
+					for (Object[] fact : facts) {
+						LocalDate start = (LocalDate) fact[1];
+						LocalDate end = fact[2] != null && !((LocalDate) fact[2]).isBefore(start) ? (LocalDate) fact[2] : start;
+						if (fact[0] != null && WORKED_STATUSES.contains(fact[4]) && !day.isBefore(start) && !day.isAfter(end)) {
+							worked.add((Long) fact[0]);
+						}
+					}
+					if (worked.isEmpty()) {
+						worked.add(null);
+					}
+					for (Long projectId : worked) {
+						List<Object> key = Arrays.asList(projectId, YearMonth.from(day), leave[4]);
+						cells.computeIfAbsent(key, k -> new double[3])[2] += 1.0 / worked.size();
+					}
+				}
+			}
+		}
+		return cells;
+	}
+
+	/**
+	 * Expand a base cell into its [project, priority, skill, category, status, year, quarter, month]
+	 * members, one per skill the project requires
+	 */
+	private static List<Object[]> members(List<Object> cell) {
+		Long projectId = (Long) cell.get(0);
+		YearMonth month = (YearMonth) cell.get(1);
+		Object[] project = projectId != null ? PROJECTS.get(projectId) : null;
+		List<Long> skillIds = project != null ? skillIds(projectId) : List.of();
+		List<Object[]> members = new ArrayList<>();
+		for (Long skillId : skillIds.isEmpty() ? Arrays.asList((Long) null) : skillIds) {
+			members.add(new Object[] {
+					projectId,
+					project != null ? project[0] : null,
+					skillId,
+					skillId != null ? CATEGORIES.get(skillId) : null,
+					cell.get(2),
+					month.getYear(),
+					month.getYear() + "-Q" + ((month.getMonthValue() - 1) / 3 + 1),
+					month.toString()
+			});
+		}
+		return members;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Long> skillIds(Long projectId) {
+		return (List<Long>) PROJECTS.get(projectId)[1];
+	}
+
+	private static boolean matches(Object[] member, Map<String, Set<String>> filters) {
+		for (Map.Entry<String, Set<String>> filter : filters.entrySet()) {
+			Object value = member[ReportCube.DIMENSIONS.indexOf(filter.getKey())];
+			if (!filter.getValue().contains(String.valueOf(value))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static List<Object[]> randomFacts(Random random) {
+		List<Object[]> facts = new ArrayList<>();
+		int assignments = random.nextInt(4);
+		for (int a = 0; a < assignments; a++) {
+			LocalDate start = FIRST_DAY.plusDays(random.nextInt(120));
+			LocalDate end = random.nextInt(5) == 0 ? null : start.plusDays(random.nextInt(70) - 5);
+			Float allocation = random.nextInt(4) == 0 ? null : (float) (10 * (1 + random.nextInt(10)));
+			facts.add(new Object[] {1L + random.nextInt(3), start, end, allocation,
+					ASSIGNMENT_STATUSES[random.nextInt(ASSIGNMENT_STATUSES.length)]});
+		}
+		int leaves = random.nextInt(3);
+		for (int l = 0; l < leaves; l++) {
+			LocalDate start = FIRST_DAY.plusDays(random.nextInt(130));
+			facts.add(new Object[] {null, start, start.plusDays(random.nextInt(20)), null,
+					LEAVE_STATUSES[random.nextInt(LEAVE_STATUSES.length)]});
+		}
+		return facts;
+	}
+
+	private static void add(double[] target, double[] measures) {
+		for (int m = 0; m < target.length; m++) {
+			target[m] += measures[m];
+		}
+	}
+
+	private static void assertMeasures(double[] expected, Map<String, Object> actual, String query) {
+		assertEquals(Math.round(expected[0]), actual.get("headcount"), query);
+		assertEquals(expected[1], (Double) actual.get("allocation"), 0.006, query);
+		assertEquals(expected[2], (Double) actual.get("leaveDays"), 0.006, query);
+	}
+}
@@ -0,0 +1,87 @@
+package com.project.backend.util;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TeamCoverSolverTest {
+
+	private static final long BUDGET_NANOS = 5_000_000_000L;
+
+	@Test
+	void findsTheSmallestTeam() {
+		Random random = new Random(18);
+		for (int round = 0; round < 300; round++) {
+			int skills = 1 + random.nextInt(5);
+			int candidates = 1 + random.nextInt(9);
+			int[] required = new int[skills];
+			for (int s = 0; s < skills; s++) {
+				required[s] = 1 + random.nextInt(3);
+			}
+			long[] masks = new long[candidates];
+			double[] weights = new double[candidates];
+			for (int c = 0; c < candidates; c++) {
+				masks[c] = random.nextInt(1 << skills);
+				weights[c] = random.nextInt(3);
+			}
+
+			int[] need = new int[skills];
+			int[] shortfall = new int[skills];
+			for (int s = 0; s < skills; s++) {
+				int holders = 0;
+				for (long mask : masks) {
+					holders += (int) (mask >>> s) & 1;
+				}
+				need[s] = Math.min(required[s], holders);
+				shortfall[s] = required[s] - need[s];
+			}
+			int smallest = Integer.MAX_VALUE;
+			for (int subset = 0; subset < 1 << candidates; subset++) {
+				if (covers(subset, masks, need)) {
+					smallest = Math.min(smallest, Integer.bitCount(subset));
+				}
+			}
+
+			TeamCoverSolver.Result result = TeamCoverSolver.solve(required, masks, weights, BUDGET_NANOS);
+			int subset = 0;
+			for (int c : result.getTeam()) {
+				subset |= 1 << c;
+			}
+			assertEquals(result.getTeam().length, Integer.bitCount(subset), "distinct members in round " + round);
+			assertTrue(covers(subset, masks, need), "coverage in round " + round);
+			assertEquals(smallest, result.getTeam().length, "size in round " + round);
+			assertTrue(result.isOptimal());
+			assertEquals(smallest, result.getLowerBound());
+			assertArrayEquals(shortfall, result.getShortfall());
+			for (int i = 1; i < result.getTeam().length; i++) {
+				assertTrue(result.getTeam()[i - 1] < result.getTeam()[i]);
+			}
+		}
+	}
+
+	@Test
+	void sizesMasksInWords() {
+		assertEquals(1, TeamCoverSolver.wordsFor(0));
+		assertEquals(1, TeamCoverSolver.wordsFor(64));
+		assertEquals(2, TeamCoverSolver.wordsFor(65));
+	}
+
+	private static boolean covers(int subset, long[] masks, int[] need) {
+		for (int s = 0; s < need.length; s++) {
+			int count = 0;
+			for (int c = 0; c < masks.length; c++) {
+				if ((subset >>> c & 1) != 0 && (masks[c] >>> s & 1) != 0) {
+					count++;
+				}
+			}
+			if (count < need[s]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}